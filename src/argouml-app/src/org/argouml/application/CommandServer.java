@@ -0,0 +1,377 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.application;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.kernel.Project;
+import org.argouml.kernel.ProjectManager;
+import org.argouml.model.Model;
+import org.argouml.persistence.AbstractFilePersister;
+import org.argouml.persistence.PersistenceManager;
+
+/**
+ * Runs batches of commands, as given with -command, for as long as ArgoUML
+ * runs with -daemon, so that the start up is paid once.<p>
+ *
+ * The jobs are read from the standard input, or from connections to a
+ * port of the loopback interface. A job is a list of lines ended by an
+ * empty line:
+ * <pre>
+ *   project=&lt;file&gt;       the project of the job, optional, first
+ *   &lt;command&gt;[=&lt;arg&gt;]    a command, as given with -command
+ * </pre>
+ * A line <code>quit</code> ends the input, a line <code>shutdown</code>
+ * stops the daemon, and lines starting with <code>#</code> are ignored.
+ * <p>
+ *
+ * Each job gets a project of its own, loaded from its file or empty, which
+ * is the current project while its commands run and is removed after them.
+ * Each line of the output of a job is given as the number of the job and
+ * the line, followed by a line with the number of the job and
+ * <code>OK</code> or <code>FAILED</code>.<p>
+ *
+ * The jobs of all the inputs run one at a time, in the order they are
+ * read, on a thread of their own. The loading of a project sets the root
+ * model, and the commands use the current project, the target and the
+ * editor, which are all global, so no two jobs can run at once.
+ */
+class CommandServer {
+
+    private static final Logger LOG =
+        Logger.getLogger(CommandServer.class.getName());
+
+    private static final String PROJECT = "project=";
+
+    private static final String ENCODING = "UTF-8";
+
+    private final int port;
+
+    /**
+     * Runs the jobs, one at a time.
+     */
+    private final ExecutorService executor =
+        Executors.newSingleThreadExecutor();
+
+    private final AtomicInteger jobCount = new AtomicInteger();
+
+    private volatile boolean shutdown;
+
+    private ServerSocket serverSocket;
+
+    /**
+     * @param thePort the port to listen on, or -1 for the standard input
+     */
+    CommandServer(int thePort) {
+        port = thePort;
+    }
+
+    /**
+     * Run the jobs until the input ends, or until a job asks for the
+     * daemon to shut down.
+     *
+     * @throws IOException if the port can't be listened on
+     */
+    void serve() throws IOException {
+        try {
+            if (port < 0) {
+                handle(System.in, System.out);
+            } else {
+                listen();
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void listen() throws IOException {
+        synchronized (this) {
+            serverSocket =
+                new ServerSocket(port, 50, InetAddress.getByName(null));
+        }
+        System.out.println("Listening for jobs on port "
+                + serverSocket.getLocalPort());
+        while (!shutdown) {
+            final Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (shutdown) {
+                    break;
+                }
+                throw e;
+            }
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        handle(socket.getInputStream(),
+                                socket.getOutputStream());
+                    } catch (IOException e) {
+                        LOG.log(Level.WARNING, "Connection failed", e);
+                    } finally {
+                        try {
+                            socket.close();
+                        } catch (IOException e) {
+                            LOG.log(Level.FINE, "Can't close connection", e);
+                        }
+                    }
+                }
+            }, "ArgoUML job connection");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stop taking jobs. The jobs already taken are run.
+     */
+    synchronized void shutdown() {
+        shutdown = true;
+        executor.shutdown();
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Can't close the server socket", e);
+            }
+        }
+    }
+
+    /**
+     * Read the jobs of an input and run them, and wait for them to be done.
+     */
+    void handle(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader =
+            new BufferedReader(new InputStreamReader(in, ENCODING));
+        PrintWriter writer =
+            new PrintWriter(new OutputStreamWriter(out, ENCODING));
+        List<Future<?>> jobs = new ArrayList<Future<?>>();
+        List<String> lines = new ArrayList<String>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.startsWith("#")) {
+                continue;
+            }
+            if (line.length() > 0 && !line.equals("quit")
+                    && !line.equals("shutdown")) {
+                lines.add(line);
+                continue;
+            }
+            if (!lines.isEmpty()) {
+                submit(lines, writer, jobs);
+                lines = new ArrayList<String>();
+            }
+            if (line.equals("quit")) {
+                break;
+            }
+            if (line.equals("shutdown")) {
+                shutdown();
+                break;
+            }
+        }
+        if (!lines.isEmpty()) {
+            submit(lines, writer, jobs);
+        }
+        for (Future<?> job : jobs) {
+            try {
+                job.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                LOG.log(Level.SEVERE, "Job failed", e.getCause());
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Run a job, or report it as failed if the daemon is shut down.
+     */
+    private void submit(final List<String> lines, final PrintWriter writer,
+            List<Future<?>> jobs) {
+        final int id = jobCount.incrementAndGet();
+        try {
+            jobs.add(submitJob(id, lines, writer));
+        } catch (RejectedExecutionException e) {
+            synchronized (writer) {
+                writer.println(id + " The daemon is shut down");
+                writer.println(id + " FAILED");
+                writer.flush();
+            }
+        }
+    }
+
+    private Future<?> submitJob(final int id, final List<String> lines,
+            final PrintWriter writer) {
+        return executor.submit(new Runnable() {
+            public void run() {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                PrintStream out;
+                try {
+                    out = new PrintStream(bytes, true, ENCODING);
+                } catch (UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+                boolean ok;
+                try {
+                    ok = runJob(lines, out);
+                } catch (Exception e) {
+                    LOG.log(Level.SEVERE, "Job " + id + " failed", e);
+                    out.println("Exception: " + e);
+                    ok = false;
+                }
+                out.flush();
+                String output;
+                try {
+                    output = bytes.toString(ENCODING);
+                } catch (UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+                synchronized (writer) {
+                    for (String l : output.split("\r?\n")) {
+                        if (l.length() > 0) {
+                            writer.println(id + " " + l);
+                        }
+                    }
+                    writer.println(id + (ok ? " OK" : " FAILED"));
+                    writer.flush();
+                }
+            }
+        });
+    }
+
+    /**
+     * Load the project of a job, run its commands and remove it.
+     *
+     * @param lines the lines of the job
+     * @param out the output of the job
+     * @return true if all the commands were performed
+     * @throws Exception if the project can't be loaded
+     */
+    private boolean runJob(List<String> lines, PrintStream out)
+        throws Exception {
+        List<String> commands = lines;
+        File file = null;
+        if (lines.get(0).startsWith(PROJECT)) {
+            file = new File(lines.get(0).substring(PROJECT.length()))
+                .getCanonicalFile();
+            commands = lines.subList(1, lines.size());
+        }
+        Project project =
+            file == null ? makeEmptyProject() : loadProject(file, out);
+        if (project == null) {
+            return false;
+        }
+        return runCommands(project, commands, out);
+    }
+
+    /**
+     * Make the project of a job which has no file.
+     *
+     * @return the project
+     */
+    Project makeEmptyProject() {
+        return ProjectManager.getManager().makeEmptyProject();
+    }
+
+    /**
+     * Load the project of a job.
+     *
+     * @param file the file of the project
+     * @param out the output of the job
+     * @return the project, or null if it wasn't loaded
+     * @throws Exception if the project can't be loaded
+     */
+    Project loadProject(File file, PrintStream out) throws Exception {
+        AbstractFilePersister persister =
+            PersistenceManager.getInstance().getPersisterFromFileName(
+                    file.getName());
+        if (persister == null) {
+            out.println("Unknown type of project file: " + file);
+            return null;
+        }
+        Project project = persister.doLoad(file);
+        if (project == null) {
+            out.println("The project was not loaded: " + file);
+        }
+        return project;
+    }
+
+    /**
+     * Run the commands of a job with its project as the current project,
+     * then remove the project.
+     *
+     * @param project the project of the job
+     * @param commands the commands
+     * @param out the output of the job
+     * @return true if all the commands were performed
+     */
+    boolean runCommands(Project project, List<String> commands,
+            PrintStream out) {
+        try {
+            makeCurrent(project);
+            return Main.performCommands(commands, out);
+        } finally {
+            ProjectManager.getManager().removeProject(project);
+        }
+    }
+
+    /*
+     * The commands work on the current project and on the root model, which
+     * have no replacement yet. The root model is left as the last project
+     * made set it, which may not be the project of the job, so it is set
+     * again.
+     */
+    @SuppressWarnings("deprecation")
+    private static void makeCurrent(Project project) {
+        ProjectManager.getManager().setCurrentProject(project);
+        for (Object root : project.getRoots()) {
+            if (Model.getFacade().isAModel(root)) {
+                Model.getModelManagementFactory().setRootModel(root);
+                break;
+            }
+        }
+    }
+}
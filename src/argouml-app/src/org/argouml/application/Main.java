@@ -45,9 +45,12 @@ import java.awt.Frame;
 import java.awt.GraphicsEnvironment;
 import java.awt.Rectangle;
 import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.logging.Level;
@@ -71,6 +74,7 @@ import org.argouml.configuration.Configuration;
 import org.argouml.i18n.Translator;
 import org.argouml.kernel.Project;
 import org.argouml.kernel.ProjectManager;
+import org.argouml.model.Metrics;
 import org.argouml.model.Model;
 import org.argouml.moduleloader.InitModuleLoader;
 import org.argouml.moduleloader.ModuleLoader2;
@@ -78,6 +82,7 @@ import org.argouml.notation.InitNotation;
 import org.argouml.notation.providers.java.InitNotationJava;
 import org.argouml.notation.providers.uml.InitNotationUml;
 import org.argouml.notation.ui.InitNotationUI;
+import org.argouml.persistence.AutosaveManager;
 import org.argouml.persistence.PersistenceManager;
 import org.argouml.profile.init.InitProfileSubsystem;
 import org.argouml.ui.LookAndFeelMgr;
@@ -135,6 +140,14 @@ public class Main {
 
     private static boolean batch = false;
 
+    private static boolean daemon = false;
+
+    /**
+     * The port the daemon listens on, or -1 to read the jobs from the
+     * standard input.
+     */
+    private static int daemonPort = -1;
+
     private static List<String> commands;
 
     private static String projectName = null;
@@ -159,6 +172,9 @@ public class Main {
 
             st.mark("arguments");
             parseCommandLine(args);
+            if (Metrics.isEnabled()) {
+                Metrics.registerMBean();
+            }
 
             // Register our last chance exception handler
             AwtExceptionHandler.registerExceptionHandler();
@@ -189,6 +205,19 @@ public class Main {
                 performCommandsInternal(commands);
                 commands = null;
 
+                if (daemon) {
+                    st.mark("serve jobs");
+                    try {
+                        new CommandServer(daemonPort).serve();
+                    } catch (IOException e) {
+                        LOG.log(Level.SEVERE, "The daemon stopped", e);
+                    }
+                }
+
+                if (Metrics.isEnabled()) {
+                    System.out.println("Metrics:");
+                    System.out.print(Metrics.dump());
+                }
                 System.out.println("Exiting because we are running in batch.");
                 new ActionExit().doCommand(null);
                 return;
@@ -226,6 +255,10 @@ public class Main {
             performCommands(commands);
             commands = null;
 
+            st.mark("autosave");
+            offerRecovery(pb);
+            AutosaveManager.getInstance().start();
+
             st.mark("start critics");
             Runnable startCritics = new StartCritics();
             Main.addPostLoadAction(startCritics);
@@ -364,6 +397,14 @@ public class Main {
                     i++;
                 } else if (args[i].equalsIgnoreCase("-batch")) {
                     batch = true;
+                } else if (args[i].equalsIgnoreCase("-daemon")) {
+                    batch = true;
+                    daemon = true;
+                } else if (args[i].equalsIgnoreCase("-port")
+                        && i + 1 < args.length) {
+                    daemonPort = Integer.parseInt(args[++i]);
+                } else if (args[i].equalsIgnoreCase("-metrics")) {
+                    Metrics.setEnabled(true);
                 } else if (args[i].equalsIgnoreCase("-open")
                         && i + 1 < args.length) {
                     projectName = args[++i];
@@ -504,6 +545,36 @@ public class Main {
     }
 
 
+    /**
+     * If an earlier session didn't exit normally and left an autosaved
+     * project behind, offer to open it. The recovered project is moved aside
+     * first so that no other ArgoUML can recover or overwrite it. The
+     * recovery files that are declined are deleted.
+     *
+     * @param pb the project browser to open the project in
+     */
+    private static void offerRecovery(ProjectBrowser pb) {
+        AutosaveManager autosave = AutosaveManager.getInstance();
+        for (File recoveryFile : autosave.findOrphanedRecoveryFiles()) {
+            Object[] msgArgs = {new Date(recoveryFile.lastModified())};
+            int response = JOptionPane.showConfirmDialog(
+                    ArgoFrame.getFrame(),
+                    Translator.messageFormat("optionpane.recover-autosave",
+                            msgArgs),
+                    Translator.localize("optionpane.recover-autosave-title"),
+                    JOptionPane.YES_NO_OPTION);
+            if (response != JOptionPane.YES_OPTION) {
+                autosave.discardRecoveryFile(recoveryFile);
+                continue;
+            }
+            File recovered = autosave.claimRecoveryFile(recoveryFile);
+            if (recovered != null) {
+                pb.loadProjectWithProgressMonitor(recovered, true);
+                return;
+            }
+        }
+    }
+
     private static String getMostRecentProject() {
         // If no project was entered on the command line,
         // try to reload the most recent project if that option is true
@@ -550,6 +621,12 @@ public class Main {
         System.err.println("  -norecentfile   don't reload last saved file");
         System.err.println("  -command <arg>  command to perform on startup");
         System.err.println("  -batch          don't start GUI");
+        System.err.println("  -daemon         don't start GUI, and run the "
+                + "jobs read from the standard input");
+        System.err.println("  -port <arg>     with -daemon, read the jobs "
+                + "from connections to this local port");
+        System.err.println("  -metrics        record metrics, shown through "
+                + "JMX and at the end of a batch run");
         System.err.println("  -locale <arg>   set the locale (e.g. 'en_GB')");
         /* TODO: The Quickguide also mentions:
          *   -open <arg>     open given file on startup
@@ -636,6 +713,19 @@ public class Main {
      * @param list The commands, a list of strings.
      */
     private static void performCommandsInternal(List<String> list) {
+        performCommands(list, System.out);
+    }
+
+    /**
+     * Perform a list of commands, in the form they are given on the command
+     * line.
+     *
+     * @param list The commands, a list of strings.
+     * @param out The stream to report to.
+     * @return false if a command could not be performed, so that the rest
+     *         of them were not
+     */
+    static boolean performCommands(List<String> list, PrintStream out) {
         for (String commandString : list) {
             int pos = commandString.indexOf('=');
 
@@ -655,7 +745,7 @@ public class Main {
             try {
                 c = Class.forName(commandName);
             } catch (ClassNotFoundException e) {
-                System.out.println("Cannot find the command: " + commandName);
+                out.println("Cannot find the command: " + commandName);
                 continue;
             }
 
@@ -664,12 +754,12 @@ public class Main {
             try {
                 o = c.newInstance();
             } catch (InstantiationException e) {
-                System.out.println(commandName
+                out.println(commandName
                         + " could not be instantiated - skipping"
                         + " (InstantiationException)");
                 continue;
             } catch (IllegalAccessException e) {
-                System.out.println(commandName
+                out.println(commandName
                         + " could not be instantiated - skipping"
                         + " (IllegalAccessException)");
                 continue;
@@ -677,28 +767,29 @@ public class Main {
 
 
             if (o == null || !(o instanceof CommandLineInterface)) {
-                System.out.println(commandName
+                out.println(commandName
                         + " is not a command - skipping.");
                 continue;
             }
 
             CommandLineInterface clio = (CommandLineInterface) o;
 
-            System.out.println("Performing command "
+            out.println("Performing command "
                     + commandName + "( "
                     + (commandArgument == null
                             ? "" : commandArgument) + " )");
             boolean result = clio.doCommand(commandArgument);
             if (!result) {
-                System.out.println("There was an error executing "
+                out.println("There was an error executing "
                         + "the command "
                         + commandName + "( "
                         + (commandArgument == null
                                 ? "" : commandArgument) + " )");
-                System.out.println("Aborting the rest of the commands.");
-                return;
+                out.println("Aborting the rest of the commands.");
+                return false;
             }
         }
+        return true;
     }
 
     /**
@@ -281,6 +281,20 @@ public final class Argo {
     public static final ConfigurationKey KEY_USER_EXPLORER_PERSPECTIVES =
 	Configuration.makeKey("explorer", "perspectives");
 
+    /**
+     * Key for the lazy explorer, which only works out the children of
+     * the nodes the user expands.
+     */
+    public static final ConfigurationKey KEY_EXPLORER_LAZY =
+        Configuration.makeKey("explorer", "lazy");
+
+    /**
+     * Key for laying out class diagrams in layers, with few crossings,
+     * instead of in rows.
+     */
+    public static final ConfigurationKey KEY_LAYOUT_LAYERED =
+        Configuration.makeKey("layout", "layered");
+
     /**
      * Key for selecting the locale.
      */
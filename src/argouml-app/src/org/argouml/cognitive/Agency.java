@@ -41,14 +41,19 @@ package org.argouml.cognitive;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.argouml.model.Metrics;
+
 /**
  * Agency manages Critics.  Since classes are not really first class
  * objects in java, a singleton instance of Agency is made and passed
@@ -82,6 +87,15 @@ public class Agency extends Observable { //implements java.io.Serialization
      */
     private static final Logger LOG = Logger.getLogger(Agency.class.getName());
 
+    /**
+     * The critique timers of the critics, by critic, looked up only while
+     * the metrics are on. Critics of the same class, such as those of the
+     * OCL constraints of a profile, each have their own.
+     */
+    private static final Map<Critic, Metrics.Timer> CRITIQUE_TIMERS =
+        Collections.synchronizedMap(
+                new IdentityHashMap<Critic, Metrics.Timer>());
+
 
     /**
      * A registry of all critics that are currently loaded into the
@@ -353,10 +367,18 @@ public class Agency extends Observable { //implements java.io.Serialization
         Collection<Critic> theCritics,
         long reasonCode) {
 
+        boolean measure = Metrics.isEnabled();
         for (Critic c : theCritics) {
             if (c.isActive() && c.matchReason(reasonCode)) {
                 try {
-                    c.critique(dm, d);
+                    if (measure) {
+                        Metrics.Timer timer = getCritiqueTimer(c);
+                        long start = timer.start();
+                        c.critique(dm, d);
+                        timer.stop(start);
+                    } else {
+                        c.critique(dm, d);
+                    }
                 } catch (Exception ex) {
                     LOG.log(Level.SEVERE,
                             "Disabling critique due to exception\n"
@@ -368,6 +390,22 @@ public class Agency extends Observable { //implements java.io.Serialization
         }
     }
 
+    private static Metrics.Timer getCritiqueTimer(Critic c) {
+        Metrics.Timer timer = CRITIQUE_TIMERS.get(c);
+        if (timer == null) {
+            String name = c.getHeadline();
+            if (name == null) {
+                name = c.toString();
+            }
+            if (name == null) {
+                name = c.getClass().getName();
+            }
+            timer = Metrics.timer("critics.critique." + name);
+            CRITIQUE_TIMERS.put(c, timer);
+        }
+        return timer;
+    }
+
     /**
      * Compute which critics should be active (i.e., they can be
      * applied by applyAllCritics) for a given Designer. <p>
@@ -55,6 +55,9 @@ import org.argouml.application.api.Argo;
 import org.argouml.configuration.Configuration;
 import org.argouml.configuration.ConfigurationKey;
 import org.argouml.model.InvalidElementException;
+import org.argouml.model.Metrics;
+import org.argouml.model.Model;
+import org.argouml.model.ReadSession;
 import org.tigris.gef.util.ChildGenerator;
 import org.tigris.gef.util.EnumerationEmpty;
 
@@ -98,6 +101,15 @@ public final class Designer
     private static final Logger LOG =
         Logger.getLogger(Designer.class.getName());
 
+    private static final Metrics.Histogram HOT_QUEUE =
+        Metrics.histogram("designer.queue.hot");
+
+    private static final Metrics.Histogram WARM_QUEUE =
+        Metrics.histogram("designer.queue.warm");
+
+    private static final Metrics.Timer CRITIQUE_CYCLE =
+        Metrics.timer("designer.critique");
+
     /**
      * the singleton of this class.
      */
@@ -206,6 +218,12 @@ public final class Designer
      */
     private List<Object> warmQueue;
 
+    /**
+     * The number of times the queues were cleared, so that the critiquing
+     * thread does not put back what it took off them before.
+     */
+    private int clears;
+
     private ChildGenerator childGenerator;
 
     private static Object critiquingRoot;
@@ -321,7 +339,12 @@ public final class Designer
 //                      && getAutoCritique()
                         && critiqueLock <= 0) {
 
-                    // why?
+                    List<Object> hot;
+                    List<Long> hotReasons;
+                    List<Object> warm;
+                    int clearsBefore;
+                    // Take the work of this cycle off the queues, which the
+                    // threads changing the model fill
                     synchronized (this) {
                         critiqueStartTime = System.currentTimeMillis();
                         cutoffTime = critiqueStartTime + 3000;
@@ -335,51 +358,49 @@ public final class Designer
                         addReasonQueue.clear();
 
                         longestHot = Math.max(longestHot, hotQueue.size());
+                        HOT_QUEUE.record(hotQueue.size());
+                        WARM_QUEUE.record(warmQueue.size());
                         agency.determineActiveCritics(this);
 
-                        while (hotQueue.size() > 0) {
-                            Object dm = hotQueue.get(0);
-                            Long reasonCode =
-                                    hotReasonQueue.get(0);
-                            hotQueue.remove(0);
-                            hotReasonQueue.remove(0);
-                            Agency.applyAllCritics(dm, theDesigner(),
-                                    reasonCode.longValue());
-                        }
-
                         size = removeQueue.size();
                         for (int i = 0; i < size; i++) {
                             warmQueue.remove(removeQueue.get(i));
                         }
                         removeQueue.clear();
-
                         if (warmQueue.size() == 0) {
                             warmQueue.add(critiquingRoot);
                         }
-                        while (warmQueue.size() > 0
-                                && (System.currentTimeMillis() < cutoffTime
-                                        || minWarmElements > 0)) {
-                            if (minWarmElements > 0) {
-                                minWarmElements--;
-                            }
-                            Object dm = warmQueue.get(0);
-                            warmQueue.remove(0);
-                            try {
-                                Agency.applyAllCritics(dm, theDesigner());
-                                java.util.Enumeration subDMs =
-                                        childGenerator.gen(dm);
-                                while (subDMs.hasMoreElements()) {
-                                    Object nextDM = subDMs.nextElement();
-                                    if (!(warmQueue.contains(nextDM))) {
-                                        warmQueue.add(nextDM);
-                                    }
-                                }
-                            } catch (InvalidElementException e) {
-                                // Don't let a transient error kill the thread
-                                LOG.log(Level.WARNING, "Element " + dm
-                                        + "caused an InvalidElementException.  "
-                                        + "Ignoring for this pass.");
-                            }
+
+                        hot = new ArrayList<Object>(hotQueue);
+                        hotReasons = new ArrayList<Long>(hotReasonQueue);
+                        warm = new ArrayList<Object>(warmQueue);
+                        hotQueue.clear();
+                        hotReasonQueue.clear();
+                        warmQueue.clear();
+                        clearsBefore = clears;
+                    }
+
+                    // Critique a consistent model, letting the edits
+                    // of the user through between elements. The session
+                    // is taken without holding the monitor, which the
+                    // threads changing the model take while holding the
+                    // model.
+                    ReadSession session = Model.createReadSession();
+                    session.begin();
+                    long start = CRITIQUE_CYCLE.start();
+                    try {
+                        critique(session, hot, hotReasons, warm, cutoffTime,
+                                minWarmElements);
+                    } finally {
+                        session.end();
+                        CRITIQUE_CYCLE.stop(start);
+                    }
+
+                    synchronized (this) {
+                        // Keep what is left for the next cycle, unless the
+                        // queues were cleared meanwhile
+                        if (clears == clearsBefore) {
+                            warmQueue.addAll(warm);
                         }
                     }
                 } else {
@@ -404,6 +425,81 @@ public final class Designer
         }
     }
 
+    /**
+     * Apply the critics to the hot elements, then to the warm ones until
+     * the cutoff time, adding the children of the warm elements to them.
+     * The model may change at the checkpoints of the session, which are
+     * only between two elements: all the critics of an element run with
+     * the session held, even past its bound. An element deleted at a
+     * checkpoint is skipped.
+     *
+     * @param session the read session held while critiquing
+     * @param hot the elements to critique first, which are removed
+     * @param hotReasons the reason codes of the hot elements
+     * @param warm the elements to critique next, which are removed as
+     *            they are critiqued
+     * @param cutoffTime the time to stop going through the warm elements
+     * @param minWarmElements the number of warm elements to critique even
+     *            past the cutoff time
+     */
+    private void critique(ReadSession session, List<Object> hot,
+            List<Long> hotReasons, List<Object> warm, long cutoffTime,
+            int minWarmElements) {
+        int minWarm = minWarmElements;
+        while (hot.size() > 0) {
+            Object dm = hot.remove(0);
+            Long reasonCode = hotReasons.remove(0);
+            if (session.checkpoint() && isRemoved(dm)) {
+                continue;
+            }
+            try {
+                Agency.applyAllCritics(dm, theDesigner(),
+                        reasonCode.longValue());
+            } catch (InvalidElementException e) {
+                LOG.log(Level.WARNING, "Element " + dm
+                        + " caused an InvalidElementException.  "
+                        + "Ignoring for this pass.");
+            }
+        }
+
+        while (warm.size() > 0
+                && (System.currentTimeMillis() < cutoffTime
+                        || minWarm > 0)) {
+            if (minWarm > 0) {
+                minWarm--;
+            }
+            Object dm = warm.remove(0);
+            if (session.checkpoint() && isRemoved(dm)) {
+                continue;
+            }
+            try {
+                Agency.applyAllCritics(dm, theDesigner());
+                java.util.Enumeration subDMs =
+                        childGenerator.gen(dm);
+                while (subDMs.hasMoreElements()) {
+                    Object nextDM = subDMs.nextElement();
+                    if (!(warm.contains(nextDM))) {
+                        warm.add(nextDM);
+                    }
+                }
+            } catch (InvalidElementException e) {
+                // Don't let a transient error kill the thread
+                LOG.log(Level.WARNING, "Element " + dm
+                        + " caused an InvalidElementException.  "
+                        + "Ignoring for this pass.");
+            }
+        }
+    }
+
+    /**
+     * @param dm the design material
+     * @return true if it is a model element which has been deleted
+     */
+    private static boolean isRemoved(Object dm) {
+        return Model.getFacade().isAUMLElement(dm)
+            && Model.getUmlFactory().isRemoved(dm);
+    }
+
     /**
      * A modelelement has been changed.
      * Now we give it priority to be checked by the critics ASAP.
@@ -608,6 +704,7 @@ public final class Designer
             theDesigner().addReasonQueue.clear();
             theDesigner().removeQueue.clear();
             theDesigner().warmQueue.clear();
+            theDesigner().clears++;
         }
         //clear out queues! @@@
     }
@@ -54,6 +54,8 @@ import javax.swing.event.EventListenerList;
 
 import org.argouml.i18n.Translator;
 import org.argouml.model.InvalidElementException;
+import org.argouml.model.Model;
+import org.argouml.model.ReadSession;
 
 /**
  * Implements a list of ToDoItem's.
@@ -145,6 +147,11 @@ public class ToDoList extends Observable implements Runnable {
 
     private Object pausedMutex = new Object();
 
+    /**
+     * Held while the items are checked, so that one check runs at a time.
+     */
+    private final Object checkLock = new Object();
+
     /**
      * Creates a new todolist. The only ToDoList is owned by the Designer.
      */
@@ -222,45 +229,75 @@ public class ToDoList extends Observable implements Runnable {
      * <p>
      *
      * <em>Warning: Fragile code!</em> No method that this method calls can
-     * synchronized the Designer, otherwise there will be deadlock.
+     * synchronized the Designer, otherwise there will be deadlock.<p>
+     *
+     * The items are copied and checked in a read session of the model
+     * without holding the monitors of the list, which the threads changing
+     * the model take while holding the model. The checks are serialized by
+     * a lock of their own.
      *
      * @param removes a list containing the items to be removed
      */
-    private synchronized void forceValidityCheck(
-            final List<ToDoItem> removes) {
-        synchronized (items) {
-            for (ToDoItem item : items) {
-                boolean valid;
-                try {
-                    valid = item.stillValid(designer);
-                } catch (InvalidElementException ex) {
-                    // If element has been deleted, it's no longer valid
-                    valid = false;
-                } catch (Exception ex) {
-                    valid = false;
-                    StringBuffer buf = new StringBuffer(
-                            "Exception raised in ToDo list cleaning");
-                    buf.append("\n");
-                    buf.append(item.toString());
-                    LOG.log(Level.SEVERE,buf.toString(), ex);
-                }
-                if (!valid) {
-                    numNotValid++;
-                    removes.add(item);
-                }
+    private void forceValidityCheck(final List<ToDoItem> removes) {
+        synchronized (checkLock) {
+            List<ToDoItem> toCheck;
+            synchronized (items) {
+                toCheck = new ArrayList<ToDoItem>(items);
+            }
+            ReadSession session = Model.createReadSession();
+            session.begin();
+            try {
+                checkItems(session, toCheck, removes);
+            } finally {
+                session.end();
+            }
+
+            for (ToDoItem item : removes) {
+                removeE(item);
+                // History.TheHistory.addItemResolution(item,
+                // "no longer valid");
+                // ((ToDoItem)item).resolve("no longer valid");
+                // notifyObservers("removeElement", item);
             }
+            recomputeAllOffenders();
+            recomputeAllPosters();
+            fireToDoItemsRemoved(removes);
         }
+    }
 
-        for (ToDoItem item : removes) {
-            removeE(item);
-            // History.TheHistory.addItemResolution(item,
-            // "no longer valid");
-            // ((ToDoItem)item).resolve("no longer valid");
-            // notifyObservers("removeElement", item);
+    /**
+     * Check the items, within the read session. The model may change at the
+     * checkpoints of the session, which are only between two items: the
+     * offenders of an item are checked by its critic in one go, with the
+     * session held even past its bound.
+     *
+     * @param session the read session
+     * @param toCheck the items to check
+     * @param removes the list to add the items which are no longer valid to
+     */
+    private void checkItems(ReadSession session, List<ToDoItem> toCheck,
+            List<ToDoItem> removes) {
+        for (ToDoItem item : toCheck) {
+            session.checkpoint();
+            boolean valid;
+            try {
+                valid = item.stillValid(designer);
+            } catch (InvalidElementException ex) {
+                // If element has been deleted, it's no longer valid
+                valid = false;
+            } catch (Exception ex) {
+                valid = false;
+                StringBuffer buf = new StringBuffer(
+                        "Exception raised in ToDo list cleaning");
+                buf.append("\n");
+                buf.append(item.toString());
+                LOG.log(Level.SEVERE,buf.toString(), ex);
+            }
+            if (!valid) {
+                numNotValid++;
+                removes.add(item);
+            }
         }
-        recomputeAllOffenders();
-        recomputeAllPosters();
-        fireToDoItemsRemoved(removes);
     }
 
     /**
@@ -55,4 +55,15 @@ public abstract class AbstractCommand implements Command {
     public boolean isRedoable() {
         return true;
     }
+
+    /**
+     * Estimate the memory this command keeps alive while it is held by an
+     * {@link UndoManager}.  The default is for a command which holds a few
+     * references to objects which are kept alive anyway.
+     *
+     * @return the estimated size in bytes
+     */
+    public int getMemorySize() {
+        return 32;
+    }
 }
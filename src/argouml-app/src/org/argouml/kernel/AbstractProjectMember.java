@@ -165,6 +165,29 @@ public abstract class AbstractProjectMember implements ProjectMember {
         return "." + getType();
     }
 
+    /**
+     * Members which are able to tell whether they have changed since they
+     * were last saved override this, so that the persisters can write out
+     * their previously saved contents unchanged. The default is to always
+     * be dirty, which makes the member be written out in full on every save.
+     *
+     * @return true if the member may have changed since it was last saved
+     */
+    public boolean isDirty() {
+        return true;
+    }
+
+    /**
+     * Mark the member as changed, or as saved. This is called by the
+     * persisters just before the member is written out. The default
+     * implementation does nothing.
+     *
+     * @param dirty false if the member is about to be saved, true if the
+     *            member must be written out in full on the next save
+     */
+    public void setDirty(boolean dirty) {
+    }
+
     /**
      * Remove this member from its project.
      */
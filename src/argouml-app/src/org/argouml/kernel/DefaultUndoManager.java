@@ -48,6 +48,9 @@ import java.util.Stack;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.argouml.application.events.ArgoEventPump;
+import org.argouml.application.events.ArgoEventTypes;
+import org.argouml.application.events.ArgoStatusEvent;
 import org.argouml.i18n.Translator;
 
 /**
@@ -67,6 +70,17 @@ class DefaultUndoManager implements UndoManager {
      */
     private int undoMax = 0;
 
+    /**
+     * The default memory budget of the undo and redo stacks, in bytes.
+     */
+    static final long DEFAULT_UNDO_BUDGET = 16 * 1024 * 1024;
+
+    /**
+     * The memory the commands held by the undo and redo stacks may keep
+     * alive, in bytes.
+     */
+    private long undoBudget = DEFAULT_UNDO_BUDGET;
+
     private ArrayList<PropertyChangeListener> listeners =
         new ArrayList<PropertyChangeListener>();
 
@@ -145,20 +159,87 @@ class DefaultUndoManager implements UndoManager {
             redoStack.clear();
             newInteraction = false;
             if (undoStack.size() > undoMax) {
-                undoStack.remove(0);
+                undoStack.removeOldest();
             }
             macroCommand = new Interaction(newInteractionLabel);
             undoStack.push(macroCommand);
         } else {
             macroCommand = undoStack.peek();
         }
-        macroCommand.addCommand(command);
+        if (macroCommand.addCommand(command)) {
+            undoStack.addMemorySize(getMemorySize(command));
+            trimToBudget();
+        }
     }
 
     public void setUndoMax(int max) {
         undoMax = max;
     }
 
+    public synchronized void setUndoBudget(long bytes) {
+        undoBudget = bytes;
+        trimToBudget();
+    }
+
+    /**
+     * @return the estimated memory kept alive by the commands held by the
+     *         undo and redo stacks, in bytes
+     */
+    synchronized long getMemorySize() {
+        return undoStack.getMemorySize() + redoStack.getMemorySize();
+    }
+
+    /**
+     * Estimate the memory a command keeps alive.
+     */
+    private static int getMemorySize(Command command) {
+        if (command instanceof AbstractCommand) {
+            return ((AbstractCommand) command).getMemorySize();
+        }
+        return 32;
+    }
+
+    /**
+     * Drop the oldest interactions until the stacks are within the budget,
+     * and tell the user.  The redo stack goes first, then the bottom of the
+     * undo stack. If the interaction taking place is over the budget on its
+     * own, its commands are dropped and it can't be undone, and neither can
+     * anything before it.
+     */
+    private void trimToBudget() {
+        if (getMemorySize() <= undoBudget) {
+            return;
+        }
+        int dropped = redoStack.size();
+        redoStack.clear();
+        while (undoStack.size() > 1 && getMemorySize() > undoBudget) {
+            undoStack.removeOldest();
+            ++dropped;
+        }
+        if (getMemorySize() > undoBudget && !undoStack.isEmpty()) {
+            LOG.log(Level.INFO, "Interaction {0} is over the undo budget "
+                    + "of {1} bytes, it will not be undoable",
+                    new Object[] {undoStack.peek().label, undoBudget});
+            dropped += undoStack.size() - 1;
+            undoStack.discardTop();
+            showStatus(Translator.localize(
+                    "statusmsg.bar.undo-interaction-dropped",
+                    new Object[] {String.valueOf(undoStack.peek().label)}));
+        } else if (dropped > 0) {
+            LOG.log(Level.FINE, "Dropped {0} interactions to keep undo "
+                    + "within {1} bytes",
+                    new Object[] {dropped, undoBudget});
+            showStatus(Translator.localize(
+                    "statusmsg.bar.undo-history-dropped",
+                    new Object[] {dropped}));
+        }
+    }
+
+    private void showStatus(String message) {
+        ArgoEventPump.fireEvent(new ArgoStatusEvent(
+                ArgoEventTypes.STATUS_TEXT, this, message));
+    }
+
 
     public synchronized void undo() {
         final Interaction command = undoStack.pop();
@@ -210,6 +291,14 @@ class DefaultUndoManager implements UndoManager {
 
         private String label;
 
+        private long memorySize;
+
+
+        /**
+         * Set when the commands were dropped to keep within the budget.
+         */
+        private boolean discarded;
+
         Interaction(String lbl) {
             label = lbl;
         }
@@ -231,6 +320,9 @@ class DefaultUndoManager implements UndoManager {
         }
 
         public boolean isUndoable() {
+            if (discarded) {
+                return false;
+            }
             final Iterator<Command> it = commands.iterator();
             while (it.hasNext()) {
                 final Command command = it.next();
@@ -242,6 +334,9 @@ class DefaultUndoManager implements UndoManager {
         }
 
         public boolean isRedoable() {
+            if (discarded) {
+                return false;
+            }
             final Iterator<Command> it = commands.iterator();
             while (it.hasNext()) {
                 final Command command = it.next();
@@ -252,8 +347,28 @@ class DefaultUndoManager implements UndoManager {
             return true;
         }
 
-        private void addCommand(Command command) {
+        /**
+         * @return true if the command was kept, false if this interaction
+         *         has been discarded
+         */
+        private boolean addCommand(Command command) {
+            if (discarded) {
+                return false;
+            }
             commands.add(command);
+            memorySize += DefaultUndoManager.getMemorySize(command);
+            return true;
+        }
+
+        @Override
+        public int getMemorySize() {
+            return (int) Math.min(memorySize, Integer.MAX_VALUE);
+        }
+
+        private void discard() {
+            commands = new ArrayList<Command>();
+            memorySize = 0;
+            discarded = true;
         }
 
         // TODO: i18n
@@ -286,6 +401,8 @@ class DefaultUndoManager implements UndoManager {
         private String removedProperty;
         private String sizeProperty;
 
+        private long memorySize;
+
         public InteractionStack(
                 String labelProp,
                 String addedProp,
@@ -299,6 +416,7 @@ class DefaultUndoManager implements UndoManager {
 
         public Interaction push(Interaction item) {
             super.push(item);
+            memorySize += item.getMemorySize();
             fireLabel();
             fire(addedProperty, item);
             fire(sizeProperty, size());
@@ -307,16 +425,40 @@ class DefaultUndoManager implements UndoManager {
 
         public Interaction pop() {
             Interaction item = super.pop();
+            memorySize -= item.getMemorySize();
             fireLabel();
             fire(removedProperty, item);
             fire(sizeProperty, size());
             return item;
         }
 
+        public void clear() {
+            super.clear();
+            memorySize = 0;
+        }
+
         private void fireLabel() {
             fire(labelProperty, getLabel());
         }
 
+        long getMemorySize() {
+            return memorySize;
+        }
+
+        void addMemorySize(long size) {
+            memorySize += size;
+        }
+
+        void setMemorySize(long size) {
+            memorySize = size;
+        }
+
+        void removeOldest() {
+            Interaction item = remove(0);
+            memorySize -= item.getMemorySize();
+            fire(sizeProperty, size());
+        }
+
         protected abstract String getLabel();
     }
 
@@ -352,6 +494,19 @@ class DefaultUndoManager implements UndoManager {
             fire("undoable", false);
         }
 
+        /**
+         * Drop the commands of the interaction on top, and everything below
+         * it since it can no longer be reached.
+         */
+        void discardTop() {
+            Interaction item = peek();
+            removeRange(0, size() - 1);
+            item.discard();
+            setMemorySize(0);
+            fire("undoSize", size());
+            fire("undoable", false);
+        }
+
         protected String getLabel() {
             if (empty()) {
                 return Translator.localize("action.undo");
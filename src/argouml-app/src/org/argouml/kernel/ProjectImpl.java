@@ -167,7 +167,14 @@ public class ProjectImpl implements java.io.Serializable, Project {
     private HashMap<String, Object> defaultModelTypeCache =
         new HashMap<String, Object>();
 
-    private final Collection trashcan = new ArrayList();
+    private final Collection trashcan = new HashSet();
+
+    /**
+     * The UML elements which {@link #trashInternal(Object)} leaves to be
+     * deleted together at the end of a bulk {@link #moveToTrash(Object)},
+     * or null when they are deleted at once.
+     */
+    private List<Object> pendingDeletes;
 
     // TODO: Change this to use an UndoManager instance per project when
     // GEF has been enhanced.
@@ -885,12 +892,32 @@ public class ProjectImpl implements java.io.Serializable, Project {
 
     public void moveToTrash(Object obj) {
         if (obj instanceof Collection) {
-            Iterator i = ((Collection) obj).iterator();
-            while (i.hasNext()) {
-                Object trash = i.next();
-                if (!trashcan.contains(trash)) {
-                    trashInternal(trash);
+            // The UML elements are deleted together at the end, which is
+            // much quicker than deleting them one at a time
+            if (pendingDeletes != null) {
+                // Nested in a bulk move, which deletes them at its end
+                trashAll((Collection) obj);
+                return;
+            }
+            pendingDeletes = new ArrayList<Object>();
+            try {
+                trashAll((Collection) obj);
+                // Deleting a Fig may have deleted some of them already
+                List<Object> remaining = new ArrayList<Object>();
+                for (Object element : pendingDeletes) {
+                    if (!isRemoved(element)) {
+                        remaining.add(element);
+                    }
                 }
+                if (!remaining.isEmpty()) {
+                    Model.getUmlFactory().deleteAll(remaining);
+                }
+            } catch (RuntimeException e) {
+                // None of them were deleted, so they may be trashed again
+                trashcan.removeAll(pendingDeletes);
+                throw e;
+            } finally {
+                pendingDeletes = null;
             }
         } else {
             if (!trashcan.contains(obj)) {
@@ -899,6 +926,21 @@ public class ProjectImpl implements java.io.Serializable, Project {
         }
     }
 
+    private void trashAll(Collection objs) {
+        Iterator i = objs.iterator();
+        while (i.hasNext()) {
+            Object trash = i.next();
+            if (!trashcan.contains(trash) && !isRemoved(trash)) {
+                trashInternal(trash);
+            }
+        }
+    }
+
+    private static boolean isRemoved(Object obj) {
+        return Model.getFacade().isAUMLElement(obj)
+            && Model.getUmlFactory().isRemoved(obj);
+    }
+
     /**
      * Removes some object from the project.
      *
@@ -919,7 +961,11 @@ public class ProjectImpl implements java.io.Serializable, Project {
         }
         if (Model.getFacade().isAUMLElement(obj)) {
 
-            Model.getUmlFactory().delete(obj);
+            if (pendingDeletes != null) {
+                pendingDeletes.add(obj);
+            } else {
+                Model.getUmlFactory().delete(obj);
+            }
 
             // TODO: Presumably this is only relevant if
             // obj is actually a Model or Profile.
@@ -589,6 +589,10 @@ public final class ProjectManager implements ModelCommandCreationObserver {
             public Object execute() {
                 return modelCommand.execute();
             }
+            public int getMemorySize() {
+                // This object and the model command
+                return 16 + modelCommand.getMemorySize();
+            }
             public String toString() {
                 return modelCommand.toString();
             }
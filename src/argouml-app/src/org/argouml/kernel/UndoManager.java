@@ -71,6 +71,15 @@ public interface UndoManager {
      */
     public abstract void setUndoMax(int max);
 
+    /**
+     * Set the memory the commands held by the stacks may keep alive. The
+     * oldest interactions are dropped while the stacks are over the
+     * budget, and the user is told.
+     *
+     * @param bytes the budget in bytes
+     */
+    public abstract void setUndoBudget(long bytes);
+
     /**
      * Undo the top user interaction on the undo stack and move
      * it to the redo stack.
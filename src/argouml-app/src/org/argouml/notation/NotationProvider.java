@@ -75,6 +75,13 @@ public abstract class NotationProvider implements PropertyChangeListener {
      */
     private final Collection<Object[]> listeners = new ArrayList<Object[]>();
 
+    /**
+     * The element whose rendering we last left in the cache. Its entry
+     * records the elements we listened to at that time, so it is dropped
+     * when we start listening to another.
+     */
+    private Object cachedElement;
+
     /**
      * @return a i18 key that represents a help string
      *         giving an explanation to the user of the syntax
@@ -101,6 +108,69 @@ public abstract class NotationProvider implements PropertyChangeListener {
     public abstract String toString(Object modelElement,
             NotationSettings settings);
 
+    /**
+     * Generate a string representation for the given model element,
+     * reusing the text rendered earlier if nothing it depends on has
+     * changed since. The text is only remembered while this provider
+     * listens to the element, since only then do we know which elements
+     * the text depends on.
+     *
+     * @param modelElement the base UML element
+     * @param settings settings that control rendering of the text
+     * @return the string written in the correct notation
+     * @see NotationRenderingCache
+     */
+    public final String render(Object modelElement,
+            NotationSettings settings) {
+        NotationRenderingCache cache = NotationRenderingCache.getInstance();
+        String settingsKey = settings.getRenderingKey();
+        String text = cache.lookup(modelElement, getClass(), settingsKey);
+        if (text != null) {
+            return text;
+        }
+        long start = cache.beginRendering();
+        try {
+            text = toString(modelElement, settings);
+        } finally {
+            if (text != null && isListeningTo(modelElement)) {
+                Collection<Object> listened = new ArrayList<Object>();
+                for (Object[] lis : listeners) {
+                    listened.add(lis[0]);
+                }
+                cache.endRendering(modelElement, getClass(), settingsKey,
+                        text, listened, start);
+                cachedElement = modelElement;
+            } else {
+                cache.endRendering(modelElement, getClass(), settingsKey,
+                        null, null, start);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * @param modelElement the element
+     * @return true if a listener is registered for the given element
+     */
+    private boolean isListeningTo(Object modelElement) {
+        for (Object[] lis : listeners) {
+            if (lis[0] == modelElement) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop the rendering we left in the cache, if any.
+     */
+    private void forgetCachedRendering() {
+        if (cachedElement != null) {
+            NotationRenderingCache.getInstance().invalidate(cachedElement);
+            cachedElement = null;
+        }
+    }
+
     /**
      * Initialize the appropriate model change listeners
      * for the given modelelement to the given listener.
@@ -180,8 +250,13 @@ public abstract class NotationProvider implements PropertyChangeListener {
                             + owner);
                     return;
                 }
+                // Render afresh, even if we don't listen to all the text
+                // depends on
+                NotationRenderingCache.getInstance().invalidate(
+                        evt.getSource());
+                NotationRenderingCache.getInstance().invalidate(owner);
                 renderer.notationRenderingChanged(this,
-                        toString(owner, renderer.getNotationSettings(this)));
+                        render(owner, renderer.getNotationSettings(this)));
                 if (evt instanceof AddAssociationEvent
                         || evt instanceof RemoveAssociationEvent) {
                     initialiseListener(owner);
@@ -206,6 +281,7 @@ public abstract class NotationProvider implements PropertyChangeListener {
         Object[] entry = new Object[] {element, null};
         if (!listeners.contains(entry)) {
             listeners.add(entry);
+            forgetCachedRendering();
             Model.getPump().addModelEventListener(listener, element);
         } else {
             LOG.log(Level.WARNING, "Attempted duplicate registration of event listener"
@@ -243,6 +319,7 @@ public abstract class NotationProvider implements PropertyChangeListener {
         Object[] entry = new Object[] {element, property};
         if (!listeners.contains(entry)) {
             listeners.add(entry);
+            forgetCachedRendering();
             Model.getPump().addModelEventListener(listener, element, property);
         } else {
             LOG.log(Level.FINE, "Attempted duplicate registration of event listener"
@@ -281,6 +358,7 @@ public abstract class NotationProvider implements PropertyChangeListener {
         Object[] entry = new Object[] {element, property};
         if (!listeners.contains(entry)) {
             listeners.add(entry);
+            forgetCachedRendering();
             Model.getPump().addModelEventListener(listener, element, property);
         } else {
             LOG.log(Level.FINE,
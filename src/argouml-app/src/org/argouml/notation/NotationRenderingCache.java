@@ -0,0 +1,283 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.notation;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.argouml.application.events.ArgoEventPump;
+import org.argouml.application.events.ArgoEventTypes;
+import org.argouml.application.events.ArgoNotationEvent;
+import org.argouml.application.events.ArgoNotationEventListener;
+import org.argouml.model.Metrics;
+import org.argouml.model.Model;
+
+/**
+ * Remembers the text rendered by notation providers, so that a model
+ * element which has not changed is not rendered again each time a Fig
+ * or compartment is refreshed.<p>
+ *
+ * An entry is keyed on the model element, the class of the provider and
+ * the rendering key of the notation settings used. It is only kept while
+ * the provider that rendered it listens to the element, and records each
+ * element the provider listens to. The entry is dropped by the listeners
+ * alone: this cache drops it for any model event from one of those
+ * elements, and the provider drops it for any event it receives before it
+ * renders afresh. Any change of notation drops all entries.<p>
+ *
+ * The hits, misses and invalidations are counted by the
+ * {@link Metrics} registry.
+ *
+ * @see NotationProvider#render(Object, NotationSettings)
+ */
+public final class NotationRenderingCache
+    implements PropertyChangeListener, ArgoNotationEventListener {
+
+    private static final Metrics.Counter HITS =
+        Metrics.counter("notation.cache.hits");
+
+    private static final Metrics.Counter MISSES =
+        Metrics.counter("notation.cache.misses");
+
+    private static final Metrics.Counter INVALIDATIONS =
+        Metrics.counter("notation.cache.invalidations");
+
+    private static NotationRenderingCache instance;
+
+    /**
+     * The rendered texts of each element, by provider class. The elements
+     * are held weakly so that the texts go away with the model.
+     */
+    private final Map<Object, Map<Class<?>, Rendering>> renderings =
+        new WeakHashMap<Object, Map<Class<?>, Rendering>>();
+
+    /**
+     * For each element listened to, the elements whose renderings depend
+     * on it.
+     */
+    private final Map<Object, Map<Object, Boolean>> dependents =
+        new WeakHashMap<Object, Map<Object, Boolean>>();
+
+    /**
+     * Counts the invalidations, to tell when an element was invalidated.
+     */
+    private long clock;
+
+    /**
+     * The number of renderings in progress.
+     */
+    private int rendering;
+
+    /**
+     * When each element was last invalidated, kept only while renderings
+     * are in progress, so that a text rendered from an element which
+     * changed meanwhile is not stored.
+     */
+    private final Map<Object, Long> invalidated =
+        new WeakHashMap<Object, Long>();
+
+    /**
+     * When the cache was last cleared.
+     */
+    private long cleared;
+
+    /**
+     * @return the cache shared by all notation providers
+     */
+    public static synchronized NotationRenderingCache getInstance() {
+        if (instance == null) {
+            instance = new NotationRenderingCache();
+        }
+        return instance;
+    }
+
+    private NotationRenderingCache() {
+        Model.getPump().addClassModelEventListener(this,
+                Model.getMetaTypes().getModelElement(), (String[]) null);
+        ArgoEventPump.addListener(ArgoEventTypes.ANY_NOTATION_EVENT, this);
+    }
+
+    /**
+     * Look up the text rendered earlier for an element.
+     *
+     * @param element the model element
+     * @param providerClass the class of the notation provider
+     * @param settingsKey the rendering key of the notation settings
+     * @return the text, or null if there is none
+     */
+    synchronized String lookup(Object element, Class<?> providerClass,
+            String settingsKey) {
+        Map<Class<?>, Rendering> byProvider = renderings.get(element);
+        if (byProvider != null) {
+            Rendering r = byProvider.get(providerClass);
+            if (r != null && r.settingsKey.equals(settingsKey)) {
+                HITS.increment();
+                return r.text;
+            }
+        }
+        MISSES.increment();
+        return null;
+    }
+
+    /**
+     * Note that a text is about to be rendered. Each call must be followed
+     * by a call of
+     * {@link #endRendering(Object, Class, String, String, Collection, long)}.
+     *
+     * @return the time the rendering started
+     */
+    synchronized long beginRendering() {
+        ++rendering;
+        return clock;
+    }
+
+    /**
+     * Remember the text rendered for an element, unless the element or one
+     * of the elements it depends on was invalidated since the rendering
+     * started.
+     *
+     * @param element the model element
+     * @param providerClass the class of the notation provider
+     * @param settingsKey the rendering key of the notation settings
+     * @param text the rendered text, or null to store nothing
+     * @param listened the elements the provider listens to
+     * @param start what {@link #beginRendering()} gave
+     */
+    synchronized void endRendering(Object element, Class<?> providerClass,
+            String settingsKey, String text, Collection<Object> listened,
+            long start) {
+        try {
+            if (text != null && !changedSince(element, listened, start)) {
+                store(element, providerClass, settingsKey, text, listened);
+            }
+        } finally {
+            if (--rendering == 0) {
+                invalidated.clear();
+            }
+        }
+    }
+
+    private boolean changedSince(Object element, Collection<Object> listened,
+            long start) {
+        if (cleared > start || changedSince(element, start)) {
+            return true;
+        }
+        for (Object dependency : listened) {
+            if (changedSince(dependency, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean changedSince(Object element, long start) {
+        Long time = invalidated.get(element);
+        return time != null && time > start;
+    }
+
+    private void store(Object element, Class<?> providerClass,
+            String settingsKey, String text, Collection<Object> listened) {
+        Map<Class<?>, Rendering> byProvider = renderings.get(element);
+        if (byProvider == null) {
+            byProvider = new HashMap<Class<?>, Rendering>(4);
+            renderings.put(element, byProvider);
+        }
+        byProvider.put(providerClass, new Rendering(settingsKey, text));
+        for (Object dependency : listened) {
+            Map<Object, Boolean> elements = dependents.get(dependency);
+            if (elements == null) {
+                elements = new WeakHashMap<Object, Boolean>(4);
+                dependents.put(dependency, elements);
+            }
+            elements.put(element, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Drop the texts rendered for an element and for all elements whose
+     * rendering depends on it.
+     *
+     * @param element the model element which has changed
+     */
+    public synchronized void invalidate(Object element) {
+        ++clock;
+        if (rendering > 0) {
+            invalidated.put(element, clock);
+        }
+        if (renderings.remove(element) != null) {
+            INVALIDATIONS.increment();
+        }
+        Map<Object, Boolean> elements = dependents.remove(element);
+        if (elements != null) {
+            List<Object> affected = new ArrayList<Object>(elements.keySet());
+            for (Object affectedElement : affected) {
+                if (renderings.remove(affectedElement) != null) {
+                    INVALIDATIONS.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop all rendered texts.
+     */
+    public synchronized void clear() {
+        cleared = ++clock;
+        INVALIDATIONS.add(renderings.size());
+        renderings.clear();
+        dependents.clear();
+    }
+
+    /*
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    public void propertyChange(PropertyChangeEvent evt) {
+        invalidate(evt.getSource());
+    }
+
+    public void notationChanged(ArgoNotationEvent e) {
+        clear();
+    }
+
+    public void notationAdded(ArgoNotationEvent e) {
+        clear();
+    }
+
+    public void notationRemoved(ArgoNotationEvent e) {
+        clear();
+    }
+
+    public void notationProviderAdded(ArgoNotationEvent e) {
+        clear();
+    }
+
+    public void notationProviderRemoved(ArgoNotationEvent e) {
+        clear();
+    }
+
+    private static class Rendering {
+        private final String settingsKey;
+        private final String text;
+
+        Rendering(String theSettingsKey, String theText) {
+            settingsKey = theSettingsKey;
+            text = theText;
+        }
+    }
+}
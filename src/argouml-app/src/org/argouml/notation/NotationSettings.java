@@ -545,6 +545,39 @@ public class NotationSettings {
         showPathsSet = true;
     }
 
+    /**
+     * Two settings objects with the same rendering key render any model
+     * element to the same text. Used to key the cache of rendered text.
+     *
+     * @return a key built from the language and the effective value of
+     *         each setting
+     * @see NotationRenderingCache
+     */
+    public String getRenderingKey() {
+        StringBuilder key = new StringBuilder(getNotationLanguage());
+        key.append(':');
+        appendFlag(key, isShowAssociationNames());
+        appendFlag(key, isShowVisibilities());
+        appendFlag(key, isShowPaths());
+        appendFlag(key, isFullyHandleStereotypes());
+        appendFlag(key, isUseGuillemets());
+        appendFlag(key, isShowMultiplicities());
+        appendFlag(key, isShowSingularMultiplicities());
+        appendFlag(key, isShowTypes());
+        appendFlag(key, isShowProperties());
+        appendFlag(key, isShowInitialValues());
+        return key.toString();
+    }
+
+    /**
+     * Append a single setting to a rendering key.
+     *
+     * @param key the key being built
+     * @param flag the value of the setting
+     */
+    protected static void appendFlag(StringBuilder key, boolean flag) {
+        key.append(flag ? '1' : '0');
+    }
    
     
     private void doUndoable(Memento memento) {
@@ -61,4 +61,11 @@ public class SDNotationSettings extends NotationSettings {
         this.showSequenceNumbers = showThem;
     }
 
+    @Override
+    public String getRenderingKey() {
+        StringBuilder key = new StringBuilder(super.getRenderingKey());
+        appendFlag(key, showSequenceNumbers);
+        return key.toString();
+    }
+
 }
@@ -0,0 +1,545 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.persistence;
+
+import java.awt.AWTEvent;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+import org.argouml.configuration.Configuration;
+import org.argouml.configuration.ConfigurationKey;
+import org.argouml.kernel.Project;
+import org.argouml.kernel.ProjectManager;
+import org.argouml.model.Model;
+
+/**
+ * Periodically saves the current project to a recovery file in the
+ * background, so that work can be recovered after a crash.<p>
+ *
+ * An autosave only starts once the user has stopped interacting with
+ * ArgoUML for a moment, and only if there has been some interaction since
+ * the last autosave. Pending model events are flushed first. The
+ * diagrams and the other members which are edited on the AWT event thread
+ * are then taken on that thread, reusing the saved form of those which
+ * haven't changed since the last save. The model is written to XMI on a
+ * low priority background thread, inside a read transaction of the
+ * repository, so that edits wait only while the model itself is written.
+ * If the model was changed between the two steps, the autosave is thrown
+ * away and tried again later. An autosave doesn't mark anything as saved,
+ * so the saves made by the user are unchanged by it.<p>
+ *
+ * Each running ArgoUML has a recovery file of its own, named after an id
+ * made up when it starts, next to a lock file which it holds locked until
+ * it exits. A recovery file whose lock file isn't locked was left behind
+ * by an ArgoUML which didn't exit normally, and may be recovered.<p>
+ *
+ * The recovery files are in the .uml format. A recovery file is deleted
+ * whenever the project is saved by the user and when ArgoUML exits
+ * normally.
+ */
+public final class AutosaveManager {
+
+    private static final Logger LOG =
+        Logger.getLogger(AutosaveManager.class.getName());
+
+    /**
+     * The configuration key for the number of seconds between autosaves.
+     * Zero or less disables autosave.
+     */
+    public static final ConfigurationKey KEY_AUTOSAVE_INTERVAL =
+        Configuration.makeKey("project", "autosave", "interval");
+
+    private static final int DEFAULT_INTERVAL = 300;
+
+    /**
+     * The time in milliseconds that the user must have been idle before we
+     * start an autosave.
+     */
+    private static final long IDLE_TIME = 2000;
+
+    /**
+     * How often we check whether an autosave is due.
+     */
+    private static final long CHECK_PERIOD = 1000;
+
+    private static final String RECOVERY_PREFIX = "autosave-";
+
+    private static final String RECOVERY_SUFFIX = ".uml";
+
+    private static final String LOCK_SUFFIX = ".lock";
+
+    private static final AutosaveManager INSTANCE = new AutosaveManager(
+            new File(System.getProperty("user.home"), ".argouml"),
+            UUID.randomUUID().toString());
+
+    private final File directory;
+
+    private final String id;
+
+    private Timer timer;
+
+    private final AWTEventListener activityListener = new AWTEventListener() {
+        public void eventDispatched(AWTEvent event) {
+            lastActivity = System.currentTimeMillis();
+        }
+    };
+
+    private volatile long lastActivity;
+
+    /**
+     * Counts the model events, so that a model changed while a snapshot was
+     * taken can be told.
+     */
+    private final PropertyChangeListener modelListener =
+        new PropertyChangeListener() {
+            public void propertyChange(PropertyChangeEvent evt) {
+                modelChanges++;
+            }
+        };
+
+    private volatile int modelChanges;
+
+    private long lastAutosave;
+
+    /**
+     * The lock on the lock file of our recovery file, held from the first
+     * autosave until we stop.
+     */
+    private FileLock lock;
+
+    /**
+     * The persister used to write the recovery file. It is never used for
+     * any other purpose.
+     */
+    private final UmlFilePersister persister = new UmlFilePersister();
+
+    /**
+     * @param theDirectory the directory holding the recovery files
+     * @param theId the id of this ArgoUML, which names its recovery file
+     */
+    AutosaveManager(File theDirectory, String theId) {
+        directory = theDirectory;
+        id = theId;
+    }
+
+    /**
+     * @return the autosave manager
+     */
+    public static AutosaveManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start autosaving the current project. This does nothing if autosave
+     * is disabled in the configuration.
+     */
+    public synchronized void start() {
+        if (timer != null || getInterval() <= 0) {
+            return;
+        }
+        lastAutosave = System.currentTimeMillis();
+        try {
+            Toolkit.getDefaultToolkit().addAWTEventListener(activityListener,
+                    AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK
+                    | AWTEvent.MOUSE_MOTION_EVENT_MASK
+                    | AWTEvent.MOUSE_WHEEL_EVENT_MASK);
+        } catch (SecurityException e) {
+            LOG.log(Level.WARNING, "Unable to watch for user activity", e);
+            return;
+        }
+        Model.getPump().addClassModelEventListener(modelListener,
+                Model.getMetaTypes().getModelElement(), (String[]) null);
+        timer = new Timer("ArgoAutosaveThread", true);
+        timer.schedule(new TimerTask() {
+            public void run() {
+                checkAutosave();
+            }
+        }, CHECK_PERIOD, CHECK_PERIOD);
+        LOG.log(Level.INFO, "Autosave started with an interval of {0} seconds",
+                getInterval());
+    }
+
+    /**
+     * Stop autosaving, delete the recovery file and release its lock.
+     */
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
+            Toolkit.getDefaultToolkit().removeAWTEventListener(
+                    activityListener);
+            Model.getPump().removeClassModelEventListener(modelListener,
+                    Model.getMetaTypes().getModelElement(), (String[]) null);
+        }
+        deleteRecoveryFile();
+        unlock();
+        new File(directory, RECOVERY_PREFIX + id + LOCK_SUFFIX).delete();
+    }
+
+    /**
+     * @return the file that the autosaves of this ArgoUML are written to
+     */
+    public File getRecoveryFile() {
+        return new File(directory, RECOVERY_PREFIX + id + RECOVERY_SUFFIX);
+    }
+
+    /**
+     * @return the directory holding the recovery files
+     */
+    public File getRecoveryDirectory() {
+        return directory;
+    }
+
+    /**
+     * Delete the recovery file, because the project has been saved or
+     * ArgoUML is exiting normally.
+     */
+    public synchronized void deleteRecoveryFile() {
+        File file = getRecoveryFile();
+        if (file.exists() && !file.delete()) {
+            LOG.log(Level.WARNING, "Unable to delete recovery file {0}", file);
+        }
+        // Nothing has changed since the last save
+        lastAutosave = System.currentTimeMillis();
+    }
+
+    /**
+     * Find the recovery files left behind by the ArgoUMLs which didn't exit
+     * normally. The files of the ArgoUMLs which are still running are not
+     * given.
+     *
+     * @return the recovery files, the most recent first
+     */
+    public List<File> findOrphanedRecoveryFiles() {
+        List<File> orphans = new ArrayList<File>();
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return orphans;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(RECOVERY_PREFIX)
+                    && name.endsWith(RECOVERY_SUFFIX)
+                    && !file.equals(getRecoveryFile())
+                    && !isLocked(getLockFile(file))) {
+                orphans.add(file);
+            }
+        }
+        File[] sorted = orphans.toArray(new File[orphans.size()]);
+        Arrays.sort(sorted, new Comparator<File>() {
+            public int compare(File f1, File f2) {
+                long diff = f2.lastModified() - f1.lastModified();
+                return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+            }
+        });
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Take over a recovery file left behind by an ArgoUML which didn't exit
+     * normally, by moving it aside so that nothing else can take it over or
+     * overwrite it.
+     *
+     * @param file a recovery file given by {@link #findOrphanedRecoveryFiles()}
+     * @return the file the recovery file was moved to, or null if it is
+     *         in use by a running ArgoUML or has already been taken over
+     */
+    public File claimRecoveryFile(File file) {
+        File lockFile = getLockFile(file);
+        RandomAccessFile raf = null;
+        boolean locked = false;
+        try {
+            raf = new RandomAccessFile(lockFile, "rw");
+            locked = raf.getChannel().tryLock() != null;
+            if (!locked) {
+                return null;
+            }
+            File recovered = new File(directory, "recovered-"
+                    + file.lastModified() + RECOVERY_SUFFIX);
+            if (!file.renameTo(recovered)) {
+                LOG.log(Level.WARNING, "Unable to move {0} to {1}",
+                        new Object[] {file, recovered});
+                return null;
+            }
+            return recovered;
+        } catch (OverlappingFileLockException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Unable to lock " + lockFile, e);
+            return null;
+        } finally {
+            close(raf);
+            if (locked) {
+                lockFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Delete a recovery file left behind by an ArgoUML which didn't exit
+     * normally, unless it is in use.
+     *
+     * @param file a recovery file given by {@link #findOrphanedRecoveryFiles()}
+     */
+    public void discardRecoveryFile(File file) {
+        File claimed = claimRecoveryFile(file);
+        if (claimed != null && !claimed.delete()) {
+            LOG.log(Level.WARNING, "Unable to delete {0}", claimed);
+        }
+    }
+
+    /**
+     * Write bytes to the recovery file of this ArgoUML. They are written to
+     * a temporary file that is then renamed to the recovery file, so that we
+     * never leave a partial recovery file.
+     *
+     * @param bytes the project, as saved
+     * @throws IOException if the file can't be written
+     */
+    synchronized void writeRecoveryFile(byte[] bytes) throws IOException {
+        lock();
+        File tempFile = new File(directory, RECOVERY_PREFIX + id + "#");
+        OutputStream stream = new FileOutputStream(tempFile);
+        try {
+            stream.write(bytes);
+        } finally {
+            stream.close();
+        }
+        File recoveryFile = getRecoveryFile();
+        if (recoveryFile.exists() && !recoveryFile.delete()) {
+            tempFile.delete();
+            throw new IOException("Unable to replace " + recoveryFile);
+        }
+        if (!tempFile.renameTo(recoveryFile)) {
+            throw new IOException("Unable to rename " + tempFile);
+        }
+    }
+
+    /**
+     * Take the lock on the lock file of our recovery file, if we don't hold
+     * it yet.
+     */
+    private void lock() throws IOException {
+        if (lock != null) {
+            return;
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        File lockFile = new File(directory, RECOVERY_PREFIX + id + LOCK_SUFFIX);
+        RandomAccessFile raf = new RandomAccessFile(lockFile, "rw");
+        try {
+            lock = raf.getChannel().tryLock();
+        } finally {
+            if (lock == null) {
+                close(raf);
+            }
+        }
+        if (lock == null) {
+            throw new IOException("Unable to lock " + lockFile);
+        }
+    }
+
+    /**
+     * Release the lock on our recovery file, leaving the files as they are.
+     * This is also what happens when ArgoUML dies.
+     */
+    synchronized void unlock() {
+        if (lock != null) {
+            FileChannel channel = lock.channel();
+            try {
+                lock.release();
+                channel.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Unable to release the lock", e);
+            }
+            lock = null;
+        }
+    }
+
+    private static File getLockFile(File recoveryFile) {
+        String name = recoveryFile.getName();
+        return new File(recoveryFile.getParentFile(),
+                name.substring(0, name.length() - RECOVERY_SUFFIX.length())
+                + LOCK_SUFFIX);
+    }
+
+    /**
+     * @return true if the lock file is locked, by this or another process
+     */
+    private static boolean isLocked(File lockFile) {
+        if (!lockFile.exists()) {
+            return false;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(lockFile, "rw");
+            FileLock fileLock = raf.getChannel().tryLock();
+            if (fileLock == null) {
+                return true;
+            }
+            fileLock.release();
+            return false;
+        } catch (OverlappingFileLockException e) {
+            return true;
+        } catch (IOException e) {
+            // Leave alone what we can't check
+            LOG.log(Level.FINE, "Unable to check the lock " + lockFile, e);
+            return true;
+        } finally {
+            close(raf);
+        }
+    }
+
+    private static void close(RandomAccessFile raf) {
+        if (raf != null) {
+            try {
+                raf.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Unable to close", e);
+            }
+        }
+    }
+
+    private int getInterval() {
+        return Configuration.getInteger(KEY_AUTOSAVE_INTERVAL,
+                DEFAULT_INTERVAL);
+    }
+
+    private void checkAutosave() {
+        final long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (now - lastAutosave < getInterval() * 1000L
+                    || lastActivity < lastAutosave
+                    || now - lastActivity < IDLE_TIME) {
+                return;
+            }
+            lastAutosave = now;
+        }
+        Project project = ProjectManager.getManager().getCurrentProject();
+        if (project == null || !project.isDirty()) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        int priority = thread.getPriority();
+        thread.setPriority(Thread.MIN_PRIORITY);
+        try {
+            long start = System.currentTimeMillis();
+            byte[] bytes = writeSnapshot(project);
+            if (bytes == null) {
+                LOG.log(Level.FINE, "The model changed during the autosave");
+                synchronized (this) {
+                    if (lastAutosave == now) {
+                        // Try again once the user is idle
+                        lastAutosave = 0;
+                    }
+                }
+                return;
+            }
+            synchronized (this) {
+                if (lastAutosave != now) {
+                    // The project was saved by the user in the meantime
+                    return;
+                }
+                writeRecoveryFile(bytes);
+            }
+            LOG.log(Level.INFO, "Autosave took {0} msec",
+                    System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            LOG.log(Level.WARNING, "Autosave interrupted");
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Autosave failed to write", e);
+        } catch (SaveException e) {
+            LOG.log(Level.SEVERE, "Autosave failed", e);
+        } finally {
+            thread.setPriority(priority);
+        }
+    }
+
+    /**
+     * Write a snapshot of the project to memory. The members other than
+     * the model are taken on the AWT event thread, where they are edited,
+     * and the model is then written on this thread.
+     *
+     * @param project the project
+     * @return the project, as saved, or null if the model changed after
+     *         the other members were taken
+     */
+    byte[] writeSnapshot(final Project project)
+        throws InterruptedException, SaveException {
+        Model.getPump().flushModelEvents();
+        final UmlFilePersister.Snapshot[] snapshot =
+            new UmlFilePersister.Snapshot[1];
+        final int[] changes = new int[1];
+        long start = System.currentTimeMillis();
+        try {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                public void run() {
+                    changes[0] = modelChanges;
+                    try {
+                        snapshot[0] = persister.takeSnapshot(project);
+                    } catch (SaveException e) {
+                        throw new SnapshotException(e);
+                    }
+                }
+            });
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SnapshotException) {
+                cause = cause.getCause();
+            }
+            throw new SaveException(cause);
+        }
+        LOG.log(Level.FINE, "Autosave took {0} msec on the event thread",
+                System.currentTimeMillis() - start);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        persister.writeSnapshot(snapshot[0], bytes);
+        Model.getPump().flushModelEvents();
+        if (changes[0] != modelChanges) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Carries a checked exception of the snapshot off the event thread.
+     */
+    private static class SnapshotException extends RuntimeException {
+        SnapshotException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.application.api.Argo;
+import org.argouml.kernel.AbstractProjectMember;
+import org.argouml.kernel.ProjectMember;
+
+/**
+ * Keeps the saved form of those project members which track their own
+ * changes, so that a member which hasn't changed since the last save is
+ * written out again byte for byte instead of being regenerated.<p>
+ *
+ * Members which don't track their changes, such as the model, are
+ * passed straight through to their persister on every save.
+ *
+ * @see AbstractProjectMember#isDirty()
+ */
+class MemberSaveCache {
+
+    private static final Logger LOG =
+        Logger.getLogger(MemberSaveCache.class.getName());
+
+    private static final MemberSaveCache INSTANCE = new MemberSaveCache();
+
+    /**
+     * The saved contents of each member, held weakly so that the contents
+     * go away with the project.
+     */
+    private final Map<ProjectMember, Saved> savedMembers =
+        new WeakHashMap<ProjectMember, Saved>();
+
+    private int reused;
+    private int regenerated;
+
+    /**
+     * @return the cache shared by all persisters
+     */
+    static MemberSaveCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Write a member to the given stream. If the member is unchanged since
+     * it was last saved the previously saved bytes are written out,
+     * otherwise the member is saved by its persister.
+     *
+     * @param persister the persister for the member
+     * @param member the member to save
+     * @param stream the stream to write to
+     * @throws SaveException if the member could not be saved
+     */
+    synchronized void save(MemberFilePersister persister, ProjectMember member,
+            OutputStream stream) throws SaveException {
+        if (!(member instanceof AbstractProjectMember)) {
+            persister.save(member, stream);
+            return;
+        }
+        AbstractProjectMember trackedMember = (AbstractProjectMember) member;
+        String encoding = Argo.getEncoding();
+        Saved saved = savedMembers.get(member);
+        try {
+            if (saved != null && saved.encoding.equals(encoding)
+                    && !trackedMember.isDirty()) {
+                ++reused;
+                stream.write(saved.bytes);
+                return;
+            }
+            // Clear the dirty flag before we start, so that any change
+            // made while we save is picked up by the next save.
+            trackedMember.setDirty(false);
+            if (trackedMember.isDirty()) {
+                // The member doesn't track its changes
+                savedMembers.remove(member);
+                persister.save(member, stream);
+                return;
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try {
+                persister.save(member, buffer);
+            } catch (SaveException e) {
+                trackedMember.setDirty(true);
+                throw e;
+            }
+            byte[] bytes = buffer.toByteArray();
+            savedMembers.put(member, new Saved(bytes, encoding));
+            ++regenerated;
+            stream.write(bytes);
+        } catch (IOException e) {
+            trackedMember.setDirty(true);
+            throw new SaveException(e);
+        }
+    }
+
+    /**
+     * Write a member to the given stream for a snapshot of the project,
+     * such as an autosave. The previously saved bytes of an unchanged member
+     * are reused, but neither the dirty state of the member nor the saved
+     * bytes are changed, as those belong to the saves made by the user.
+     *
+     * @param persister the persister for the member
+     * @param member the member to save
+     * @param stream the stream to write to
+     * @throws SaveException if the member could not be saved
+     */
+    synchronized void snapshot(MemberFilePersister persister,
+            ProjectMember member, OutputStream stream) throws SaveException {
+        Saved saved = savedMembers.get(member);
+        if (saved != null && saved.encoding.equals(Argo.getEncoding())
+                && !((AbstractProjectMember) member).isDirty()) {
+            try {
+                stream.write(saved.bytes);
+            } catch (IOException e) {
+                throw new SaveException(e);
+            }
+            return;
+        }
+        persister.save(member, stream);
+    }
+
+    /**
+     * Log and reset the number of members reused and regenerated since the
+     * last call.
+     */
+    synchronized void logStatistics() {
+        LOG.log(Level.INFO, "Saved members reused: {0}, regenerated: {1}",
+                new Object[] {reused, regenerated});
+        reused = 0;
+        regenerated = 0;
+    }
+
+    private static class Saved {
+        private final byte[] bytes;
+        private final String encoding;
+
+        Saved(byte[] theBytes, String theEncoding) {
+            bytes = theBytes;
+            encoding = theEncoding;
+        }
+    }
+}
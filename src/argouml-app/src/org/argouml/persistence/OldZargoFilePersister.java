@@ -191,7 +191,8 @@ class OldZargoFilePersister extends ZargoFilePersister {
                     stream.putNextEntry(new ZipEntry(name));
                     MemberFilePersister persister =
                         getMemberFilePersister(projectMember);
-                    persister.save(projectMember, stream);
+                    MemberSaveCache.getInstance().save(
+                            persister, projectMember, stream);
                     stream.flush();
                     stream.closeEntry();
                 }
@@ -213,6 +214,7 @@ class OldZargoFilePersister extends ZargoFilePersister {
                     stream.flush();
                 }
             }
+            MemberSaveCache.getInstance().logStatistics();
 
             if (doSafeSaves) {
                 // if save did not raise an exception
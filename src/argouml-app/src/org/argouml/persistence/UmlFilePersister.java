@@ -42,6 +42,7 @@ package org.argouml.persistence;
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -53,6 +54,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.net.MalformedURLException;
@@ -63,6 +65,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.logging.Level;
@@ -83,7 +86,9 @@ import org.argouml.i18n.Translator;
 import org.argouml.kernel.Project;
 import org.argouml.kernel.ProjectFactory;
 import org.argouml.kernel.ProjectMember;
+import org.argouml.model.Metrics;
 import org.argouml.model.UmlException;
+import org.argouml.uml.ProjectMemberModel;
 import org.argouml.util.ThreadUtils;
 import org.tigris.gef.ocl.ExpansionException;
 import org.tigris.gef.ocl.OCLExpander;
@@ -117,6 +122,30 @@ public class UmlFilePersister extends AbstractFilePersister {
     private static final Logger LOG =
         Logger.getLogger(UmlFilePersister.class.getName());
 
+    private static final Metrics.Timer LOAD =
+        Metrics.timer("persistence.uml.load");
+
+    private static final Metrics.Timer LOAD_UPGRADE =
+        Metrics.timer("persistence.uml.load.upgrade");
+
+    private static final Metrics.Timer LOAD_PROJECT =
+        Metrics.timer("persistence.uml.load.project");
+
+    private static final Metrics.Timer LOAD_MEMBERS =
+        Metrics.timer("persistence.uml.load.members");
+
+    private static final Metrics.Timer LOAD_POST =
+        Metrics.timer("persistence.uml.load.postLoad");
+
+    private static final Metrics.Timer SAVE =
+        Metrics.timer("persistence.uml.save");
+
+    private static final Metrics.Timer SAVE_HEADER =
+        Metrics.timer("persistence.uml.save.header");
+
+    private static final Metrics.Timer SAVE_MEMBERS =
+        Metrics.timer("persistence.uml.save.members");
+
     private static final String ARGO_TEE = "/org/argouml/persistence/argo.tee";
 
     /**
@@ -156,6 +185,7 @@ public class UmlFilePersister extends AbstractFilePersister {
         /* Retain the previous project file even when the save operation
          * crashes in the middle. Also create a backup file after saving. */
         boolean doSafeSaves = useSafeSaves();
+        long start = SAVE.start();
 
         ProgressMgr progressMgr = new ProgressMgr();
         progressMgr.setNumberOfPhases(4);
@@ -209,6 +239,7 @@ public class UmlFilePersister extends AbstractFilePersister {
             }
 
             progressMgr.nextPhase();
+            SAVE.stop(start);
 
         } catch (Exception e) {
             LOG.log(Level.SEVERE, "Exception occured during save attempt", e);
@@ -250,37 +281,22 @@ public class UmlFilePersister extends AbstractFilePersister {
      */
     void writeProject(Project project, OutputStream oStream,
             ProgressMgr progressMgr) throws SaveException, InterruptedException {
-        OutputStreamWriter outputStreamWriter;
-        try {
-            outputStreamWriter = new OutputStreamWriter(oStream, Argo
-                    .getEncoding());
-        } catch (UnsupportedEncodingException e) {
-            throw new SaveException(e);
-        }
-        PrintWriter writer = new PrintWriter(new BufferedWriter(
-                outputStreamWriter));
+        PrintWriter writer = makeWriter(oStream, Argo.getEncoding());
 
         XmlFilterOutputStream filteredStream = new XmlFilterOutputStream(
                 oStream, Argo.getEncoding());
         try {
-            writer.println("<?xml version = \"1.0\" " + "encoding = \""
-                    + Argo.getEncoding() + "\" ?>");
-            writer.println("<uml version=\"" + PERSISTENCE_VERSION + "\">");
-            // Write out header section
-            try {
-                Hashtable templates = TemplateReader.getInstance().read(
-                        ARGO_TEE);
-                OCLExpander expander = new OCLExpander(templates);
-                expander.expand(writer, project, "  ");
-            } catch (ExpansionException e) {
-                throw new SaveException(e);
-            }
+            long start = SAVE_HEADER.start();
+            writeHeader(project, writer, Argo.getEncoding());
             writer.flush();
+            SAVE_HEADER.stop(start);
 
             if (progressMgr != null) {
                 progressMgr.nextPhase();
             }
 
+            start = SAVE_MEMBERS.start();
+
             // Note we assume members are ordered correctly already
             for (ProjectMember projectMember : project.getMembers()) {
 
@@ -288,7 +304,8 @@ public class UmlFilePersister extends AbstractFilePersister {
 
                 MemberFilePersister persister = getMemberFilePersister(projectMember);
                 filteredStream.startEntry();
-                persister.save(projectMember, filteredStream);
+                MemberSaveCache.getInstance().save(
+                        persister, projectMember, filteredStream);
                 try {
                     filteredStream.flush();
                 } catch (IOException e) {
@@ -299,6 +316,82 @@ public class UmlFilePersister extends AbstractFilePersister {
             writer.println("</uml>");
 
             writer.flush();
+            SAVE_MEMBERS.stop(start);
+            MemberSaveCache.getInstance().logStatistics();
+        } finally {
+            writer.close();
+            try {
+                filteredStream.reallyClose();
+            } catch (IOException e) {
+                throw new SaveException(e);
+            }
+        }
+    }
+
+    /**
+     * Take the parts of a snapshot of a project which are read on the AWT
+     * event thread, where the project is edited: the header and the
+     * members other than the models.  Unlike a save, this doesn't mark the
+     * members as saved.
+     *
+     * @param project The project to take.
+     * @return the parts, for {@link #writeSnapshot(Snapshot, OutputStream)}
+     * @throws SaveException If something goes wrong.
+     * @see MemberSaveCache#snapshot(MemberFilePersister, ProjectMember,
+     *      OutputStream)
+     */
+    Snapshot takeSnapshot(Project project) throws SaveException {
+        String encoding = Argo.getEncoding();
+        StringWriter header = new StringWriter();
+        writeHeader(project, new PrintWriter(header), encoding);
+        Snapshot snapshot = new Snapshot(header.toString(), encoding);
+        for (ProjectMember projectMember : project.getMembers()) {
+            MemberFilePersister persister =
+                getMemberFilePersister(projectMember);
+            byte[] bytes = null;
+            if (!(projectMember instanceof ProjectMemberModel)) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                MemberSaveCache.getInstance().snapshot(
+                        persister, projectMember, buffer);
+                bytes = buffer.toByteArray();
+            }
+            snapshot.parts.add(new Snapshot.Part(persister, projectMember,
+                    bytes));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Write a snapshot of a project on the given stream.  The models are
+     * written here, which needn't be on the AWT event thread: the XMI
+     * writer holds a read transaction on the repository while it writes,
+     * so that the model can't change under it.
+     *
+     * @param snapshot the parts taken by {@link #takeSnapshot(Project)}
+     * @param oStream The stream to write to.
+     * @throws SaveException If something goes wrong.
+     */
+    void writeSnapshot(Snapshot snapshot, OutputStream oStream)
+        throws SaveException {
+        PrintWriter writer = makeWriter(oStream, snapshot.encoding);
+        XmlFilterOutputStream filteredStream = new XmlFilterOutputStream(
+                oStream, snapshot.encoding);
+        try {
+            writer.print(snapshot.header);
+            writer.flush();
+            for (Snapshot.Part part : snapshot.parts) {
+                filteredStream.startEntry();
+                if (part.bytes != null) {
+                    filteredStream.write(part.bytes);
+                } else {
+                    part.persister.save(part.member, filteredStream);
+                }
+                filteredStream.flush();
+            }
+            writer.println("</uml>");
+            writer.flush();
+        } catch (IOException e) {
+            throw new SaveException(e);
         } finally {
             writer.close();
             try {
@@ -309,6 +402,67 @@ public class UmlFilePersister extends AbstractFilePersister {
         }
     }
 
+    private static PrintWriter makeWriter(OutputStream oStream,
+            String encoding) throws SaveException {
+        try {
+            return new PrintWriter(new BufferedWriter(
+                    new OutputStreamWriter(oStream, encoding)));
+        } catch (UnsupportedEncodingException e) {
+            throw new SaveException(e);
+        }
+    }
+
+    private static void writeHeader(Project project, PrintWriter writer,
+            String encoding) throws SaveException {
+        writer.println("<?xml version = \"1.0\" " + "encoding = \""
+                + encoding + "\" ?>");
+        writer.println("<uml version=\"" + PERSISTENCE_VERSION + "\">");
+        // Write out header section
+        try {
+            Hashtable templates = TemplateReader.getInstance().read(
+                    ARGO_TEE);
+            OCLExpander expander = new OCLExpander(templates);
+            expander.expand(writer, project, "  ");
+        } catch (ExpansionException e) {
+            throw new SaveException(e);
+        }
+        writer.flush();
+    }
+
+    /**
+     * The parts of a project taken for a snapshot on the AWT event thread.
+     */
+    static final class Snapshot {
+
+        private final String header;
+
+        private final String encoding;
+
+        private final List<Part> parts = new ArrayList<Part>();
+
+        private Snapshot(String theHeader, String theEncoding) {
+            header = theHeader;
+            encoding = theEncoding;
+        }
+
+        /**
+         * A member with its persister, and its saved form unless it is
+         * a model.
+         */
+        private static final class Part {
+            private final MemberFilePersister persister;
+            private final ProjectMember member;
+            private final byte[] bytes;
+
+            Part(MemberFilePersister thePersister, ProjectMember theMember,
+                    byte[] theBytes) {
+                persister = thePersister;
+                member = theMember;
+                bytes = theBytes;
+            }
+        }
+    }
+
     /*
      * @see org.argouml.persistence.ProjectFilePersister#doLoad(java.io.File)
      */
@@ -318,7 +472,12 @@ public class UmlFilePersister extends AbstractFilePersister {
         progressMgr.setNumberOfPhases(UML_PHASES_LOAD);
 
         ThreadUtils.checkIfInterrupted();
-        return doLoad(file, file, progressMgr);
+        long start = LOAD.start();
+        try {
+            return doLoad(file, file, progressMgr);
+        } finally {
+            LOAD.stop(start);
+        }
     }
 
     protected Project doLoad(File originalFile, File file,
@@ -349,7 +508,9 @@ public class UmlFilePersister extends AbstractFilePersister {
                     LOG.log(Level.INFO, "Upgrading to version {0}", fileVersion);
 
                     long startTime = System.currentTimeMillis();
+                    long start = LOAD_UPGRADE.start();
                     file = transform(file, fileVersion);
+                    LOAD_UPGRADE.stop(start);
 
                     long endTime = System.currentTimeMillis();
                     LOG.log(Level.INFO, "Upgrading took " + ((endTime - startTime) / 1000)
@@ -366,12 +527,15 @@ public class UmlFilePersister extends AbstractFilePersister {
             ArgoParser parser = new ArgoParser();
             Reader reader = new InputStreamReader(inputStream, Argo
                     .getEncoding());
+            long start = LOAD_PROJECT.start();
             parser.readProject(p, reader);
+            LOAD_PROJECT.stop(start);
 
             List memberList = parser.getMemberList();
 
             LOG.log(Level.INFO,memberList.size() + " members");
 
+            start = LOAD_MEMBERS.start();
             for (int i = 0; i < memberList.size(); ++i) {
                 MemberFilePersister persister = getMemberFilePersister((String) memberList
                         .get(i));
@@ -405,11 +569,15 @@ public class UmlFilePersister extends AbstractFilePersister {
                 }
             }
 
+            LOAD_MEMBERS.stop(start);
+
             // let's update the progress
             progressMgr.nextPhase();
             ThreadUtils.checkIfInterrupted();
             inputStream.realClose();
+            start = LOAD_POST.start();
             p.postLoad();
+            LOAD_POST.stop(start);
             return p;
         } catch (InterruptedException e) {
             throw e;
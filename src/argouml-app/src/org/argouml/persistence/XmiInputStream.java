@@ -39,8 +39,10 @@
 package org.argouml.persistence;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
 import java.util.StringTokenizer;
 
 import org.argouml.persistence.AbstractFilePersister.ProgressMgr;
@@ -52,23 +54,50 @@ import org.argouml.persistence.AbstractFilePersister.ProgressMgr;
  * to the matching end tag or it can search for the first
  * occurrence of a named tag and read on the child tags.
  * The tag is not expected to be an empty tag.
+ * <p>
+ * The stream is scanned a block at a time as it is handed on to the
+ * reader, so that the XMI.extension markers are found without any
+ * per byte locking. The content of an ArgoUML extension is captured
+ * as byte ranges of each block and only converted to a String once the
+ * extension is complete.
+ *
  * @author Bob Tarling
  */
 class XmiInputStream extends BufferedInputStream {
-    
-    private String tagName;
+
+    /**
+     * The encoding used to turn the captured extension bytes into a
+     * String. Each byte maps on to exactly one character as it always has.
+     */
+    private static final String EXTENSION_ENCODING = "ISO-8859-1";
+
+    private static final String EXTENSION_TAG = "XMI.extension";
+
+    /**
+     * The name of the tag currently being read.
+     */
+    private final StringBuilder tagName = new StringBuilder();
+
     private String endTagName;
-    private String attributes;
+    private final StringBuilder attributes = new StringBuilder();
     private boolean extensionFound;
-    private boolean endFound;
     private boolean parsingExtension;
     private boolean readingName;
-    
+
     private XmiExtensionParser xmiExtensionParser;
-    
-    private StringBuffer stringBuffer;
+
+    /**
+     * The bytes of the extension currently being parsed.
+     */
+    private final ByteArrayOutputStream extensionBuffer =
+        new ByteArrayOutputStream();
     private String type;
-    
+
+    /**
+     * Buffer for the single byte read method.
+     */
+    private final byte[] single = new byte[1];
+
     /**
      * The number of bytes to be read between each progress
      * event.
@@ -76,7 +105,7 @@ class XmiInputStream extends BufferedInputStream {
     private long eventSpacing;
 
     /**
-     * The number of characters read so far.
+     * The number of characters read since the last progress event.
      */
     private long readCount;
 
@@ -111,51 +140,88 @@ class XmiInputStream extends BufferedInputStream {
      * @see java.io.InputStream#read()
      */
     @Override
-    public synchronized int read() throws IOException {
-
-        if (endFound) {
-            extensionFound = false;
-            parsingExtension = false;
-            endFound = false;
-            readingName = false;
-            tagName = null;
-            endTagName = null;
+    public int read() throws IOException {
+        int cnt = read(single, 0, 1);
+        if (cnt <= 0) {
+            return -1;
         }
+        return single[0] & 0xff;
+    }
 
-        int ch = super.read();
-        
-        if (parsingExtension) {
-            stringBuffer.append((char) ch);
+    /*
+     * @see java.io.InputStream#read(byte[], int, int)
+     */
+    @Override
+    public int read(byte[] b, int off, int len)
+        throws IOException {
+
+        int cnt = super.read(b, off, len);
+        if (cnt <= 0) {
+            return cnt;
+        }
+        if (xmiExtensionParser != null) {
+            scan(b, off, cnt);
         }
-        // else {
+        progress(cnt);
+        return cnt;
+    }
+
+    /**
+     * Fire a progress event for every <code>eventSpacing</code> bytes read.
+     *
+     * @param cnt the number of bytes just read
+     * @throws InterruptedIOException if the loading thread was interrupted
+     */
+    private void progress(int cnt) throws InterruptedIOException {
         // TODO: Only progress when reading standard XMI
         // extension parsers will continue progression.
-        ++readCount;
-        if (progressMgr != null && readCount == eventSpacing) {
+        if (progressMgr == null || eventSpacing <= 0) {
+            return;
+        }
+        readCount += cnt;
+        while (readCount >= eventSpacing) {
+            readCount -= eventSpacing;
             try {
-                readCount = 0;
                 progressMgr.nextPhase();
             } catch (InterruptedException e) {
                 throw new InterruptedIOException(e);
             }
         }
-//        }
-        
-        if (xmiExtensionParser != null) {
+    }
+
+    /**
+     * Look for XMI.extension elements in a block of bytes that has just
+     * been read. The scanning state is kept between calls so that tags and
+     * extensions may span block boundaries.
+     *
+     * @param b the buffer
+     * @param off the offset of the first byte read
+     * @param len the number of bytes read
+     */
+    private void scan(byte[] b, int off, int len) {
+        final int end = off + len;
+        int captureFrom = parsingExtension ? off : -1;
+        for (int i = off; i < end; ++i) {
+            final char ch = (char) (b[i] & 0xff);
+
             if (readingName) {
-                if (isNameTerminator((char) ch)) {
+                if (isNameTerminator(ch)) {
                     readingName = false;
                     if (parsingExtension && endTagName == null) {
                         endTagName = "/" + tagName;
-                    } else if (tagName.equals("XMI.extension")) {
+                    } else if (EXTENSION_TAG.contentEquals(tagName)) {
                         extensionFound = true;
-                    } else if (tagName.equals(endTagName)) {
-                        endFound = true;
-                        xmiExtensionParser.parse(type, stringBuffer.toString());
-                        stringBuffer.delete(0, stringBuffer.length());
+                        attributes.setLength(0);
+                    } else if (endTagName != null
+                            && endTagName.contentEquals(tagName)) {
+                        extensionBuffer.write(
+                                b, captureFrom, i + 1 - captureFrom);
+                        endExtension();
+                        captureFrom = -1;
+                        continue;
                     }
                 } else {
-                    tagName += (char) ch;
+                    tagName.append(ch);
                 }
             }
 
@@ -163,23 +229,43 @@ class XmiInputStream extends BufferedInputStream {
                 if (ch == '>') {
                     extensionFound = false;
                     callExtensionParser();
+                    if (parsingExtension) {
+                        captureFrom = i + 1;
+                    }
                 } else {
-                    attributes += (char) ch;
+                    attributes.append(ch);
                 }
             }
-            
+
             if (ch == '<') {
                 readingName = true;
-                tagName = "";
+                tagName.setLength(0);
             }
         }
-        return ch;
+        if (parsingExtension && captureFrom >= 0 && captureFrom < end) {
+            extensionBuffer.write(b, captureFrom, end - captureFrom);
+        }
     }
-    
+
+    private void endExtension() {
+        String extension;
+        try {
+            extension = extensionBuffer.toString(EXTENSION_ENCODING);
+        } catch (UnsupportedEncodingException e) {
+            // Every JVM is required to support ISO-8859-1
+            throw new IllegalStateException(e);
+        }
+        extensionBuffer.reset();
+        parsingExtension = false;
+        endTagName = null;
+        xmiExtensionParser.parse(type, extension);
+    }
+
     private void callExtensionParser() {
         String label = null;
         String extender = null;
-        for (StringTokenizer st = new StringTokenizer(attributes, " =");
+        for (StringTokenizer st =
+                new StringTokenizer(attributes.toString(), " =");
                 st.hasMoreTokens(); ) {
             String attributeType = st.nextToken();
             if (attributeType.equals("xmi.extender")) {
@@ -193,34 +279,11 @@ class XmiInputStream extends BufferedInputStream {
         }
         if ("ArgoUML".equals(extender)) {
             type = label;
-            stringBuffer = new StringBuffer();
+            extensionBuffer.reset();
             parsingExtension = true;
             endTagName = null;
         }
     }
-    
-    /*
-     * @see java.io.InputStream#read(byte[], int, int)
-     */
-    @Override
-    public synchronized int read(byte[] b, int off, int len)
-        throws IOException {
-
-        int cnt;
-        for (cnt = 0; cnt < len; ++cnt) {
-            int read = read();
-            if (read == -1) {
-                break;
-            }
-            b[cnt + off] = (byte) read;
-        }
-
-        if (cnt > 0) {
-            return cnt;
-        }
-        return -1;
-    }
-
 
     private boolean isNameTerminator(char ch) {
         return (ch == '>' || Character.isWhitespace(ch));
@@ -70,6 +70,7 @@ import org.argouml.kernel.ProfileConfiguration;
 import org.argouml.kernel.Project;
 import org.argouml.kernel.ProjectFactory;
 import org.argouml.kernel.ProjectMember;
+import org.argouml.model.Metrics;
 import org.argouml.model.Model;
 import org.argouml.util.FileConstants;
 import org.argouml.util.ThreadUtils;
@@ -88,6 +89,21 @@ class ZargoFilePersister extends UmlFilePersister {
     private static final Logger LOG =
         Logger.getLogger(ZargoFilePersister.class.getName());
 
+    private static final Metrics.Timer LOAD =
+        Metrics.timer("persistence.zargo.load");
+
+    private static final Metrics.Timer LOAD_COMBINE =
+        Metrics.timer("persistence.zargo.load.combine");
+
+    private static final Metrics.Timer LOAD_MEMBERS =
+        Metrics.timer("persistence.zargo.load.members");
+
+    private static final Metrics.Timer LOAD_POST =
+        Metrics.timer("persistence.zargo.load.postLoad");
+
+    private static final Metrics.Timer SAVE =
+        Metrics.timer("persistence.zargo.save");
+
     /**
      * The constructor.
      */
@@ -133,6 +149,7 @@ class ZargoFilePersister extends UmlFilePersister {
         /* Retain the previous project file even when the save operation
          * crashes in the middle. Also create a backup file after saving. */
         boolean doSafeSaves = useSafeSaves();
+        long start = SAVE.start();
 
         ProgressMgr progressMgr = new ProgressMgr();
         progressMgr.setNumberOfPhases(4);
@@ -220,6 +237,7 @@ class ZargoFilePersister extends UmlFilePersister {
         } catch (IOException ex) {
             LOG.log(Level.SEVERE, "Failed to close save output writer", ex);
         }
+        SAVE.stop(start);
     }
 
     /*
@@ -240,6 +258,7 @@ class ZargoFilePersister extends UmlFilePersister {
         ProgressMgr progressMgr = new ProgressMgr();
         progressMgr.setNumberOfPhases(3 + UML_PHASES_LOAD);
         ThreadUtils.checkIfInterrupted();
+        long start = LOAD.start();
 
         int fileVersion;
         String releaseVersion;
@@ -270,7 +289,9 @@ class ZargoFilePersister extends UmlFilePersister {
 
         final Project p;
         if (upgradeRequired) {
+            long combineStart = LOAD_COMBINE.start();
             File combinedFile = zargoToUml(file, progressMgr);
+            LOAD_COMBINE.stop(combineStart);
             p = super.doLoad(file, combinedFile, progressMgr);
         } else {
             p = loadFromZargo(file, progressMgr);
@@ -279,6 +300,7 @@ class ZargoFilePersister extends UmlFilePersister {
         progressMgr.nextPhase();
 
         PersistenceManager.getInstance().setProjectURI(file.toURI(), p);
+        LOAD.stop(start);
         return p;
 
     }
@@ -300,6 +322,8 @@ class ZargoFilePersister extends UmlFilePersister {
 
             LOG.log(Level.INFO,memberList.size() + " members");
 
+            long start = LOAD_MEMBERS.start();
+
             // Load .xmi file before any PGML files
             // FIXME: the following is loading the model before anything else.
             // Due to the Zargo containing the profiles, currently we have
@@ -326,9 +350,13 @@ class ZargoFilePersister extends UmlFilePersister {
                 }
             }
 
+            LOAD_MEMBERS.stop(start);
+
             progressMgr.nextPhase();
             ThreadUtils.checkIfInterrupted();
+            start = LOAD_POST.start();
             p.postLoad();
+            LOAD_POST.stop(start);
             return p;
         } catch (InterruptedException e) {
             return null;
@@ -0,0 +1,206 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.profile.internal.ocl;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An OCL constraint compiled by {@link OclCompiler} into a tree of nodes
+ * which evaluate themselves. The operators and literals are worked out
+ * once when compiling, and the variables are kept in numbered slots rather
+ * than looked up by name. The features of the model are still called by
+ * name through the model interpreter.<p>
+ *
+ * The results are the same as those of {@link EvaluateInvariant} and
+ * {@link EvaluateExpression}.
+ */
+class CompiledOcl {
+
+    /**
+     * The slot of <code>self</code>.
+     */
+    static final int SELF = 0;
+
+    private final Node[] bodies;
+
+    private final Map<String, Integer> slots;
+
+    /**
+     * @param theBodies the compiled constraint bodies
+     * @param theSlots the slot of each variable name
+     */
+    CompiledOcl(Node[] theBodies, Map<String, Integer> theSlots) {
+        bodies = theBodies;
+        slots = theSlots;
+    }
+
+    /**
+     * Checks if the invariant is satisfied for the given model element,
+     * like {@link EvaluateInvariant}: every body must be true.
+     *
+     * @param modelElement self
+     * @param mi the model interpreter
+     * @return if it is satisfied
+     */
+    boolean check(Object modelElement, ModelInterpreter mi) {
+        boolean ok = true;
+        for (Node body : bodies) {
+            Frame frame = new Frame(slots, mi);
+            frame.slots[SELF] = modelElement;
+            Object val = body.evaluate(frame);
+            ok &= val instanceof Boolean && (Boolean) val;
+        }
+        return ok;
+    }
+
+    /**
+     * Evaluates the constraint with the given variables, like
+     * {@link EvaluateExpression}.
+     *
+     * @param vt the variable table, may be null
+     * @param mi the model interpreter
+     * @return the value of the last body
+     */
+    Object evaluate(Map<String, Object> vt, ModelInterpreter mi) {
+        Object val = null;
+        for (Node body : bodies) {
+            Frame frame = new Frame(slots, mi);
+            if (vt != null) {
+                frame.putAll(vt);
+            }
+            val = body.evaluate(frame);
+        }
+        return val;
+    }
+
+    /**
+     * A compiled expression.
+     */
+    abstract static class Node {
+
+        /**
+         * @param frame the variables
+         * @return the value
+         */
+        abstract Object evaluate(Frame frame);
+
+        /**
+         * @return true if the value does not depend on the frame
+         */
+        boolean isConstant() {
+            return false;
+        }
+    }
+
+    /**
+     * The variables of one evaluation. Compiled nodes read and write the
+     * slots directly. The model interpreters see the frame as a variable
+     * table and get to the same slots through the names, so that the
+     * iterators can bind their variables. Names the constraint does not
+     * use are kept aside in a map of their own.
+     */
+    static final class Frame extends AbstractMap<String, Object> {
+
+        private final Object[] slots;
+
+        private final Map<String, Integer> index;
+
+        private final ModelInterpreter interpreter;
+
+        private Map<String, Object> others;
+
+        Frame(Map<String, Integer> theIndex, ModelInterpreter mi) {
+            index = theIndex;
+            interpreter = mi;
+            slots = new Object[theIndex.size()];
+        }
+
+        /**
+         * @return the model interpreter of this evaluation
+         */
+        ModelInterpreter getInterpreter() {
+            return interpreter;
+        }
+
+        /**
+         * @param slot the slot
+         * @return the value of the variable in it
+         */
+        Object getSlot(int slot) {
+            return slots[slot];
+        }
+
+        /**
+         * @param slot the slot
+         * @param value the new value of the variable in it
+         */
+        void setSlot(int slot, Object value) {
+            slots[slot] = value;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer slot = index.get(key);
+            if (slot != null) {
+                return slots[slot];
+            }
+            return others == null ? null : others.get(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Integer slot = index.get(key);
+            if (slot != null) {
+                Object old = slots[slot];
+                slots[slot] = value;
+                return old;
+            }
+            if (others == null) {
+                others = new HashMap<String, Object>();
+            }
+            return others.put(key, value);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            Integer slot = index.get(key);
+            if (slot != null) {
+                return slots[slot] != null;
+            }
+            return others != null && others.containsKey(key);
+        }
+
+        /*
+         * A variable bound to null is taken as unbound here, OCL has no
+         * null.
+         */
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            Map<String, Object> copy = new HashMap<String, Object>();
+            if (others != null) {
+                copy.putAll(others);
+            }
+            for (Map.Entry<String, Integer> entry : index.entrySet()) {
+                Object value = slots[entry.getValue()];
+                if (value != null) {
+                    copy.put(entry.getKey(), value);
+                }
+            }
+            return Collections.unmodifiableMap(copy).entrySet();
+        }
+    }
+}
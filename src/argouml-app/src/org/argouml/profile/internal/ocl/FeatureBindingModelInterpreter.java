@@ -0,0 +1,53 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.profile.internal.ocl;
+
+import java.util.Map;
+
+/**
+ * A model interpreter which can look up a feature once for a call site of
+ * a compiled constraint, instead of by name on each call.
+ */
+public interface FeatureBindingModelInterpreter extends ModelInterpreter {
+
+    /**
+     * Look up the accessor of a feature. The accessor may only depend on
+     * the class of this interpreter, as it is kept by the call site for
+     * all interpreters of this class.
+     *
+     * @param feature the feature name
+     * @param type the type of feature ("." or "->")
+     * @return the accessor, or null if the feature must be looked up by
+     *         {@link #invokeFeature(Map, Object, String, String, Object[])}
+     */
+    Accessor bindFeature(String feature, String type);
+
+    /**
+     * The feature of a call site, bound to the class of the interpreter.
+     */
+    interface Accessor {
+
+        /**
+         * Invoke the feature.
+         *
+         * @param interpreter the interpreter, of the class the accessor was
+         *            bound for
+         * @param vt the variable table
+         * @param subject the subject
+         * @param parameters the parameters for this invocation
+         * @return the return value, as invokeFeature returns it
+         */
+        Object invoke(ModelInterpreter interpreter, Map<String, Object> vt,
+                Object subject, Object[] parameters);
+    }
+}
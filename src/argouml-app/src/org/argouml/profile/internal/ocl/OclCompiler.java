@@ -0,0 +1,977 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.profile.internal.ocl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.profile.internal.ocl.CompiledOcl.Frame;
+import org.argouml.profile.internal.ocl.CompiledOcl.Node;
+import org.argouml.profile.internal.ocl.FeatureBindingModelInterpreter.Accessor;
+import org.argouml.profile.internal.ocl.uml14.Bag;
+import org.argouml.profile.internal.ocl.uml14.HashBag;
+import org.argouml.profile.internal.ocl.uml14.OclEnumLiteral;
+
+import tudresden.ocl.parser.node.AActualParameterList;
+import tudresden.ocl.parser.node.AActualParameterListTail;
+import tudresden.ocl.parser.node.AAdditiveExpression;
+import tudresden.ocl.parser.node.AAdditiveExpressionTail;
+import tudresden.ocl.parser.node.AAndLogicalOperator;
+import tudresden.ocl.parser.node.AArrowPostfixExpressionTailBegin;
+import tudresden.ocl.parser.node.ABooleanLiteral;
+import tudresden.ocl.parser.node.AConstraint;
+import tudresden.ocl.parser.node.AConstraintBody;
+import tudresden.ocl.parser.node.ADeclaratorTail;
+import tudresden.ocl.parser.node.ADivMultiplyOperator;
+import tudresden.ocl.parser.node.ADotPostfixExpressionTailBegin;
+import tudresden.ocl.parser.node.AEmptyFeatureCallParameters;
+import tudresden.ocl.parser.node.AEnumLiteral;
+import tudresden.ocl.parser.node.AEqualRelationalOperator;
+import tudresden.ocl.parser.node.AExpression;
+import tudresden.ocl.parser.node.AExpressionListOrRange;
+import tudresden.ocl.parser.node.AExpressionListTail;
+import tudresden.ocl.parser.node.AFeatureCall;
+import tudresden.ocl.parser.node.AFeatureCallParameters;
+import tudresden.ocl.parser.node.AFeaturePrimaryExpression;
+import tudresden.ocl.parser.node.AGtRelationalOperator;
+import tudresden.ocl.parser.node.AGteqRelationalOperator;
+import tudresden.ocl.parser.node.AIfExpression;
+import tudresden.ocl.parser.node.AIfPrimaryExpression;
+import tudresden.ocl.parser.node.AImpliesLogicalOperator;
+import tudresden.ocl.parser.node.AIntegerLiteral;
+import tudresden.ocl.parser.node.ALetExpression;
+import tudresden.ocl.parser.node.AListExpressionListOrRangeTail;
+import tudresden.ocl.parser.node.ALitColPrimaryExpression;
+import tudresden.ocl.parser.node.ALiteralCollection;
+import tudresden.ocl.parser.node.ALiteralPrimaryExpression;
+import tudresden.ocl.parser.node.ALogicalExpression;
+import tudresden.ocl.parser.node.ALogicalExpressionTail;
+import tudresden.ocl.parser.node.ALtRelationalOperator;
+import tudresden.ocl.parser.node.ALteqRelationalOperator;
+import tudresden.ocl.parser.node.AMinusAddOperator;
+import tudresden.ocl.parser.node.AMinusUnaryOperator;
+import tudresden.ocl.parser.node.AMultMultiplyOperator;
+import tudresden.ocl.parser.node.AMultiplicativeExpression;
+import tudresden.ocl.parser.node.AMultiplicativeExpressionTail;
+import tudresden.ocl.parser.node.ANEqualRelationalOperator;
+import tudresden.ocl.parser.node.ANotUnaryOperator;
+import tudresden.ocl.parser.node.AOrLogicalOperator;
+import tudresden.ocl.parser.node.AParenthesesPrimaryExpression;
+import tudresden.ocl.parser.node.APlusAddOperator;
+import tudresden.ocl.parser.node.APostfixExpression;
+import tudresden.ocl.parser.node.APostfixExpressionTail;
+import tudresden.ocl.parser.node.APostfixUnaryExpression;
+import tudresden.ocl.parser.node.ARealLiteral;
+import tudresden.ocl.parser.node.ARelationalExpression;
+import tudresden.ocl.parser.node.ARelationalExpressionTail;
+import tudresden.ocl.parser.node.AStandardDeclarator;
+import tudresden.ocl.parser.node.AStringLiteral;
+import tudresden.ocl.parser.node.AUnaryUnaryExpression;
+import tudresden.ocl.parser.node.AXorLogicalOperator;
+import tudresden.ocl.parser.node.PExpression;
+import tudresden.ocl.parser.node.PFeatureCallParameters;
+import tudresden.ocl.parser.node.PLiteral;
+import tudresden.ocl.parser.node.PLogicalExpression;
+import tudresden.ocl.parser.node.PLogicalOperator;
+import tudresden.ocl.parser.node.PPostfixExpression;
+import tudresden.ocl.parser.node.PPrimaryExpression;
+import tudresden.ocl.parser.node.PRelationalOperator;
+import tudresden.ocl.parser.node.PUnaryExpression;
+import tudresden.ocl.parser.node.Start;
+
+/**
+ * Compiles a parsed OCL constraint into a {@link CompiledOcl}. Only the
+ * constructs {@link EvaluateExpression} understands are compiled; anything
+ * else, such as iterate, ranges, qualifiers or time expressions, makes the
+ * compiler give up so that the constraint is interpreted as before.<p>
+ *
+ * The operators, literals and variables are worked out when compiling.
+ * The features of the model, such as <code>name</code> or
+ * <code>select</code>, are looked up when a call is first evaluated, as
+ * the interpreter is only known then. A
+ * {@link FeatureBindingModelInterpreter} gives an accessor which the call
+ * keeps for the class of the interpreter; other interpreters look the
+ * feature up by name on each evaluation.
+ */
+final class OclCompiler {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG =
+        Logger.getLogger(OclCompiler.class.getName());
+
+    private static final String DOT = ".";
+
+    private static final String ARROW = "->";
+
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int IMPLIES = 2;
+    private static final int XOR = 3;
+
+    private static final int EQUAL = 0;
+    private static final int NOT_EQUAL = 1;
+    private static final int GT = 2;
+    private static final int GTEQ = 3;
+    private static final int LT = 4;
+    private static final int LTEQ = 5;
+
+    private static final int PLUS = 0;
+    private static final int MINUS = 1;
+    private static final int MULT = 2;
+    private static final int DIV = 3;
+
+    private static final int NEGATE = 0;
+    private static final int NOT = 1;
+
+    private static final int SET = 0;
+    private static final int SEQUENCE = 1;
+    private static final int BAG = 2;
+
+    /**
+     * Evaluates the body of an iterator in the frame it is given, which is
+     * the one the feature call passed to the model interpreter.
+     */
+    private static final LambdaEvaluator ITERATOR_BODY =
+        new LambdaEvaluator() {
+            public Object evaluate(Map<String, Object> vt, Object exp) {
+                return ((Node) exp).evaluate((Frame) vt);
+            }
+        };
+
+    /**
+     * The slot of each variable name.
+     */
+    private final Map<String, Integer> slots = new HashMap<String, Integer>();
+
+    private OclCompiler() {
+        slots.put("self", CompiledOcl.SELF);
+    }
+
+    /**
+     * Compiles a parsed constraint.
+     *
+     * @param tree the parsed constraint
+     * @return the compiled constraint, or null if it uses something the
+     *         compiler does not know
+     */
+    static CompiledOcl compile(Start tree) {
+        try {
+            return new OclCompiler().constraint(tree);
+        } catch (NotCompilableException e) {
+            LOG.log(Level.FINE, "OCL constraint is interpreted: {0}",
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private CompiledOcl constraint(Start tree)
+        throws NotCompilableException {
+        if (!(tree.getPConstraint() instanceof AConstraint)) {
+            throw new NotCompilableException(tree.getPConstraint());
+        }
+        List<Node> bodies = new ArrayList<Node>();
+        for (Object body
+                : ((AConstraint) tree.getPConstraint()).getConstraintBody()) {
+            if (!(body instanceof AConstraintBody)) {
+                throw new NotCompilableException(body);
+            }
+            bodies.add(expression(((AConstraintBody) body).getExpression()));
+        }
+        return new CompiledOcl(bodies.toArray(new Node[bodies.size()]),
+                slots);
+    }
+
+    private int slot(String name) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(name, slot);
+        }
+        return slot;
+    }
+
+    private Node expression(PExpression node) throws NotCompilableException {
+        if (!(node instanceof AExpression)) {
+            throw new NotCompilableException(node);
+        }
+        AExpression exp = (AExpression) node;
+        List<Node> lets = new ArrayList<Node>();
+        for (Object let : exp.getLetExpression()) {
+            if (!(let instanceof ALetExpression)) {
+                throw new NotCompilableException(let);
+            }
+            ALetExpression letExp = (ALetExpression) let;
+            lets.add(new Let(slot(letExp.getName().getText().trim()),
+                    expression(letExp.getExpression())));
+        }
+        Node body = logical(exp.getLogicalExpression());
+        if (lets.isEmpty()) {
+            return body;
+        }
+        return new Block(lets.toArray(new Node[lets.size()]), body);
+    }
+
+    private Node logical(PLogicalExpression node)
+        throws NotCompilableException {
+        if (!(node instanceof ALogicalExpression)) {
+            throw new NotCompilableException(node);
+        }
+        ALogicalExpression exp = (ALogicalExpression) node;
+        Node left = relational(exp.getRelationalExpression());
+        for (Object t : exp.getLogicalExpressionTail()) {
+            ALogicalExpressionTail tail = (ALogicalExpressionTail) t;
+            PLogicalOperator op = tail.getLogicalOperator();
+            int kind;
+            if (op instanceof AAndLogicalOperator) {
+                kind = AND;
+            } else if (op instanceof AOrLogicalOperator) {
+                kind = OR;
+            } else if (op instanceof AImpliesLogicalOperator) {
+                kind = IMPLIES;
+            } else if (op instanceof AXorLogicalOperator) {
+                kind = XOR;
+            } else {
+                throw new NotCompilableException(op);
+            }
+            left = fold(new Logical(kind, left,
+                    relational(tail.getRelationalExpression())));
+        }
+        return left;
+    }
+
+    private Node relational(Object node) throws NotCompilableException {
+        if (!(node instanceof ARelationalExpression)) {
+            throw new NotCompilableException(node);
+        }
+        ARelationalExpression exp = (ARelationalExpression) node;
+        Node left = additive(exp.getAdditiveExpression());
+        if (exp.getRelationalExpressionTail() == null) {
+            return left;
+        }
+        ARelationalExpressionTail tail =
+            (ARelationalExpressionTail) exp.getRelationalExpressionTail();
+        PRelationalOperator op = tail.getRelationalOperator();
+        int kind;
+        if (op instanceof AEqualRelationalOperator) {
+            kind = EQUAL;
+        } else if (op instanceof ANEqualRelationalOperator) {
+            kind = NOT_EQUAL;
+        } else if (op instanceof AGtRelationalOperator) {
+            kind = GT;
+        } else if (op instanceof AGteqRelationalOperator) {
+            kind = GTEQ;
+        } else if (op instanceof ALtRelationalOperator) {
+            kind = LT;
+        } else if (op instanceof ALteqRelationalOperator) {
+            kind = LTEQ;
+        } else {
+            throw new NotCompilableException(op);
+        }
+        return fold(new Relational(kind, left,
+                additive(tail.getAdditiveExpression())));
+    }
+
+    private Node additive(Object node) throws NotCompilableException {
+        if (!(node instanceof AAdditiveExpression)) {
+            throw new NotCompilableException(node);
+        }
+        AAdditiveExpression exp = (AAdditiveExpression) node;
+        Node left = multiplicative(exp.getMultiplicativeExpression());
+        for (Object t : exp.getAdditiveExpressionTail()) {
+            AAdditiveExpressionTail tail = (AAdditiveExpressionTail) t;
+            int kind;
+            if (tail.getAddOperator() instanceof APlusAddOperator) {
+                kind = PLUS;
+            } else if (tail.getAddOperator() instanceof AMinusAddOperator) {
+                kind = MINUS;
+            } else {
+                throw new NotCompilableException(tail.getAddOperator());
+            }
+            left = fold(new Arithmetic(kind, left,
+                    multiplicative(tail.getMultiplicativeExpression())));
+        }
+        return left;
+    }
+
+    private Node multiplicative(Object node) throws NotCompilableException {
+        if (!(node instanceof AMultiplicativeExpression)) {
+            throw new NotCompilableException(node);
+        }
+        AMultiplicativeExpression exp = (AMultiplicativeExpression) node;
+        Node left = unary(exp.getUnaryExpression());
+        for (Object t : exp.getMultiplicativeExpressionTail()) {
+            AMultiplicativeExpressionTail tail =
+                (AMultiplicativeExpressionTail) t;
+            int kind;
+            if (tail.getMultiplyOperator() instanceof AMultMultiplyOperator) {
+                kind = MULT;
+            } else if (tail.getMultiplyOperator()
+                    instanceof ADivMultiplyOperator) {
+                kind = DIV;
+            } else {
+                throw new NotCompilableException(tail.getMultiplyOperator());
+            }
+            left = fold(new Arithmetic(kind, left,
+                    unary(tail.getUnaryExpression())));
+        }
+        return left;
+    }
+
+    private Node unary(PUnaryExpression node) throws NotCompilableException {
+        if (node instanceof APostfixUnaryExpression) {
+            return postfix(((APostfixUnaryExpression) node)
+                    .getPostfixExpression());
+        }
+        if (!(node instanceof AUnaryUnaryExpression)) {
+            throw new NotCompilableException(node);
+        }
+        AUnaryUnaryExpression exp = (AUnaryUnaryExpression) node;
+        Node operand = postfix(exp.getPostfixExpression());
+        if (exp.getUnaryOperator() instanceof AMinusUnaryOperator) {
+            return fold(new Unary(NEGATE, operand));
+        } else if (exp.getUnaryOperator() instanceof ANotUnaryOperator) {
+            return fold(new Unary(NOT, operand));
+        }
+        throw new NotCompilableException(exp.getUnaryOperator());
+    }
+
+    private Node postfix(PPostfixExpression node)
+        throws NotCompilableException {
+        if (!(node instanceof APostfixExpression)) {
+            throw new NotCompilableException(node);
+        }
+        APostfixExpression exp = (APostfixExpression) node;
+        Node subject = primary(exp.getPrimaryExpression());
+        for (Object t : exp.getPostfixExpressionTail()) {
+            APostfixExpressionTail tail = (APostfixExpressionTail) t;
+            String type;
+            if (tail.getPostfixExpressionTailBegin()
+                    instanceof ADotPostfixExpressionTailBegin) {
+                type = DOT;
+            } else if (tail.getPostfixExpressionTailBegin()
+                    instanceof AArrowPostfixExpressionTailBegin) {
+                type = ARROW;
+            } else {
+                throw new NotCompilableException(
+                        tail.getPostfixExpressionTailBegin());
+            }
+            if (!(tail.getFeatureCall() instanceof AFeatureCall)) {
+                throw new NotCompilableException(tail.getFeatureCall());
+            }
+            subject = featureCall(subject, type,
+                    (AFeatureCall) tail.getFeatureCall());
+        }
+        return subject;
+    }
+
+    private Node featureCall(Node subject, String type, AFeatureCall call)
+        throws NotCompilableException {
+        if (call.getTimeExpression() != null
+                || call.getQualifiers() != null) {
+            throw new NotCompilableException(call);
+        }
+        String feature = call.getPathName().toString().trim().intern();
+        PFeatureCallParameters params = call.getFeatureCallParameters();
+        if (params == null || params instanceof AEmptyFeatureCallParameters) {
+            return new FeatureCall(subject, feature, type, new Node[0]);
+        }
+        if (!(params instanceof AFeatureCallParameters)) {
+            throw new NotCompilableException(params);
+        }
+        AFeatureCallParameters fcp = (AFeatureCallParameters) params;
+        if (fcp.getDeclarator() == null) {
+            return new FeatureCall(subject, feature, type,
+                    arguments(fcp.getActualParameterList()));
+        }
+        if (!(fcp.getDeclarator() instanceof AStandardDeclarator)
+                || !(fcp.getActualParameterList()
+                        instanceof AActualParameterList)) {
+            throw new NotCompilableException(fcp);
+        }
+        AStandardDeclarator declarator =
+            (AStandardDeclarator) fcp.getDeclarator();
+        List<String> vars = new ArrayList<String>();
+        vars.add(declarator.getName().toString().trim());
+        for (Object t : declarator.getDeclaratorTail()) {
+            vars.add(((ADeclaratorTail) t).getName().toString().trim());
+        }
+        for (String var : vars) {
+            slot(var);
+        }
+        Node body = expression(((AActualParameterList) fcp
+                .getActualParameterList()).getExpression());
+        return new IteratorCall(subject, feature, type, vars, body);
+    }
+
+    private Node[] arguments(Object node) throws NotCompilableException {
+        if (node == null) {
+            return new Node[0];
+        }
+        if (!(node instanceof AActualParameterList)) {
+            throw new NotCompilableException(node);
+        }
+        AActualParameterList list = (AActualParameterList) node;
+        List<Node> args = new ArrayList<Node>();
+        args.add(expression(list.getExpression()));
+        for (Object t : list.getActualParameterListTail()) {
+            if (!(t instanceof AActualParameterListTail)) {
+                throw new NotCompilableException(t);
+            }
+            args.add(expression(((AActualParameterListTail) t)
+                    .getExpression()));
+        }
+        return args.toArray(new Node[args.size()]);
+    }
+
+    private Node primary(PPrimaryExpression node)
+        throws NotCompilableException {
+        if (node instanceof ALiteralPrimaryExpression) {
+            return new Constant(literal(((ALiteralPrimaryExpression) node)
+                    .getLiteral()));
+        } else if (node instanceof ALitColPrimaryExpression) {
+            return collection(((ALitColPrimaryExpression) node)
+                    .getLiteralCollection());
+        } else if (node instanceof AParenthesesPrimaryExpression) {
+            return expression(((AParenthesesPrimaryExpression) node)
+                    .getExpression());
+        } else if (node instanceof AIfPrimaryExpression
+                && ((AIfPrimaryExpression) node).getIfExpression()
+                        instanceof AIfExpression) {
+            AIfExpression exp =
+                (AIfExpression) ((AIfPrimaryExpression) node).getIfExpression();
+            return fold(new If(expression(exp.getIfBranch()),
+                    expression(exp.getThenBranch()),
+                    expression(exp.getElseBranch())));
+        } else if (node instanceof AFeaturePrimaryExpression) {
+            AFeaturePrimaryExpression exp = (AFeaturePrimaryExpression) node;
+            if (exp.getTimeExpression() != null
+                    || exp.getQualifiers() != null) {
+                throw new NotCompilableException(node);
+            }
+            // Any parameters are ignored, as EvaluateExpression does
+            String name = exp.getPathName().toString().trim();
+            return new Variable(slot(name), name);
+        }
+        throw new NotCompilableException(node);
+    }
+
+    private Object literal(PLiteral node) throws NotCompilableException {
+        if (node instanceof AStringLiteral) {
+            String text = ((AStringLiteral) node).getStringLit().getText();
+            return text.substring(1, text.length() - 1);
+        } else if (node instanceof ARealLiteral) {
+            // TODO support real types
+            return (int) Double.parseDouble(((ARealLiteral) node).getReal()
+                    .getText());
+        } else if (node instanceof AIntegerLiteral) {
+            return Integer.parseInt(((AIntegerLiteral) node).getInt()
+                    .getText());
+        } else if (node instanceof ABooleanLiteral) {
+            return Boolean.parseBoolean(((ABooleanLiteral) node).getBool()
+                    .getText());
+        } else if (node instanceof AEnumLiteral) {
+            return new OclEnumLiteral(((AEnumLiteral) node).getName()
+                    .toString().trim());
+        }
+        throw new NotCompilableException(node);
+    }
+
+    private Node collection(Object node) throws NotCompilableException {
+        if (!(node instanceof ALiteralCollection)) {
+            throw new NotCompilableException(node);
+        }
+        ALiteralCollection col = (ALiteralCollection) node;
+        String name = col.getCollectionKind().toString().trim();
+        int kind;
+        if (name.equalsIgnoreCase("Set")) {
+            kind = SET;
+        } else if (name.equalsIgnoreCase("Sequence")) {
+            kind = SEQUENCE;
+        } else if (name.equalsIgnoreCase("Bag")) {
+            kind = BAG;
+        } else {
+            throw new NotCompilableException(node);
+        }
+        List<Node> elements = new ArrayList<Node>();
+        if (col.getExpressionListOrRange() != null) {
+            AExpressionListOrRange list =
+                (AExpressionListOrRange) col.getExpressionListOrRange();
+            elements.add(expression(list.getExpression()));
+            Object tail = list.getExpressionListOrRangeTail();
+            if (tail instanceof AListExpressionListOrRangeTail) {
+                for (Object t : ((AListExpressionListOrRangeTail) tail)
+                        .getExpressionListTail()) {
+                    elements.add(expression(((AExpressionListTail) t)
+                            .getExpression()));
+                }
+            } else if (tail != null) {
+                throw new NotCompilableException(tail);
+            }
+        }
+        return new CollectionLiteral(kind,
+                elements.toArray(new Node[elements.size()]));
+    }
+
+    /**
+     * Replaces a node whose operands are constant with its value. Nodes
+     * which fail are left to fail when the constraint is evaluated.
+     */
+    private static Node fold(Node node) {
+        if (node.isConstant()) {
+            try {
+                return new Constant(node.evaluate(null));
+            } catch (RuntimeException e) {
+                LOG.log(Level.FINE, "Not folded", e);
+            }
+        }
+        return node;
+    }
+
+    /* Helpers of the nodes, as in EvaluateExpression */
+
+    private static boolean asBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        throw error("OCL does not evaluate to a Boolean expression!! Val: "
+                + value);
+    }
+
+    private static int asInteger(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        throw error("OCL does not evaluate to a integer expression!! Val: "
+                + value);
+    }
+
+    private static RuntimeException error(String message) {
+        LOG.log(Level.SEVERE, message);
+        // TODO: We need a specific exception type here.
+        return new RuntimeException(message);
+    }
+
+    /**
+     * Thrown when a constraint uses something the compiler does not know.
+     */
+    private static class NotCompilableException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        NotCompilableException(Object node) {
+            super(node == null ? "missing node"
+                    : node.getClass().getSimpleName() + " " + node);
+        }
+    }
+
+    /* The nodes */
+
+    private static class Constant extends Node {
+        private final Object value;
+
+        Constant(Object theValue) {
+            value = theValue;
+        }
+
+        Object evaluate(Frame frame) {
+            return value;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+    }
+
+    /**
+     * A variable, or else a built-in symbol of the model interpreter.
+     */
+    private static class Variable extends Node {
+        private final int slot;
+        private final String name;
+
+        Variable(int theSlot, String theName) {
+            slot = theSlot;
+            name = theName;
+        }
+
+        Object evaluate(Frame frame) {
+            Object value = frame.getSlot(slot);
+            if (value == null) {
+                value = frame.getInterpreter().getBuiltInSymbol(name);
+            }
+            return value;
+        }
+    }
+
+    private static class Let extends Node {
+        private final int slot;
+        private final Node value;
+
+        Let(int theSlot, Node theValue) {
+            slot = theSlot;
+            value = theValue;
+        }
+
+        Object evaluate(Frame frame) {
+            frame.setSlot(slot, value.evaluate(frame));
+            return null;
+        }
+    }
+
+    private static class Block extends Node {
+        private final Node[] lets;
+        private final Node body;
+
+        Block(Node[] theLets, Node theBody) {
+            lets = theLets;
+            body = theBody;
+        }
+
+        Object evaluate(Frame frame) {
+            for (Node let : lets) {
+                let.evaluate(frame);
+            }
+            return body.evaluate(frame);
+        }
+    }
+
+    private static class If extends Node {
+        private final Node test;
+        private final Node thenBranch;
+        private final Node elseBranch;
+
+        If(Node theTest, Node theThen, Node theElse) {
+            test = theTest;
+            thenBranch = theThen;
+            elseBranch = theElse;
+        }
+
+        Object evaluate(Frame frame) {
+            if (asBoolean(test.evaluate(frame))) {
+                return asBoolean(thenBranch.evaluate(frame));
+            }
+            return asBoolean(elseBranch.evaluate(frame));
+        }
+
+        @Override
+        boolean isConstant() {
+            return test.isConstant() && thenBranch.isConstant()
+                && elseBranch.isConstant();
+        }
+    }
+
+    private abstract static class Binary extends Node {
+        protected final int kind;
+        protected final Node left;
+        protected final Node right;
+
+        Binary(int theKind, Node theLeft, Node theRight) {
+            kind = theKind;
+            left = theLeft;
+            right = theRight;
+        }
+
+        @Override
+        boolean isConstant() {
+            return left.isConstant() && right.isConstant();
+        }
+    }
+
+    private static class Logical extends Binary {
+        Logical(int theKind, Node theLeft, Node theRight) {
+            super(theKind, theLeft, theRight);
+        }
+
+        Object evaluate(Frame frame) {
+            Object l = left.evaluate(frame);
+            switch (kind) {
+            case AND:
+                if (Boolean.FALSE.equals(l)) {
+                    return false;
+                }
+                Object andRight = right.evaluate(frame);
+                if (Boolean.FALSE.equals(andRight)) {
+                    return false;
+                }
+                return asBoolean(l) && asBoolean(andRight);
+            case OR:
+                if (Boolean.TRUE.equals(l)) {
+                    return true;
+                }
+                Object orRight = right.evaluate(frame);
+                if (Boolean.TRUE.equals(orRight)) {
+                    return true;
+                }
+                return asBoolean(l) || asBoolean(orRight);
+            case IMPLIES:
+                return !asBoolean(l) || asBoolean(right.evaluate(frame));
+            default:
+                // Same result as EvaluateExpression
+                return !asBoolean(l) ^ asBoolean(right.evaluate(frame));
+            }
+        }
+    }
+
+    private static class Relational extends Binary {
+        Relational(int theKind, Node theLeft, Node theRight) {
+            super(theKind, theLeft, theRight);
+        }
+
+        Object evaluate(Frame frame) {
+            Object l = left.evaluate(frame);
+            Object r = right.evaluate(frame);
+            if (l == null || r == null) {
+                // if one side is null, compare with the equality operator
+                if (kind == EQUAL) {
+                    return l == r;
+                } else if (kind == NOT_EQUAL) {
+                    return l != r;
+                }
+                throw error("Unknown error processing OCL exp!! Val: " + l
+                        + ", " + r);
+            }
+            switch (kind) {
+            case EQUAL:
+                return l.equals(r);
+            case NOT_EQUAL:
+                return !l.equals(r);
+            case GT:
+                return asInteger(l) > asInteger(r);
+            case GTEQ:
+                return asInteger(l) >= asInteger(r);
+            case LT:
+                return asInteger(l) < asInteger(r);
+            default:
+                return asInteger(l) <= asInteger(r);
+            }
+        }
+    }
+
+    private static class Arithmetic extends Binary {
+        Arithmetic(int theKind, Node theLeft, Node theRight) {
+            super(theKind, theLeft, theRight);
+        }
+
+        Object evaluate(Frame frame) {
+            Object l = left.evaluate(frame);
+            Object r = right.evaluate(frame);
+            if (l == null || r == null) {
+                throw error("Unknown error processing OCL exp!! Val: " + l
+                        + ", " + r);
+            }
+            switch (kind) {
+            case PLUS:
+                return asInteger(l) + asInteger(r);
+            case MINUS:
+                return asInteger(l) - asInteger(r);
+            case MULT:
+                return asInteger(l) * asInteger(r);
+            default:
+                return asInteger(l) / asInteger(r);
+            }
+        }
+    }
+
+    private static class Unary extends Node {
+        private final int kind;
+        private final Node operand;
+
+        Unary(int theKind, Node theOperand) {
+            kind = theKind;
+            operand = theOperand;
+        }
+
+        Object evaluate(Frame frame) {
+            if (kind == NEGATE) {
+                return -asInteger(operand.evaluate(frame));
+            }
+            return !asBoolean(operand.evaluate(frame));
+        }
+
+        @Override
+        boolean isConstant() {
+            return operand.isConstant();
+        }
+    }
+
+    private static class CollectionLiteral extends Node {
+        private final int kind;
+        private final Node[] elements;
+
+        CollectionLiteral(int theKind, Node[] theElements) {
+            kind = theKind;
+            elements = theElements;
+        }
+
+        Object evaluate(Frame frame) {
+            Collection<Object> col;
+            if (kind == SET) {
+                col = new HashSet<Object>();
+            } else if (kind == SEQUENCE) {
+                col = new ArrayList<Object>();
+            } else {
+                col = new HashBag<Object>();
+            }
+            for (Node element : elements) {
+                col.add(element.evaluate(frame));
+            }
+            return col;
+        }
+    }
+
+    /**
+     * A call of a feature by the model interpreter, which looks the feature
+     * up by name on each evaluation.
+     */
+    private static class FeatureCall extends Node {
+        private final Node subject;
+        private final String feature;
+        private final String type;
+        private final Node[] args;
+
+        /**
+         * The accessor of the feature for the interpreter of the latest
+         * evaluation.
+         */
+        private volatile Binding binding;
+
+        FeatureCall(Node theSubject, String theFeature, String theType,
+                Node[] theArgs) {
+            subject = theSubject;
+            feature = theFeature;
+            type = theType;
+            args = theArgs;
+        }
+
+        Object evaluate(Frame frame) {
+            Object s = subject.evaluate(frame);
+            Object[] params = parameters(frame);
+            ModelInterpreter interp = frame.getInterpreter();
+            Accessor accessor = getAccessor(interp);
+
+            // XXX this should be done in CollectionsModelInterpreter
+            // but it can't trigger another invokeFeature...
+            if (s instanceof Collection && type == DOT) {
+                Bag<Object> res = new HashBag<Object>();
+                for (Object obj : (Collection) s) {
+                    res.add(accessor.invoke(interp, frame, obj,
+                            copy(params)));
+                }
+                return res;
+            }
+            return accessor.invoke(interp, frame, s, params);
+        }
+
+        /**
+         * @param interp the interpreter of this evaluation
+         * @return the accessor of the feature for the interpreter, bound on
+         *         the first evaluation with an interpreter of its class
+         */
+        private Accessor getAccessor(ModelInterpreter interp) {
+            Binding b = binding;
+            if (b == null || b.interpreterClass != interp.getClass()) {
+                Accessor accessor = null;
+                if (interp instanceof FeatureBindingModelInterpreter) {
+                    accessor = ((FeatureBindingModelInterpreter) interp)
+                        .bindFeature(feature, type);
+                }
+                if (accessor == null) {
+                    accessor = new Accessor() {
+                        public Object invoke(ModelInterpreter mi,
+                                Map<String, Object> vt, Object subj,
+                                Object[] parameters) {
+                            return mi.invokeFeature(vt, subj, feature, type,
+                                    parameters);
+                        }
+                    };
+                }
+                b = new Binding(interp.getClass(), accessor);
+                binding = b;
+            }
+            return b.accessor;
+        }
+
+        /**
+         * @param frame the variables
+         * @return the parameters of the call
+         */
+        Object[] parameters(Frame frame) {
+            Object[] params = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                params[i] = args[i].evaluate(frame);
+            }
+            return params;
+        }
+
+        /**
+         * @param params the parameters of the call
+         * @return the parameters for the call on the next element of a
+         *         collection
+         */
+        Object[] copy(Object[] params) {
+            return params.clone();
+        }
+    }
+
+    /**
+     * The accessor of a feature for a class of interpreters.
+     */
+    private static final class Binding {
+        private final Class< ? > interpreterClass;
+        private final Accessor accessor;
+
+        Binding(Class< ? > theInterpreterClass, Accessor theAccessor) {
+            interpreterClass = theInterpreterClass;
+            accessor = theAccessor;
+        }
+    }
+
+    /**
+     * A call of an iterator such as select or forAll. The parameters are
+     * the variables, the compiled body and the evaluator of the body, which
+     * is what the model interpreters expect.
+     */
+    private static class IteratorCall extends FeatureCall {
+        private final List<String> vars;
+        private final Node body;
+
+        IteratorCall(Node theSubject, String theFeature, String theType,
+                List<String> theVars, Node theBody) {
+            super(theSubject, theFeature, theType, new Node[0]);
+            vars = theVars;
+            body = theBody;
+        }
+
+        @Override
+        Object[] parameters(Frame frame) {
+            // The interpreter may consume the list of variables
+            return new Object[] {
+                new ArrayList<String>(vars), body, ITERATOR_BODY,
+            };
+        }
+
+        @Override
+        Object[] copy(Object[] params) {
+            return parameters(null);
+        }
+    }
+}
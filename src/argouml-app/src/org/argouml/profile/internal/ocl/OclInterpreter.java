@@ -60,6 +60,11 @@ public class OclInterpreter {
      */
     private Start tree = null;
 
+    /**
+     * The compiled constraint, or null if it has to be interpreted
+     */
+    private CompiledOcl compiled;
+
     /**
      * The model interpreter
      */
@@ -86,6 +91,7 @@ public class OclInterpreter {
             e.printStackTrace();
             throw new InvalidOclException(ocl);
         }
+        compiled = OclCompiler.compile(tree);
     }
 
     /**
@@ -108,6 +114,9 @@ public class OclInterpreter {
      * @return if is satisfied
      */
     public boolean check(Object modelElement) {
+        if (compiled != null) {
+            return compiled.check(modelElement, modelInterpreter);
+        }
         EvaluateInvariant ei = new EvaluateInvariant(modelElement,
                 modelInterpreter);
         tree.apply(ei);
@@ -38,7 +38,10 @@
 
 package org.argouml.profile.internal.ocl.uml14;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.argouml.model.Model;
 import org.argouml.profile.internal.ocl.ModelInterpreter;
@@ -50,6 +53,21 @@ import org.argouml.profile.internal.ocl.ModelInterpreter;
  */
 public class OclAPIModelInterpreter implements ModelInterpreter {
 
+    /**
+     * The features this interpreter knows, all of type ".".
+     */
+    private static final Set<String> FEATURES = new HashSet<String>(
+            Arrays.asList("oclIsKindOf", "oclIsTypeOf", "oclAsType", "name",
+                    "size", "concat", "toLower", "toUpper", "substring"));
+
+    /**
+     * @param feature the name of a feature of type "."
+     * @return true if this interpreter may know the feature
+     */
+    static boolean hasFeature(String feature) {
+        return FEATURES.contains(feature.trim());
+    }
+
     /*
      * @see org.argouml.profile.internal.ocl.ModelInterpreter#invokeFeature(java.util.Map,
      *      java.lang.Object, java.lang.String, java.lang.String,
@@ -39,24 +39,90 @@
 package org.argouml.profile.internal.ocl.uml14;
 
 import java.util.Collection;
+import java.util.Map;
 
 import org.argouml.model.Model;
 import org.argouml.profile.internal.ocl.CompositeModelInterpreter;
+import org.argouml.profile.internal.ocl.FeatureBindingModelInterpreter;
+import org.argouml.profile.internal.ocl.ModelInterpreter;
 
 /**
  * Interpreter for UML 1.4 / OCL 1.4
  * 
  * @author maurelio1234
  */
-public class Uml14ModelInterpreter extends CompositeModelInterpreter {
+public class Uml14ModelInterpreter extends CompositeModelInterpreter
+    implements FeatureBindingModelInterpreter {
+
+    private final ModelAccessModelInterpreter modelAccess =
+        new ModelAccessModelInterpreter();
+
+    private final OclAPIModelInterpreter oclApi =
+        new OclAPIModelInterpreter();
+
+    private final CollectionsModelInterpreter collections =
+        new CollectionsModelInterpreter();
 
     /**
      * Default Constructor
      */
     public Uml14ModelInterpreter() {
-        addModelInterpreter(new ModelAccessModelInterpreter());
-        addModelInterpreter(new OclAPIModelInterpreter());
-        addModelInterpreter(new CollectionsModelInterpreter());
+        addModelInterpreter(modelAccess);
+        addModelInterpreter(oclApi);
+        addModelInterpreter(collections);
+    }
+
+    /**
+     * The features of type "->" are only known to the collections
+     * interpreter, and those of type "." to the model access and OCL API
+     * interpreters, so a call site goes to those alone.
+     *
+     * @see org.argouml.profile.internal.ocl.FeatureBindingModelInterpreter#bindFeature(java.lang.String, java.lang.String)
+     */
+    public Accessor bindFeature(final String feature, final String type) {
+        if (getClass() != Uml14ModelInterpreter.class) {
+            // A subclass may add interpreters of its own
+            return null;
+        }
+        if (type.equals("->")) {
+            return new Accessor() {
+                public Object invoke(ModelInterpreter interpreter,
+                        Map<String, Object> vt, Object subject,
+                        Object[] parameters) {
+                    return ((Uml14ModelInterpreter) interpreter).collections
+                        .invokeFeature(vt, subject, feature, type,
+                                parameters);
+                }
+            };
+        }
+        if (!type.equals(".")) {
+            return null;
+        }
+        if (OclAPIModelInterpreter.hasFeature(feature)) {
+            return new Accessor() {
+                public Object invoke(ModelInterpreter interpreter,
+                        Map<String, Object> vt, Object subject,
+                        Object[] parameters) {
+                    Uml14ModelInterpreter mi =
+                        (Uml14ModelInterpreter) interpreter;
+                    Object ret = mi.oclApi.invokeFeature(vt, subject,
+                            feature, type, parameters);
+                    if (ret != null) {
+                        return ret;
+                    }
+                    return mi.modelAccess.invokeFeature(vt, subject,
+                            feature, type, parameters);
+                }
+            };
+        }
+        return new Accessor() {
+            public Object invoke(ModelInterpreter interpreter,
+                    Map<String, Object> vt, Object subject,
+                    Object[] parameters) {
+                return ((Uml14ModelInterpreter) interpreter).modelAccess
+                    .invokeFeature(vt, subject, feature, type, parameters);
+            }
+        };
     }
 
     private String toString(Object obj) {
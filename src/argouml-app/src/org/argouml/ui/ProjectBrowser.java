@@ -99,6 +99,7 @@ import org.argouml.model.Model;
 import org.argouml.model.XmiReferenceException;
 import org.argouml.model.XmiReferenceRuntimeException;
 import org.argouml.persistence.AbstractFilePersister;
+import org.argouml.persistence.AutosaveManager;
 import org.argouml.persistence.OpenException;
 import org.argouml.persistence.PersistenceManager;
 import org.argouml.persistence.ProjectFilePersister;
@@ -990,6 +991,7 @@ public final class ProjectBrowser
      * Exit the application saving the current user settings.
      */
     public void exit() {
+        AutosaveManager.getInstance().stop();
         saveScreenConfiguration();
         Configuration.save();
         System.exit(0);
@@ -1386,6 +1388,7 @@ public final class ProjectBrowser
             }
 
             addFileSaved(file);
+            AutosaveManager.getInstance().deleteRecoveryFile();
 
             Configuration.setString(Argo.KEY_MOST_RECENT_PROJECT_FILE,
                         file.getCanonicalPath());
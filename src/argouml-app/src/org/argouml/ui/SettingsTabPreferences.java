@@ -67,6 +67,7 @@ class SettingsTabPreferences extends JPanel
     private JCheckBox chkReloadRecent;
     private JCheckBox chkStripDiagrams;
     private JCheckBox chkUseSafeSaves;
+    private JCheckBox chkLayoutLayered;
     
     /**
      * The constructor.
@@ -110,6 +111,11 @@ class SettingsTabPreferences extends JPanel
             new JCheckBox(Translator.localize("label.use-safe-saves"));
         chkUseSafeSaves = j4;
         topPanel.add(chkUseSafeSaves, checkConstraints);
+
+        checkConstraints.gridy++;
+        chkLayoutLayered =
+            new JCheckBox(Translator.localize("label.layout-layered"));
+        topPanel.add(chkLayoutLayered, checkConstraints);
         
         checkConstraints.fill = GridBagConstraints.HORIZONTAL;
 
@@ -130,6 +136,8 @@ class SettingsTabPreferences extends JPanel
         chkUseSafeSaves.setSelected(
             Configuration.getBoolean(PersistenceManager.USE_SAFE_SAVES,
                 true)); 
+        chkLayoutLayered.setSelected(
+                Configuration.getBoolean(Argo.KEY_LAYOUT_LAYERED, false));
     }
 
     /*
@@ -143,6 +151,8 @@ class SettingsTabPreferences extends JPanel
                  chkStripDiagrams.isSelected());
         Configuration.setBoolean(PersistenceManager.USE_SAFE_SAVES,
                 chkUseSafeSaves.isSelected());
+        Configuration.setBoolean(Argo.KEY_LAYOUT_LAYERED,
+                chkLayoutLayered.isSelected());
     }
 
     /*
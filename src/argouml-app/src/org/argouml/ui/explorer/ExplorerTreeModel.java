@@ -62,6 +62,8 @@ import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 
+import org.argouml.application.api.Argo;
+import org.argouml.configuration.Configuration;
 import org.argouml.kernel.Project;
 import org.argouml.kernel.ProjectManager;
 import org.argouml.model.InvalidElementException;
@@ -106,8 +108,19 @@ public class ExplorerTreeModel extends DefaultTreeModel
     /**
      * The children currently being updated.
      */
-    private List<ExplorerTreeNode> updatingChildren =
-            new ArrayList<ExplorerTreeNode>();
+    private Set<ExplorerTreeNode> updatingChildren =
+            new HashSet<ExplorerTreeNode>();
+
+    /**
+     * True if the children of a node are only worked out when the user
+     * expands it, rather than when it is shown.
+     */
+    private boolean lazy;
+
+    /**
+     * What the rules gave for the parents whose children were worked out.
+     */
+    private PerspectiveRuleCache ruleCache = new PerspectiveRuleCache();
 
     /**
      * A Runnable object that when executed does update some
@@ -223,12 +236,22 @@ public class ExplorerTreeModel extends DefaultTreeModel
 	    .setTreeModelUMLEventListener(this);
 
 	order = new TypeThenNameOrder();
+	lazy = Configuration.getBoolean(Argo.KEY_EXPLORER_LAZY, false);
+    }
+
+    /**
+     * @return true if the children of a node are only worked out when the
+     *         user expands it
+     */
+    boolean isLazy() {
+        return lazy;
     }
 
     /*
      * @see org.argouml.ui.explorer.TreeModelUMLEventListener#modelElementChanged(java.lang.Object)
      */
     public void modelElementChanged(Object node) {
+        ruleCache.invalidate(node);
         traverseModified((TreeNode) getRoot(), node);
     }
 
@@ -236,6 +259,7 @@ public class ExplorerTreeModel extends DefaultTreeModel
      * @see org.argouml.ui.explorer.TreeModelUMLEventListener#modelElementAdded(java.lang.Object)
      */
     public void modelElementAdded(Object node) {
+        ruleCache.invalidate(node);
         traverseModified((TreeNode) getRoot(), node);
     }
 
@@ -262,6 +286,7 @@ public class ExplorerTreeModel extends DefaultTreeModel
      * @see org.argouml.ui.explorer.TreeModelUMLEventListener#modelElementRemoved(java.lang.Object)
      */
     public void modelElementRemoved(Object node) {
+        ruleCache.invalidate(node);
         for (ExplorerTreeNode changeNode
                 : new ArrayList<ExplorerTreeNode>(findNodes(node))) {
             if (changeNode.getParent() != null) {
@@ -277,6 +302,14 @@ public class ExplorerTreeModel extends DefaultTreeModel
      * @see org.argouml.ui.explorer.TreeModelUMLEventListener#structureChanged()
      */
     public void structureChanged() {
+        ruleCache.clear();
+        rebuild();
+    }
+
+    /**
+     * Replace all nodes of the tree, keeping what the rules gave.
+     */
+    private void rebuild() {
 	// remove references for gc
 	if (getRoot() instanceof ExplorerTreeNode) {
             ((ExplorerTreeNode) getRoot()).remove();
@@ -297,6 +330,10 @@ public class ExplorerTreeModel extends DefaultTreeModel
 
 	addToMap(proj, rootNode);
 	setRoot(rootNode);
+	if (lazy) {
+	    // The tree shows the children of the root without expanding it
+	    updateChildren(new TreePath(rootNode));
+	}
     }
 
     /**
@@ -320,6 +357,7 @@ public class ExplorerTreeModel extends DefaultTreeModel
 	    return;
 	}
 	updatingChildren.add(node);
+	node.setExpanded();
 
 	List children = reorderChildren(node);
 
@@ -450,6 +488,7 @@ public class ExplorerTreeModel extends DefaultTreeModel
 
 	// Collect the current set of objects that should be children to
 	// this node
+	Set<Object> collected = new HashSet<Object>();
         for (PerspectiveRule rule : rules) {
 
             // TODO: A better implementation would be to batch events into
@@ -459,30 +498,29 @@ public class ExplorerTreeModel extends DefaultTreeModel
             // require doing the updates in a different thread than the
             // event delivery thread to prevent deadlocks, so for right now
             // we protect ourselves with try/catch blocks.
-            Collection children = Collections.emptySet();
-            try {
-                children = rule.getChildren(modelElement);
-            } catch (InvalidElementException e) {
-                LOG.log(Level.FINE, "InvalidElementException in ExplorerTree : ", e );
+            PerspectiveRuleCache.Entry entry =
+                ruleCache.lookup(rule, modelElement);
+            if (entry == null) {
+                try {
+                    entry = ruleCache.store(rule, modelElement,
+                            rule.getChildren(modelElement),
+                            rule.getDependencies(modelElement));
+                } catch (InvalidElementException e) {
+                    LOG.log(Level.FINE, "InvalidElementException in ExplorerTree : ", e );
+                    continue;
+                }
             }
 
-            for (Object child : children) {
+            for (Object child : entry.getChildren()) {
                 if (child == null) {
                     LOG.log(Level.WARNING, "PerspectiveRule " + rule + " wanted to "
                             + "add null to the explorer tree!");
-                } else if (!newChildren.contains(child)) {
+                } else if (collected.add(child)) {
                     newChildren.add(child);
                 }
             }
 
-
-            try {
-                Set dependencies = rule.getDependencies(modelElement);
-                deps.addAll(dependencies);
-            } catch (InvalidElementException e) {
-                LOG.log(Level.FINE, "InvalidElementException in ExplorerTree : ", e );
-            }
-
+            deps.addAll(entry.getDependencies());
         }
 
 	// Order the new children, the dependencies cannot and
@@ -564,7 +602,9 @@ public class ExplorerTreeModel extends DefaultTreeModel
 
     /**
      * Merges the current children with the new children removing children no
-     * longer present and adding new children in the right place.
+     * longer present and adding new children in the right place.  All the
+     * children removed are reported in a single event, and so are all the
+     * children added, however many there are.
      *
      * @param node the TreeNode were merging lists for.
      * @param children the current child UserObjects, in order.
@@ -577,49 +617,57 @@ public class ExplorerTreeModel extends DefaultTreeModel
     private void mergeChildren(ExplorerTreeNode node, List children,
 			       List newChildren) {
 	Set removeObjects = prepareAddRemoveSets(children, newChildren);
-	// Remember that children are not TreeNodes but UserObjects
-	List<ExplorerTreeNode> actualNodes = new ArrayList<ExplorerTreeNode>();
-	Enumeration childrenEnum = node.children();
-	while (childrenEnum.hasMoreElements()) {
-	    actualNodes.add((ExplorerTreeNode) childrenEnum.nextElement());
-	}
 
-	int position = 0;
-	Iterator childNodes = actualNodes.iterator();
-	Iterator newNodes = newChildren.iterator();
-	Object firstNew = newNodes.hasNext() ? newNodes.next() : null;
-	while (childNodes.hasNext()) {
-	    Object childObj = childNodes.next();
-	    if (!(childObj instanceof ExplorerTreeNode)) {
-		continue;
+	if (!removeObjects.isEmpty()) {
+	    List<ExplorerTreeNode> removed = new ArrayList<ExplorerTreeNode>();
+	    List<Integer> removedIndices = new ArrayList<Integer>();
+	    for (int i = 0; i < node.getChildCount(); i++) {
+	        ExplorerTreeNode child = (ExplorerTreeNode) node.getChildAt(i);
+	        if (removeObjects.contains(child.getUserObject())) {
+	            removed.add(child);
+	            removedIndices.add(i);
+	        }
 	    }
-
-	    ExplorerTreeNode child = (ExplorerTreeNode) childObj;
-	    Object userObject = child.getUserObject();
-
-	    if (removeObjects.contains(userObject)) {
-		removeNodeFromParent(child);
-	    } else {
-		while (firstNew != null
-		       && order.compare(firstNew, userObject) < 0) {
-		    insertNodeInto(new ExplorerTreeNode(firstNew, this),
-				   node,
-				   position);
-		    position++;
-		    firstNew = newNodes.hasNext() ? newNodes.next() : null;
-		}
-		position++;
+	    for (int i = removed.size() - 1; i >= 0; i--) {
+	        ExplorerTreeNode child = removed.get(i);
+	        removeNodesFromMap(child);
+	        child.remove();
+	        node.remove(removedIndices.get(i));
 	    }
+	    nodesWereRemoved(node, toArray(removedIndices), removed.toArray());
 	}
 
-	// Add any remaining nodes
+	// Both lists are in order, so each new child goes in before the
+	// first current child which sorts after it
+	List<Integer> insertedIndices = new ArrayList<Integer>();
+	Iterator newNodes = newChildren.iterator();
+	Object firstNew = newNodes.hasNext() ? newNodes.next() : null;
+	int position = 0;
 	while (firstNew != null) {
-	    insertNodeInto(new ExplorerTreeNode(firstNew, this),
-			   node,
-			   position);
+	    if (position == node.getChildCount()
+	            || order.compare(firstNew,
+	                    ((ExplorerTreeNode) node.getChildAt(position))
+	                        .getUserObject()) < 0) {
+	        node.insert(new ExplorerTreeNode(firstNew, this), position);
+	        insertedIndices.add(position);
+	        firstNew = newNodes.hasNext() ? newNodes.next() : null;
+	    }
 	    position++;
-	    firstNew = newNodes.hasNext() ? newNodes.next() : null;
 	}
+	if (!insertedIndices.isEmpty()) {
+	    nodesWereInserted(node, toArray(insertedIndices));
+	    for (int index : insertedIndices) {
+	        addNodesToMap((ExplorerTreeNode) node.getChildAt(index));
+	    }
+	}
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
     }
 
     /*
@@ -736,7 +784,8 @@ public class ExplorerTreeModel extends DefaultTreeModel
 	} else { // it is the combo for "order"
 	    order = (Comparator) e.getItem();
 	}
-	structureChanged();
+	// The model hasn't changed, so what the rules gave still holds
+	rebuild();
 	// TODO: temporary - let tree expand implicitly - tfm
 	tree.expandPath(tree.getPathForRow(1));
     }
@@ -85,12 +85,23 @@ public class ExplorerTreeNode extends DefaultMutableTreeNode implements
     @Override
     public boolean isLeaf() {
 	if (!expanded) {
+	    if (model.isLazy()) {
+	        // Not known until the user expands it
+	        return false;
+	    }
 	    model.updateChildren(new TreePath(model.getPathToRoot(this)));
 	    expanded = true;
 	}
 	return super.isLeaf();
     }
 
+    /**
+     * Note that the children of this node have been worked out.
+     */
+    void setExpanded() {
+        expanded = true;
+    }
+
     boolean getPending() {
 	return pending;
     }
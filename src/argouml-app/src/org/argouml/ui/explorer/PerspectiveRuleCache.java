@@ -0,0 +1,176 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.ui.explorer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.argouml.model.Metrics;
+import org.argouml.ui.explorer.rules.PerspectiveRule;
+
+/**
+ * Remembers the children and dependencies each perspective rule gave for
+ * a parent, so that expanding a node again or switching perspectives
+ * doesn't ask the model again.<p>
+ *
+ * The entries of a parent are dropped, for all rules, when the parent,
+ * one of the children or one of the declared dependencies of any of its
+ * rules changes.  That is when the explorer would work out the children
+ * of its node again.  A rule that declares no dependencies gives no way
+ * of knowing when its children change, so what it gives isn't kept.<p>
+ *
+ * The hits and misses are counted by the {@link Metrics} registry.
+ *
+ * @see ExplorerTreeModel#updateChildren(javax.swing.tree.TreePath)
+ */
+final class PerspectiveRuleCache {
+
+    private static final Metrics.Counter HITS =
+        Metrics.counter("explorer.cache.hits");
+
+    private static final Metrics.Counter MISSES =
+        Metrics.counter("explorer.cache.misses");
+
+    /**
+     * The entries of each parent, by rule.
+     */
+    private final Map<Object, Map<PerspectiveRule, Entry>> entries =
+        new WeakHashMap<Object, Map<PerspectiveRule, Entry>>();
+
+    /**
+     * For each object an entry depends on, the parents of those entries.
+     */
+    private final Map<Object, Map<Object, Boolean>> dependents =
+        new WeakHashMap<Object, Map<Object, Boolean>>();
+
+    /**
+     * Look up what a rule gave for a parent.
+     *
+     * @param rule the perspective rule
+     * @param parent the parent
+     * @return the entry, or null if there is none
+     */
+    Entry lookup(PerspectiveRule rule, Object parent) {
+        Map<PerspectiveRule, Entry> byRule = entries.get(parent);
+        Entry entry = byRule == null ? null : byRule.get(rule);
+        if (entry != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Remember what a rule gave for a parent.
+     *
+     * @param rule the perspective rule
+     * @param parent the parent
+     * @param children the children from the rule
+     * @param dependencies the dependencies from the rule
+     * @return the entry, holding copies of the children and dependencies
+     */
+    Entry store(PerspectiveRule rule, Object parent, Collection children,
+            Set dependencies) {
+        Entry entry = new Entry(children, dependencies);
+        if (dependencies == null || dependencies.isEmpty()) {
+            return entry;
+        }
+        Map<PerspectiveRule, Entry> byRule = entries.get(parent);
+        if (byRule == null) {
+            byRule = new HashMap<PerspectiveRule, Entry>(4);
+            entries.put(parent, byRule);
+        }
+        byRule.put(rule, entry);
+        addDependent(parent, parent);
+        for (Object dependency : entry.dependencies) {
+            addDependent(dependency, parent);
+        }
+        for (Object child : entry.children) {
+            addDependent(child, parent);
+        }
+        return entry;
+    }
+
+    private void addDependent(Object dependency, Object parent) {
+        Map<Object, Boolean> parents = dependents.get(dependency);
+        if (parents == null) {
+            parents = new WeakHashMap<Object, Boolean>(4);
+            dependents.put(dependency, parents);
+        }
+        parents.put(parent, Boolean.TRUE);
+    }
+
+    /**
+     * Drop the entries of every parent which depends on an object.
+     *
+     * @param changed the object which has changed
+     */
+    void invalidate(Object changed) {
+        Map<Object, Boolean> parents = dependents.remove(changed);
+        if (parents != null) {
+            List<Object> affected = new ArrayList<Object>(parents.keySet());
+            for (Object parent : affected) {
+                entries.remove(parent);
+            }
+        }
+    }
+
+    /**
+     * Drop all entries.
+     */
+    void clear() {
+        entries.clear();
+        dependents.clear();
+    }
+
+    /**
+     * The children and dependencies a rule gave for a parent.
+     */
+    static final class Entry {
+        private final Collection children;
+        private final Set dependencies;
+
+        private Entry(Collection theChildren, Set theDependencies) {
+            children = Collections.unmodifiableList(
+                    new ArrayList<Object>(theChildren));
+            if (theDependencies == null) {
+                dependencies = Collections.emptySet();
+            } else {
+                dependencies = Collections.unmodifiableSet(
+                        new HashSet<Object>(theDependencies));
+            }
+        }
+
+        /**
+         * @return the children, in the order the rule gave them
+         */
+        Collection getChildren() {
+            return children;
+        }
+
+        /**
+         * @return the dependencies
+         */
+        Set getDependencies() {
+            return dependencies;
+        }
+    }
+}
@@ -49,6 +49,7 @@ import java.util.List;
 import org.argouml.application.events.ArgoDiagramAppearanceEventListener;
 import org.argouml.application.events.ArgoNotationEventListener;
 import org.argouml.kernel.Project;
+import org.argouml.util.IItemUID;
 import org.argouml.util.ItemUID;
 import org.tigris.gef.base.LayerPerspective;
 import org.tigris.gef.graph.GraphModel;
@@ -69,7 +70,7 @@ import org.tigris.gef.presentation.FigNode;
  * @since 0.25.4 when it replaced the implementation class of the same name
  */
 public interface ArgoDiagram extends ArgoNotationEventListener,
-    ArgoDiagramAppearanceEventListener {
+    ArgoDiagramAppearanceEventListener, IItemUID {
 
     /**
      * Set the rendering settings for this diagram.
@@ -198,6 +199,18 @@ public interface ArgoDiagram extends ArgoNotationEventListener,
      */
     public Project getProject();
 
+    /**
+     * @return true if the diagram may have changed since it was last saved
+     */
+    public boolean isDirty();
+
+    /**
+     * Mark the diagram as changed since it was last saved, or as saved.
+     *
+     * @param dirty true if the diagram has changed
+     */
+    public void setDirty(boolean dirty);
+
     /**
      * Called when the user releases a dragged FigNode.
      * 
@@ -70,6 +70,7 @@ import org.argouml.util.ItemUID;
 import org.tigris.gef.base.Diagram;
 import org.tigris.gef.base.Editor;
 import org.tigris.gef.base.LayerPerspective;
+import org.tigris.gef.graph.GraphEvent;
 import org.tigris.gef.graph.GraphModel;
 import org.tigris.gef.graph.MutableGraphSupport;
 import org.tigris.gef.presentation.Fig;
@@ -116,6 +117,11 @@ public abstract class ArgoDiagramImpl extends Diagram
 
     private DiagramSettings settings;
 
+    /**
+     * True if the diagram may have changed since it was last saved.
+     */
+    private volatile boolean dirty = true;
+
     private static final Logger LOG =
         Logger.getLogger(ArgoDiagramImpl.class.getName());
 
@@ -210,6 +216,7 @@ public abstract class ArgoDiagramImpl extends Diagram
 
     public void setName(String n) throws PropertyVetoException {
         super.setName(n);
+        dirty = true;
         MutableGraphSupport.enableSaveAction();
     }
 
@@ -530,6 +537,44 @@ public abstract class ArgoDiagramImpl extends Diagram
         return project;
     }
 
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean isDirty) {
+        dirty = isDirty;
+    }
+
+    @Override
+    public void nodeAdded(GraphEvent e) {
+        dirty = true;
+        super.nodeAdded(e);
+    }
+
+    @Override
+    public void edgeAdded(GraphEvent e) {
+        dirty = true;
+        super.edgeAdded(e);
+    }
+
+    @Override
+    public void nodeRemoved(GraphEvent e) {
+        dirty = true;
+        super.nodeRemoved(e);
+    }
+
+    @Override
+    public void edgeRemoved(GraphEvent e) {
+        dirty = true;
+        super.edgeRemoved(e);
+    }
+
+    @Override
+    public void graphChanged(GraphEvent e) {
+        dirty = true;
+        super.graphChanged(e);
+    }
+
     public abstract void encloserChanged(
             FigNode enclosed, FigNode oldEncloser, FigNode newEncloser);
 	// Do nothing, override in subclass.
@@ -555,6 +600,7 @@ public abstract class ArgoDiagramImpl extends Diagram
         }
         Object oldNs = namespace;
         namespace = ns;
+        dirty = true;
         firePropertyChange(NAMESPACE_KEY, oldNs, ns);
 
         // Add the diagram as a listener to the namespace so
@@ -630,6 +676,7 @@ public abstract class ArgoDiagramImpl extends Diagram
 
     public void setDiagramSettings(DiagramSettings newSettings) {
         settings = newSettings;
+        dirty = true;
     }
 
     public DiagramSettings getDiagramSettings() {
@@ -652,6 +699,7 @@ public abstract class ArgoDiagramImpl extends Diagram
      * re-rendered twice
      */
     public void renderingChanged() {
+        dirty = true;
         for (Object fig : getLayer().getContents()) {
             try {
                 // This should always be true, but just in case...
@@ -88,6 +88,12 @@ public class DiagramUndoManager extends UndoManager {
      */
     @Override
     public void addMemento(final Memento memento) {
+        // GEF doesn't tell us which diagram the memento belongs to, but it is
+        // generated by an interaction with the diagram being edited.
+        ArgoDiagram diagram = DiagramUtils.getActiveDiagram();
+        if (diagram != null) {
+            diagram.setDirty(true);
+        }
         // TODO: This shouldn't be referencing the current project.  Instead
         // the appropriate UndoManager should have already been retrieved from
         // the correct project.
@@ -39,8 +39,15 @@
 package org.argouml.uml.diagram;
 
 
+import java.awt.Color;
+import java.util.List;
+
 import org.argouml.kernel.AbstractProjectMember;
 import org.argouml.kernel.Project;
+import org.tigris.gef.presentation.Fig;
+import org.tigris.gef.presentation.FigEdge;
+import org.tigris.gef.presentation.FigGroup;
+import org.tigris.gef.presentation.FigText;
 import org.tigris.gef.util.Util;
 
 /**
@@ -53,6 +60,12 @@ public class ProjectMemberDiagram extends AbstractProjectMember {
 
     private ArgoDiagram diagram;
 
+    /**
+     * A hash of the appearance of all the Figs when the diagram was last
+     * saved.
+     */
+    private long savedFingerprint;
+
     /**
      * The constructor.
      *
@@ -95,6 +108,73 @@ public class ProjectMemberDiagram extends AbstractProjectMember {
         diagram = d;
     }
     
+    /**
+     * The diagram is dirty if any change to it has been recorded since the
+     * last save. As not every change to a Fig is reported (e.g. a change of
+     * the fill colour) we also compare the appearance of the Figs against
+     * that at the time of the last save.
+     *
+     * @return true if the diagram may have changed since it was last saved
+     * @see org.argouml.kernel.AbstractProjectMember#isDirty()
+     */
+    @Override
+    public boolean isDirty() {
+        return diagram.isDirty() || savedFingerprint != fingerprint();
+    }
+
+    /*
+     * @see org.argouml.kernel.AbstractProjectMember#setDirty(boolean)
+     */
+    @Override
+    public void setDirty(boolean dirty) {
+        diagram.setDirty(dirty);
+        if (!dirty) {
+            savedFingerprint = fingerprint();
+        }
+    }
+
+    private long fingerprint() {
+        return fingerprint(17, diagram.getLayer().getContents());
+    }
+
+    private static long fingerprint(long hash, List figs) {
+        for (Object o : figs) {
+            Fig f = (Fig) o;
+            hash = 31 * hash + f.getClass().hashCode();
+            hash = 31 * hash + f.getX();
+            hash = 31 * hash + f.getY();
+            hash = 31 * hash + f.getWidth();
+            hash = 31 * hash + f.getHeight();
+            hash = 31 * hash + f.getLineWidth();
+            hash = 31 * hash + hashColor(f.getLineColor());
+            hash = 31 * hash + hashColor(f.getFillColor());
+            hash = 31 * hash + (f.isFilled() ? 1 : 0);
+            hash = 31 * hash + (f.isVisible() ? 1 : 0);
+            hash = 31 * hash + (f.getDashed() ? 1 : 0);
+            if (f instanceof FigText) {
+                String text = ((FigText) f).getText();
+                hash = 31 * hash + (text == null ? 0 : text.hashCode());
+            }
+            if (f instanceof FigEdge) {
+                int[] xs = f.getXs();
+                int[] ys = f.getYs();
+                for (int i = 0; i < f.getNumPoints(); i++) {
+                    hash = 31 * hash + xs[i];
+                    hash = 31 * hash + ys[i];
+                }
+                hash = fingerprint(hash, ((FigEdge) f).getPathItemFigs());
+            }
+            if (f instanceof FigGroup) {
+                hash = fingerprint(hash, ((FigGroup) f).getFigs());
+            }
+        }
+        return hash;
+    }
+
+    private static int hashColor(Color c) {
+        return c == null ? 0 : c.getRGB();
+    }
+
     /*
      * @see org.argouml.kernel.ProjectMember#repair()
      */
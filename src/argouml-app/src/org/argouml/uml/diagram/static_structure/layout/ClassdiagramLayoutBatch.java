@@ -0,0 +1,249 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.static_structure.layout;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+import org.argouml.application.api.Argo;
+import org.argouml.configuration.Configuration;
+import org.argouml.uml.diagram.ArgoDiagram;
+import org.argouml.uml.diagram.layout.Layouter;
+
+/**
+ * Chooses the layouter for class diagrams and lays out diagrams for a
+ * batch, such as an import.<p>
+ *
+ * The Figs may be shown, so they are only read and moved on the AWT event
+ * thread. The layered layouter reads the Figs into a graph which holds
+ * none, so the graphs of many diagrams are laid out at once on a thread per
+ * processor, and their places are given to the Figs on the event thread,
+ * one diagram at a time. The row based layouter runs on the event thread
+ * as a whole.
+ */
+public final class ClassdiagramLayoutBatch {
+
+    private static final Logger LOG =
+        Logger.getLogger(ClassdiagramLayoutBatch.class.getName());
+
+    /**
+     * Told about the progress of a batch.
+     */
+    public interface Listener {
+        /**
+         * Called on the thread of the batch once a diagram is laid out.
+         *
+         * @param done the number of diagrams laid out so far
+         */
+        void laidOut(int done);
+    }
+
+    private ClassdiagramLayoutBatch() {
+    }
+
+    /**
+     * Create the layouter chosen in the settings for a class diagram: the
+     * row based one unless {@link Argo#KEY_LAYOUT_LAYERED} is turned on.
+     *
+     * @param diagram the class diagram
+     * @return the layouter
+     */
+    public static Layouter createLayouter(ArgoDiagram diagram) {
+        if (Configuration.getBoolean(Argo.KEY_LAYOUT_LAYERED, false)) {
+            return new LayeredClassdiagramLayouter(diagram);
+        }
+        return new ClassdiagramLayouter(diagram);
+    }
+
+    /**
+     * Lay out a class diagram on the AWT event thread and wait until it is
+     * done.
+     *
+     * @param diagram the diagram
+     */
+    public static void layout(final ArgoDiagram diagram) {
+        onEventThread(new Runnable() {
+            public void run() {
+                createLayouter(diagram).layout();
+            }
+        }, diagram);
+    }
+
+    /**
+     * Lay out class diagrams, those with the layered layouter in parallel,
+     * and wait until all are done. Called on the event thread, they are
+     * laid out one after the other.
+     *
+     * @param diagrams the diagrams
+     * @param listener told as each diagram is done, or null
+     */
+    public static void layoutAll(List<ArgoDiagram> diagrams,
+            Listener listener) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            for (int i = 0; i < diagrams.size(); i++) {
+                layout(diagrams.get(i));
+                if (listener != null) {
+                    listener.laidOut(i + 1);
+                }
+            }
+            return;
+        }
+        long start = System.currentTimeMillis();
+        final List<Layouter> layouters = createLayouters(diagrams);
+        if (layouters.size() < diagrams.size()) {
+            // Interrupted, or failed and logged
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "Layout");
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+        try {
+            final List<LayeredGraphLayout> graphs = prepare(layouters);
+            if (graphs.size() < layouters.size()) {
+                return;
+            }
+            List<Future<?>> futures =
+                new ArrayList<Future<?>>(graphs.size());
+            for (final LayeredGraphLayout graph : graphs) {
+                if (graph == null) {
+                    futures.add(null);
+                    continue;
+                }
+                futures.add(executor.submit(new Runnable() {
+                    public void run() {
+                        graph.layout();
+                    }
+                }));
+            }
+            for (int i = 0; i < diagrams.size(); i++) {
+                if (!apply(diagrams.get(i), layouters.get(i), graphs.get(i),
+                        futures.get(i))) {
+                    return;
+                }
+                if (listener != null) {
+                    listener.laidOut(i + 1);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        LOG.log(Level.INFO, "Laid out {0} diagrams in {1} ms",
+                new Object[] {diagrams.size(),
+                    System.currentTimeMillis() - start});
+    }
+
+    private static List<Layouter> createLayouters(
+            final List<ArgoDiagram> diagrams) {
+        final List<Layouter> layouters = new ArrayList<Layouter>();
+        onEventThread(new Runnable() {
+            public void run() {
+                for (ArgoDiagram diagram : diagrams) {
+                    layouters.add(createLayouter(diagram));
+                }
+            }
+        }, null);
+        return layouters;
+    }
+
+    /**
+     * Read the graphs of the layered layouters on the event thread.
+     *
+     * @return the graph of each layouter, or null for those which aren't
+     *         layered
+     */
+    private static List<LayeredGraphLayout> prepare(
+            final List<Layouter> layouters) {
+        final List<LayeredGraphLayout> graphs =
+            new ArrayList<LayeredGraphLayout>();
+        onEventThread(new Runnable() {
+            public void run() {
+                for (Layouter layouter : layouters) {
+                    graphs.add(layouter instanceof LayeredClassdiagramLayouter
+                            ? ((LayeredClassdiagramLayouter) layouter)
+                                .prepare()
+                            : null);
+                }
+            }
+        }, null);
+        return graphs;
+    }
+
+    /**
+     * Wait for the graph of a diagram to be laid out, and move its Figs on
+     * the event thread. A diagram without a graph is laid out there as a
+     * whole.
+     *
+     * @return false if the batch was interrupted
+     */
+    private static boolean apply(ArgoDiagram diagram,
+            final Layouter layouter, final LayeredGraphLayout graph,
+            Future<?> future) {
+        if (future != null) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                LOG.log(Level.FINE, "Layout interrupted", e);
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                LOG.log(Level.SEVERE, "Layout of " + diagram.getName()
+                        + " failed", e.getCause());
+                return true;
+            }
+        }
+        onEventThread(new Runnable() {
+            public void run() {
+                if (graph == null) {
+                    layouter.layout();
+                } else {
+                    ((LayeredClassdiagramLayouter) layouter).apply(graph);
+                }
+            }
+        }, diagram);
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private static void onEventThread(Runnable runnable,
+            ArgoDiagram diagram) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            runnable.run();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (InterruptedException e) {
+            LOG.log(Level.FINE, "Layout interrupted", e);
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            LOG.log(Level.SEVERE, "Layout of "
+                    + (diagram == null ? "diagrams" : diagram.getName())
+                    + " failed", e.getCause());
+        }
+    }
+}
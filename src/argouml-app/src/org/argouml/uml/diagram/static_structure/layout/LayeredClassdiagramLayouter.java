@@ -0,0 +1,226 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.static_structure.layout;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.uml.diagram.ArgoDiagram;
+import org.argouml.uml.diagram.layout.LayoutedObject;
+import org.argouml.uml.diagram.layout.Layouter;
+import org.tigris.gef.presentation.Fig;
+import org.tigris.gef.presentation.FigPoly;
+
+/**
+ * Lays out a class diagram in layers, generalizations and realizations
+ * pointing up, with few crossings and orthogonal edges. Comments are
+ * placed in the layer below the element they are attached to.
+ * Associations place their ends in different layers, but they are not
+ * routed and follow their ends.
+ *
+ * @see LayeredGraphLayout
+ * @see ClassdiagramLayouter for the older row based layout
+ */
+public class LayeredClassdiagramLayouter implements Layouter {
+
+    private static final Logger LOG =
+        Logger.getLogger(LayeredClassdiagramLayouter.class.getName());
+
+    /**
+     * Horizontal gap between nodes.
+     */
+    private static final int H_GAP = 60;
+
+    /**
+     * Vertical gap between layers.
+     */
+    private static final int V_GAP = 80;
+
+    /**
+     * The width of the rows of classes without any edges.
+     */
+    private static final int MAX_ROW_WIDTH = 1200;
+
+    private final List<LayoutedObject> layoutedObjects =
+        new ArrayList<LayoutedObject>();
+
+    private final List<ClassdiagramNode> nodes =
+        new ArrayList<ClassdiagramNode>();
+
+    private final List<ClassdiagramEdge> edges =
+        new ArrayList<ClassdiagramEdge>();
+
+    /**
+     * The routed edges of the graph made by {@link #prepare()}, with the
+     * indexes of their routes.
+     */
+    private final Map<ClassdiagramInheritanceEdge, Integer> routed =
+        new HashMap<ClassdiagramInheritanceEdge, Integer>();
+
+    /**
+     * Create a layouter for all the top level Figs of a diagram.
+     *
+     * @param diagram the diagram to lay out
+     */
+    public LayeredClassdiagramLayouter(ArgoDiagram diagram) {
+        for (Fig fig : diagram.getLayer().getContents()) {
+            if (fig.getEnclosingFig() == null) {
+                LayoutedObject obj =
+                    ClassdiagramModelElementFactory.SINGLETON.getInstance(fig);
+                if (obj != null) {
+                    add(obj);
+                }
+            }
+        }
+    }
+
+    public void add(LayoutedObject obj) {
+        layoutedObjects.add(obj);
+        if (obj instanceof ClassdiagramNode) {
+            nodes.add((ClassdiagramNode) obj);
+        } else if (obj instanceof ClassdiagramEdge) {
+            edges.add((ClassdiagramEdge) obj);
+        }
+    }
+
+    public void remove(LayoutedObject obj) {
+        layoutedObjects.remove(obj);
+        nodes.remove(obj);
+        edges.remove(obj);
+    }
+
+    public LayoutedObject[] getObjects() {
+        return layoutedObjects.toArray(
+                new LayoutedObject[layoutedObjects.size()]);
+    }
+
+    public LayoutedObject getObject(int index) {
+        return layoutedObjects.get(index);
+    }
+
+    public void layout() {
+        long start = System.currentTimeMillis();
+        LayeredGraphLayout graph = prepare();
+        graph.layout();
+        apply(graph);
+        LOG.log(Level.FINE, "Layered layout of {0} nodes with {1} crossings "
+                + "took {2} ms", new Object[] {nodes.size(),
+                    graph.countCrossings(),
+                    System.currentTimeMillis() - start});
+    }
+
+    /**
+     * Read the sizes of the nodes and the edges between them from the
+     * Figs. The graph which is returned holds no Figs, so that it can be
+     * laid out on any thread.
+     *
+     * @return the graph to lay out
+     */
+    LayeredGraphLayout prepare() {
+        Map<Fig, Integer> index = new HashMap<Fig, Integer>();
+        int[] widths = new int[nodes.size()];
+        int[] heights = new int[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            ClassdiagramNode node = nodes.get(i);
+            index.put(node.getFigure(), i);
+            widths[i] = node.getSize().width;
+            heights[i] = node.getSize().height;
+        }
+
+        LayeredGraphLayout graph =
+            new LayeredGraphLayout(H_GAP, V_GAP, MAX_ROW_WIDTH);
+        graph.setNodes(widths, heights);
+        routed.clear();
+        for (ClassdiagramEdge edge : edges) {
+            Integer source = index.get(edge.getSourceFigNode());
+            Integer dest = index.get(edge.getDestFigNode());
+            if (source == null || dest == null) {
+                continue;
+            }
+            if (edge instanceof ClassdiagramInheritanceEdge) {
+                routed.put((ClassdiagramInheritanceEdge) edge,
+                        graph.addEdge(source, dest));
+            } else if (edge instanceof ClassdiagramAssociationEdge) {
+                graph.addLink(source, dest);
+            } else if (edge instanceof ClassdiagramNoteEdge) {
+                // Hang the comment below what it annotates
+                if (nodes.get(source).isComment()) {
+                    graph.addEdge(source, dest);
+                } else if (nodes.get(dest).isComment()) {
+                    graph.addEdge(dest, source);
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Move the Figs to the places of a graph made by {@link #prepare()} and
+     * laid out. The Figs which were removed from the diagram in the
+     * meantime are left alone.
+     *
+     * @param graph the laid out graph
+     */
+    void apply(LayeredGraphLayout graph) {
+        for (int i = 0; i < nodes.size(); i++) {
+            ClassdiagramNode node = nodes.get(i);
+            if (node.getFigure().getLayer() != null) {
+                node.setLocation(graph.getLocation(i));
+            }
+        }
+        for (Map.Entry<ClassdiagramInheritanceEdge, Integer> entry
+                : routed.entrySet()) {
+            if (entry.getKey().getCurrentEdge().getLayer() != null) {
+                route(entry.getKey(), graph.getRoute(entry.getValue()));
+            }
+        }
+        for (ClassdiagramEdge edge : edges) {
+            if (edge instanceof ClassdiagramAssociationEdge
+                    && edge.getSourceFigNode() == edge.getDestFigNode()
+                    && edge.getCurrentEdge().getLayer() != null) {
+                // Move the loop of a self association with its class
+                edge.layout();
+            }
+        }
+    }
+
+    private void route(ClassdiagramInheritanceEdge edge, List<Point> points) {
+        if (points.size() < 2) {
+            return;
+        }
+        FigPoly poly = edge.getUnderlyingFig();
+        for (Point p : points) {
+            poly.addPoint(p.x, p.y);
+        }
+        poly.setFilled(false);
+        edge.getCurrentEdge().setFig(poly);
+    }
+
+    public Dimension getMinimumDiagramSize() {
+        int width = 0;
+        int height = 0;
+        for (ClassdiagramNode node : nodes) {
+            width = Math.max(width, node.getLocation().x
+                    + node.getSize().width + H_GAP / 2);
+            height = Math.max(height, node.getLocation().y
+                    + node.getSize().height + V_GAP / 2);
+        }
+        return new Dimension(width, height);
+    }
+}
@@ -0,0 +1,632 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.static_structure.layout;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A layered (Sugiyama style) layout of a directed graph, working on plain
+ * node numbers and sizes so that it knows nothing of Figs.<p>
+ *
+ * The edges go from a child up to its parent, as generalizations do.
+ * Links, such as associations, have no direction of their own and are not
+ * routed, but they take part in the layout as edges. The layout is done in
+ * the usual steps:
+ * <ol>
+ * <li>edges closing a cycle are turned round;
+ * <li>each link is made an edge pointing up in a topological order of the
+ * edges, so that links close no cycle;
+ * <li>each node gets the layer one below its lowest parent, the roots
+ * being in layer 0;
+ * <li>edges spanning several layers get a dummy node in each layer in
+ * between;
+ * <li>the nodes of each layer are ordered by the barycenter of their
+ * neighbours, sweeping down and up, keeping the order with the fewest
+ * crossings;
+ * <li>nodes are placed in their order, each pulled towards its
+ * neighbours without overlapping;
+ * <li>edges are routed orthogonally, turning in the middle of the gap
+ * between two layers.
+ * </ol>
+ * Nodes without edges are placed in rows below the layers, so that they
+ * do not make the diagram very wide.
+ */
+final class LayeredGraphLayout {
+
+    /**
+     * The number of down and up sweeps of crossing reduction.
+     */
+    private static final int SWEEPS = 12;
+
+    /**
+     * The number of passes pulling nodes towards their neighbours.
+     */
+    private static final int PLACEMENT_PASSES = 4;
+
+    private final int hGap;
+    private final int vGap;
+    private final int maxRowWidth;
+
+    /**
+     * The widths and heights of the real nodes followed by the dummies,
+     * which have no size.
+     */
+    private int[] widths;
+    private int[] heights;
+    private int realNodes;
+
+    private final List<int[]> edges = new ArrayList<int[]>();
+
+    private final List<int[]> links = new ArrayList<int[]>();
+
+    private int[] layerOf;
+    private List<List<Integer>> layers;
+
+    /**
+     * For each node, the nodes it is linked to in the layer above and in
+     * the layer below, dummies included.
+     */
+    private List<List<Integer>> up;
+    private List<List<Integer>> down;
+
+    /**
+     * For each edge, the nodes it passes through from child to parent.
+     */
+    private List<int[]> chains;
+
+    private int[] x;
+    private int[] y;
+
+    /**
+     * Create a layout.
+     *
+     * @param theHGap the horizontal gap between nodes
+     * @param theVGap the vertical gap between layers
+     * @param theMaxRowWidth the width of the rows of nodes without edges
+     */
+    LayeredGraphLayout(int theHGap, int theVGap, int theMaxRowWidth) {
+        hGap = theHGap;
+        vGap = theVGap;
+        maxRowWidth = theMaxRowWidth;
+    }
+
+    /**
+     * Set the nodes to lay out.
+     *
+     * @param theWidths the width of each node
+     * @param theHeights the height of each node
+     */
+    void setNodes(int[] theWidths, int[] theHeights) {
+        realNodes = theWidths.length;
+        widths = theWidths.clone();
+        heights = theHeights.clone();
+        edges.clear();
+        links.clear();
+    }
+
+    /**
+     * Add an edge from a child up to its parent.
+     *
+     * @param child the number of the child node
+     * @param parent the number of the parent node
+     * @return the number of the edge
+     */
+    int addEdge(int child, int parent) {
+        edges.add(new int[] {child, parent});
+        return edges.size() - 1;
+    }
+
+    /**
+     * Add a link between two nodes, which places them in different layers
+     * but is not routed.
+     *
+     * @param node1 the number of a node
+     * @param node2 the number of the other node
+     */
+    void addLink(int node1, int node2) {
+        links.add(new int[] {node1, node2});
+    }
+
+    /**
+     * Lay the graph out.
+     */
+    void layout() {
+        removeCycles();
+        orientLinks();
+        assignLayers();
+        addDummies();
+        reduceCrossings();
+        placeNodes();
+    }
+
+    /**
+     * @param node the number of a node
+     * @return the top left corner of the node
+     */
+    Point getLocation(int node) {
+        return new Point(x[node], y[node]);
+    }
+
+    /**
+     * Route an edge with horizontal and vertical segments only, from the
+     * top of the child to the bottom of the parent.
+     *
+     * @param edge the number of the edge
+     * @return the points of the route
+     */
+    List<Point> getRoute(int edge) {
+        int[] chain = chains.get(edge);
+        List<Point> points = new ArrayList<Point>();
+        if (chain == null) {
+            return points;
+        }
+        int child = chain[0];
+        int parent = chain[chain.length - 1];
+        points.add(new Point(center(child), y[child]));
+        for (int i = 1; i < chain.length; i++) {
+            int lower = chain[i - 1];
+            int upper = chain[i];
+            int turn = layerTop(layerOf[lower]) - vGap / 2;
+            addBend(points, new Point(center(lower), turn));
+            addBend(points, new Point(center(upper), turn));
+        }
+        addBend(points, new Point(center(parent),
+                y[parent] + heights[parent]));
+        return points;
+    }
+
+    /**
+     * @return the number of edge crossings between adjacent layers
+     */
+    int countCrossings() {
+        int crossings = 0;
+        for (int l = 1; l < layers.size(); l++) {
+            crossings += countCrossings(layers.get(l), l);
+        }
+        return crossings;
+    }
+
+    /**
+     * Turn round the edges which close a cycle, found by a depth first
+     * search, so that the parent relation is acyclic.
+     */
+    private void removeCycles() {
+        int n = realNodes;
+        List<List<Integer>> out = adjacency(n);
+        int[] state = new int[n];
+        for (int start = 0; start < n; start++) {
+            if (state[start] != 0) {
+                continue;
+            }
+            // Iterative DFS, holding the node and its next edge index
+            List<int[]> stack = new ArrayList<int[]>();
+            stack.add(new int[] {start, 0});
+            state[start] = 1;
+            while (!stack.isEmpty()) {
+                int[] top = stack.get(stack.size() - 1);
+                List<Integer> outEdges = out.get(top[0]);
+                if (top[1] == outEdges.size()) {
+                    state[top[0]] = 2;
+                    stack.remove(stack.size() - 1);
+                    continue;
+                }
+                int e = outEdges.get(top[1]++);
+                int[] edge = edges.get(e);
+                if (edge[0] == edge[1]) {
+                    continue;
+                }
+                if (state[edge[1]] == 1) {
+                    // Back edge, turn it round
+                    edges.set(e, new int[] {edge[1], edge[0]});
+                } else if (state[edge[1]] == 0) {
+                    state[edge[1]] = 1;
+                    stack.add(new int[] {edge[1], 0});
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the links as edges going up a topological order of the edges,
+     * parents first, which can't close a cycle. The links are added after
+     * the edges, so the numbers of the edges are kept.
+     */
+    private void orientLinks() {
+        if (links.isEmpty()) {
+            return;
+        }
+        int n = realNodes;
+        int[] parentsLeft = new int[n];
+        List<List<Integer>> children = new ArrayList<List<Integer>>(n);
+        for (int i = 0; i < n; i++) {
+            children.add(new ArrayList<Integer>(2));
+        }
+        for (int[] edge : edges) {
+            if (edge[0] != edge[1]) {
+                parentsLeft[edge[0]]++;
+                children.get(edge[1]).add(edge[0]);
+            }
+        }
+        int[] order = new int[n];
+        List<Integer> ready = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            if (parentsLeft[i] == 0) {
+                ready.add(i);
+            }
+        }
+        for (int next = 0; next < ready.size(); next++) {
+            int node = ready.get(next);
+            order[node] = next;
+            for (int child : children.get(node)) {
+                if (--parentsLeft[child] == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+        for (int[] link : links) {
+            if (order[link[0]] > order[link[1]]) {
+                edges.add(new int[] {link[0], link[1]});
+            } else if (link[0] != link[1]) {
+                edges.add(new int[] {link[1], link[0]});
+            }
+        }
+    }
+
+    private List<List<Integer>> adjacency(int n) {
+        List<List<Integer>> out = new ArrayList<List<Integer>>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new ArrayList<Integer>(2));
+        }
+        for (int e = 0; e < edges.size(); e++) {
+            out.get(edges.get(e)[0]).add(e);
+        }
+        return out;
+    }
+
+    /**
+     * Give each node the layer below its lowest parent, in topological
+     * order from the roots. Nodes without edges get layer -1.
+     */
+    private void assignLayers() {
+        int n = realNodes;
+        layerOf = new int[n];
+        Arrays.fill(layerOf, -1);
+        int[] parentsLeft = new int[n];
+        List<List<Integer>> children = new ArrayList<List<Integer>>(n);
+        boolean[] linked = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            children.add(new ArrayList<Integer>(2));
+        }
+        for (int[] edge : edges) {
+            if (edge[0] == edge[1]) {
+                continue;
+            }
+            parentsLeft[edge[0]]++;
+            children.get(edge[1]).add(edge[0]);
+            linked[edge[0]] = true;
+            linked[edge[1]] = true;
+        }
+        List<Integer> ready = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            if (linked[i] && parentsLeft[i] == 0) {
+                layerOf[i] = 0;
+                ready.add(i);
+            }
+        }
+        for (int next = 0; next < ready.size(); next++) {
+            int node = ready.get(next);
+            for (int child : children.get(node)) {
+                layerOf[child] = Math.max(layerOf[child], layerOf[node] + 1);
+                if (--parentsLeft[child] == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+        layers = new ArrayList<List<Integer>>();
+        for (int i = 0; i < n; i++) {
+            if (layerOf[i] >= 0) {
+                layer(layerOf[i]).add(i);
+            }
+        }
+    }
+
+    private List<Integer> layer(int l) {
+        while (layers.size() <= l) {
+            layers.add(new ArrayList<Integer>());
+        }
+        return layers.get(l);
+    }
+
+    /**
+     * Split the edges spanning more than one layer with a dummy node in
+     * each layer in between, and record the neighbours of each node.
+     */
+    private void addDummies() {
+        int dummies = 0;
+        for (int[] edge : edges) {
+            if (edge[0] != edge[1]) {
+                dummies += layerOf[edge[0]] - layerOf[edge[1]] - 1;
+            }
+        }
+        int total = realNodes + dummies;
+        widths = Arrays.copyOf(widths, total);
+        heights = Arrays.copyOf(heights, total);
+        layerOf = Arrays.copyOf(layerOf, total);
+        up = new ArrayList<List<Integer>>(total);
+        down = new ArrayList<List<Integer>>(total);
+        for (int i = 0; i < total; i++) {
+            up.add(new ArrayList<Integer>(2));
+            down.add(new ArrayList<Integer>(2));
+        }
+        chains = new ArrayList<int[]>(edges.size());
+        int nextDummy = realNodes;
+        for (int[] edge : edges) {
+            if (edge[0] == edge[1]) {
+                chains.add(null);
+                continue;
+            }
+            int span = layerOf[edge[0]] - layerOf[edge[1]];
+            int[] chain = new int[span + 1];
+            chain[0] = edge[0];
+            chain[span] = edge[1];
+            for (int i = 1; i < span; i++) {
+                int dummy = nextDummy++;
+                layerOf[dummy] = layerOf[edge[0]] - i;
+                layer(layerOf[dummy]).add(dummy);
+                chain[i] = dummy;
+            }
+            for (int i = 1; i <= span; i++) {
+                up.get(chain[i - 1]).add(chain[i]);
+                down.get(chain[i]).add(chain[i - 1]);
+            }
+            chains.add(chain);
+        }
+    }
+
+    /**
+     * Order the layers by the barycenter heuristic, keeping the best order
+     * seen.
+     */
+    private void reduceCrossings() {
+        List<List<Integer>> best = copy(layers);
+        int bestCrossings = countCrossings();
+        for (int sweep = 0; sweep < SWEEPS && bestCrossings > 0; sweep++) {
+            if (sweep % 2 == 0) {
+                for (int l = 1; l < layers.size(); l++) {
+                    orderByBarycenter(layers.get(l), layers.get(l - 1), up);
+                }
+            } else {
+                for (int l = layers.size() - 2; l >= 0; l--) {
+                    orderByBarycenter(layers.get(l), layers.get(l + 1), down);
+                }
+            }
+            int crossings = countCrossings();
+            if (crossings < bestCrossings) {
+                bestCrossings = crossings;
+                best = copy(layers);
+            }
+        }
+        layers = best;
+    }
+
+    private void orderByBarycenter(List<Integer> layer, List<Integer> fixed,
+            List<List<Integer>> neighbours) {
+        final int[] position = positions(fixed);
+        final double[] barycenter = new double[widths.length];
+        for (int i = 0; i < layer.size(); i++) {
+            int node = layer.get(i);
+            List<Integer> links = neighbours.get(node);
+            if (links.isEmpty()) {
+                // Keep nodes without neighbours where they are
+                barycenter[node] = i * (double) fixed.size()
+                    / Math.max(1, layer.size());
+            } else {
+                double sum = 0;
+                for (int link : links) {
+                    sum += position[link];
+                }
+                barycenter[node] = sum / links.size();
+            }
+        }
+        // Stable, so ties keep their order
+        Collections.sort(layer, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                return Double.compare(barycenter[a], barycenter[b]);
+            }
+        });
+    }
+
+    private int[] positions(List<Integer> layer) {
+        int[] position = new int[widths.length];
+        for (int i = 0; i < layer.size(); i++) {
+            position[layer.get(i)] = i;
+        }
+        return position;
+    }
+
+    /**
+     * Count the crossings of the edges between a layer and the one above,
+     * as the inversions of the upper positions when the edges are sorted
+     * by their lower positions.
+     */
+    private int countCrossings(List<Integer> layer, int l) {
+        int[] upper = positions(layers.get(l - 1));
+        List<int[]> links = new ArrayList<int[]>();
+        for (int i = 0; i < layer.size(); i++) {
+            for (int parent : up.get(layer.get(i))) {
+                links.add(new int[] {i, upper[parent]});
+            }
+        }
+        Collections.sort(links, new Comparator<int[]>() {
+            public int compare(int[] a, int[] b) {
+                return a[0] != b[0] ? a[0] - b[0] : a[1] - b[1];
+            }
+        });
+        // Count inversions with a Fenwick tree over the upper positions
+        int size = layers.get(l - 1).size() + 1;
+        int[] tree = new int[size + 1];
+        int crossings = 0;
+        for (int i = links.size() - 1; i >= 0; i--) {
+            int p = links.get(i)[1];
+            for (int k = p; k > 0; k -= k & -k) {
+                crossings += tree[k];
+            }
+            for (int k = p + 1; k <= size; k += k & -k) {
+                tree[k]++;
+            }
+        }
+        return crossings;
+    }
+
+    private List<List<Integer>> copy(List<List<Integer>> from) {
+        List<List<Integer>> to = new ArrayList<List<Integer>>(from.size());
+        for (List<Integer> layer : from) {
+            to.add(new ArrayList<Integer>(layer));
+        }
+        return to;
+    }
+
+    /**
+     * Place the layers from the top, then the nodes without edges in rows
+     * below them.
+     */
+    private void placeNodes() {
+        x = new int[widths.length];
+        y = new int[widths.length];
+        int top = vGap / 2;
+        for (List<Integer> layer : layers) {
+            int left = hGap / 2;
+            int height = 0;
+            for (int node : layer) {
+                x[node] = left;
+                y[node] = top;
+                left += widths[node] + gap(node);
+                height = Math.max(height, heights[node]);
+            }
+            top += height + vGap;
+        }
+        for (int pass = 0; pass < PLACEMENT_PASSES; pass++) {
+            for (int l = 1; l < layers.size(); l++) {
+                pullTowards(layers.get(l), up);
+            }
+            for (int l = layers.size() - 2; l >= 0; l--) {
+                pullTowards(layers.get(l), down);
+            }
+        }
+        int right = hGap / 2;
+        for (int node = 0; node < widths.length; node++) {
+            if (layerOf[node] >= 0) {
+                right = Math.max(right, x[node] + widths[node]);
+            }
+        }
+        placeUnlinked(top, Math.max(right, maxRowWidth));
+    }
+
+    /**
+     * Move the nodes of a layer towards the middle of their neighbours,
+     * keeping their order and the gaps between them.
+     */
+    private void pullTowards(List<Integer> layer,
+            List<List<Integer>> neighbours) {
+        int count = layer.size();
+        int[] wanted = new int[count];
+        for (int i = 0; i < count; i++) {
+            int node = layer.get(i);
+            List<Integer> links = neighbours.get(node);
+            if (links.isEmpty()) {
+                wanted[i] = x[node];
+            } else {
+                long sum = 0;
+                for (int link : links) {
+                    sum += center(link);
+                }
+                wanted[i] = (int) (sum / links.size()) - widths[node] / 2;
+            }
+        }
+        // Left to right, no node further left than its neighbour allows
+        int min = hGap / 2;
+        for (int i = 0; i < count; i++) {
+            int node = layer.get(i);
+            x[node] = Math.max(wanted[i], min);
+            min = x[node] + widths[node] + gap(node);
+        }
+        // Right to left, moving back towards the wanted place where the
+        // first pass pushed nodes to the right
+        for (int i = count - 2; i >= 0; i--) {
+            int node = layer.get(i);
+            int next = layer.get(i + 1);
+            int max = x[next] - gap(node) - widths[node];
+            if (x[node] > max) {
+                x[node] = max;
+            } else if (x[node] < wanted[i]) {
+                x[node] = Math.min(wanted[i], max);
+            }
+        }
+        int shift = hGap / 2 - (count == 0 ? 0 : x[layer.get(0)]);
+        if (shift > 0) {
+            for (int node : layer) {
+                x[node] += shift;
+            }
+        }
+    }
+
+    private void placeUnlinked(int top, int width) {
+        int left = hGap / 2;
+        int height = 0;
+        for (int node = 0; node < realNodes; node++) {
+            if (layerOf[node] >= 0) {
+                continue;
+            }
+            if (left > hGap / 2 && left + widths[node] > width) {
+                left = hGap / 2;
+                top += height + vGap;
+                height = 0;
+            }
+            x[node] = left;
+            y[node] = top;
+            left += widths[node] + hGap;
+            height = Math.max(height, heights[node]);
+        }
+    }
+
+    /**
+     * Dummies only need room for the line passing through.
+     */
+    private int gap(int node) {
+        return node < realNodes ? hGap : hGap / 4;
+    }
+
+    private int center(int node) {
+        return x[node] + widths[node] / 2;
+    }
+
+    private int layerTop(int l) {
+        int top = Integer.MAX_VALUE;
+        for (int node : layers.get(l)) {
+            top = Math.min(top, y[node]);
+        }
+        return top;
+    }
+
+    private static void addBend(List<Point> points, Point p) {
+        Point last = points.get(points.size() - 1);
+        if (!last.equals(p)) {
+            points.add(p);
+        }
+    }
+}
@@ -128,16 +128,13 @@ public abstract class FigClassifierBox extends FigCompartmentBox {
      */
     public void renderingChanged() {
         super.renderingChanged();
-        // TODO: We should be able to just call renderingChanged on the child
-        // figs here instead of doing an updateOperations...
-        updateCompartment(Model.getMetaTypes().getOperation());
+        renderCompartment(Model.getMetaTypes().getOperation());
         
         // TODO: Taken from FigClassifierBoxWithAttribute to handle events
         // on an attribute. All this event handling should eventually be moved
         // to the compartment Fig for attributes
         if (isCompartmentVisible(Model.getMetaTypes().getAttribute())) {
-            // TODO: We shouldn't actually have to do all this work
-            updateCompartment(Model.getMetaTypes().getAttribute());
+            renderCompartment(Model.getMetaTypes().getAttribute());
         }
     }
     
@@ -292,6 +289,21 @@ public abstract class FigClassifierBox extends FigCompartmentBox {
         setBounds(getBounds());
     }
 
+    /**
+     * Render the compartment for the given metatype again, after a change
+     * of the rendering settings, and update its layout.
+     *
+     * @param metaType the metatype of the compartment
+     */
+    protected void renderCompartment(Object metaType) {
+        FigCompartment fc = getCompartment(metaType);
+        if (!fc.isVisible()) {
+            return;
+        }
+        fc.renderingChanged();
+        setBounds(getBounds());
+    }
+
     /*
      * @see org.tigris.gef.presentation.Fig#translate(int, int)
      */
@@ -79,7 +79,7 @@ public class FigEnumeration extends FigDataType {
         super.renderingChanged();
 
         if (isCompartmentVisible(Model.getMetaTypes().getEnumerationLiteral())) {
-            updateCompartment(Model.getMetaTypes().getEnumerationLiteral());
+            renderCompartment(Model.getMetaTypes().getEnumerationLiteral());
         }
     }
 
@@ -43,6 +43,7 @@ import java.awt.Dimension;
 
 import org.argouml.kernel.Project;
 import org.argouml.kernel.ProjectManager;
+import org.argouml.uml.diagram.ArgoDiagram;
 import org.argouml.uml.diagram.UMLMutableGraphSupport;
 import org.tigris.gef.base.Editor;
 import org.tigris.gef.base.Globals;
@@ -104,6 +105,20 @@ public class ArgoFigUtil {
         return null;
     }
 
+    /**
+     * Mark the diagram containing a Fig as changed since it was last saved.
+     *
+     * @param fig the Fig which has changed
+     */
+    public static void markDiagramDirty(Fig fig) {
+        Layer layer = fig.getLayer();
+        if (layer instanceof LayerPerspective) {
+            Object diagram = ((LayerPerspective) layer).getDiagram();
+            if (diagram instanceof ArgoDiagram) {
+                ((ArgoDiagram) diagram).setDirty(true);
+            }
+        }
+    }
 
     /**
      * Add pretty little markers for debugging purposes. We use three markers so
@@ -43,7 +43,9 @@ import java.awt.Dimension;
 import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -150,6 +152,11 @@ public abstract class FigCompartment extends ArgoFigGroup {
 
     @Override
     public void addFig(Fig fig) {
+        checkFig(fig);
+        super.addFig(fig);
+    }
+
+    private void checkFig(Fig fig) {
         if (fig != getBigPort()
                 && !(fig instanceof CompartmentFigText)
                 && !(fig instanceof FigSeparator)) {
@@ -159,7 +166,6 @@ public abstract class FigCompartment extends ArgoFigGroup {
                     + "contain CompartmentFigTexts, "
                     + "received a " + fig.getClass().getName());
         }
-        super.addFig(fig);
     }
 
 
@@ -285,7 +291,13 @@ public abstract class FigCompartment extends ArgoFigGroup {
     protected abstract int getNotationType();
 
     /**
-     * Fills the Fig by adding all figs within.
+     * Fills the Fig by adding all figs within.<p>
+     *
+     * The figs are matched with the UML objects by their owner. A fig which
+     * is still valid is kept, together with its listeners, and rendered
+     * again; the figs of UML objects which are gone are removed from the
+     * diagram. The figs are put in the right sequence in one go, so that
+     * the bounds of the compartment are only calculated once.
      */
     public void populate() {
         if (!isVisible()) {
@@ -295,20 +307,27 @@ public abstract class FigCompartment extends ArgoFigGroup {
         int xpos = bigPort.getX();
         int ypos = bigPort.getY();
 
-        List<CompartmentFigText> figs = getElementFigs();
-        // We remove all of them:
-        for (Fig f : figs) {
-            removeFig(f);
+        List<Fig> oldFigs = getFigs();
+        Map<Object, CompartmentFigText> figsByOwner =
+            new IdentityHashMap<Object, CompartmentFigText>();
+        List<Fig> newFigs = new ArrayList<Fig>(oldFigs.size());
+        for (Fig f : oldFigs) {
+            if (f instanceof CompartmentFigText) {
+                figsByOwner.put(f.getOwner(), (CompartmentFigText) f);
+            } else {
+                newFigs.add(f);
+            }
         }
 
-        // We are going to add the ones still valid & new ones
+        // We keep the ones still valid & add new ones
         // in the right sequence:
         FigSingleLineTextWithNotation comp = null;
         try {
             int acounter = -1;
             for (Object umlObject : getUmlCollection()) {
-                comp = findCompartmentFig(figs, umlObject);
+                comp = figsByOwner.remove(umlObject);
                 acounter++;
+                int y = ypos + 1 /*?LINE_WIDTH?*/ + acounter * ROWHEIGHT;
 
                 // TODO: Some of these magic numbers probably assume a line
                 // width of 1.  Replace with appropriate constants/variables.
@@ -318,28 +337,30 @@ public abstract class FigCompartment extends ArgoFigGroup {
                 if (comp == null) {
                     comp = createFigText(umlObject, new Rectangle(
                             xpos + 1 /*?LINE_WIDTH?*/,
-                            ypos + 1 /*?LINE_WIDTH?*/ + acounter
-                            * ROWHEIGHT,
+                            y,
                             0,
                             ROWHEIGHT - 2 /*? 2*LINE_WIDTH? */),
                             getSettings());
+                    checkFig(comp);
+                    comp.setGroup(this);
                 } else {
                     /* This one is still usable, so let's retain it, */
                     /* but its position may have been changed: */
-                    Rectangle b = comp.getBounds();
-                    b.y = ypos + 1 /*?LINE_WIDTH?*/ + acounter * ROWHEIGHT;
-                    // bounds not relevant here, but I am perfectionist...
-                    comp.setBounds(b);
+                    if (comp.getY() != y) {
+                        Rectangle b = comp.getBounds();
+                        b.y = y;
+                        comp.setBounds(b);
+                    }
+                    /* We only need a new notationprovider if
+                     * the Notation language has been changed:  */
+                    comp.updateNotationProvider();
                 }
-                /* We need to set a new notationprovider, since
-                 * the Notation language may have been changed:  */
-                comp.initNotationProviders();
-                addFig(comp); // add it again (but now in the right sequence)
+                newFigs.add(comp);
 
                 // Now put the text in
                 // We must handle the case where the text is null
-                String ftText = comp.getNotationProvider().toString(umlObject,
-                        comp.getNotationSettings());
+                String ftText = comp.getNotationProvider().render(
+                        umlObject, comp.getNotationSettings());
                 if (ftText == null) {
                     ftText = "";
                 }
@@ -355,6 +376,16 @@ public abstract class FigCompartment extends ArgoFigGroup {
                     + " using a deleted model element - aborting", e);
         }
 
+        boolean changed = !newFigs.equals(oldFigs);
+        // The figs of UML objects which are gone are removed, with their
+        // listeners:
+        for (Fig f : figsByOwner.values()) {
+            f.removeFromDiagram();
+        }
+        if (changed) {
+            setFigs(newFigs);
+        }
+
         if (comp != null) {
             comp.setBotMargin(6); // the last one needs extra space below it
 
@@ -365,6 +396,16 @@ public abstract class FigCompartment extends ArgoFigGroup {
         }
     }
 
+    /**
+     * Render the figs within again, for a change of the rendering settings,
+     * and bring them in line with the UML objects.
+     */
+    @Override
+    public void renderingChanged() {
+        super.renderingChanged();
+        populate();
+    }
+
     /**
      * Set the editOnRedraw state. When this mode is turned on the compartment
      * will place the last element in edit mode the next time the component
@@ -462,30 +503,6 @@ public abstract class FigCompartment extends ArgoFigGroup {
         return getMinimumSize();
     }
 
-    /* Find the compartment fig for this umlObject: */
-    private CompartmentFigText findCompartmentFig(
-            List<CompartmentFigText> figs,
-            Object umlObject) {
-        for (CompartmentFigText fig : figs) {
-            if (fig.getOwner() == umlObject) {
-                return fig;
-            }
-        }
-        return null;
-    }
-
-    private List<CompartmentFigText> getElementFigs() {
-        final List<CompartmentFigText> figs =
-            new ArrayList<CompartmentFigText>(getFigs().size());
-
-        for (Object f : getFigs()) {
-            if (f instanceof CompartmentFigText) {
-                figs.add((CompartmentFigText) f);
-            }
-        }
-        return figs;
-    }
-
     @Override
     public void setLineColor(Color col) {
         super.setLineColor(col);
@@ -81,7 +81,6 @@ import org.argouml.cognitive.ToDoItem;
 import org.argouml.cognitive.ToDoList;
 import org.argouml.cognitive.ui.ActionGoToCritique;
 import org.argouml.i18n.Translator;
-import org.argouml.kernel.DelayedChangeNotify;
 import org.argouml.kernel.DelayedVChangeListener;
 import org.argouml.kernel.Owned;
 import org.argouml.kernel.Project;
@@ -599,9 +598,8 @@ public abstract class FigEdgeModelElement
     public void vetoableChange(PropertyChangeEvent pce) {
         Object src = pce.getSource();
         if (src == getOwner()) {
-            DelayedChangeNotify delayedNotify =
-                new DelayedChangeNotify(this, pce);
-            SwingUtilities.invokeLater(delayedNotify);
+            FigUpdateScheduler.getInstance().scheduleRenderingChanged(this,
+                    pce);
         }
     }
 
@@ -664,20 +662,11 @@ public abstract class FigEdgeModelElement
                 && !Model.getUmlFactory().isRemoved(getOwner())) {
             /* If the source of the event is an UML object,
              * then the UML model has been changed.*/
+            ArgoFigUtil.markDiagramDirty(this);
             modelChanged(pve);
 
-            final UmlChangeEvent event = (UmlChangeEvent) pve;
-
-            Runnable doWorkRunnable = new Runnable() {
-                public void run() {
-                    try {
-                        updateLayout(event);
-                    } catch (InvalidElementException e) {
-                        LOG.log(Level.FINE, "updateLayout method accessed deleted element ", e);
-                    }
-                }
-            };
-            SwingUtilities.invokeLater(doWorkRunnable);
+            FigUpdateScheduler.getInstance().scheduleLayout(this,
+                    (UmlChangeEvent) pve);
 
         }
         /* The following is a possible future improvement
@@ -747,7 +736,7 @@ public abstract class FigEdgeModelElement
     protected void textEditStarted(FigText ft) {
         if (ft == getNameFig()) {
             showHelp(notationProviderName.getParsingHelp());
-            ft.setText(notationProviderName.toString(getOwner(),
+            ft.setText(notationProviderName.render(getOwner(),
                     getNotationSettings()));
         }
     }
@@ -783,7 +772,7 @@ public abstract class FigEdgeModelElement
                 return;
             }
             notationProviderName.parse(getOwner(), ft.getText());
-            ft.setText(notationProviderName.toString(getOwner(),
+            ft.setText(notationProviderName.render(getOwner(),
                     getNotationSettings()));
         }
     }
@@ -942,7 +931,7 @@ public abstract class FigEdgeModelElement
         if (notationProviderName != null
                 && getOwner() != null
                 && Model.getFacade().isANamedElement(getOwner())) {
-            String nameStr = notationProviderName.toString(
+            String nameStr = notationProviderName.render(
                     getOwner(), getNotationSettings());
             nameFig.setText(nameStr);
             updateFont();
@@ -68,7 +68,6 @@ import javax.swing.Action;
 import javax.swing.Icon;
 import javax.swing.JMenu;
 import javax.swing.JSeparator;
-import javax.swing.SwingUtilities;
 
 import org.argouml.application.events.ArgoDiagramAppearanceEvent;
 import org.argouml.application.events.ArgoDiagramAppearanceEventListener;
@@ -83,7 +82,6 @@ import org.argouml.cognitive.ToDoItem;
 import org.argouml.cognitive.ToDoList;
 import org.argouml.cognitive.ui.ActionGoToCritique;
 import org.argouml.i18n.Translator;
-import org.argouml.kernel.DelayedChangeNotify;
 import org.argouml.kernel.DelayedVChangeListener;
 import org.argouml.kernel.Owned;
 import org.argouml.kernel.Project;
@@ -1062,9 +1060,8 @@ public abstract class FigNodeModelElement
 
         Object src = pce.getSource();
         if (src == getOwner()) {
-            DelayedChangeNotify delayedNotify =
-                new DelayedChangeNotify(this, pce);
-            SwingUtilities.invokeLater(delayedNotify);
+            FigUpdateScheduler.getInstance().scheduleRenderingChanged(this,
+                    pce);
         } else {
             LOG.log(Level.FINE,
                     "FigNodeModelElement got vetoableChange from non-owner: {0}",
@@ -1169,6 +1166,7 @@ public abstract class FigNodeModelElement
                 // TODO: Should this not be an assert?
                 return;
             }
+            ArgoFigUtil.markDiagramDirty(this);
 
             try {
                 modelChanged(event);
@@ -1185,19 +1183,7 @@ public abstract class FigNodeModelElement
                 stereotypeChanged(event);
             }
 
-            Runnable doWorkRunnable = new Runnable() {
-                public void run() {
-                    try {
-                        updateLayout(event);
-                    } catch (InvalidElementException e) {
-                        if (LOG.isLoggable(Level.FINE)) {
-                            LOG.log(Level.FINE, "updateLayout method accessed deleted element "
-                                    + formatEvent(event), e);
-                        }
-                    }
-                }
-            };
-            SwingUtilities.invokeLater(doWorkRunnable);
+            FigUpdateScheduler.getInstance().scheduleLayout(this, event);
         }
     }
 
@@ -1267,13 +1253,13 @@ public abstract class FigNodeModelElement
     protected void textEditStarted(FigText ft) {
         if (ft == getNameFig()) {
             showHelp(notationProviderName.getParsingHelp());
-            ft.setText(notationProviderName.toString(getOwner(),
+            ft.setText(notationProviderName.render(getOwner(),
                     getNotationSettings()));
         }
         if (ft instanceof CompartmentFigText) {
             final CompartmentFigText figText = (CompartmentFigText) ft;
             showHelp(figText.getNotationProvider().getParsingHelp());
-            figText.setText(figText.getNotationProvider().toString(
+            figText.setText(figText.getNotationProvider().render(
                     figText.getOwner(), getNotationSettings()));
         }
     }
@@ -1317,13 +1303,13 @@ public abstract class FigNodeModelElement
                 return;
             }
             notationProviderName.parse(getOwner(), ft.getText());
-            ft.setText(notationProviderName.toString(getOwner(),
+            ft.setText(notationProviderName.render(getOwner(),
                     getNotationSettings()));
         }
         if (ft instanceof CompartmentFigText) {
             final CompartmentFigText figText = (CompartmentFigText) ft;
             figText.getNotationProvider().parse(ft.getOwner(), ft.getText());
-            ft.setText(figText.getNotationProvider().toString(
+            ft.setText(figText.getNotationProvider().render(
                     ft.getOwner(), getNotationSettings()));
         }
     }
@@ -1626,7 +1612,7 @@ public abstract class FigNodeModelElement
                 && notationProviderName != null
                 && getOwner() != null
                 && Model.getFacade().isANamedElement(getOwner())) {
-            nameFig.setText(notationProviderName.toString(
+            nameFig.setText(notationProviderName.render(
                     getOwner(), getNotationSettings()));
             updateFont();
             updateBounds();
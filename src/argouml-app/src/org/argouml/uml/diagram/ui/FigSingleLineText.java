@@ -44,13 +44,9 @@ import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
 import java.beans.PropertyChangeEvent;
 import java.util.Arrays;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.swing.SwingUtilities;
-
 import org.argouml.model.AttributeChangeEvent;
-import org.argouml.model.InvalidElementException;
 import org.argouml.model.Model;
 import org.argouml.model.UmlChangeEvent;
 import org.argouml.uml.diagram.DiagramSettings;
@@ -227,18 +223,8 @@ public class FigSingleLineText extends ArgoFigText  {
         }
 
         if (pce instanceof UmlChangeEvent) {
-            final UmlChangeEvent event = (UmlChangeEvent) pce;
-            Runnable doWorkRunnable = new Runnable() {
-                public void run() {
-                    try {
-                        updateLayout(event);
-                    } catch (InvalidElementException e) {
-                        LOG.log(Level.FINE, "event = {0}", event);
-                        LOG.log(Level.FINE, "updateLayout method accessed deleted element ", e);
-                    }
-                }
-            };
-            SwingUtilities.invokeLater(doWorkRunnable);
+            FigUpdateScheduler.getInstance().scheduleLayout(this,
+                    (UmlChangeEvent) pce);
         }
     }
 
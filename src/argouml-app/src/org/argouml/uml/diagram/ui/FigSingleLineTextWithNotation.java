@@ -109,10 +109,17 @@ public class FigSingleLineTextWithNotation extends FigSingleLineText
      */
     private NotationProvider notationProvider;
 
+    /**
+     * The notation the notation provider was made for.
+     */
+    private NotationName notationName;
+
     @Override
     public void removeFromDiagram() {
         ArgoEventPump.removeListener(ArgoEventTypes.ANY_NOTATION_EVENT, this);
-        notationProvider.cleanListener();
+        if (notationProvider != null) {
+            notationProvider.cleanListener();
+        }
         super.removeFromDiagram();
     }
 
@@ -133,7 +140,7 @@ public class FigSingleLineTextWithNotation extends FigSingleLineText
         if (notationProvider != null
                 && (!"remove".equals(event.getPropertyName())
                         || event.getSource() != getOwner())) { // not???
-            this.setText(notationProvider.toString(getOwner(), 
+            this.setText(notationProvider.render(getOwner(), 
                     getNotationSettings()));
             damage();
         }
@@ -176,8 +183,31 @@ public class FigSingleLineTextWithNotation extends FigSingleLineText
             notationProvider =
                 NotationProviderFactory2.getInstance().getNotationProvider(
                         getNotationProviderType(), getOwner(), this, notation);
+            notationName = notation;
         }
     }
+
+    /**
+     * Make a new notation provider only if there is none yet, or if the
+     * notation language has been changed since it was made.
+     *
+     * @return true if a new notation provider was made
+     */
+    boolean updateNotationProvider() {
+        if (getOwner() == null) {
+            return false;
+        }
+        NotationName notation = Notation.findNotation(
+                getNotationSettings().getNotationLanguage());
+        if (notationProvider != null
+                && (notation == notationName
+                        || (notation != null && notationName != null
+                                && notation.sameNotationAs(notationName)))) {
+            return false;
+        }
+        initNotationProviders();
+        return true;
+    }
     
     /**
      * Show the help-text for parsing, and initialise the text.
@@ -270,7 +300,7 @@ public class FigSingleLineTextWithNotation extends FigSingleLineText
     protected void setText() {
         assert getOwner() != null;
         assert notationProvider != null;
-        setText(notationProvider.toString(getOwner(), getNotationSettings()));
+        setText(notationProvider.render(getOwner(), getNotationSettings()));
     }
     
     /**
@@ -0,0 +1,201 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.ui;
+
+import java.beans.PropertyChangeEvent;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+import org.argouml.kernel.DelayedVChangeListener;
+import org.argouml.model.InvalidElementException;
+import org.argouml.model.Metrics;
+import org.argouml.model.UmlChangeEvent;
+import org.tigris.gef.presentation.Fig;
+
+/**
+ * Collects the layout updates that model events ask of Figs and runs them
+ * on the AWT thread in a single pass, a frame, instead of posting a
+ * runnable per event.<p>
+ *
+ * Each Fig waiting for the next frame is marked dirty once, and keeps only
+ * the latest event that asked for its layout to be updated and the latest
+ * event that asked for its rendering to be refreshed. In the frame its
+ * layout is updated once, with the latest event, and then its rendering is
+ * refreshed once. The Figs read their owners again when they are updated,
+ * so the earlier events of a frame are not needed.<p>
+ *
+ * The number of updates asked for and merged and the number of updates
+ * in each frame are counted by the {@link Metrics} registry.
+ *
+ * @see FigNodeModelElement#updateLayout(UmlChangeEvent)
+ * @see FigEdgeModelElement#updateLayout(UmlChangeEvent)
+ */
+public final class FigUpdateScheduler {
+
+    private static final Logger LOG =
+        Logger.getLogger(FigUpdateScheduler.class.getName());
+
+    private static final Metrics.Counter QUEUED =
+        Metrics.counter("diagram.updates.queued");
+
+    private static final Metrics.Counter COALESCED =
+        Metrics.counter("diagram.updates.coalesced");
+
+    private static final Metrics.Histogram FRAME_SIZE =
+        Metrics.histogram("diagram.updates.frame");
+
+    private static final FigUpdateScheduler INSTANCE =
+        new FigUpdateScheduler(new Executor() {
+            public void execute(Runnable command) {
+                SwingUtilities.invokeLater(command);
+            }
+        });
+
+    /**
+     * The Figs waiting for the next frame, in the order they were first
+     * marked dirty.
+     */
+    private Map<Fig, Dirty> pending = new LinkedHashMap<Fig, Dirty>();
+
+    private boolean frameScheduled;
+
+    private final Executor frameExecutor;
+
+    private final Runnable frame = new Runnable() {
+        public void run() {
+            runFrame();
+        }
+    };
+
+    /**
+     * @return the scheduler shared by all Figs
+     */
+    public static FigUpdateScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param executor runs the frames, on the AWT thread but for tests
+     */
+    FigUpdateScheduler(Executor executor) {
+        frameExecutor = executor;
+    }
+
+    /**
+     * Ask for the layout of a Fig to be updated for a model event.
+     *
+     * @param fig a FigNodeModelElement, FigEdgeModelElement or
+     *            FigSingleLineText
+     * @param event the event that caused the change
+     */
+    public synchronized void scheduleLayout(Fig fig, UmlChangeEvent event) {
+        QUEUED.increment();
+        Dirty dirty = getDirty(fig);
+        if (dirty.layoutEvent != null) {
+            COALESCED.increment();
+        }
+        dirty.layoutEvent = event;
+        scheduleFrame();
+    }
+
+    /**
+     * Ask for a Fig to refresh its rendering for a vetoable change.
+     *
+     * @param fig the Fig
+     * @param event the event that caused the change
+     */
+    public synchronized void scheduleRenderingChanged(Fig fig,
+            PropertyChangeEvent event) {
+        QUEUED.increment();
+        Dirty dirty = getDirty(fig);
+        if (dirty.renderingEvent != null) {
+            COALESCED.increment();
+        }
+        dirty.renderingEvent = event;
+        scheduleFrame();
+    }
+
+    private Dirty getDirty(Fig fig) {
+        Dirty dirty = pending.get(fig);
+        if (dirty == null) {
+            dirty = new Dirty();
+            pending.put(fig, dirty);
+        }
+        return dirty;
+    }
+
+    private void scheduleFrame() {
+        if (!frameScheduled) {
+            frameScheduled = true;
+            frameExecutor.execute(frame);
+        }
+    }
+
+    /**
+     * Run all updates waiting. Updates scheduled while the frame runs wait
+     * for the next frame.
+     */
+    void runFrame() {
+        Map<Fig, Dirty> figs;
+        synchronized (this) {
+            figs = pending;
+            pending = new LinkedHashMap<Fig, Dirty>();
+            frameScheduled = false;
+        }
+        int count = 0;
+        for (Map.Entry<Fig, Dirty> entry : figs.entrySet()) {
+            Fig fig = entry.getKey();
+            Dirty dirty = entry.getValue();
+            try {
+                if (dirty.layoutEvent != null) {
+                    ++count;
+                    updateLayout(fig, dirty.layoutEvent);
+                }
+                if (dirty.renderingEvent != null
+                        && fig instanceof DelayedVChangeListener) {
+                    ++count;
+                    ((DelayedVChangeListener) fig)
+                        .delayedVetoableChange(dirty.renderingEvent);
+                }
+            } catch (InvalidElementException e) {
+                LOG.log(Level.FINE, "updateLayout method accessed "
+                        + "deleted element ", e);
+            }
+        }
+        FRAME_SIZE.record(count);
+    }
+
+    private void updateLayout(Fig fig, UmlChangeEvent event) {
+        if (fig instanceof FigNodeModelElement) {
+            ((FigNodeModelElement) fig).updateLayout(event);
+        } else if (fig instanceof FigEdgeModelElement) {
+            ((FigEdgeModelElement) fig).updateLayout(event);
+        } else if (fig instanceof FigSingleLineText) {
+            ((FigSingleLineText) fig).updateLayout(event);
+        }
+    }
+
+    /**
+     * The mark of a Fig waiting for the next frame: the latest events that
+     * asked for its layout and its rendering, or null for those not asked.
+     */
+    private static class Dirty {
+        private UmlChangeEvent layoutEvent;
+        private PropertyChangeEvent renderingEvent;
+    }
+}
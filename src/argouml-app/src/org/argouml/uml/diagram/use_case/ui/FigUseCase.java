@@ -561,8 +561,10 @@ public class FigUseCase extends FigCompartmentBox {
     @Override
     public void renderingChanged() {
         super.renderingChanged();
-        if (getOwner() != null) {
-            updateExtensionPoints();
+        if (getOwner() != null && isExtensionPointsVisible()) {
+            extensionPointsFigCompartment.renderingChanged();
+            setBounds(getBounds());
+            damage();
         }
     }
     
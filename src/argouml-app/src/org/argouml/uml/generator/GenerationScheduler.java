@@ -0,0 +1,539 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.generator;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.application.events.ArgoEventPump;
+import org.argouml.application.events.ArgoEventTypes;
+import org.argouml.application.events.ArgoGeneratorEvent;
+import org.argouml.application.events.ArgoGeneratorEventListener;
+import org.argouml.configuration.Configuration;
+import org.argouml.model.InvalidElementException;
+import org.argouml.model.Metrics;
+import org.argouml.model.Model;
+
+/**
+ * Runs code generators, remembering what they generated for each
+ * classifier so that only the classifiers which have changed since are
+ * generated again.<p>
+ *
+ * The source generated for a classifier is kept until a model event from
+ * the classifier or anything inside it.  A change anywhere else, such as
+ * a renamed classifier or a new generalization, could change the source
+ * of other classifiers, so it drops everything.  So does any change of
+ * the generators or of the configuration, which holds their options.<p>
+ *
+ * A {@link StreamingCodeGenerator} is run on each classifier on its own,
+ * on several classifiers in parallel, and the scheduler writes its files
+ * itself: each through a temporary file renamed into place, and only if
+ * its content has changed.  Any other generator may build one unit from
+ * several elements, so it is run once on all the elements, as before, and
+ * only what it generates for a single classifier is kept.  It writes its
+ * own files.<p>
+ *
+ * The classifiers generated and reused and the files written and found
+ * unchanged are counted by the {@link Metrics} registry.
+ */
+public final class GenerationScheduler
+    implements PropertyChangeListener, ArgoGeneratorEventListener {
+
+    private static final Logger LOG =
+        Logger.getLogger(GenerationScheduler.class.getName());
+
+    private static final Metrics.Counter GENERATED =
+        Metrics.counter("generation.classifiers.generated");
+
+    private static final Metrics.Counter REUSED =
+        Metrics.counter("generation.classifiers.reused");
+
+    private static final Metrics.Counter WRITTEN =
+        Metrics.counter("generation.files.written");
+
+    private static final Metrics.Counter UNCHANGED =
+        Metrics.counter("generation.files.unchanged");
+
+    private static GenerationScheduler instance;
+
+    /**
+     * The source units generated for each classifier, by generator.
+     */
+    private final Map<Object, Map<CodeGenerator, List<SourceUnit>>> generated =
+        new WeakHashMap<Object, Map<CodeGenerator, List<SourceUnit>>>();
+
+    /**
+     * The files written or found up to date, by path.
+     */
+    private final Map<String, FileStamp> files =
+        new HashMap<String, FileStamp>();
+
+    /**
+     * Incremented on every invalidation, so that the source generated for
+     * a classifier while the model changed is not kept.
+     */
+    private int generation;
+
+    private ExecutorService executor;
+
+    /**
+     * @return the scheduler shared by all generators
+     */
+    public static synchronized GenerationScheduler getInstance() {
+        if (instance == null) {
+            instance = new GenerationScheduler();
+        }
+        return instance;
+    }
+
+    private GenerationScheduler() {
+        Model.getPump().addClassModelEventListener(this,
+                Model.getMetaTypes().getModelElement(), (String[]) null);
+        ArgoEventPump.addListener(ArgoEventTypes.ANY_GENERATOR_EVENT, this);
+        Configuration.addListener(new PropertyChangeListener() {
+            public void propertyChange(PropertyChangeEvent evt) {
+                // The options of a generator may have changed
+                clear();
+            }
+        });
+    }
+
+    /**
+     * Generate code for the specified elements, reusing what was
+     * generated before for classifiers which haven't changed.
+     *
+     * @see CodeGenerator#generate(Collection, boolean)
+     * @param gen the generator
+     * @param elements the UML model elements to generate code for.
+     * @param deps Recursively generate dependency files too.
+     * @return the source units. These are copies, which the caller may
+     *         change.
+     */
+    public Collection<SourceUnit> generate(CodeGenerator gen,
+            Collection< ? > elements, boolean deps) {
+        if (!(gen instanceof StreamingCodeGenerator)
+                && elements.size() != 1) {
+            // The units of one element can't be told from the others
+            GENERATED.add(elements.size());
+            return copy(gen.generate(elements, deps));
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<Object, List<SourceUnit>> results =
+            new LinkedHashMap<Object, List<SourceUnit>>();
+        List<Object> toGenerate = new ArrayList<Object>();
+        int startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+            for (Object element : elements) {
+                List<SourceUnit> units = deps ? null : lookup(gen, element);
+                if (units != null) {
+                    REUSED.increment();
+                } else {
+                    toGenerate.add(element);
+                }
+                results.put(element, units);
+            }
+        }
+        GENERATED.add(toGenerate.size());
+
+        if (toGenerate.size() > 1) {
+            generateInParallel((StreamingCodeGenerator) gen, toGenerate, deps,
+                    results);
+        } else {
+            for (Object element : toGenerate) {
+                results.put(element, generate(gen, element, deps));
+            }
+        }
+
+        if (!deps) {
+            // With dependencies, the units depend on other classifiers too
+            synchronized (this) {
+                if (startGeneration == generation) {
+                    for (Object element : toGenerate) {
+                        store(gen, element, results.get(element));
+                    }
+                }
+            }
+        }
+
+        // Several classifiers may have generated the same dependency
+        Map<String, SourceUnit> units = new LinkedHashMap<String, SourceUnit>();
+        for (List<SourceUnit> list : results.values()) {
+            for (SourceUnit unit : list) {
+                if (!units.containsKey(unit.getFullName())) {
+                    units.put(unit.getFullName(), copy(unit));
+                }
+            }
+        }
+        LOG.log(Level.FINE, "Generated {0} of {1} elements in {2} msec.",
+                new Object[] {
+                    toGenerate.size(), results.size(),
+                    System.currentTimeMillis() - startTime,
+                });
+        return new ArrayList<SourceUnit>(units.values());
+    }
+
+    /**
+     * Generate files for the specified elements.
+     *
+     * @see CodeGenerator#generateFiles(Collection, String, boolean)
+     * @param gen the generator
+     * @param elements the UML model elements to generate code for.
+     * @param path The source base path.
+     * @param deps Recursively generate dependency files too.
+     * @return The filenames (with relative path) as a collection of Strings.
+     */
+    public Collection<String> generateFiles(CodeGenerator gen,
+            Collection< ? > elements, String path, boolean deps) {
+        if (!(gen instanceof StreamingCodeGenerator)) {
+            // Only the generator knows how to merge with what the files hold
+            return gen.generateFiles(elements, path, deps);
+        }
+        List<String> names = new ArrayList<String>();
+        for (SourceUnit unit : generate(gen, elements, deps)) {
+            File file = new File(path, unit.getFullName());
+            try {
+                writeIfChanged(file, unit.getContent());
+                names.add(unit.getFullName());
+            } catch (IOException e) {
+                LOG.log(Level.SEVERE, "Error writing " + file, e);
+            }
+        }
+        return names;
+    }
+
+    private void generateInParallel(final StreamingCodeGenerator gen,
+            List<Object> elements, final boolean deps,
+            Map<Object, List<SourceUnit>> results) {
+        List<Callable<List<SourceUnit>>> tasks =
+            new ArrayList<Callable<List<SourceUnit>>>(elements.size());
+        for (final Object element : elements) {
+            tasks.add(new Callable<List<SourceUnit>>() {
+                public List<SourceUnit> call() {
+                    return generate(gen, element, deps);
+                }
+            });
+        }
+        try {
+            List<Future<List<SourceUnit>>> futures =
+                getExecutor().invokeAll(tasks);
+            for (int i = 0; i < elements.size(); i++) {
+                results.put(elements.get(i), futures.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Code generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private List<SourceUnit> generate(CodeGenerator gen, Object element,
+            boolean deps) {
+        Collection<Object> elements = Collections.singleton(element);
+        if (gen instanceof StreamingCodeGenerator) {
+            final List<SourceUnit> units = new ArrayList<SourceUnit>();
+            ((StreamingCodeGenerator) gen).generate(elements, deps,
+                    new SourceUnitSink() {
+                        public void addSourceUnit(SourceUnit unit) {
+                            synchronized (units) {
+                                units.add(copy(unit));
+                            }
+                        }
+                    });
+            synchronized (units) {
+                return units;
+            }
+        }
+        return copy(gen.generate(elements, deps));
+    }
+
+    /**
+     * Keep units of our own, which the generator can't change.
+     */
+    private static List<SourceUnit> copy(Collection<SourceUnit> units) {
+        if (units == null) {
+            return Collections.emptyList();
+        }
+        List<SourceUnit> copies = new ArrayList<SourceUnit>(units.size());
+        for (SourceUnit unit : units) {
+            copies.add(copy(unit));
+        }
+        return copies;
+    }
+
+    private static SourceUnit copy(SourceUnit unit) {
+        SourceUnit copy = new SourceUnit(unit.getName(), unit.getBasePath(),
+                unit.getContent());
+        copy.setLanguage(unit.getLanguage());
+        return copy;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(
+                    Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactory() {
+                        public Thread newThread(Runnable r) {
+                            Thread t = new Thread(r, "Code generation");
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+        }
+        return executor;
+    }
+
+    private List<SourceUnit> lookup(CodeGenerator gen, Object element) {
+        Map<CodeGenerator, List<SourceUnit>> byGenerator =
+            generated.get(element);
+        return byGenerator == null ? null : byGenerator.get(gen);
+    }
+
+    private void store(CodeGenerator gen, Object element,
+            List<SourceUnit> units) {
+        if (!Model.getFacade().isAClassifier(element)) {
+            // Only changes inside classifiers are followed
+            return;
+        }
+        Map<CodeGenerator, List<SourceUnit>> byGenerator =
+            generated.get(element);
+        if (byGenerator == null) {
+            byGenerator = new HashMap<CodeGenerator, List<SourceUnit>>(4);
+            generated.put(element, byGenerator);
+        }
+        byGenerator.put(gen, units);
+    }
+
+    /**
+     * Write a file through a temporary file renamed into place, unless it
+     * holds the content already.
+     *
+     * @param file the file
+     * @param content the content
+     * @return true if the file was written
+     * @throws IOException if the file can't be read or written
+     */
+    boolean writeIfChanged(File file, String content) throws IOException {
+        // TODO: This is using the default platform character encoding, as
+        // the generators writing their own files do.
+        byte[] data = content.getBytes();
+        byte[] digest = digest(data);
+        String path = file.getAbsolutePath();
+        FileStamp stamp;
+        synchronized (this) {
+            stamp = files.get(path);
+        }
+        if (file.exists()) {
+            boolean unchanged;
+            if (stamp != null && stamp.isCurrent(file)) {
+                unchanged = MessageDigest.isEqual(stamp.digest, digest);
+            } else {
+                unchanged = file.length() == data.length
+                    && Arrays.equals(readFile(file), data);
+            }
+            if (unchanged) {
+                UNCHANGED.increment();
+                synchronized (this) {
+                    files.put(path, new FileStamp(file, digest));
+                }
+                return false;
+            }
+        }
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create directory " + dir);
+        }
+        File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+        try {
+            OutputStream out = new FileOutputStream(tmp);
+            try {
+                out.write(data);
+            } finally {
+                out.close();
+            }
+            if (!tmp.renameTo(file)) {
+                // Windows doesn't rename over an existing file
+                if (!file.delete() || !tmp.renameTo(file)) {
+                    throw new IOException("Unable to replace " + file);
+                }
+            }
+        } finally {
+            if (tmp.exists()) {
+                tmp.delete();
+            }
+        }
+        WRITTEN.increment();
+        synchronized (this) {
+            files.put(path, new FileStamp(file, digest));
+        }
+        return true;
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        byte[] data = new byte[(int) file.length()];
+        InputStream in = new FileInputStream(file);
+        try {
+            int offset = 0;
+            while (offset < data.length) {
+                int read = in.read(data, offset, data.length - offset);
+                if (read < 0) {
+                    break;
+                }
+                offset += read;
+            }
+        } finally {
+            in.close();
+        }
+        return data;
+    }
+
+    private static byte[] digest(byte[] data) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Drop the source generated for a classifier.
+     *
+     * @param classifier the classifier which has changed
+     */
+    public synchronized void invalidate(Object classifier) {
+        ++generation;
+        generated.remove(classifier);
+    }
+
+    /**
+     * Drop all generated source.
+     */
+    public synchronized void clear() {
+        ++generation;
+        generated.clear();
+    }
+
+    /*
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    public void propertyChange(PropertyChangeEvent evt) {
+        synchronized (this) {
+            if (generated.isEmpty()) {
+                return;
+            }
+        }
+        Object element = evt.getSource();
+        String property = evt.getPropertyName();
+        boolean local = false;
+        try {
+            if (Model.getFacade().isAClassifier(element)
+                    && ("name".equals(property)
+                            || "namespace".equals(property))) {
+                // Other classifiers may refer to it by name
+                element = null;
+            }
+            // The source of a classifier includes its nested classifiers
+            while (element != null) {
+                if (Model.getFacade().isAClassifier(element)) {
+                    if (Model.getFacade().isAInterface(element)) {
+                        // Its realizations may copy its operations
+                        local = false;
+                        break;
+                    }
+                    invalidate(element);
+                    local = true;
+                }
+                Object container =
+                    Model.getFacade().getModelElementContainer(element);
+                if (container == null && !local
+                        && !Model.getFacade().isAPackage(element)) {
+                    // Not in a package yet, as the events of a new
+                    // element may be seen before it is added.  Adding it
+                    // to its owner is a change of the owner.
+                    local = true;
+                }
+                element = container;
+            }
+        } catch (InvalidElementException e) {
+            local = false;
+        }
+        if (!local) {
+            clear();
+        }
+    }
+
+    public void generatorChanged(ArgoGeneratorEvent e) {
+        clear();
+    }
+
+    public void generatorAdded(ArgoGeneratorEvent e) {
+        clear();
+    }
+
+    public void generatorRemoved(ArgoGeneratorEvent e) {
+        clear();
+    }
+
+    /**
+     * The size, time and digest of a file when it was last written or
+     * found up to date.
+     */
+    private static class FileStamp {
+        private final long length;
+        private final long lastModified;
+        private final byte[] digest;
+
+        FileStamp(File file, byte[] theDigest) {
+            length = file.length();
+            lastModified = file.lastModified();
+            digest = theDigest;
+        }
+
+        boolean isCurrent(File file) {
+            return file.length() == length
+                && file.lastModified() == lastModified;
+        }
+    }
+}
@@ -57,7 +57,9 @@ public final class GeneratorHelper {
     }
 
     /**
-     * Generate code for one or more elements in a given language.
+     * Generate code for one or more elements in a given language.  What
+     * was generated before for classifiers which haven't changed since is
+     * reused.
      * @param lang The language to use.
      * @param elements The elements to generate code for.
      * @param deps Whether to generate dependency too.
@@ -69,7 +71,8 @@ public final class GeneratorHelper {
         CodeGenerator gen =
             GeneratorManager.getInstance().getGenerator(lang);
         if (gen != null) {
-            return gen.generate(elements, deps);
+            return GenerationScheduler.getInstance().generate(gen, elements,
+                    deps);
         }
         return new ArrayList(); // empty list
     }
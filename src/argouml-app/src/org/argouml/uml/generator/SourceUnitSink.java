@@ -0,0 +1,30 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.generator;
+
+/**
+ * Receives source units as a code generator produces them, so that they
+ * never have to go through files.
+ *
+ * @see StreamingCodeGenerator
+ */
+public interface SourceUnitSink {
+
+    /**
+     * Take a source unit which has been generated.  This may be called
+     * from several threads at once.
+     *
+     * @param unit the complete source unit
+     */
+    void addSourceUnit(SourceUnit unit);
+}
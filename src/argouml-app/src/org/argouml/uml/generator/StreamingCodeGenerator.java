@@ -0,0 +1,40 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.generator;
+
+import java.util.Collection;
+
+/**
+ * A code generator which hands the source units it generates straight to
+ * a sink in memory, rather than writing them to files.<p>
+ *
+ * Implementing this tells the {@link GenerationScheduler} that the
+ * generator may be called from several threads at once, for different
+ * elements, and that the content of each unit is the complete content of
+ * the file to be written for it.  The scheduler then calls it for each
+ * classifier on its own, in parallel, and writes the files itself.  A
+ * unit generated for several classifiers, as a dependency may be, must
+ * have the same content each time, since only one of them is kept.
+ */
+public interface StreamingCodeGenerator extends CodeGenerator {
+
+    /**
+     * Generate code for the specified classifiers.
+     *
+     * @see CodeGenerator#generate(Collection, boolean)
+     * @param elements the UML model elements to generate code for.
+     * @param deps Recursively generate dependency files too.
+     * @param sink receives each source unit as soon as it is ready.
+     */
+    void generate(Collection elements, boolean deps, SourceUnitSink sink);
+}
@@ -74,6 +74,7 @@ import org.argouml.model.Model;
 import org.argouml.notation.Notation;
 import org.argouml.ui.targetmanager.TargetManager;
 import org.argouml.uml.generator.CodeGenerator;
+import org.argouml.uml.generator.GenerationScheduler;
 import org.argouml.uml.generator.GeneratorManager;
 import org.argouml.uml.generator.Language;
 import org.argouml.util.ArgoDialog;
@@ -357,8 +358,10 @@ public class ClassGenerationDialog extends ArgoDialog
                     if (path != null) {
                         path = path.trim();
                         if (path.length() > 0) {
-                            Collection<String> files = generator.generateFiles(
-                                    nodes, path, false);
+                            Collection<String> files =
+                                GenerationScheduler.getInstance()
+                                    .generateFiles(generator, nodes, path,
+                                            false);
                             for (String filename : files) {
                                 fileNames[i].add(path
                                         + CodeGenerator.FILE_SEPARATOR
@@ -408,8 +411,9 @@ public class ClassGenerationDialog extends ArgoDialog
                         Set nodeColl = (Set) entry.getValue();
                         // TODO: the last argument (recursive flag) should be a
                         // selectable option
-                        Collection<String> files = generator.generateFiles(
-                                nodeColl, basepath, false);
+                        Collection<String> files =
+                            GenerationScheduler.getInstance().generateFiles(
+                                    generator, nodeColl, basepath, false);
                         for (String filename : files) {
                             fileNames[i].add(basepath
                                     + CodeGenerator.FILE_SEPARATOR + filename);
@@ -49,6 +49,8 @@ import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.argouml.application.api.Argo;
 import org.argouml.cognitive.Designer;
@@ -62,7 +64,6 @@ import org.argouml.ui.explorer.ExplorerEventAdaptor;
 import org.argouml.ui.targetmanager.TargetManager;
 import org.argouml.uml.diagram.ArgoDiagram;
 import org.argouml.uml.diagram.static_structure.ClassDiagramGraphModel;
-import org.argouml.uml.diagram.static_structure.layout.ClassdiagramLayouter;
 import org.argouml.util.SuffixFilter;
 import org.tigris.gef.base.Globals;
 
@@ -78,6 +79,9 @@ import org.tigris.gef.base.Globals;
  */
 public abstract class ImportCommon implements ImportSettingsInternal {
 
+    private static final Logger LOG =
+        Logger.getLogger(ImportCommon.class.getName());
+
     /**
      * The % maximum progress required to preparing for import.
      */
@@ -115,6 +119,12 @@ public abstract class ImportCommon implements ImportSettingsInternal {
     
     private SuffixFilter selectedSuffixFilter;
 
+    /**
+     * The manifest of the files imported before, when only changed files
+     * are imported.
+     */
+    private ImportManifest manifest;
+
     protected ImportCommon() {
         super();
         modules = new Hashtable<String, ImportInterface>();
@@ -205,16 +215,23 @@ public abstract class ImportCommon implements ImportSettingsInternal {
         }
 
 
+        manifest = null;
         if (isChangedOnlySelected()) {
             // filter out all unchanged files
-            Object model =
-                ProjectManager.getManager().getCurrentProject().getModel();
+            Project project = ProjectManager.getManager().getCurrentProject();
+            Object model = project.getModel();
+            manifest = new ImportManifest(project.getURI(), model);
+            manifest.findDeletedFiles(getSrcPath(), files);
+            files = new ArrayList<File>(files);
             for (int i = files.size() - 1; i >= 0; i--) {
                 File f = files.get(i);
                 String fn = f.getAbsolutePath();
                 String lm = String.valueOf(f.lastModified());
                 
-                if (Model.getFacade().getUmlVersion().charAt(0) == '1') {
+                if (manifest.isUnchanged(f)) {
+                    files.remove(i);
+                } else if (Model.getFacade().getUmlVersion().charAt(0)
+                        == '1') {
                     // TODO: Not yet working for UML2
                     if (lm.equals(
                             Model.getFacade().getTaggedValueValue(model, fn))) {
@@ -493,21 +510,12 @@ public abstract class ImportCommon implements ImportSettingsInternal {
 //            monitor.updateSubTask(ImportsMessages.layoutingAction);
 //        }
         List<ArgoDiagram> diagrams = diagramInterface.getModifiedDiagramList();
-        int total = startingProgress + diagrams.size()
-                / 10;
-        for (int i = 0; i < diagrams.size(); i++) {
-            ArgoDiagram diagram = diagrams.get(i);
-            ClassdiagramLayouter layouter = new ClassdiagramLayouter(diagram);
-            layouter.layout();
-            int act = startingProgress + (i + 1) / 10;
-            int progress = MAX_PROGRESS_PREPARE
-                    + MAX_PROGRESS_IMPORT * act / total;
-            if (monitor != null) {
-                monitor.updateProgress(progress);
-            }
-//          iss.setValue(countFiles + (i + 1) / 10);
+        ImportPipeline pipeline = new ImportPipeline();
+        try {
+            pipeline.layoutDiagrams(diagrams, monitor, startingProgress);
+        } finally {
+            pipeline.shutdown();
         }
-
     }
 
 
@@ -527,7 +535,8 @@ public abstract class ImportCommon implements ImportSettingsInternal {
         List<File> files = getFileList(monitor);
         progress += MAX_PROGRESS_PREPARE;
         monitor.updateProgress(progress);
-        if (files.size() == 0) {
+        if (files.size() == 0
+                && (manifest == null || !manifest.hasDeletedFiles())) {
             monitor.notifyNullAction();
             return;
         }
@@ -562,12 +571,20 @@ public abstract class ImportCommon implements ImportSettingsInternal {
         final StringBuffer problems = new StringBuffer();
         Collection newElements = new HashSet();
         
-        try {
-            newElements.addAll(currentModule.parseFiles(
-                    project, filesLeft, this, monitor));
-        } catch (Exception e) {
-            problems.append(printToBuffer(e));
+        if (!filesLeft.isEmpty()) {
+            newElements.addAll(parse(project, filesLeft, monitor, problems));
         }
+        if (manifest != null) {
+            // Remove what changed and deleted files no longer declare
+            Collection leftOver = manifest.update(filesLeft, newElements);
+            if (!leftOver.isEmpty()) {
+                LOG.log(Level.INFO, "Removing {0} elements no longer in "
+                        + "the sources", leftOver.size());
+                project.moveToTrash(leftOver);
+            }
+            manifest.save();
+        }
+
         // New style importers don't create diagrams, so we'll do it
         // based on the list of newElements that they created
         if (isCreateDiagramsSelected() && diagramInterface != null) {
@@ -601,6 +618,48 @@ public abstract class ImportCommon implements ImportSettingsInternal {
     }
 
 
+    /**
+     * Hand the files to the current module.
+     *
+     * @param project the current project
+     * @param files the files to parse
+     * @param monitor the progress meter
+     * @param problems receives the traces of exceptions caught
+     * @return the model elements created
+     */
+    private Collection parse(Project project, List<File> files,
+            ProgressMonitor monitor, StringBuffer problems) {
+        Collection newElements = new HashSet();
+        if (currentModule instanceof StagedImportInterface) {
+            // Parse the files in parallel
+            List<Exception> exceptions = new ArrayList<Exception>();
+            ImportPipeline pipeline = new ImportPipeline();
+            try {
+                newElements.addAll(pipeline.importFiles(
+                        (StagedImportInterface< ? >) currentModule, project,
+                        files, this, monitor, exceptions));
+            } finally {
+                pipeline.shutdown();
+            }
+            for (Exception e : exceptions) {
+                problems.append(printToBuffer(e));
+            }
+        } else {
+            long start = System.currentTimeMillis();
+            try {
+                newElements.addAll(currentModule.parseFiles(
+                        project, files, this, monitor));
+            } catch (Exception e) {
+                problems.append(printToBuffer(e));
+            }
+            long time = System.currentTimeMillis() - start;
+            LOG.log(Level.INFO, "Imported {0} files in {1} ms ({2} files/s)",
+                    new Object[] {files.size(), time,
+                        files.size() * 1000 / Math.max(1, time)});
+        }
+        return newElements;
+    }
+
     /**
      * Create diagram figures for a collection of model elements.
      *
@@ -0,0 +1,466 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.reveng;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.net.URI;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.model.Model;
+
+/**
+ * Remembers, for each source file imported into a model, the hash of its
+ * contents and the model elements it produced, so that a later import of
+ * changed files only can skip the files which have not changed, drop the
+ * elements a changed file no longer declares and remove the elements of
+ * files which have been deleted.<p>
+ *
+ * The manifest of a model is kept in the .argouml directory of the user,
+ * in a file named after the project file and the UUID of the model. Each
+ * entry holds the last modified time, the length and the MD5 hash of the
+ * file, and the UUIDs of its elements. The time and length are checked
+ * first, so that a file which was not touched is not read at all.<p>
+ *
+ * The manifest may not match the model, e.g. when the project was saved
+ * under another name or reverted, so it is checked against the model: a
+ * file is only skipped if the model still holds all the elements recorded
+ * for it, and an element is only removed if it still has the name of its
+ * file. A file which can't be read is always taken to have changed.<p>
+ *
+ * A classifier is taken to come from a file with the same base name, the
+ * convention of most languages with one type per file. Elements which no
+ * file can be found for are left alone.
+ */
+public class ImportManifest {
+
+    private static final Logger LOG =
+        Logger.getLogger(ImportManifest.class.getName());
+
+    private final File store;
+
+    private final Object model;
+
+    private final Map<String, Entry> entries = new HashMap<String, Entry>();
+
+    /**
+     * Files which were in the manifest but are gone from the directory
+     * imported.
+     */
+    private final List<String> deleted = new ArrayList<String>();
+
+    /**
+     * The classifiers of the model by UUID, or null until needed.
+     */
+    private Map<String, Object> classifiers;
+
+    /**
+     * Load the manifest of a model, or start an empty one.
+     *
+     * @param projectUri the file of the project, or null if it was never
+     *        saved
+     * @param model the model imported into
+     */
+    public ImportManifest(URI projectUri, Object model) {
+        this(new File(new File(System.getProperty("user.home"), ".argouml"),
+                "import" + File.separator + getStoreName(projectUri, model)),
+                model);
+    }
+
+    /**
+     * Load a manifest from a file, or start an empty one.
+     *
+     * @param theStore the file of the manifest
+     * @param theModel the model imported into
+     */
+    ImportManifest(File theStore, Object theModel) {
+        model = theModel;
+        store = theStore;
+        if (store.exists()) {
+            Properties props = new Properties();
+            InputStream in = null;
+            try {
+                in = new FileInputStream(store);
+                props.load(in);
+                for (Object key : props.keySet()) {
+                    String path = (String) key;
+                    Entry entry = Entry.parse(props.getProperty(path));
+                    if (entry != null) {
+                        entries.put(path, entry);
+                    }
+                }
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Can't read import manifest "
+                        + store, e);
+            } finally {
+                close(in);
+            }
+        }
+    }
+
+    private static String getStoreName(URI projectUri, Object model) {
+        String uuid = Model.getFacade().getUUID(model);
+        String key = (projectUri == null ? "unsaved" : projectUri.toString())
+            + " " + uuid;
+        return hash(key.getBytes()) + ".manifest";
+    }
+
+    /**
+     * Check whether a file has the same contents as when it was last
+     * imported, and whether the model still holds what it produced.
+     *
+     * @param file the source file
+     * @return true if the file can be skipped
+     */
+    public boolean isUnchanged(File file) {
+        Entry entry = entries.get(file.getAbsolutePath());
+        if (entry == null || !isInModel(file, entry)) {
+            return false;
+        }
+        if (entry.lastModified == file.lastModified()
+                && entry.length == file.length()) {
+            return true;
+        }
+        return entry.length == file.length()
+            && entry.hash.equals(hash(file));
+    }
+
+    /**
+     * @return true if the model holds all the elements recorded for a
+     *         file, under the name of the file
+     */
+    private boolean isInModel(File file, Entry entry) {
+        if (entry.uuids.isEmpty()) {
+            // Nothing to check the manifest against
+            return false;
+        }
+        for (String uuid : entry.uuids) {
+            if (findElement(uuid, file.getAbsolutePath()) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the files imported before from a directory which are no longer
+     * there. Their elements are removed by the next
+     * {@link #update(Collection, Collection)}.
+     *
+     * @param root the directory imported
+     * @param files the files found in it now
+     */
+    public void findDeletedFiles(String root, Collection<File> files) {
+        deleted.clear();
+        if (root == null) {
+            return;
+        }
+        String prefix = new File(root).getAbsolutePath() + File.separator;
+        Set<String> present = new HashSet<String>();
+        for (File file : files) {
+            present.add(file.getAbsolutePath());
+        }
+        for (String path : entries.keySet()) {
+            if (path.startsWith(prefix) && !present.contains(path)
+                    && !new File(path).exists()) {
+                deleted.add(path);
+            }
+        }
+    }
+
+    /**
+     * @return true if {@link #findDeletedFiles(String, Collection)} found
+     *         files whose elements are to be removed
+     */
+    public boolean hasDeletedFiles() {
+        return !deleted.isEmpty();
+    }
+
+    /**
+     * Record the files just imported and work out which elements are left
+     * over from earlier imports: those a changed file no longer produced
+     * and those of deleted files. Only elements which still have the name
+     * of their file are left over.
+     *
+     * @param files the files imported
+     * @param newElements the elements the import produced
+     * @return the elements left over, to be deleted
+     */
+    public Collection<Object> update(Collection<File> files,
+            Collection< ? > newElements) {
+        classifiers = null;
+        Map<String, List<String>> produced = attribute(files, newElements);
+        List<Object> stale = new ArrayList<Object>();
+        for (File file : files) {
+            String path = file.getAbsolutePath();
+            Entry old = entries.get(path);
+            List<String> uuids = produced.get(path);
+            if (uuids == null) {
+                // Nothing could be attributed, keep what we knew
+                uuids = old == null ? new ArrayList<String>() : old.uuids;
+            } else if (old != null) {
+                Set<String> gone = new HashSet<String>(old.uuids);
+                gone.removeAll(uuids);
+                addElements(stale, gone, path);
+            }
+            String hash = hash(file);
+            if (hash == null) {
+                // Import it again next time
+                entries.remove(path);
+            } else {
+                entries.put(path, new Entry(file.lastModified(),
+                        file.length(), hash, uuids));
+            }
+        }
+        for (String path : deleted) {
+            addElements(stale, entries.remove(path).uuids, path);
+        }
+        deleted.clear();
+        return stale;
+    }
+
+    /**
+     * Write the manifest to disk.
+     */
+    public void save() {
+        Properties props = new Properties();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            props.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        OutputStream out = null;
+        try {
+            store.getParentFile().mkdirs();
+            out = new FileOutputStream(store);
+            props.store(out, "ArgoUML import manifest");
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Can't write import manifest " + store, e);
+        } finally {
+            close(out);
+        }
+    }
+
+    /**
+     * Match the classifiers produced with the files of the same base
+     * name. When several files have that name the one whose directory
+     * ends with the path of the namespace is taken.
+     */
+    private Map<String, List<String>> attribute(Collection<File> files,
+            Collection< ? > newElements) {
+        Map<String, List<File>> byName = new HashMap<String, List<File>>();
+        for (File file : files) {
+            String name = getBaseName(file);
+            List<File> sameName = byName.get(name);
+            if (sameName == null) {
+                sameName = new ArrayList<File>(1);
+                byName.put(name, sameName);
+            }
+            sameName.add(file);
+        }
+        Map<String, List<String>> produced =
+            new HashMap<String, List<String>>();
+        for (Object element : newElements) {
+            if (!Model.getFacade().isAClassifier(element)) {
+                continue;
+            }
+            List<File> candidates =
+                byName.get(Model.getFacade().getName(element));
+            if (candidates == null) {
+                continue;
+            }
+            File file = candidates.get(0);
+            if (candidates.size() > 1) {
+                String dir = getNamespacePath(element);
+                for (File candidate : candidates) {
+                    if (candidate.getParentFile().getAbsolutePath()
+                            .endsWith(dir)) {
+                        file = candidate;
+                        break;
+                    }
+                }
+            }
+            List<String> uuids = produced.get(file.getAbsolutePath());
+            if (uuids == null) {
+                uuids = new ArrayList<String>();
+                produced.put(file.getAbsolutePath(), uuids);
+            }
+            uuids.add(Model.getFacade().getUUID(element));
+        }
+        return produced;
+    }
+
+    private String getNamespacePath(Object element) {
+        StringBuilder sb = new StringBuilder();
+        Object ns = Model.getFacade().getNamespace(element);
+        while (ns != null && ns != model) {
+            sb.insert(0, File.separator + Model.getFacade().getName(ns));
+            ns = Model.getFacade().getNamespace(ns);
+        }
+        return sb.toString();
+    }
+
+    private void addElements(List<Object> found, Collection<String> uuids,
+            String path) {
+        for (String uuid : uuids) {
+            Object element = findElement(uuid, path);
+            if (element != null) {
+                found.add(element);
+            }
+        }
+    }
+
+    /**
+     * Find a classifier of the model by UUID, provided it still has the
+     * name of its file. The classifiers are indexed in a single pass over
+     * the model the first time.
+     */
+    private Object findElement(String uuid, String path) {
+        if (classifiers == null) {
+            classifiers = new HashMap<String, Object>();
+            for (Object element : Model.getModelManagementHelper()
+                    .getAllModelElementsOfKind(model,
+                            Model.getMetaTypes().getClassifier())) {
+                classifiers.put(Model.getFacade().getUUID(element), element);
+            }
+        }
+        Object element = classifiers.get(uuid);
+        if (element == null
+                || !getBaseName(new File(path)).equals(
+                        Model.getFacade().getName(element))) {
+            return null;
+        }
+        return element;
+    }
+
+    private static String getBaseName(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        return name;
+    }
+
+    /**
+     * @return the MD5 hash of the contents of a file, in hexadecimal, or
+     *         null if it can't be read
+     */
+    static String hash(File file) {
+        InputStream in = null;
+        try {
+            MessageDigest md5 = getMD5();
+            in = new FileInputStream(file);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                md5.update(buffer, 0, read);
+            }
+            return toHex(md5.digest());
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Can't read " + file, e);
+            return null;
+        } finally {
+            close(in);
+        }
+    }
+
+    private static String hash(byte[] data) {
+        return toHex(getMD5().digest(data));
+    }
+
+    private static MessageDigest getMD5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+        }
+        return sb.toString();
+    }
+
+    private static void close(java.io.Closeable c) {
+        if (c != null) {
+            try {
+                c.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Can't close", e);
+            }
+        }
+    }
+
+    /**
+     * What is known of a file.
+     */
+    private static class Entry {
+        private final long lastModified;
+        private final long length;
+        private final String hash;
+        private final List<String> uuids;
+
+        Entry(long theLastModified, long theLength, String theHash,
+                List<String> theUuids) {
+            lastModified = theLastModified;
+            length = theLength;
+            hash = theHash;
+            uuids = theUuids;
+        }
+
+        static Entry parse(String value) {
+            String[] fields = value.split(" ");
+            if (fields.length < 3) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(fields[0]),
+                        Long.parseLong(fields[1]), fields[2],
+                        new ArrayList<String>(Arrays.asList(fields)
+                                .subList(3, fields.length)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(lastModified).append(' ').append(length).append(' ')
+                .append(hash);
+            for (String uuid : uuids) {
+                sb.append(' ').append(uuid);
+            }
+            return sb.toString();
+        }
+    }
+}
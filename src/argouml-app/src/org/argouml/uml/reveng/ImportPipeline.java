@@ -0,0 +1,172 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.reveng;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.i18n.Translator;
+import org.argouml.kernel.Project;
+import org.argouml.taskmgmt.ProgressMonitor;
+import org.argouml.uml.diagram.ArgoDiagram;
+import org.argouml.uml.diagram.static_structure.layout.ClassdiagramLayoutBatch;
+
+/**
+ * Runs the stages of an import on several threads: the files of a
+ * {@link StagedImportInterface} are parsed in parallel, and the diagrams
+ * of the packages imported are laid out in parallel. The model elements
+ * themselves are created by a single thread in between.
+ */
+final class ImportPipeline {
+
+    private static final Logger LOG =
+        Logger.getLogger(ImportPipeline.class.getName());
+
+    private final ExecutorService executor;
+
+    /**
+     * Create a pipeline with a thread for each processor. It must be
+     * {@link #shutdown() shut down} when the import is done.
+     */
+    ImportPipeline() {
+        executor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "Import");
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+    }
+
+    /**
+     * Parse the files in parallel, then build the model from the results
+     * on this thread.
+     *
+     * @param <T> the type of the intermediate result of a file
+     * @param module the import module
+     * @param project the current project
+     * @param files the files to import
+     * @param settings the common import settings
+     * @param monitor the progress monitor
+     * @param problems receives the exceptions thrown by the module
+     * @return the model elements created
+     */
+    <T> Collection importFiles(final StagedImportInterface<T> module,
+            Project project, List<File> files, final ImportSettings settings,
+            ProgressMonitor monitor, List<Exception> problems) {
+        long start = System.currentTimeMillis();
+        List<Future<T>> futures = new ArrayList<Future<T>>(files.size());
+        for (final File file : files) {
+            futures.add(executor.submit(new Callable<T>() {
+                public T call() throws Exception {
+                    return module.parseFile(file, settings);
+                }
+            }));
+        }
+
+        List<T> symbols = new ArrayList<T>(files.size());
+        for (int i = 0; i < futures.size(); i++) {
+            if (monitor.isCanceled()) {
+                cancel(futures);
+                return Collections.emptyList();
+            }
+            monitor.updateSubTask(Translator.localize(
+                    "dialog.import.parsingAction",
+                    new Object[] {files.get(i).getAbsolutePath()}));
+            try {
+                T symbol = futures.get(i).get();
+                if (symbol != null) {
+                    symbols.add(symbol);
+                }
+            } catch (ExecutionException e) {
+                problems.add(e.getCause() instanceof Exception
+                        ? (Exception) e.getCause() : e);
+            } catch (InterruptedException e) {
+                cancel(futures);
+                problems.add(e);
+                return Collections.emptyList();
+            }
+            monitor.updateProgress(ImportCommon.MAX_PROGRESS_PREPARE
+                    + ImportCommon.MAX_PROGRESS_IMPORT * (i + 1)
+                    / (futures.size() + 1));
+        }
+        long parsed = System.currentTimeMillis();
+
+        Collection elements = Collections.emptyList();
+        try {
+            elements = module.buildModel(project, symbols, settings, monitor);
+        } catch (Exception e) {
+            problems.add(e);
+        }
+        long built = System.currentTimeMillis();
+
+        LOG.log(Level.INFO, "Parsed {0} files in {1} ms ({2} files/s), "
+                + "built the model in {3} ms",
+                new Object[] {files.size(), parsed - start,
+                    files.size() * 1000 / Math.max(1, parsed - start),
+                    built - parsed});
+        return elements;
+    }
+
+    /**
+     * Lay out the diagrams of the packages imported. Each diagram holds
+     * the figures of a single package, so the
+     * {@link ClassdiagramLayoutBatch} lays them out in parallel.
+     *
+     * @param diagrams the diagrams to lay out
+     * @param monitor the progress monitor, or null
+     * @param startingProgress the progress until now
+     */
+    void layoutDiagrams(List<ArgoDiagram> diagrams,
+            final ProgressMonitor monitor, final int startingProgress) {
+        final int total = startingProgress + diagrams.size() / 10;
+        ClassdiagramLayoutBatch.layoutAll(diagrams,
+                new ClassdiagramLayoutBatch.Listener() {
+                    public void laidOut(int done) {
+                        int act = startingProgress + done / 10;
+                        if (monitor != null && total > 0) {
+                            monitor.updateProgress(
+                                    ImportCommon.MAX_PROGRESS_PREPARE
+                                    + ImportCommon.MAX_PROGRESS_IMPORT
+                                    * act / total);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Stop the threads of the pipeline.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void cancel(List< ? extends Future< ? >> futures) {
+        for (Future< ? > future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.reveng;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+
+import org.argouml.kernel.Project;
+import org.argouml.taskmgmt.ProgressMonitor;
+
+/**
+ * An import module which parses its files in two stages, so that
+ * {@link ImportCommon} can parse many files in parallel.
+ * <p>
+ * First each file is parsed on its own into an intermediate result, a
+ * symbol table of what the file declares and refers to. This is done on
+ * several threads at once and must not touch the model. Then the results
+ * of all files are handed, in the order of the files, to a single thread
+ * which creates the model elements and resolves the references between
+ * them.
+ * <p>
+ * {@link #parseFiles(Project, Collection, ImportSettings, ProgressMonitor)}
+ * is not called for a module which implements this interface.
+ *
+ * @param <T> the type of the intermediate result of a file
+ */
+public interface StagedImportInterface<T> extends ImportInterface {
+
+    /**
+     * Parse a single file into an intermediate result. This is called on
+     * several threads at once and must neither read nor change the model.
+     *
+     * @param file the file to parse
+     * @param settings the common import settings
+     * @return the symbol table of the file, or null if it declares nothing
+     * @throws ImportException if the file can't be parsed
+     */
+    T parseFile(File file, ImportSettings settings) throws ImportException;
+
+    /**
+     * Create the model elements for the parsed files and resolve the
+     * references between them. This is called on a single thread.
+     *
+     * @param p the current project
+     * @param symbols the results of {@link #parseFile(File, ImportSettings)}
+     *            in the order of the files, without nulls
+     * @param settings the common import settings
+     * @param monitor the progress monitor, to be checked for cancel requests
+     * @return the model elements created
+     * @throws ImportException if the elements can't be created
+     */
+    Collection buildModel(Project p, List<T> symbols, ImportSettings settings,
+            ProgressMonitor monitor) throws ImportException;
+}
@@ -42,6 +42,7 @@ import java.awt.Component;
 import java.awt.KeyboardFocusManager;
 import java.awt.event.ActionEvent;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -151,6 +152,7 @@ public class ActionDeleteModelElements extends UndoableAction {
         /* This next line fixes issue 4276: */
         TargetManager.getInstance().setTarget(null);
         Object target = null;
+        List<Object> toBeRemoved = new ArrayList<Object>();
         for (int i = targets.length - 1; i >= 0; i--) {
             target = targets[i];
             try {
@@ -162,12 +164,28 @@ public class ActionDeleteModelElements extends UndoableAction {
                             target = owner;
                         }
                     }
-                    p.moveToTrash(target);
+                    toBeRemoved.add(target);
                 }
             } catch (InvalidElementException e) {
                 LOG.log(Level.FINE, "Model element deleted twice - ignoring 2nd delete");
             }
         }
+        // Remove them all together, so that a large selection is deleted
+        // from the model in one go
+        try {
+            p.moveToTrash(toBeRemoved);
+        } catch (InvalidElementException e) {
+            // Some element was already gone, so fall back to removing them
+            // one at a time, which skips just the ones that fail
+            for (Object element : toBeRemoved) {
+                try {
+                    p.moveToTrash(element);
+                } catch (InvalidElementException ex) {
+                    LOG.log(Level.FINE,
+                            "Model element deleted twice - ignoring 2nd delete");
+                }
+            }
+        }
     }
 
     /**
@@ -50,7 +50,7 @@ import org.argouml.uml.diagram.DiagramUtils;
 import org.argouml.uml.diagram.activity.layout.ActivityDiagramLayouter;
 import org.argouml.uml.diagram.activity.ui.UMLActivityDiagram;
 import org.argouml.uml.diagram.layout.Layouter;
-import org.argouml.uml.diagram.static_structure.layout.ClassdiagramLayouter;
+import org.argouml.uml.diagram.static_structure.layout.ClassdiagramLayoutBatch;
 import org.argouml.uml.diagram.static_structure.ui.UMLClassDiagram;
 
 /**
@@ -107,7 +107,7 @@ public class ActionLayout extends UndoableAction {
         ArgoDiagram diagram = DiagramUtils.getActiveDiagram();
         Layouter layouter;
         if (diagram instanceof UMLClassDiagram) {
-            layouter = new ClassdiagramLayouter(diagram);
+            layouter = ClassdiagramLayoutBatch.createLayouter(diagram);
         } else if (diagram instanceof UMLActivityDiagram) {
             layouter = 
                  new ActivityDiagramLayouter(diagram);
@@ -0,0 +1,153 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.ui;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+import org.argouml.model.InvalidElementException;
+
+/**
+ * Builds the list of elements of a combo box model in the background and
+ * hands it to the model on the AWT event thread, in the way of a
+ * SwingWorker. The lists of all models are built one at a time on a
+ * shared low priority thread.<p>
+ *
+ * A build which is cancelled, or replaced by another, is never handed
+ * over, even if it was already finished.
+ */
+public final class BackgroundListBuilder {
+
+    private static final Logger LOG =
+        Logger.getLogger(BackgroundListBuilder.class.getName());
+
+    private static final ExecutorService EXECUTOR =
+        Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "ArgoListBuilder");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+
+    /**
+     * What builds the list and is given it.
+     */
+    public interface Client {
+
+        /**
+         * Build the list. This is called on the background thread.
+         *
+         * @return the elements
+         */
+        List<Object> build();
+
+        /**
+         * Take the list. This is called on the AWT event thread.
+         *
+         * @param elements the elements
+         */
+        void built(List<Object> elements);
+    }
+
+    private final Client client;
+
+    /**
+     * The build in progress, or null. Guarded by this.
+     */
+    private Build current;
+
+    /**
+     * @param theClient what builds the list and is given it
+     */
+    public BackgroundListBuilder(Client theClient) {
+        client = theClient;
+    }
+
+    /**
+     * Start building the list, dropping the build in progress if any.
+     */
+    public synchronized void start() {
+        cancel();
+        current = new Build();
+        current.future = EXECUTOR.submit(current);
+    }
+
+    /**
+     * Drop the build in progress, if any.
+     */
+    public synchronized void cancel() {
+        if (current != null) {
+            current.future.cancel(true);
+            current = null;
+        }
+    }
+
+    /**
+     * @return true if a list is being built and hasn't been handed over
+     */
+    public synchronized boolean isRunning() {
+        return current != null;
+    }
+
+    /**
+     * Hand the list of a build over, unless the build was dropped.
+     */
+    private void finish(Build build, List<Object> elements) {
+        synchronized (this) {
+            if (current != build) {
+                return;
+            }
+            current = null;
+        }
+        client.built(elements);
+    }
+
+    /**
+     * One build of the list.
+     */
+    private class Build implements Runnable {
+
+        private Future<?> future;
+
+        public void run() {
+            final List<Object> elements;
+            long startTime = System.currentTimeMillis();
+            try {
+                elements = client.build();
+            } catch (InvalidElementException e) {
+                LOG.log(Level.WARNING, "buildModelList attempted to "
+                        + "operate on deleted element");
+                return;
+            }
+            LOG.log(Level.FINE, "buildModelList took {0} msec. for {1}",
+                    new Object[] {
+                        System.currentTimeMillis() - startTime,
+                        client.getClass().getName(),
+                    });
+            SwingUtilities.invokeLater(new Runnable() {
+                public void run() {
+                    finish(Build.this, elements);
+                }
+            });
+        }
+    }
+}
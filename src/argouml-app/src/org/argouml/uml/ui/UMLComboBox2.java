@@ -98,9 +98,21 @@ public class UMLComboBox2
         // setDoubleBuffered(true);
         setKeySelectionManager(this);
         setRenderer(new UMLListCellRenderer2(showIcon));
+        UMLListCellRenderer2.useFixedCellSize(this);
         addPopupMenuListener(model);
     }
 
+    /*
+     * @see javax.swing.JComboBox#updateUI()
+     */
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        if (getRenderer() instanceof UMLListCellRenderer2) {
+            UMLListCellRenderer2.useFixedCellSize(this);
+        }
+    }
+
     /*
      * @see java.awt.event.ActionListener#actionPerformed(ActionEvent)
      */
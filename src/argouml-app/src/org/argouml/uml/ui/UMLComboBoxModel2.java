@@ -42,8 +42,9 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,6 +66,7 @@ import org.argouml.model.UmlChangeEvent;
 import org.argouml.ui.targetmanager.TargetEvent;
 import org.argouml.ui.targetmanager.TargetListener;
 import org.argouml.uml.diagram.ArgoDiagram;
+import org.argouml.util.IndexedList;
 import org.tigris.gef.presentation.Fig;
 
 /**
@@ -97,10 +99,10 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
 
     /**
      * The list with objects that should be shown in the combobox.
-     * TODO: Using a list here forces a linear search when we're trying to add
-     * a new element to the model which can be very slow for large models.
+     * It is hashed, so that finding an element doesn't need a linear search
+     * through the thousands of elements of a large model.
      */
-    private List objects = new LinkedList();
+    private IndexedList<Object> objects = new IndexedList<Object>();
 
     /**
      * The selected object.
@@ -140,6 +142,40 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
 
     private boolean modelValid;
 
+    /**
+     * Builds the list in the background for a lazy model.
+     */
+    private final BackgroundListBuilder builder =
+        new BackgroundListBuilder(new BackgroundListBuilder.Client() {
+            public List<Object> build() {
+                List<Object> elements = new ArrayList<Object>();
+                backgroundElements.set(elements);
+                try {
+                    buildModelList();
+                } finally {
+                    backgroundElements.remove();
+                }
+                return elements;
+            }
+
+            public void built(List<Object> elements) {
+                backgroundBuildFinished(elements);
+            }
+        });
+
+    /**
+     * The combo whose popup is waiting for the list to be built.
+     */
+    private JComboBox combo;
+
+    /**
+     * On the thread building the list in the background, the elements
+     * that buildModelList has put in the list so far. Null on any other
+     * thread.
+     */
+    private final ThreadLocal<List<Object>> backgroundElements =
+        new ThreadLocal<List<Object>>();
+
 
     /**
      * Constructs a model for a combobox. The container given is used to
@@ -200,6 +236,10 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
      * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
      */
     public void modelChanged(UmlChangeEvent evt) {
+        if (builder.isRunning()) {
+            // The list being built may miss this change, so start again
+            builder.start();
+        }
         buildingModel = true;
         if (evt instanceof AttributeChangeEvent) {
             if (evt.getPropertyName().equals(propertySetName)) {
@@ -302,10 +342,19 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
      * @param elements the given elements
      */
     protected void setElements(Collection elements) {
+        List<Object> pending = backgroundElements.get();
+        if (pending != null && elements != null) {
+            pending.clear();
+            pending.addAll(elements);
+            return;
+        }
         if (elements != null) {
+            // The elements may be a sorted set or a list, neither of which
+            // we want to search for each of our objects
+            Set<Object> elementSet = new HashSet<Object>(elements);
             ArrayList toBeRemoved = new ArrayList();
             for (Object o : objects) {
-                if (!elements.contains(o)
+                if (!elementSet.contains(o)
                         && !(isClearable
                                 // Check against "" is needed for backward
                                 // compatibility.  Don't remove without
@@ -318,7 +367,7 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
             removeAll(toBeRemoved);
             addAll(elements);
 
-            if (isClearable && !elements.contains(CLEARED)) {
+            if (isClearable && !elementSet.contains(CLEARED)) {
                 addElement(CLEARED);
             }
             if (!objects.contains(selectedObject)) {
@@ -345,28 +394,55 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
      * @param col the elements to be removed
      */
     protected void removeAll(Collection col) {
+        Set<Object> toBeRemoved = new HashSet<Object>(col);
+        if (toBeRemoved.contains(selectedObject) && !isClearable) {
+            setSelectedItem(findSurvivor(toBeRemoved));
+        }
+        // Note the removed intervals before removing anything, so that
+        // they can be reported last to first with valid indices
+        List<int[]> intervals = new ArrayList<int[]>();
         int first = -1;
-        int last = -1;
-        fireListEvents = false;
-        for (Object o : col) {
-            int index = getIndexOf(o);
-            removeElement(o);
-            if (first == -1) { // start of interval
-                first = index;
-                last = index;
-            } else {
-                if (index  != last + 1) { // end of interval
-                    fireListEvents = true;
-                    fireIntervalRemoved(this, first, last);
-                    fireListEvents = false;
-                    first = index;
-                    last = index;
-                } else { // in middle of interval
-                    last++;
+        for (int i = 0; i < objects.size(); i++) {
+            if (toBeRemoved.contains(objects.get(i))) {
+                if (first == -1) {
+                    first = i;
                 }
+            } else if (first != -1) {
+                intervals.add(new int[] {first, i - 1});
+                first = -1;
             }
         }
-        fireListEvents = true;
+        if (first != -1) {
+            intervals.add(new int[] {first, objects.size() - 1});
+        }
+        objects.removeAll(toBeRemoved);
+        for (int i = intervals.size() - 1; i >= 0; i--) {
+            int[] interval = intervals.get(i);
+            fireIntervalRemoved(this, interval[0], interval[1]);
+        }
+    }
+
+    /**
+     * Find the element to select instead of the selected one, when that
+     * is removed along with others.  This is the nearest element before
+     * it that stays, or failing that the nearest after it.
+     *
+     * @param toBeRemoved the elements about to be removed
+     * @return the element to select, or null if none stays
+     */
+    private Object findSurvivor(Set<Object> toBeRemoved) {
+        int index = objects.indexOf(selectedObject);
+        for (int i = index - 1; i >= 0; i--) {
+            if (!toBeRemoved.contains(objects.get(i))) {
+                return objects.get(i);
+            }
+        }
+        for (int i = index + 1; i < objects.size(); i++) {
+            if (!toBeRemoved.contains(objects.get(i))) {
+                return objects.get(i);
+            }
+        }
+        return null;
     }
 
     /**
@@ -375,6 +451,11 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
      * @param col the elements to be addd
      */
     protected void addAll(Collection col) {
+        List<Object> pending = backgroundElements.get();
+        if (pending != null) {
+            pending.addAll(col);
+            return;
+        }
         Object selected = getSelectedItem();
         fireListEvents = false;
         int oldSize = objects.size();
@@ -423,6 +504,7 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
             return;
         }
         modelValid = false;
+        builder.cancel();
 
         LOG.log(Level.FINE, "setTarget target: {0}", theNewTarget);
 
@@ -569,7 +651,11 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
      * @param o the element to be added
      */
     public void addElement(Object o) {
-        // TODO: For large lists, this is doing a linear search of literally thousands of elements
+        List<Object> pending = backgroundElements.get();
+        if (pending != null) {
+            pending.add(o);
+            return;
+        }
         if (!objects.contains(o)) {
             objects.add(o);
             fireIntervalAdded(this, objects.size() - 1, objects.size() - 1);
@@ -613,6 +699,11 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
      * Remove all elements.
      */
     public void removeAllElements() {
+        List<Object> pending = backgroundElements.get();
+        if (pending != null) {
+            pending.clear();
+            return;
+        }
         int startIndex = 0;
         int endIndex = Math.max(0, objects.size() - 1);
         objects.clear();
@@ -811,6 +902,7 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
     protected void setModelInvalid() {
         assert isLazy(); // catch callers attempting to use one without other
         modelValid = false;
+        builder.cancel();
     }
 
     public void popupMenuCanceled(PopupMenuEvent e) {
@@ -821,16 +913,29 @@ public abstract class UMLComboBoxModel2 extends AbstractListModel
 
     public void popupMenuWillBecomeVisible(PopupMenuEvent ev) {
         if (isLazy() && !modelValid && !processingWillBecomeVisible) {
-            buildModelListTimed();
-            modelValid = true;
-            // We should be able to just do the above, but Swing has already
-            // computed the size of the popup menu.  The rest of this is
-            // a workaround for Swing bug
-            // http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4743225
-            JComboBox list = (JComboBox) ev.getSource();
+            combo = (JComboBox) ev.getSource();
+            if (!builder.isRunning()) {
+                builder.start();
+            }
+        }
+    }
+
+    private void backgroundBuildFinished(List<Object> elements) {
+        try {
+            setElements(elements);
+        } catch (InvalidElementException e) {
+            LOG.log(Level.WARNING, "buildModelList attempted to operate on "
+                    + "deleted element");
+            return;
+        }
+        modelValid = true;
+        if (combo != null && combo.isPopupVisible()) {
+            // Swing has already computed the size of the popup menu,
+            // so show it again to fit the new list
             processingWillBecomeVisible = true;
             try {
-                list.getUI().setPopupVisible( list, true );
+                combo.hidePopup();
+                combo.showPopup();
             } finally {
                 processingWillBecomeVisible = false;
             }
@@ -43,10 +43,13 @@ import java.awt.Component;
 import java.util.Iterator;
 import java.util.List;
 
+import javax.accessibility.Accessible;
 import javax.swing.DefaultListCellRenderer;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.UIManager;
+import javax.swing.plaf.basic.ComboPopup;
 
 import org.argouml.application.helpers.ResourceLoaderWrapper;
 import org.argouml.i18n.Translator;
@@ -64,6 +67,18 @@ import org.argouml.model.Model;
  */
 public class UMLListCellRenderer2 extends DefaultListCellRenderer {
 
+    /**
+     * The text whose size is taken for every cell of a combo using
+     * {@link #useFixedCellSize(JComboBox)}.
+     */
+    private static final String PROTOTYPE_TEXT =
+        "XXXXXXXXXXXXXXXXXXXXXXXXX";
+
+    /**
+     * The least height of a cell, so that there is room for an icon.
+     */
+    private static final int MIN_CELL_HEIGHT = 18;
+
     /**
      * True if the icon for the modelelement should be shown. The icon is, for
      * instance, a small class symbol for a class.
@@ -156,6 +171,28 @@ public class UMLListCellRenderer2 extends DefaultListCellRenderer {
         return this;
     }
 
+    /**
+     * Give all cells of a combo and of its popup list the same size, so that
+     * Swing doesn't render every element of the list to find the size of
+     * the combo or to lay out the popup.  Only the cells scrolled into view
+     * are then rendered, which keeps a popup of thousands of elements
+     * quick to open.  This must be called again when the UI of the combo
+     * changes, since that replaces the popup.
+     *
+     * @param combo a combo using this renderer
+     */
+    public static void useFixedCellSize(JComboBox combo) {
+        combo.setPrototypeDisplayValue(PROTOTYPE_TEXT);
+        Accessible popup = combo.getUI().getAccessibleChild(combo, 0);
+        if (popup instanceof ComboPopup) {
+            JList list = ((ComboPopup) popup).getList();
+            list.setPrototypeCellValue(PROTOTYPE_TEXT);
+            if (list.getFixedCellHeight() < MIN_CELL_HEIGHT) {
+                list.setFixedCellHeight(MIN_CELL_HEIGHT);
+            }
+        }
+    }
+
     /**
      * Makes the text that must be placed on the label that is returned.
      * If there is no name for the given modelelement, then
@@ -0,0 +1,212 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An ordered list without duplicates which finds its elements through a
+ * hash table, so that <code>contains</code> and <code>indexOf</code> take
+ * constant time however long the list is. Null is allowed as an element.
+ * <p>
+ * Removing or inserting an element anywhere but at the end shifts the
+ * elements after it, and the next <code>indexOf</code> recomputes all the
+ * positions, so a run of single removals takes quadratic time. Use
+ * <code>removeAll</code> or <code>retainAll</code>, which remove any number
+ * of elements in a single pass.
+ * <p>
+ * This class is not synchronized.
+ *
+ * @param <T> the type of the elements
+ */
+public class IndexedList<T> extends AbstractList<T> {
+
+    private final List<T> elements;
+
+    private final Map<Object, Integer> positions;
+
+    /**
+     * True if the positions in the map may be out of date.
+     */
+    private boolean positionsStale;
+
+    /**
+     * Create an empty list.
+     */
+    public IndexedList() {
+        elements = new ArrayList<T>();
+        positions = new HashMap<Object, Integer>();
+    }
+
+    /**
+     * Create a list holding the given elements, in order, without
+     * duplicates.
+     *
+     * @param col the elements
+     */
+    public IndexedList(Collection< ? extends T> col) {
+        elements = new ArrayList<T>(col.size());
+        positions = new HashMap<Object, Integer>(col.size() * 2);
+        addAll(col);
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return positions.containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!positions.containsKey(o)) {
+            return -1;
+        }
+        if (positionsStale) {
+            int i = 0;
+            for (T element : elements) {
+                positions.put(element, i++);
+            }
+            positionsStale = false;
+        }
+        return positions.get(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Append an element, unless the list already holds it.
+     *
+     * @param o the element
+     * @return true if the element was added
+     */
+    @Override
+    public boolean add(T o) {
+        if (positions.containsKey(o)) {
+            return false;
+        }
+        positions.put(o, elements.size());
+        elements.add(o);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Insert an element, unless the list already holds it.
+     *
+     * @param index the position to insert at
+     * @param o the element
+     */
+    @Override
+    public void add(int index, T o) {
+        if (positions.containsKey(o)) {
+            return;
+        }
+        elements.add(index, o);
+        positions.put(o, index);
+        positionsStale = true;
+        modCount++;
+    }
+
+    @Override
+    public T set(int index, T o) {
+        T old = elements.get(index);
+        if (old == o || (old != null && old.equals(o))) {
+            return old;
+        }
+        if (positions.containsKey(o)) {
+            throw new IllegalArgumentException("Element already in list: "
+                    + o);
+        }
+        elements.set(index, o);
+        positions.remove(old);
+        positions.put(o, index);
+        return old;
+    }
+
+    @Override
+    public T remove(int index) {
+        T old = elements.remove(index);
+        positions.remove(old);
+        if (index != elements.size()) {
+            positionsStale = true;
+        }
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection< ? > col) {
+        return retain(new HashSet<Object>(col), false);
+    }
+
+    @Override
+    public boolean retainAll(Collection< ? > col) {
+        return retain(new HashSet<Object>(col), true);
+    }
+
+    private boolean retain(Set<Object> set, boolean keepMembers) {
+        List<T> kept = new ArrayList<T>(elements.size());
+        for (T element : elements) {
+            if (set.contains(element) == keepMembers) {
+                kept.add(element);
+            } else {
+                positions.remove(element);
+            }
+        }
+        if (kept.size() == elements.size()) {
+            return false;
+        }
+        elements.clear();
+        elements.addAll(kept);
+        positionsStale = true;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        positions.clear();
+        positionsStale = false;
+        modCount++;
+    }
+}
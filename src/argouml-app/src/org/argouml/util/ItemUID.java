@@ -40,10 +40,14 @@ package org.argouml.util;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.argouml.model.Model;
+import org.argouml.model.UUIDManager;
 
 /**
  * An instance of this class is supposed to be attached to an instance
@@ -95,7 +99,38 @@ public class ItemUID {
     /**
      * Keeps a reference to the Class object of this class.
      */
-    private static final Class MYCLASS = (new ItemUID()).getClass();
+    private static final Class MYCLASS = ItemUID.class;
+
+    /**
+     * Stands for a class without the method asked for in the accessor
+     * caches, since they can't hold null.
+     */
+    private static final Method NO_METHOD;
+
+    static {
+        try {
+            NO_METHOD = Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Returned by {@link #invoke(Method, Object, Object[])} when the call
+     * failed.
+     */
+    private static final Object FAILED = new Object();
+
+    /**
+     * The getItemUID, getUUID and setItemUID methods of each class of
+     * tagged object which is not an {@link IItemUID}.
+     */
+    private static final Map<Class, Method> GETTERS =
+        new ConcurrentHashMap<Class, Method>();
+    private static final Map<Class, Method> UUID_GETTERS =
+        new ConcurrentHashMap<Class, Method>();
+    private static final Map<Class, Method> SETTERS =
+        new ConcurrentHashMap<Class, Method>();
 
     /**
      * This actual ID of this instance.
@@ -136,12 +171,12 @@ public class ItemUID {
      * Generates a new unique ID and returns it as a String. The contents
      * of the String is supposed to be unique with respect to all Strings
      * generated by other instances of this class.
-     * TODO: We should consider using java.util.UUID for this instead.
+     * The IDs have the format of {@link java.rmi.server.UID#toString()}.
      *
      * @return	A String with unique content.
      */
     public static String generateID() {
-	return (new java.rmi.server.UID()).toString();
+	return UUIDManager.getInstance().getNewUID();
     }
 
     /**
@@ -164,9 +199,11 @@ public class ItemUID {
     }
 
     /**
-     * Tries to read the ID of the object. It uses the reflective
-     * properties of java to access a method named getItemUID of the
-     * object which is expected to return an ItemUID.
+     * Tries to read the ID of the object. Objects which are not model
+     * elements and do not implement {@link IItemUID} are asked through a
+     * method named getItemUID, which is expected to return an ItemUID, or
+     * else a method named getUUID. The method to use is looked up once for
+     * each class.
      *
      * @param obj The object whose ID to read.
      * @return	The ID of the object, or null.
@@ -180,142 +217,127 @@ public class ItemUID {
             final ItemUID itemUid = ((IItemUID) obj).getItemUID();
             return (itemUid == null ? null : itemUid.toString());
         }
-	Object rv;
-	try {
-	    // TODO: We shouldn't need this reflection any more once we have
-	    // convinced ourselves that everything with a getItemUID method
-	    // is implementing IItemUID
-	    Method m = obj.getClass().getMethod("getItemUID", (Class[]) null);
-	    rv = m.invoke(obj, (Object[]) null);
-	} catch (NoSuchMethodException nsme) {
-	    // Apparently this object had no getItemUID
-	    try {
-                // This is needed for a CommentEdge ...
-                // TODO: Why doesn't CommentEdge implement IItemUID and be
-	        // handled with the mechanism above.
-	        Method m = obj.getClass().getMethod("getUUID", (Class[]) null);
-	        rv = m.invoke(obj, (Object[]) null);
-                return (String) rv;
-	    } catch (NoSuchMethodException nsme2) {
-	        // Apparently this object had no getUUID
-	        return null;
-	    } catch (IllegalArgumentException iare) {
-                LOG.log(Level.SEVERE, "getUUID for " + obj.getClass()
-	                + " takes strange parameter: ",
-	                iare);
-	        return null;
-	    } catch (IllegalAccessException iace) {
-	        // Apparently it had a getItemUID,
-	        // but we're not allowed to call it
-	        return null;
-	    } catch (InvocationTargetException tie) {
-                LOG.log(Level.SEVERE,
-                        "getUUID for " + obj.getClass() + " threw: ",
-	                tie);
-	        return null;
-	    }
-	} catch (SecurityException se) {
-	    // Apparently it had a getItemUID,
-	    // but we're not allowed to call it
-	    return null;
-	} catch (InvocationTargetException tie) {
-            LOG.log(Level.SEVERE,
-                    "getItemUID for " + obj.getClass() + " threw: ",
-                    tie);
-	    return null;
-	} catch (IllegalAccessException iace) {
-	    // Apparently it had a getItemUID,
-	    // but we're not allowed to call it
-	    return null;
-	} catch (IllegalArgumentException iare) {
-            LOG.log(Level.SEVERE,
-                    "getItemUID for " + obj.getClass()
-                    + " takes strange parameter: ",
-                    iare);
-	    return null;
-	} catch (ExceptionInInitializerError eiie) {
-            LOG.log(Level.SEVERE,
-                    "getItemUID for " + obj.getClass()
-                    + " exception: ",
-                    eiie);
-	    return null;
-	}
 
-	if (rv == null) {
-	    return null;
-	}
-
-	if (!(rv instanceof ItemUID)) {
+        // TODO: We shouldn't need this reflection any more once we have
+        // convinced ourselves that everything with a getItemUID method
+        // is implementing IItemUID. A CommentEdge only has a getUUID.
+        Method m = getAccessor(GETTERS, obj.getClass(), "getItemUID");
+        boolean isItemUID = true;
+        if (m == null) {
+            m = getAccessor(UUID_GETTERS, obj.getClass(), "getUUID");
+            isItemUID = false;
+        }
+        if (m == null) {
+            return null;
+        }
+        Object rv = invoke(m, obj);
+        if (rv == null) {
+            return null;
+        }
+        if (!isItemUID) {
+            return rv.toString();
+        }
+        if (!(rv instanceof ItemUID)) {
             LOG.log(Level.SEVERE,
                     "getItemUID for " + obj.getClass()
                     + " returns strange value: " + rv.getClass());
-	    return null;
-	}
-
-	return rv.toString();
+            return null;
+        }
+        return rv.toString();
     }
 
     /**
-     * Tries to create a new ID for the object. It uses the reflective
-     * properties of java to access a method named setItemUID(ItemUID).
-     * If that method exist and doesn't throw when called, then the call
-     * is assumed to have been successful and the object is responsible
+     * Tries to create a new ID for the object. Objects which are not model
+     * elements and do not implement {@link IItemUID} are given the ID
+     * through a method named setItemUID(ItemUID), looked up once for each
+     * class. If that method exist and doesn't throw when called, then the
+     * call is assumed to have been successful and the object is responsible
      * for remembering the ID.
      *
      * @param obj The object to assign a new ID.
      * @return	The new ID of the object, or null.
      */
     protected static String createObjectID(Object obj) {
-	if (Model.getFacade().isAUMLElement(obj)) {
-	    return null;
-	}
+        if (Model.getFacade().isAUMLElement(obj)) {
+            return null;
+        }
 
-	if (obj instanceof IItemUID) {
-	    ItemUID uid = new ItemUID();
-	    ((IItemUID) obj).setItemUID(uid);
-	    return uid.toString();
-	}
+        ItemUID uid = new ItemUID();
+        if (obj instanceof IItemUID) {
+            ((IItemUID) obj).setItemUID(uid);
+            return uid.toString();
+        }
+
+        // TODO: We shouldn't need this reflection any more once we have
+        // convinced ourselves that everything with a setItemUID method
+        // is implementing IItemUID
+        Method m = getAccessor(SETTERS, obj.getClass(), "setItemUID");
+        if (m == null || invoke(m, obj, uid) == FAILED) {
+            return null;
+        }
+        return uid.toString();
+    }
 
-	Class[] params = new Class[1];
-	Object[] mparam;
-	params[0] = MYCLASS;
-	try {
-            // TODO: We shouldn't need this reflection any more once we have
-            // convinced ourselves that everything with a setItemUID method
-            // is implementing IItemUID
-	    Method m = obj.getClass().getMethod("setItemUID", params);
-	    mparam = new Object[1];
-	    mparam[0] = new ItemUID();
-	    m.invoke(obj, mparam);
-	} catch (NoSuchMethodException nsme) {
-	    // Apparently this object had no setItemUID
-	    return null;
-	} catch (SecurityException se) {
-	    // Apparently it had a setItemUID,
-	    // but we're not allowed to call it
-	    return null;
-	} catch (InvocationTargetException tie) {
+    /**
+     * Find the public method of a class with the given name which takes
+     * no parameter, or for setItemUID an ItemUID. The answer is
+     * remembered for the class, including when there is no such method.
+     *
+     * @param cache the methods found so far for the name
+     * @param cls the class of the tagged object
+     * @param name the name of the method
+     * @return the method, or null if the class has none
+     */
+    private static Method getAccessor(Map<Class, Method> cache, Class cls,
+            String name) {
+        Method m = cache.get(cls);
+        if (m == null) {
+            m = NO_METHOD;
+            Class[] params =
+                cache == SETTERS ? new Class[] {MYCLASS} : new Class[0];
+            try {
+                for (Method candidate : cls.getMethods()) {
+                    if (candidate.getName().equals(name)
+                            && Arrays.equals(candidate.getParameterTypes(),
+                                    params)) {
+                        m = candidate;
+                        break;
+                    }
+                }
+            } catch (SecurityException se) {
+                // Apparently we're not allowed to look, treat as not there
+            }
+            cache.put(cls, m);
+        }
+        return m == NO_METHOD ? null : m;
+    }
+
+    /**
+     * Call an accessor found by {@link #getAccessor(Map, Class, String)}.
+     *
+     * @param m the method
+     * @param obj the tagged object
+     * @param args the arguments
+     * @return what the method returns, or {@link #FAILED} if it could not
+     *         be called or threw
+     */
+    private static Object invoke(Method m, Object obj, Object... args) {
+        try {
+            return m.invoke(obj, args);
+        } catch (IllegalAccessException iace) {
+            // Apparently it had the method,
+            // but we're not allowed to call it
+            return FAILED;
+        } catch (InvocationTargetException tie) {
             LOG.log(Level.SEVERE,
-                    "setItemUID for " + obj.getClass() + " threw",
+                    m.getName() + " for " + obj.getClass() + " threw: ",
                     tie);
-	    return null;
-	} catch (IllegalAccessException iace) {
-	    // Apparently it had a setItemUID,
-	    // but we're not allowed to call it
-	    return null;
-	} catch (IllegalArgumentException iare) {
-            LOG.log(Level.SEVERE,
-                    "setItemUID for " + obj.getClass()
-                    + " takes strange parameter",
-                    iare);
-	    return null;
-	} catch (ExceptionInInitializerError eiie) {
+            return FAILED;
+        } catch (ExceptionInInitializerError eiie) {
             LOG.log(Level.SEVERE,
-                    "setItemUID for " + obj.getClass() + " threw",
+                    m.getName() + " for " + obj.getClass() + " exception: ",
                     eiie);
-	    return null;
-	}
-
-	return mparam[0].toString();
+            return FAILED;
+        }
     }
 }
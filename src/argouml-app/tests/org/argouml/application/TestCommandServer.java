@@ -0,0 +1,220 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.application;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.argouml.kernel.Project;
+
+/**
+ * Tests for the {@link CommandServer}, with the loading of the projects and
+ * the running of the commands replaced.
+ */
+public class TestCommandServer extends TestCase {
+
+    /**
+     * A server which loads nothing, and runs a command by printing it. A
+     * command <code>fail</code> fails, and a project file whose name
+     * starts with <code>missing</code> isn't loaded. It records whether
+     * two jobs ever ran at once.
+     */
+    private static class RecordingServer extends CommandServer {
+
+        private final List<String> commands =
+            Collections.synchronizedList(new ArrayList<String>());
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private volatile boolean overlapped;
+
+        RecordingServer() {
+            super(-1);
+        }
+
+        /**
+         * Count a job as running from the making of its project until its
+         * commands are done.
+         */
+        private void begin() throws InterruptedException {
+            if (running.incrementAndGet() > 1) {
+                overlapped = true;
+            }
+            Thread.sleep(5);
+        }
+
+        @Override
+        Project makeEmptyProject() {
+            try {
+                begin();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return makeProject();
+        }
+
+        @Override
+        Project loadProject(File file, PrintStream out) throws Exception {
+            begin();
+            if (file.getName().startsWith("missing")) {
+                running.decrementAndGet();
+                out.println("The project was not loaded: " + file);
+                return null;
+            }
+            return makeProject();
+        }
+
+        @Override
+        boolean runCommands(Project project, List<String> lines,
+                PrintStream out) {
+            running.decrementAndGet();
+            boolean ok = true;
+            for (String command : lines) {
+                commands.add(command);
+                out.println("ran " + command);
+                if (command.equals("fail")) {
+                    ok = false;
+                }
+            }
+            return ok;
+        }
+    }
+
+    private static Project makeProject() {
+        return (Project) Proxy.newProxyInstance(
+                Project.class.getClassLoader(),
+                new Class<?>[] {Project.class},
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method,
+                            Object[] args) {
+                        return null;
+                    }
+                });
+    }
+
+    private static List<String> handle(CommandServer server, String input)
+        throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        server.handle(new ByteArrayInputStream(input.getBytes("UTF-8")),
+                out);
+        String output = out.toString("UTF-8");
+        return Arrays.asList(output.split("\r?\n"));
+    }
+
+    /**
+     * The jobs are ended by empty lines or by the end of the input, the
+     * comments are left out, and the output of each job is given with its
+     * number and followed by its result.
+     */
+    public void testFraming() throws Exception {
+        RecordingServer server = new RecordingServer();
+        List<String> output = handle(server, "# a comment\n"
+                + "a\n"
+                + "b\n"
+                + "\n"
+                + "\n"
+                + "fail\n"
+                + "\n"
+                + "project=missing.zargo\n"
+                + "c\n"
+                + "\n"
+                + "d");
+        assertEquals(Arrays.asList("a", "b", "fail", "d"), server.commands);
+        String missing = new File("missing.zargo").getCanonicalPath();
+        assertEquals(Arrays.asList(
+                "1 ran a",
+                "1 ran b",
+                "1 OK",
+                "2 ran fail",
+                "2 FAILED",
+                "3 The project was not loaded: " + missing,
+                "3 FAILED",
+                "4 ran d",
+                "4 OK"), output);
+    }
+
+    /**
+     * A line <code>quit</code> ends the input of a connection, but the
+     * daemon takes other connections.
+     */
+    public void testQuit() throws Exception {
+        RecordingServer server = new RecordingServer();
+        List<String> output = handle(server, "a\nquit\nb\n");
+        assertEquals(Arrays.asList("1 ran a", "1 OK"), output);
+        output = handle(server, "c\n");
+        assertEquals(Arrays.asList("2 ran c", "2 OK"), output);
+        assertEquals(Arrays.asList("a", "c"), server.commands);
+    }
+
+    /**
+     * A line <code>shutdown</code> runs the jobs taken so far, and the jobs
+     * of other connections are failed after it.
+     */
+    public void testShutdown() throws Exception {
+        RecordingServer server = new RecordingServer();
+        List<String> output = handle(server, "a\nshutdown\nb\n");
+        assertEquals(Arrays.asList("1 ran a", "1 OK"), output);
+        output = handle(server, "c\n");
+        assertEquals(Arrays.asList("2 The daemon is shut down", "2 FAILED"),
+                output);
+        assertEquals(Arrays.asList("a"), server.commands);
+    }
+
+    /**
+     * The jobs of several connections never run at the same time.
+     */
+    public void testOneJobAtATime() throws Exception {
+        final RecordingServer server = new RecordingServer();
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            input.append("project=same.zargo\n");
+            input.append("a\n\n");
+            input.append("b\n\n");
+        }
+        final List<Throwable> errors =
+            Collections.synchronizedList(new ArrayList<Throwable>());
+        Thread[] connections = new Thread[2];
+        for (int i = 0; i < connections.length; i++) {
+            connections[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        handle(server, input.toString());
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }
+            };
+            connections[i].start();
+        }
+        for (Thread connection : connections) {
+            connection.join();
+        }
+        assertTrue(errors.isEmpty());
+        assertFalse(server.overlapped);
+        assertEquals(32, server.commands.size());
+    }
+}
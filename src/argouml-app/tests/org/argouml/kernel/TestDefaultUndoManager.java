@@ -0,0 +1,150 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.kernel;
+
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.argouml.application.events.ArgoEventPump;
+import org.argouml.application.events.ArgoEventTypes;
+import org.argouml.application.events.ArgoStatusEvent;
+import org.argouml.application.events.ArgoStatusEventListener;
+
+/**
+ * Tests for the budget of the DefaultUndoManager class.
+ */
+public class TestDefaultUndoManager extends TestCase {
+
+    private DefaultUndoManager manager;
+
+    private int undone;
+
+    private List<String> messages = new ArrayList<String>();
+
+    private ArgoStatusEventListener statusListener =
+        new ArgoStatusEventListener() {
+            public void statusText(ArgoStatusEvent e) {
+                if (e.getSource() == manager) {
+                    messages.add(e.getText());
+                }
+            }
+
+            public void statusCleared(ArgoStatusEvent e) {
+            }
+
+            public void projectSaved(ArgoStatusEvent e) {
+            }
+
+            public void projectLoaded(ArgoStatusEvent e) {
+            }
+
+            public void projectModified(ArgoStatusEvent e) {
+            }
+        };
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        manager = new DefaultUndoManager(null);
+        manager.setUndoMax(100);
+        undone = 0;
+        messages.clear();
+        ArgoEventPump.addListener(ArgoEventTypes.ANY_STATUS_EVENT,
+                statusListener);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        ArgoEventPump.removeListener(ArgoEventTypes.ANY_STATUS_EVENT,
+                statusListener);
+        super.tearDown();
+    }
+
+    /**
+     * Test that the oldest interactions are dropped to keep within the
+     * budget, and that the user is told.
+     */
+    public void testOldestDropped() {
+        manager.setUndoBudget(1000);
+        for (int i = 0; i < 10; i++) {
+            manager.startInteraction("step " + i);
+            manager.execute(new CountingCommand());
+            manager.execute(new CountingCommand());
+        }
+        assertEquals(1000, manager.getMemorySize());
+        assertFalse(messages.isEmpty());
+        for (int i = 0; i < 5; i++) {
+            manager.undo();
+        }
+        assertEquals(10, undone);
+        try {
+            manager.undo();
+            fail("More interactions kept than fit in the budget");
+        } catch (EmptyStackException e) {
+            // The older interactions were dropped
+        }
+    }
+
+    /**
+     * Test that nothing is dropped, and the user isn't bothered, within
+     * the budget.
+     */
+    public void testWithinBudget() {
+        manager.setUndoBudget(1000);
+        for (int i = 0; i < 5; i++) {
+            manager.startInteraction("step " + i);
+            manager.execute(new CountingCommand());
+        }
+        assertEquals(500, manager.getMemorySize());
+        assertTrue(messages.isEmpty());
+    }
+
+    /**
+     * Test that an interaction over the budget on its own can't be undone,
+     * keeps no commands, and that the user is told.
+     */
+    public void testInteractionOverBudget() {
+        manager.setUndoBudget(1000);
+        manager.startInteraction("small");
+        manager.execute(new CountingCommand());
+        manager.startInteraction("big");
+        for (int i = 0; i < 20; i++) {
+            manager.execute(new CountingCommand());
+        }
+        assertEquals(0, manager.getMemorySize());
+        // Once for the small interaction, once for the big one
+        assertEquals(2, messages.size());
+        assertTrue(messages.get(1).indexOf("big") >= 0);
+        manager.undo();
+        assertEquals(0, undone);
+    }
+
+    private class CountingCommand extends AbstractCommand {
+
+        @Override
+        public int getMemorySize() {
+            return 100;
+        }
+
+        public Object execute() {
+            return null;
+        }
+
+        public void undo() {
+            ++undone;
+        }
+    }
+}
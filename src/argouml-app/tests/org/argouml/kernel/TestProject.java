@@ -41,7 +41,10 @@ package org.argouml.kernel;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import junit.framework.TestCase;
 
@@ -525,6 +528,36 @@ public class TestProject extends TestCase {
         assertEquals(sizeMembers, p.getMembers().size());
     }
 
+    /**
+     * Test moving several elements to the trash together: an element which
+     * is already removed is skipped, and each of the others still goes
+     * through {@link ProjectImpl#trashInternal(Object)}.
+     */
+    public void testMoveCollectionToTrash() {
+        final List<Object> trashed = new ArrayList<Object>();
+        Project p = new ProjectImpl() {
+            @Override
+            protected void trashInternal(Object obj) {
+                trashed.add(obj);
+                super.trashInternal(obj);
+            }
+        };
+        Object aClass = Model.getCoreFactory().buildClass("A");
+        Object bClass = Model.getCoreFactory().buildClass("B");
+        Object removedClass = Model.getCoreFactory().buildClass("C");
+        Model.getUmlFactory().delete(removedClass);
+
+        p.moveToTrash(Arrays.asList(aClass, removedClass, bClass));
+        Model.getPump().flushModelEvents();
+
+        assertEquals(Arrays.asList(aClass, bClass), trashed);
+        assertTrue(Model.getUmlFactory().isRemoved(aClass));
+        assertTrue(Model.getUmlFactory().isRemoved(bClass));
+        assertTrue(p.isInTrash(aClass));
+        assertFalse(p.isInTrash(removedClass));
+        p.remove();
+    }
+
     /**
      * Check that there is only one searchPath. 
      * See issue 1671.
@@ -677,6 +677,21 @@ class MockModelImplementation implements ModelImplementation {
         return (CopyHelper) controlCopyHelper.getMock();
     }
 
+    /*
+     * @see org.argouml.model.ModelImplementation#createReadSession(long)
+     */
+    public ReadSession createReadSession(long maxHoldMillis) {
+        return new AbstractReadSession(maxHoldMillis) {
+            @Override
+            protected void acquire() {
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+
     public XmiWriter getXmiWriter(Object model, OutputStream stream,
             String version) throws UmlException {
         throw new NotImplementedException();
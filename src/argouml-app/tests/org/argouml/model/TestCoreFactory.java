@@ -186,6 +186,32 @@ public class TestCoreFactory extends TestCase {
                 Model.getUmlFactory().isRemoved(assoc));
     }
 
+    /**
+     * Test that deleting several classifiers together also deletes what
+     * depends on them, and leaves the rest.
+     */
+    public void testDeleteAll() {
+        Object model = Model.getModelManagementFactory().createModel();
+        Object class1 = Model.getCoreFactory().buildClass(model);
+        Object class2 = Model.getCoreFactory().buildClass(model);
+        Object class3 = Model.getCoreFactory().buildClass(model);
+        Object assoc = Model.getCoreFactory().buildAssociation(class1, class3);
+        Object dep = Model.getCoreFactory().buildDependency(class3, class2);
+        Model.getUmlFactory().deleteAll(Arrays.asList(class1, class2));
+        Model.getPump().flushModelEvents();
+
+        assertTrue("class not removed",
+                Model.getUmlFactory().isRemoved(class1));
+        assertTrue("class not removed",
+                Model.getUmlFactory().isRemoved(class2));
+        assertTrue("binary association not removed",
+                Model.getUmlFactory().isRemoved(assoc));
+        assertTrue("invalid dependency not removed",
+                Model.getUmlFactory().isRemoved(dep));
+        assertFalse("remaining class removed",
+                Model.getUmlFactory().isRemoved(class3));
+    }
+
     /**
      * Test if deleting a classifier from a 3 way
      * association results in a binary association
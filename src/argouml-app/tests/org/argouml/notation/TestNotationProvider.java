@@ -38,6 +38,9 @@
 
 package org.argouml.notation;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
 import junit.framework.TestCase;
 
 import org.argouml.model.InitializeModel;
@@ -126,6 +129,78 @@ public class TestNotationProvider extends TestCase
         np.updateListener(aClass, null);
     }
 
+    /**
+     * Test that a rendering is reused until the element changes.
+     */
+    public void testRenderCache() {
+        Object model =
+            Model.getModelManagementFactory().createModel();
+        aClass = Model.getCoreFactory().buildClass("ClassB1", model);
+        NotationSettings settings = new NotationSettings();
+
+        CountingNPImpl np = new CountingNPImpl();
+        np.setRenderer(this);
+        np.initialiseListener(aClass);
+
+        assertEquals("ClassB1", np.render(aClass, settings));
+        assertEquals("ClassB1", np.render(aClass, settings));
+        assertEquals("Rendering not reused", 1, np.count);
+
+        Model.getCoreHelper().setName(aClass, "ClassB2");
+        Model.getPump().flushModelEvents();
+        assertEquals("ClassB2", np.render(aClass, settings));
+
+        np.cleanListener();
+        NotationRenderingCache.getInstance().clear();
+        np.count = 0;
+        np.render(aClass, settings);
+        np.render(aClass, settings);
+        assertEquals("Rendering reused without listening", 2, np.count);
+    }
+
+    /**
+     * Test that a rendering is only dropped by a change of what it depends
+     * on, also while it is being rendered.
+     */
+    public void testRenderCacheInvalidation() {
+        NotationRenderingCache cache = NotationRenderingCache.getInstance();
+        Object element = new Object();
+        Object dependency = new Object();
+        Object other = new Object();
+        Collection<Object> listened = new ArrayList<Object>();
+        listened.add(element);
+        listened.add(dependency);
+
+        long start = cache.beginRendering();
+        cache.invalidate(other);
+        cache.endRendering(element, NPImpl.class, "", "text", listened,
+                start);
+        assertEquals("text", cache.lookup(element, NPImpl.class, ""));
+        assertNull(cache.lookup(element, NPImpl.class, "other settings"));
+
+        cache.invalidate(other);
+        assertEquals("text", cache.lookup(element, NPImpl.class, ""));
+        cache.invalidate(dependency);
+        assertNull(cache.lookup(element, NPImpl.class, ""));
+
+        start = cache.beginRendering();
+        cache.invalidate(dependency);
+        cache.endRendering(element, NPImpl.class, "", "stale", listened,
+                start);
+        assertNull("Stored a rendering made while a dependency changed",
+                cache.lookup(element, NPImpl.class, ""));
+    }
+
+    private class CountingNPImpl extends NPImpl {
+        private int count;
+
+        @Override
+        public String toString(Object modelElement, NotationSettings settings) {
+            ++count;
+            return Model.getFacade().getName(modelElement);
+        }
+    }
+
     public void notationRenderingChanged(NotationProvider np, 
             String rendering) {
         propChanged = true;
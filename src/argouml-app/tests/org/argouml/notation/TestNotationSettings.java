@@ -208,5 +208,25 @@ public class TestNotationSettings extends TestCase {
                 settings.isUseGuillemets());
     }
 
+    /**
+     * Test that the rendering key follows the effective settings.
+     */
+    public void testRenderingKey() {
+        NotationSettings child = new NotationSettings(settings);
+        assertEquals("Inherited settings should give the same key",
+                settings.getRenderingKey(), child.getRenderingKey());
+        settings.setShowTypes(false);
+        assertEquals("Inherited change should give the same key",
+                settings.getRenderingKey(), child.getRenderingKey());
+        child.setShowTypes(true);
+        assertFalse("Overridden setting should change the key",
+                settings.getRenderingKey().equals(child.getRenderingKey()));
+        SDNotationSettings sdSettings = new SDNotationSettings();
+        String before = sdSettings.getRenderingKey();
+        sdSettings.setShowSequenceNumbers(!sdSettings.isShowSequenceNumbers());
+        assertFalse("Sequence numbers should change the key",
+                before.equals(sdSettings.getRenderingKey()));
+    }
+
 
 }
@@ -0,0 +1,197 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.argouml.kernel.Project;
+import org.argouml.kernel.ProjectManager;
+import org.argouml.model.InitializeModel;
+import org.argouml.model.Model;
+import org.argouml.notation.InitNotation;
+import org.argouml.notation.providers.uml.InitNotationUml;
+import org.argouml.profile.init.InitProfileSubsystem;
+import org.argouml.uml.diagram.static_structure.ui.InitClassDiagram;
+import org.argouml.uml.diagram.use_case.ui.InitUseCaseDiagram;
+
+/**
+ * Tests for the recovery files of {@link AutosaveManager}.
+ */
+public class TestAutosaveManager extends TestCase {
+
+    private static final byte[] CONTENT = "<uml/>".getBytes();
+
+    private File dir;
+
+    private AutosaveManager first;
+
+    private AutosaveManager second;
+
+    /**
+     * @param name the name of the test
+     */
+    public TestAutosaveManager(String name) {
+        super(name);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = File.createTempFile("TestAutosaveManager", "");
+        dir.delete();
+        first = new AutosaveManager(dir, "first");
+        second = new AutosaveManager(dir, "second");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        first.unlock();
+        second.unlock();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+        super.tearDown();
+    }
+
+    /**
+     * Each ArgoUML has a recovery file of its own.
+     */
+    public void testFileNaming() {
+        assertEquals(new File(dir, "autosave-first.uml"),
+                first.getRecoveryFile());
+        assertEquals(new File(dir, "autosave-second.uml"),
+                second.getRecoveryFile());
+        String name =
+            AutosaveManager.getInstance().getRecoveryFile().getName();
+        assertTrue(name, name.matches("autosave-[-0-9a-f]{36}\\.uml"));
+    }
+
+    /**
+     * The recovery file of a running ArgoUML can't be recovered by another.
+     *
+     * @throws IOException if the file can't be written
+     */
+    public void testLiveFileNotRecovered() throws IOException {
+        first.writeRecoveryFile(CONTENT);
+        assertTrue(first.getRecoveryFile().exists());
+        assertTrue(second.findOrphanedRecoveryFiles().isEmpty());
+        assertNull(second.claimRecoveryFile(first.getRecoveryFile()));
+        second.discardRecoveryFile(first.getRecoveryFile());
+        assertTrue(first.getRecoveryFile().exists());
+        first.writeRecoveryFile(CONTENT);
+    }
+
+    /**
+     * The recovery file of an ArgoUML which died is found and moved aside.
+     *
+     * @throws IOException if the file can't be written or read
+     */
+    public void testRecovery() throws IOException {
+        first.writeRecoveryFile(CONTENT);
+        first.unlock();
+        List<File> orphans = second.findOrphanedRecoveryFiles();
+        assertEquals(1, orphans.size());
+        assertEquals(first.getRecoveryFile(), orphans.get(0));
+
+        File recovered = second.claimRecoveryFile(orphans.get(0));
+        assertNotNull(recovered);
+        assertFalse(first.getRecoveryFile().exists());
+        assertFalse(new File(dir, "autosave-first.lock").exists());
+        assertEquals(new String(CONTENT), read(recovered));
+        assertTrue(second.findOrphanedRecoveryFiles().isEmpty());
+        assertNull(second.claimRecoveryFile(orphans.get(0)));
+    }
+
+    /**
+     * A normal exit leaves nothing to recover.
+     *
+     * @throws IOException if the file can't be written
+     */
+    public void testStopDeletesRecoveryFile() throws IOException {
+        first.writeRecoveryFile(CONTENT);
+        first.stop();
+        assertFalse(first.getRecoveryFile().exists());
+        assertTrue(second.findOrphanedRecoveryFiles().isEmpty());
+    }
+
+    /**
+     * A recovery file which is declined is deleted.
+     *
+     * @throws IOException if the file can't be written
+     */
+    public void testDiscard() throws IOException {
+        first.writeRecoveryFile(CONTENT);
+        first.unlock();
+        second.discardRecoveryFile(first.getRecoveryFile());
+        assertFalse(first.getRecoveryFile().exists());
+        assertTrue(second.findOrphanedRecoveryFiles().isEmpty());
+    }
+
+    /**
+     * A snapshot, taken partly on the event thread, is what a save writes.
+     *
+     * @throws Exception if the project can't be written
+     */
+    public void testSnapshot() throws Exception {
+        InitializeModel.initializeDefault();
+        new InitProfileSubsystem().init();
+        new InitNotation().init();
+        new InitNotationUml().init();
+        new InitClassDiagram().init();
+        new InitUseCaseDiagram().init();
+        Project project = ProjectManager.getManager().makeEmptyProject();
+        try {
+            Object model = project.getUserDefinedModelList().iterator().next();
+            Model.getCoreFactory().buildClass("A", model);
+            project.setVersion("test");
+            byte[] snapshot = first.writeSnapshot(project);
+            assertNotNull(snapshot);
+            ByteArrayOutputStream saved = new ByteArrayOutputStream();
+            new UmlFilePersister().writeProject(project, saved, null);
+            String expected = saved.toString("UTF-8");
+            assertTrue(expected.indexOf("name = 'A'") > 0
+                    || expected.indexOf("name=\"A\"") > 0);
+            // Only the time the XMI was written may differ
+            String stamp = "timestamp = '[^']*'";
+            assertEquals(expected.replaceAll(stamp, ""),
+                    new String(snapshot, "UTF-8").replaceAll(stamp, ""));
+        } finally {
+            ProjectManager.getManager().removeProject(project);
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] bytes = new byte[(int) file.length()];
+            int n = 0;
+            while (n < bytes.length) {
+                n += in.read(bytes, n, bytes.length - n);
+            }
+            return new String(bytes);
+        } finally {
+            in.close();
+        }
+    }
+}
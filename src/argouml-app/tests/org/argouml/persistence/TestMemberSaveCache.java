@@ -0,0 +1,197 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+
+import junit.framework.TestCase;
+
+import org.argouml.kernel.AbstractProjectMember;
+import org.argouml.kernel.Project;
+import org.argouml.kernel.ProjectMember;
+import org.xml.sax.InputSource;
+
+/**
+ * Tests for {@link MemberSaveCache}.
+ */
+public class TestMemberSaveCache extends TestCase {
+
+    private CountingPersister persister;
+
+    /**
+     * @param name the name of the test
+     */
+    public TestMemberSaveCache(String name) {
+        super(name);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        persister = new CountingPersister();
+    }
+
+    /**
+     * An unchanged member is written out again without being regenerated.
+     *
+     * @throws SaveException if the save fails
+     */
+    public void testCleanMemberReused() throws SaveException {
+        TrackedMember member = new TrackedMember();
+        assertEquals("<content 1/>", save(member));
+        assertEquals("<content 1/>", save(member));
+        assertEquals(1, persister.count);
+
+        member.dirty = true;
+        assertEquals("<content 2/>", save(member));
+        assertEquals(2, persister.count);
+        assertFalse(member.dirty);
+    }
+
+    /**
+     * A member which doesn't track its changes is regenerated every time.
+     *
+     * @throws SaveException if the save fails
+     */
+    public void testUntrackedMemberRegenerated() throws SaveException {
+        ProjectMember member = new AbstractProjectMember(null, null) {
+            public String getType() {
+                return "todo";
+            }
+            public String repair() {
+                return "";
+            }
+        };
+        save(member);
+        save(member);
+        assertEquals(2, persister.count);
+    }
+
+    /**
+     * A member whose save failed is regenerated on the next save.
+     *
+     * @throws SaveException if the save fails
+     */
+    public void testFailedSaveLeavesMemberDirty() throws SaveException {
+        TrackedMember member = new TrackedMember();
+        persister.fail = true;
+        try {
+            save(member);
+            fail("Expected a SaveException");
+        } catch (SaveException e) {
+            // expected
+        }
+        assertTrue(member.dirty);
+        persister.fail = false;
+        save(member);
+        assertEquals(2, persister.count);
+    }
+
+    /**
+     * A snapshot reuses the saved form of a clean member, but leaves a
+     * dirty member dirty and doesn't replace its saved form.
+     *
+     * @throws SaveException if the save fails
+     */
+    public void testSnapshotLeavesMemberDirty() throws SaveException {
+        TrackedMember member = new TrackedMember();
+        assertEquals("<content 1/>", save(member));
+        assertEquals("<content 1/>", snapshot(member));
+        assertEquals(1, persister.count);
+
+        member.dirty = true;
+        assertEquals("<content 2/>", snapshot(member));
+        assertTrue(member.dirty);
+        assertEquals("<content 3/>", save(member));
+        assertFalse(member.dirty);
+        assertEquals("<content 3/>", save(member));
+    }
+
+    private String snapshot(ProjectMember member) throws SaveException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberSaveCache.getInstance().snapshot(persister, member, out);
+        return out.toString();
+    }
+
+    private String save(ProjectMember member) throws SaveException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberSaveCache.getInstance().save(persister, member, out);
+        return out.toString();
+    }
+
+    private static class TrackedMember extends AbstractProjectMember {
+        private boolean dirty = true;
+
+        TrackedMember() {
+            super(null, null);
+        }
+
+        @Override
+        public boolean isDirty() {
+            return dirty;
+        }
+
+        @Override
+        public void setDirty(boolean isDirty) {
+            dirty = isDirty;
+        }
+
+        public String getType() {
+            return "pgml";
+        }
+
+        public String repair() {
+            return "";
+        }
+    }
+
+    private static class CountingPersister extends MemberFilePersister {
+        private int count;
+        private boolean fail;
+
+        @Override
+        public void save(ProjectMember member, OutputStream stream)
+            throws SaveException {
+            ++count;
+            if (fail) {
+                throw new SaveException("failed");
+            }
+            try {
+                stream.write(("<content " + count + "/>").getBytes());
+            } catch (IOException e) {
+                throw new SaveException(e);
+            }
+        }
+
+        @Override
+        public String getMainTag() {
+            return "content";
+        }
+
+        @Override
+        public void load(Project project, InputStream inputStream) {
+        }
+
+        @Override
+        public void load(Project project, URL url) {
+        }
+
+        @Override
+        public void load(Project project, InputSource inputSource) {
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the XMI.extension detection of {@link XmiInputStream}.
+ */
+public class TestXmiInputStream extends TestCase {
+
+    private static final String ARGO_EXTENSION =
+        "<XMI.extension xmi.extender=\"ArgoUML\" xmi.label=\"pgml\">"
+        + "<pgml name=\"d\"><group/></pgml></XMI.extension>";
+
+    private List<String> types = new ArrayList<String>();
+    private List<String> extensions = new ArrayList<String>();
+
+    private XmiExtensionParser parser = new XmiExtensionParser() {
+        public void parse(String type, String xmlExtensionString) {
+            types.add(type);
+            extensions.add(xmlExtensionString);
+        }
+    };
+
+    /**
+     * @param name the name of the test
+     */
+    public TestXmiInputStream(String name) {
+        super(name);
+    }
+
+    /**
+     * An ArgoUML extension is passed on with its content and the stream
+     * content is delivered unchanged.
+     *
+     * @throws IOException on a read failure
+     */
+    public void testExtensionFound() throws IOException {
+        String xmi = "<XMI><XMI.content><Foo/></XMI.content>"
+            + ARGO_EXTENSION + "</XMI>";
+        String read = readAll(new ByteArrayInputStream(xmi.getBytes()), 8192);
+        assertEquals(xmi, read);
+        assertEquals(1, types.size());
+        assertEquals("pgml", types.get(0));
+        assertEquals("<pgml name=\"d\"><group/></pgml>", extensions.get(0));
+    }
+
+    /**
+     * Tags and extensions that span block boundaries are still found.
+     *
+     * @throws IOException on a read failure
+     */
+    public void testExtensionAcrossBlocks() throws IOException {
+        String xmi = "<XMI>" + ARGO_EXTENSION + ARGO_EXTENSION + "</XMI>";
+        String read = readAll(
+                new TrickleInputStream(
+                        new ByteArrayInputStream(xmi.getBytes())), 3);
+        assertEquals(xmi, read);
+        assertEquals(2, extensions.size());
+        assertEquals("<pgml name=\"d\"><group/></pgml>", extensions.get(1));
+    }
+
+    /**
+     * Extensions from other tools are ignored.
+     *
+     * @throws IOException on a read failure
+     */
+    public void testForeignExtensionIgnored() throws IOException {
+        String xmi = "<XMI><XMI.extension xmi.extender=\"Other\">"
+            + "<other/></XMI.extension></XMI>";
+        readAll(new ByteArrayInputStream(xmi.getBytes()), 8192);
+        assertTrue(extensions.isEmpty());
+    }
+
+    /**
+     * The single byte read gives the same result as a block read.
+     *
+     * @throws IOException on a read failure
+     */
+    public void testSingleByteRead() throws IOException {
+        String xmi = "<XMI>" + ARGO_EXTENSION + "</XMI>";
+        XmiInputStream stream = new XmiInputStream(
+                new ByteArrayInputStream(xmi.getBytes()), parser, 0, null);
+        StringBuilder sb = new StringBuilder();
+        int ch;
+        while ((ch = stream.read()) != -1) {
+            sb.append((char) ch);
+        }
+        assertEquals(xmi, sb.toString());
+        assertEquals(1, extensions.size());
+    }
+
+    private String readAll(InputStream in, int blockSize) throws IOException {
+        XmiInputStream stream = new XmiInputStream(in, parser, 1000, null);
+        byte[] buf = new byte[blockSize];
+        StringBuilder sb = new StringBuilder();
+        int cnt;
+        while ((cnt = stream.read(buf, 0, buf.length)) != -1) {
+            sb.append(new String(buf, 0, cnt, "ISO-8859-1"));
+        }
+        stream.realClose();
+        return sb.toString();
+    }
+
+    /**
+     * A stream that never returns more than a couple of bytes at a time.
+     */
+    private static class TrickleInputStream extends FilterInputStream {
+        TrickleInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 2));
+        }
+    }
+}
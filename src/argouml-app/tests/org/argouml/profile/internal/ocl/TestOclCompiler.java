@@ -0,0 +1,210 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.profile.internal.ocl;
+
+import java.io.PushbackReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.argouml.profile.internal.ocl.uml14.CollectionsModelInterpreter;
+
+import tudresden.ocl.parser.OclParser;
+import tudresden.ocl.parser.lexer.Lexer;
+import tudresden.ocl.parser.node.Start;
+
+/**
+ * Tests for the OclCompiler class: the compiled constraints must give the
+ * same results as the interpreter.
+ */
+public class TestOclCompiler extends TestCase {
+
+    private static final String[] EXPRESSIONS = {
+        "true",
+        "-2",
+        "2 * 3 + 4 - 10 / 5",
+        "'to be' = 'to be'",
+        "let x : Integer = 12 in x * 5",
+        "false and x",
+        "x or true",
+        "true implies false",
+        "if 2 > 1 then true else false endif",
+        "Set{1,2,3,4,5}->select(x|x>3)",
+        "Sequence{1,2,3}->collect(x|x*2)",
+        "Bag{1,3,4,3,5}->size()",
+        "Set{1,2,3}->forAll(x|x>0)",
+        "Set{1,2,3}->exists(x|x>2) and not Set{1}->isEmpty()",
+        "self.name = 'Foo' and self.feature->size() = 2",
+        "self.feature->select(f|f.name = 'a')->size() = 1",
+        "self.feature.name->includes('b')",
+        "self.isAbstract <> true",
+        "Class",
+    };
+
+    /**
+     * A class Foo with the attributes a and b, standing for a model
+     * element.
+     */
+    private Element clazz;
+
+    private ModelInterpreter mi;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        clazz = new Element("Foo", new Element("a"), new Element("b"));
+        CompositeModelInterpreter composite = new CompositeModelInterpreter();
+        composite.addModelInterpreter(new ElementModelInterpreter());
+        composite.addModelInterpreter(new CollectionsModelInterpreter());
+        mi = composite;
+    }
+
+    /**
+     * Test that compiled expressions evaluate as DefaultOclEvaluator.
+     *
+     * @throws Exception if something goes wrong
+     */
+    public void testSameResults() throws Exception {
+        for (String ocl : EXPRESSIONS) {
+            CompiledOcl compiled = compile(ocl);
+            assertNotNull(ocl, compiled);
+            assertEquals(ocl,
+                    DefaultOclEvaluator.getInstance().evaluate(vt(), mi, ocl),
+                    compiled.evaluate(vt(), mi));
+        }
+    }
+
+    /**
+     * Test that the interpreter is used for what can't be compiled.
+     *
+     * @throws Exception if something goes wrong
+     */
+    public void testFallback() throws Exception {
+        String ocl = "Set{1,2}->iterate(x : Integer; n : Integer = 0 | n + x) = 3";
+        assertNull(compile(ocl));
+
+        // iterate is not supported by the interpreter either
+        assertFalse(new OclInterpreter("context Class inv: " + ocl, mi)
+                .check(clazz));
+    }
+
+    /**
+     * Test that each call site binds its feature once for a class of
+     * interpreters, and binds it again for another class.
+     *
+     * @throws Exception if something goes wrong
+     */
+    public void testBinding() throws Exception {
+        String ocl = "self.name = 'Foo' and self.feature->size() = 2";
+        CompiledOcl compiled = compile(ocl);
+        List<String> bound = new ArrayList<String>();
+        BindingModelInterpreter binding = new BindingModelInterpreter(bound);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Boolean.TRUE, compiled.evaluate(vt(), binding));
+        }
+        // name, feature and size
+        assertEquals(3, bound.size());
+        assertEquals(9, binding.invoked);
+
+        assertEquals(Boolean.TRUE, compiled.evaluate(vt(), mi));
+        assertEquals(Boolean.TRUE,
+                compiled.evaluate(vt(), new BindingModelInterpreter(bound)));
+        assertEquals(6, bound.size());
+    }
+
+    private Map<String, Object> vt() {
+        Map<String, Object> vt = new HashMap<String, Object>();
+        vt.put("self", clazz);
+        return vt;
+    }
+
+    private static CompiledOcl compile(String ocl) throws Exception {
+        return OclCompiler.compile(parse(ocl));
+    }
+
+    private static Start parse(String ocl) throws Exception {
+        Lexer lexer = new Lexer(new PushbackReader(new StringReader(
+                "context X inv: " + ocl), 2));
+        return new OclParser(lexer).parse();
+    }
+
+    private static class Element {
+        private final String name;
+        private final List<Element> features;
+
+        Element(String theName, Element... theFeatures) {
+            name = theName;
+            features = Arrays.asList(theFeatures);
+        }
+    }
+
+    /**
+     * An interpreter for Elements and collections which binds its
+     * features, and records the bindings.
+     */
+    private static class BindingModelInterpreter
+        extends CompositeModelInterpreter
+        implements FeatureBindingModelInterpreter {
+
+        private final List<String> bound;
+
+        private int invoked;
+
+        BindingModelInterpreter(List<String> theBound) {
+            addModelInterpreter(new ElementModelInterpreter());
+            addModelInterpreter(new CollectionsModelInterpreter());
+            bound = theBound;
+        }
+
+        public Accessor bindFeature(final String feature,
+                final String type) {
+            bound.add(type + feature);
+            return new Accessor() {
+                public Object invoke(ModelInterpreter interpreter,
+                        Map<String, Object> vt, Object subject,
+                        Object[] parameters) {
+                    ++((BindingModelInterpreter) interpreter).invoked;
+                    return interpreter.invokeFeature(vt, subject, feature,
+                            type, parameters);
+                }
+            };
+        }
+    }
+
+    private static class ElementModelInterpreter implements ModelInterpreter {
+        public Object invokeFeature(Map<String, Object> vt, Object subject,
+                String feature, String type, Object[] parameters) {
+            if (!(subject instanceof Element) || !type.equals(".")) {
+                return null;
+            }
+            Element element = (Element) subject;
+            if (feature.equals("name")) {
+                return element.name;
+            } else if (feature.equals("feature")) {
+                return new ArrayList<Element>(element.features);
+            } else if (feature.equals("isAbstract")) {
+                return false;
+            }
+            return null;
+        }
+
+        public Object getBuiltInSymbol(String sym) {
+            return sym.equals("Class") ? sym : null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.ui.explorer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.argouml.model.Metrics;
+import org.argouml.ui.explorer.rules.PerspectiveRule;
+
+/**
+ * Tests for the PerspectiveRuleCache class.
+ */
+public class TestPerspectiveRuleCache extends TestCase {
+
+    private final Object parent = new Object();
+    private final Object child = new Object();
+    private final Object dependency = new Object();
+
+    /**
+     * Test that an entry is kept until something it depends on changes.
+     */
+    public void testInvalidate() {
+        PerspectiveRuleCache cache = new PerspectiveRuleCache();
+        PerspectiveRule rule = new TestRule(Collections.singleton(dependency));
+        cache.store(rule, parent, Arrays.asList(child),
+                rule.getDependencies(parent));
+        assertNotNull(cache.lookup(rule, parent));
+        cache.invalidate(new Object());
+        assertNotNull(cache.lookup(rule, parent));
+        cache.invalidate(dependency);
+        assertNull(cache.lookup(rule, parent));
+
+        cache.store(rule, parent, Arrays.asList(child),
+                rule.getDependencies(parent));
+        cache.invalidate(child);
+        assertNull(cache.lookup(rule, parent));
+    }
+
+    /**
+     * Test that the hits and misses are counted in the metrics registry.
+     */
+    public void testMetrics() {
+        Metrics.Counter hits = Metrics.counter("explorer.cache.hits");
+        Metrics.Counter misses = Metrics.counter("explorer.cache.misses");
+        long hitsBefore = hits.getCount();
+        long missesBefore = misses.getCount();
+        boolean wasEnabled = Metrics.isEnabled();
+        Metrics.setEnabled(true);
+        try {
+            PerspectiveRuleCache cache = new PerspectiveRuleCache();
+            PerspectiveRule rule =
+                new TestRule(Collections.singleton(dependency));
+            cache.lookup(rule, parent);
+            cache.store(rule, parent, Arrays.asList(child),
+                    rule.getDependencies(parent));
+            cache.lookup(rule, parent);
+            cache.lookup(rule, parent);
+        } finally {
+            Metrics.setEnabled(wasEnabled);
+        }
+        assertEquals(2, hits.getCount() - hitsBefore);
+        assertEquals(1, misses.getCount() - missesBefore);
+    }
+
+    /**
+     * Test that a change drops the entries of all rules of the parent.
+     */
+    public void testInvalidateAllRules() {
+        PerspectiveRuleCache cache = new PerspectiveRuleCache();
+        PerspectiveRule rule1 = new TestRule(Collections.singleton(dependency));
+        PerspectiveRule rule2 = new TestRule(Collections.singleton(parent));
+        cache.store(rule1, parent, Arrays.asList(child),
+                rule1.getDependencies(parent));
+        cache.store(rule2, parent, Collections.emptyList(),
+                rule2.getDependencies(parent));
+        cache.invalidate(dependency);
+        assertNull(cache.lookup(rule2, parent));
+    }
+
+    /**
+     * Test that what a rule without dependencies gives isn't kept.
+     */
+    public void testNoDependencies() {
+        PerspectiveRuleCache cache = new PerspectiveRuleCache();
+        PerspectiveRule rule = new TestRule(Collections.emptySet());
+        PerspectiveRuleCache.Entry entry = cache.store(rule, parent,
+                Arrays.asList(child), rule.getDependencies(parent));
+        assertEquals(1, entry.getChildren().size());
+        assertNull(cache.lookup(rule, parent));
+    }
+
+    private static class TestRule implements PerspectiveRule {
+        private final Set dependencies;
+
+        TestRule(Set theDependencies) {
+            dependencies = theDependencies;
+        }
+
+        public String getRuleName() {
+            return "test";
+        }
+
+        public Collection getChildren(Object parent) {
+            return Collections.emptyList();
+        }
+
+        public Set getDependencies(Object parent) {
+            return dependencies;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.static_structure.layout;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.argouml.application.api.Argo;
+import org.argouml.configuration.Configuration;
+import org.argouml.kernel.ProjectManager;
+import org.argouml.model.InitializeModel;
+import org.argouml.model.Model;
+import org.argouml.notation.InitNotation;
+import org.argouml.notation.providers.java.InitNotationJava;
+import org.argouml.notation.providers.uml.InitNotationUml;
+import org.argouml.profile.init.InitProfileSubsystem;
+import org.argouml.uml.diagram.ArgoDiagram;
+import org.argouml.uml.diagram.static_structure.ClassDiagramGraphModel;
+import org.argouml.uml.diagram.static_structure.ui.InitClassDiagram;
+import org.argouml.uml.diagram.static_structure.ui.UMLClassDiagram;
+import org.argouml.uml.diagram.ui.InitDiagramAppearanceUI;
+import org.tigris.gef.presentation.Fig;
+
+/**
+ * Tests for the LayeredClassdiagramLayouter class.
+ */
+public class TestLayeredClassdiagramLayouter extends TestCase {
+
+    private Object model;
+
+    private UMLClassDiagram diagram;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        InitializeModel.initializeDefault();
+        (new InitNotation()).init();
+        (new InitNotationUml()).init();
+        (new InitNotationJava()).init();
+        (new InitDiagramAppearanceUI()).init();
+        (new InitClassDiagram()).init();
+        (new InitProfileSubsystem()).init();
+        ProjectManager.getManager().makeEmptyProject();
+        model = Model.getModelManagementFactory().createModel();
+        diagram = new UMLClassDiagram(model);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Model.getUmlFactory().delete(model);
+        super.tearDown();
+    }
+
+    /**
+     * Add a class or comment to the diagram, with its edges to what is
+     * already there.
+     */
+    private Fig add(Object element) {
+        Fig fig = (Fig) diagram.createDiagramElement(element,
+                new Rectangle(0, 0, 0, 0));
+        diagram.getLayer().add(fig);
+        ClassDiagramGraphModel gm =
+            (ClassDiagramGraphModel) diagram.getGraphModel();
+        gm.addNode(element);
+        gm.addNodeRelatedEdges(element);
+        return fig;
+    }
+
+    /**
+     * Test that subclasses are placed below their superclass, classes
+     * linked by an association in different layers and a comment below
+     * what it annotates, without overlaps.
+     */
+    public void testLayout() {
+        Object base = Model.getCoreFactory().buildClass("Base", model);
+        Object sub1 = Model.getCoreFactory().buildClass("Sub1", model);
+        Object sub2 = Model.getCoreFactory().buildClass("Sub2", model);
+        Object other = Model.getCoreFactory().buildClass("Other", model);
+        Model.getCoreFactory().buildGeneralization(sub1, base);
+        Model.getCoreFactory().buildGeneralization(sub2, base);
+        Model.getCoreFactory().buildAssociation(sub1, other);
+        Object comment = Model.getCoreFactory().buildComment(base, model);
+
+        Fig baseFig = add(base);
+        Fig sub1Fig = add(sub1);
+        Fig sub2Fig = add(sub2);
+        Fig otherFig = add(other);
+        Fig commentFig = add(comment);
+
+        LayeredClassdiagramLayouter layouter =
+            new LayeredClassdiagramLayouter(diagram);
+        layouter.layout();
+
+        assertTrue(sub1Fig.getY() > baseFig.getY());
+        assertTrue(sub2Fig.getY() > baseFig.getY());
+        assertTrue(otherFig.getY() != sub1Fig.getY());
+        assertTrue(commentFig.getY() > baseFig.getY());
+
+        Fig[] figs = {baseFig, sub1Fig, sub2Fig, otherFig, commentFig};
+        for (int i = 0; i < figs.length; i++) {
+            for (int j = i + 1; j < figs.length; j++) {
+                assertFalse(i + " overlaps " + j,
+                        figs[i].getBounds().intersects(figs[j].getBounds()));
+            }
+        }
+        Rectangle size = new Rectangle(layouter.getMinimumDiagramSize());
+        for (Fig fig : figs) {
+            assertTrue(size.contains(fig.getBounds()));
+        }
+    }
+
+    /**
+     * Test that the batch, which lays out the graph on another thread,
+     * places the Figs as the layouter does on its own.
+     */
+    public void testBatch() throws Exception {
+        Object base = Model.getCoreFactory().buildClass("Base", model);
+        Object sub = Model.getCoreFactory().buildClass("Sub", model);
+        Model.getCoreFactory().buildGeneralization(sub, base);
+        Fig baseFig = add(base);
+        Fig subFig = add(sub);
+
+        new LayeredClassdiagramLayouter(diagram).layout();
+        Point baseLocation = baseFig.getLocation();
+        Point subLocation = subFig.getLocation();
+        baseFig.setLocation(500, 500);
+        subFig.setLocation(0, 0);
+
+        boolean layered =
+            Configuration.getBoolean(Argo.KEY_LAYOUT_LAYERED, false);
+        Configuration.setBoolean(Argo.KEY_LAYOUT_LAYERED, true);
+        final List<Integer> done = new ArrayList<Integer>();
+        try {
+            ClassdiagramLayoutBatch.layoutAll(
+                    Collections.<ArgoDiagram>singletonList(diagram),
+                    new ClassdiagramLayoutBatch.Listener() {
+                        public void laidOut(int count) {
+                            done.add(count);
+                        }
+                    });
+        } finally {
+            Configuration.setBoolean(Argo.KEY_LAYOUT_LAYERED, layered);
+        }
+        assertEquals(Collections.singletonList(1), done);
+        assertEquals(baseLocation, baseFig.getLocation());
+        assertEquals(subLocation, subFig.getLocation());
+    }
+}
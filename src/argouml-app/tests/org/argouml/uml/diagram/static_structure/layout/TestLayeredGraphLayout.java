@@ -0,0 +1,154 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.static_structure.layout;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the LayeredGraphLayout class.
+ */
+public class TestLayeredGraphLayout extends TestCase {
+
+    private static final int WIDTH = 120;
+    private static final int HEIGHT = 60;
+
+    /**
+     * Test that parents are above their children and that a tree is laid
+     * out without crossings.
+     */
+    public void testTree() {
+        LayeredGraphLayout layout = create(7);
+        // 0 <- 1, 2; 1 <- 3, 4; 2 <- 5, 6, added in a crossing order
+        layout.addEdge(5, 2);
+        layout.addEdge(3, 1);
+        layout.addEdge(6, 2);
+        layout.addEdge(4, 1);
+        layout.addEdge(1, 0);
+        layout.addEdge(2, 0);
+        layout.layout();
+        assertTrue(layout.getLocation(1).y > layout.getLocation(0).y);
+        assertTrue(layout.getLocation(5).y > layout.getLocation(2).y);
+        assertEquals(0, layout.countCrossings());
+        assertNoOverlaps(layout, 7);
+    }
+
+    /**
+     * Test that routes are orthogonal and join the child to the parent.
+     */
+    public void testOrthogonalRoutes() {
+        LayeredGraphLayout layout = create(4);
+        int e1 = layout.addEdge(1, 0);
+        int e2 = layout.addEdge(2, 1);
+        int e3 = layout.addEdge(3, 0);
+        layout.addEdge(3, 2);
+        layout.layout();
+        for (int e : new int[] {e1, e2, e3}) {
+            List<Point> route = layout.getRoute(e);
+            assertTrue(route.size() >= 2);
+            for (int i = 1; i < route.size(); i++) {
+                Point a = route.get(i - 1);
+                Point b = route.get(i);
+                assertTrue("Not orthogonal: " + route,
+                        a.x == b.x || a.y == b.y);
+            }
+        }
+        // The edge from 3 to 0 spans two layers
+        List<Point> route = layout.getRoute(e3);
+        assertEquals(layout.getLocation(3).y, route.get(0).y);
+        assertEquals(layout.getLocation(0).y + HEIGHT,
+                route.get(route.size() - 1).y);
+    }
+
+    /**
+     * Test that a cycle does not stop the layout.
+     */
+    public void testCycle() {
+        LayeredGraphLayout layout = create(3);
+        layout.addEdge(0, 1);
+        layout.addEdge(1, 2);
+        layout.addEdge(2, 0);
+        layout.layout();
+        assertNoOverlaps(layout, 3);
+    }
+
+    /**
+     * Test that linked nodes are placed in different layers rather than
+     * in the rows of nodes without edges.
+     */
+    public void testLinks() {
+        LayeredGraphLayout layout = create(4);
+        layout.addLink(0, 1);
+        layout.addLink(2, 1);
+        layout.layout();
+        int y0 = layout.getLocation(0).y;
+        int y1 = layout.getLocation(1).y;
+        int y2 = layout.getLocation(2).y;
+        assertTrue(y0 != y1);
+        assertTrue(y2 != y1);
+        // Node 3 has neither edges nor links, so goes below the others
+        assertTrue(layout.getLocation(3).y
+                > Math.max(y0, Math.max(y1, y2)));
+        assertNoOverlaps(layout, 4);
+    }
+
+    /**
+     * Test that a link never turns a child above its parent, and that the
+     * numbers of the edges are kept.
+     */
+    public void testLinksKeepHierarchy() {
+        LayeredGraphLayout layout = create(3);
+        int e1 = layout.addEdge(1, 0);
+        int e2 = layout.addEdge(2, 1);
+        // Linked the other way round from the hierarchy
+        layout.addLink(0, 2);
+        layout.addLink(1, 1);
+        layout.layout();
+        assertTrue(layout.getLocation(1).y > layout.getLocation(0).y);
+        assertTrue(layout.getLocation(2).y > layout.getLocation(1).y);
+        assertEquals(layout.getLocation(1).y,
+                layout.getRoute(e1).get(0).y);
+        assertEquals(layout.getLocation(2).y,
+                layout.getRoute(e2).get(0).y);
+        assertNoOverlaps(layout, 3);
+    }
+
+    private LayeredGraphLayout create(int n) {
+        LayeredGraphLayout layout = new LayeredGraphLayout(60, 80, 1200);
+        int[] widths = new int[n];
+        int[] heights = new int[n];
+        Arrays.fill(widths, WIDTH);
+        Arrays.fill(heights, HEIGHT);
+        layout.setNodes(widths, heights);
+        return layout;
+    }
+
+    private void assertNoOverlaps(LayeredGraphLayout layout, int n) {
+        Rectangle[] bounds = new Rectangle[n];
+        for (int i = 0; i < n; i++) {
+            bounds[i] = new Rectangle(layout.getLocation(i),
+                    new java.awt.Dimension(WIDTH, HEIGHT));
+            assertTrue(bounds[i].x >= 0 && bounds[i].y >= 0);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                assertFalse(i + " overlaps " + j,
+                        bounds[i].intersects(bounds[j]));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.ui;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.argouml.kernel.Project;
+import org.argouml.kernel.ProjectManager;
+import org.argouml.model.InitializeModel;
+import org.argouml.model.Model;
+import org.argouml.notation.InitNotation;
+import org.argouml.notation.providers.uml.InitNotationUml;
+import org.argouml.profile.init.InitProfileSubsystem;
+import org.argouml.uml.diagram.DiagramSettings;
+import org.argouml.uml.diagram.static_structure.ui.FigAttribute;
+import org.tigris.gef.presentation.Fig;
+
+/**
+ * Tests for the populating of a {@link FigCompartment}.
+ */
+public class TestFigCompartment extends TestCase {
+
+    private Project project;
+
+    private Object cls;
+
+    private List<Object> attributes = new ArrayList<Object>();
+
+    private List<Fig> removed = new ArrayList<Fig>();
+
+    private FigCompartment compartment;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        InitializeModel.initializeDefault();
+        new InitProfileSubsystem().init();
+        project = ProjectManager.getManager().makeEmptyProject();
+        new InitNotation().init();
+        new InitNotationUml().init();
+        Object model = project.getUserDefinedModelList().iterator().next();
+        cls = Model.getCoreFactory().buildClass("A", model);
+        Object intType = project.getDefaultAttributeType();
+        for (int i = 0; i < 3; i++) {
+            Object attr = Model.getCoreFactory().buildAttribute2(cls, intType);
+            Model.getCoreHelper().setName(attr, "a" + i);
+            attributes.add(attr);
+        }
+        DiagramSettings settings =
+            new DiagramSettings(project.getProjectSettings()
+                    .getDefaultDiagramSettings());
+        compartment = new FigAttributesCompartment(cls,
+                new Rectangle(0, 0, 100, 100), settings) {
+            @Override
+            protected FigSingleLineTextWithNotation createFigText(
+                    Object owner, Rectangle bounds, DiagramSettings s) {
+                return new FigAttribute(owner, bounds, s) {
+                    @Override
+                    public void removeFromDiagram() {
+                        removed.add(this);
+                        super.removeFromDiagram();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        ProjectManager.getManager().removeProject(project);
+        super.tearDown();
+    }
+
+    private FigSingleLineTextWithNotation getRow(Object owner) {
+        for (Object f : compartment.getFigs()) {
+            if (f instanceof FigSingleLineTextWithNotation
+                    && ((Fig) f).getOwner() == owner) {
+                return (FigSingleLineTextWithNotation) f;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A row which is still valid is kept, and shows the changed element.
+     */
+    public void testReusedRowRendered() {
+        Object attr = attributes.get(1);
+        FigSingleLineTextWithNotation row = getRow(attr);
+        assertNotNull(row);
+        Model.getCoreHelper().setName(attr, "renamed");
+        Model.getPump().flushModelEvents();
+        compartment.populate();
+        assertSame(row, getRow(attr));
+        assertTrue(row.getText().indexOf("renamed") >= 0);
+        assertTrue(removed.isEmpty());
+    }
+
+    /**
+     * The row of a deleted element is removed from the diagram.
+     */
+    public void testDroppedRowRemoved() {
+        Object attr = attributes.get(1);
+        FigSingleLineTextWithNotation row = getRow(attr);
+        assertNotNull(row);
+        Model.getUmlFactory().delete(attr);
+        Model.getPump().flushModelEvents();
+        compartment.populate();
+        assertNull(getRow(attr));
+        assertFalse(compartment.getFigs().contains(row));
+        assertEquals(1, removed.size());
+        assertSame(row, removed.get(0));
+        assertNotNull(getRow(attributes.get(0)));
+        assertNotNull(getRow(attributes.get(2)));
+    }
+}
@@ -0,0 +1,184 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.ui;
+
+import java.awt.Rectangle;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import junit.framework.TestCase;
+
+import org.argouml.kernel.DelayedVChangeListener;
+import org.argouml.model.AddAssociationEvent;
+import org.argouml.model.AttributeChangeEvent;
+import org.argouml.model.Metrics;
+import org.argouml.model.RemoveAssociationEvent;
+import org.argouml.model.UmlChangeEvent;
+import org.argouml.uml.diagram.DiagramSettings;
+
+/**
+ * Tests for the FigUpdateScheduler class. The frames are run by the tests
+ * instead of the AWT thread.
+ */
+public class TestFigUpdateScheduler extends TestCase {
+
+    private final Object element = new Object();
+
+    private final List<Runnable> frames = new ArrayList<Runnable>();
+
+    private FigUpdateScheduler scheduler;
+
+    private RecordingFig fig;
+
+    private boolean wasEnabled;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        wasEnabled = Metrics.isEnabled();
+        Metrics.setEnabled(true);
+        scheduler = new FigUpdateScheduler(new Executor() {
+            public void execute(Runnable command) {
+                frames.add(command);
+            }
+        });
+        fig = new RecordingFig();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Metrics.setEnabled(wasEnabled);
+        super.tearDown();
+    }
+
+    /**
+     * Test that repeated changes give one update, with the last event.
+     */
+    public void testLayoutChangesCoalesced() {
+        long coalesced = Metrics.counter("diagram.updates.coalesced")
+            .getCount();
+        AttributeChangeEvent last = null;
+        for (int i = 0; i < 20; i++) {
+            last = new AttributeChangeEvent(element, "name", "n" + i,
+                    "n" + (i + 1), null);
+            scheduler.scheduleLayout(fig, last);
+        }
+        runFrames();
+        assertEquals(1, fig.events.size());
+        assertSame(last, fig.events.get(0));
+        assertEquals(19, Metrics.counter("diagram.updates.coalesced")
+                .getCount() - coalesced);
+    }
+
+    /**
+     * Test that changes of any kind mark a Fig dirty once, and that it is
+     * updated with the latest.
+     */
+    public void testAssociationEventsCoalesced() {
+        Object feature = new Object();
+        UmlChangeEvent add = new AddAssociationEvent(element,
+                "feature", null, feature, feature, null);
+        UmlChangeEvent remove = new RemoveAssociationEvent(element,
+                "feature", feature, null, feature, null);
+        UmlChangeEvent change = new AttributeChangeEvent(element, "name",
+                "a", "b", null);
+        scheduler.scheduleLayout(fig, add);
+        scheduler.scheduleLayout(fig, remove);
+        scheduler.scheduleLayout(fig, change);
+        runFrames();
+        assertEquals(1, fig.events.size());
+        assertSame(change, fig.events.get(0));
+    }
+
+    /**
+     * Test that the rendering is refreshed once, with the latest event,
+     * after the layout is updated.
+     */
+    public void testRenderingAfterLayout() {
+        Object feature = new Object();
+        UmlChangeEvent add = new AddAssociationEvent(element,
+                "feature", null, feature, feature, null);
+        PropertyChangeEvent rendering1 =
+            new PropertyChangeEvent(element, "name", "a", "b");
+        PropertyChangeEvent rendering2 =
+            new PropertyChangeEvent(element, "name", "b", "c");
+        scheduler.scheduleRenderingChanged(fig, rendering1);
+        scheduler.scheduleLayout(fig, add);
+        scheduler.scheduleRenderingChanged(fig, rendering2);
+        runFrames();
+        assertEquals(2, fig.events.size());
+        assertSame(add, fig.events.get(0));
+        assertSame(rendering2, fig.events.get(1));
+    }
+
+    /**
+     * Test that the updates asked for at once run in one frame, and that
+     * those asked for later wait for the next one.
+     */
+    public void testOneFrame() {
+        Metrics.Histogram sizes = Metrics.histogram("diagram.updates.frame");
+        long count = sizes.getCount();
+        RecordingFig other = new RecordingFig();
+        scheduler.scheduleLayout(fig, new AttributeChangeEvent(element,
+                "name", "a", "b", null));
+        scheduler.scheduleLayout(other, new AttributeChangeEvent(element,
+                "name", "a", "b", null));
+        assertEquals(1, frames.size());
+        runFrames();
+        assertEquals(1, sizes.getCount() - count);
+        assertEquals(1, fig.events.size());
+        assertEquals(1, other.events.size());
+
+        scheduler.scheduleLayout(fig, new AttributeChangeEvent(element,
+                "name", "b", "c", null));
+        assertEquals(1, frames.size());
+        runFrames();
+        assertEquals(2, fig.events.size());
+    }
+
+    /**
+     * Run the frames posted so far.
+     */
+    private void runFrames() {
+        List<Runnable> posted = new ArrayList<Runnable>(frames);
+        frames.clear();
+        for (Runnable frame : posted) {
+            frame.run();
+        }
+    }
+
+    /**
+     * A Fig which records the updates it is given.
+     */
+    private static class RecordingFig extends FigSingleLineText
+        implements DelayedVChangeListener {
+
+        private final List<PropertyChangeEvent> events =
+            new ArrayList<PropertyChangeEvent>();
+
+        RecordingFig() {
+            super(new Rectangle(0, 0, 10, 10), new DiagramSettings(), false);
+        }
+
+        @Override
+        protected void updateLayout(UmlChangeEvent event) {
+            events.add(event);
+        }
+
+        public void delayedVetoableChange(PropertyChangeEvent pce) {
+            events.add(pce);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.generator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.argouml.application.events.ArgoEventPump;
+import org.argouml.application.events.ArgoEventTypes;
+import org.argouml.application.events.ArgoGeneratorEvent;
+import org.argouml.configuration.Configuration;
+import org.argouml.configuration.ConfigurationKey;
+import org.argouml.model.InitializeModel;
+import org.argouml.model.Model;
+
+/**
+ * Tests for the {@link GenerationScheduler}.
+ */
+public class TestGenerationScheduler extends TestCase {
+
+    /**
+     * A generator which generates one unit holding the name of each
+     * element and the number of its generation, and counts them.
+     */
+    private static class CountingGenerator
+        implements StreamingCodeGenerator {
+
+        private final List<Object> generated =
+            Collections.synchronizedList(new ArrayList<Object>());
+
+        private final List<Thread> threads =
+            Collections.synchronizedList(new ArrayList<Thread>());
+
+        public void generate(Collection elements, boolean deps,
+                SourceUnitSink sink) {
+            threads.add(Thread.currentThread());
+            for (Object element : elements) {
+                generated.add(element);
+                String name = Model.getFacade().getName(element);
+                sink.addSourceUnit(new SourceUnit(name + ".txt", "src",
+                        name + " " + generated.size()));
+            }
+        }
+
+        public Collection<SourceUnit> generate(Collection elements,
+                boolean deps) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Collection<String> generateFiles(Collection elements,
+                String path, boolean deps) {
+            return Collections.emptyList();
+        }
+
+        public Collection<String> generateFileList(Collection elements,
+                boolean deps) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A generator which generates one unit for all the elements it is
+     * given, and records the elements of each call.
+     */
+    private static class CombiningGenerator implements CodeGenerator {
+
+        private final List<List<Object>> calls = new ArrayList<List<Object>>();
+
+        public Collection<SourceUnit> generate(Collection elements,
+                boolean deps) {
+            calls.add(new ArrayList<Object>(elements));
+            StringBuilder content = new StringBuilder();
+            for (Object element : elements) {
+                content.append(Model.getFacade().getName(element));
+            }
+            return Collections.singletonList(new SourceUnit("all.txt", "src",
+                    content.toString()));
+        }
+
+        public Collection<String> generateFiles(Collection elements,
+                String path, boolean deps) {
+            return Collections.emptyList();
+        }
+
+        public Collection<String> generateFileList(Collection elements,
+                boolean deps) {
+            return Collections.emptyList();
+        }
+    }
+
+    private CountingGenerator gen;
+
+    private Object model;
+
+    private Object classA;
+
+    private Object classB;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        InitializeModel.initializeDefault();
+        gen = new CountingGenerator();
+        model = Model.getModelManagementFactory().createModel();
+        classA = Model.getCoreFactory().buildClass("A", model);
+        classB = Model.getCoreFactory().buildClass("B", model);
+        Model.getPump().flushModelEvents();
+        GenerationScheduler.getInstance().clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Model.getUmlFactory().delete(model);
+        Model.getPump().flushModelEvents();
+        super.tearDown();
+    }
+
+    private static File makeDirectory() throws IOException {
+        File dir = File.createTempFile("generation", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+        return dir;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private Collection<SourceUnit> generate() {
+        return GenerationScheduler.getInstance().generate(gen,
+                Arrays.asList(classA, classB), false);
+    }
+
+    /**
+     * Unchanged classifiers aren't generated again.
+     */
+    public void testReuse() {
+        generate();
+        assertEquals(2, gen.generated.size());
+        Collection<SourceUnit> units = generate();
+        assertEquals(2, gen.generated.size());
+        assertEquals(2, units.size());
+    }
+
+    /**
+     * A change inside a classifier generates only that classifier again.
+     */
+    public void testLocalChange() {
+        generate();
+        Object intType = Model.getCoreFactory().buildDataType("int", model);
+        Model.getPump().flushModelEvents();
+        generate();
+        gen.generated.clear();
+        Model.getCoreFactory().buildAttribute2(classA, intType);
+        Model.getPump().flushModelEvents();
+        generate();
+        assertEquals(Collections.singletonList(classA), gen.generated);
+    }
+
+    /**
+     * Renaming a classifier generates all of them again, since others may
+     * refer to it by name.
+     */
+    public void testRename() {
+        generate();
+        gen.generated.clear();
+        Model.getCoreHelper().setName(classB, "C");
+        Model.getPump().flushModelEvents();
+        generate();
+        assertEquals(2, gen.generated.size());
+    }
+
+    /**
+     * With dependencies, nothing is reused.
+     */
+    public void testDependencies() {
+        GenerationScheduler.getInstance().generate(gen,
+                Collections.singleton(classA), true);
+        GenerationScheduler.getInstance().generate(gen,
+                Collections.singleton(classA), true);
+        assertEquals(2, gen.generated.size());
+    }
+
+    /**
+     * Changing a unit handed out doesn't change what is kept.
+     */
+    public void testUnitsAreCopies() {
+        for (SourceUnit unit : generate()) {
+            unit.setContent("changed");
+        }
+        for (SourceUnit unit : generate()) {
+            assertFalse("changed".equals(unit.getContent()));
+        }
+        assertEquals(2, gen.generated.size());
+    }
+
+    /**
+     * A change of the generators or of their options generates everything
+     * again.
+     */
+    public void testOptionsChanged() {
+        generate();
+        ArgoEventPump.fireEvent(new ArgoGeneratorEvent(
+                ArgoEventTypes.GENERATOR_CHANGED, gen));
+        generate();
+        assertEquals(4, gen.generated.size());
+
+        ConfigurationKey key =
+            Configuration.makeKey("test", "generation", "option");
+        Configuration.setBoolean(key,
+                !Configuration.getBoolean(key, false));
+        generate();
+        assertEquals(6, gen.generated.size());
+    }
+
+    /**
+     * A generator which isn't streaming is called once with all the
+     * elements, which it may combine, and only what it generates for a
+     * single element is kept.
+     */
+    public void testCombiningGenerator() {
+        CombiningGenerator combining = new CombiningGenerator();
+        GenerationScheduler scheduler = GenerationScheduler.getInstance();
+        Collection<SourceUnit> units = scheduler.generate(combining,
+                Arrays.asList(classA, classB), false);
+        scheduler.generate(combining, Arrays.asList(classA, classB), false);
+        assertEquals(1, units.size());
+        assertEquals("AB", units.iterator().next().getContent());
+        assertEquals(2, combining.calls.size());
+        assertEquals(Arrays.asList(classA, classB), combining.calls.get(0));
+
+        scheduler.generate(combining, Collections.singleton(classA), false);
+        units = scheduler.generate(combining, Collections.singleton(classA),
+                false);
+        assertEquals(3, combining.calls.size());
+        assertEquals("A", units.iterator().next().getContent());
+    }
+
+    /**
+     * A streaming generator is called for each classifier on its own, on
+     * other threads when there are several.
+     */
+    public void testParallel() {
+        Collection<SourceUnit> units = generate();
+        assertEquals(2, units.size());
+        assertEquals(2, gen.threads.size());
+        assertFalse(gen.threads.contains(Thread.currentThread()));
+
+        gen.threads.clear();
+        GenerationScheduler.getInstance().generate(gen,
+                Collections.singleton(classA), true);
+        assertEquals(Collections.singletonList(Thread.currentThread()),
+                gen.threads);
+    }
+
+    /**
+     * The files of a streaming generator are written only when their
+     * content changes, and no temporary files are left.
+     */
+    public void testGenerateFiles() throws Exception {
+        File dir = makeDirectory();
+        try {
+            GenerationScheduler scheduler = GenerationScheduler.getInstance();
+            Collection<String> names = scheduler.generateFiles(gen,
+                    Arrays.asList(classA, classB), dir.getPath(), false);
+            assertEquals(2, names.size());
+            File fileA = new File(dir, "src" + File.separator + "A.txt");
+            assertTrue(fileA.exists());
+            assertEquals(2, fileA.getParentFile().list().length);
+
+            assertTrue(scheduler.writeIfChanged(fileA, "A"));
+            assertFalse(scheduler.writeIfChanged(fileA, "A"));
+            assertEquals(1, fileA.length());
+            assertEquals(2, fileA.getParentFile().list().length);
+
+            // A file changed by someone else is compared by its content
+            FileOutputStream out = new FileOutputStream(fileA);
+            try {
+                out.write("BB".getBytes());
+            } finally {
+                out.close();
+            }
+            assertTrue(scheduler.writeIfChanged(fileA, "A"));
+            assertFalse(scheduler.writeIfChanged(fileA, "A"));
+            assertEquals(1, fileA.length());
+        } finally {
+            delete(dir);
+        }
+    }
+}
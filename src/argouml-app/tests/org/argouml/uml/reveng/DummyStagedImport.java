@@ -0,0 +1,113 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.reveng;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.argouml.kernel.Project;
+import org.argouml.taskmgmt.ProgressMonitor;
+import org.argouml.util.SuffixFilter;
+
+/**
+ * A dummy staged import module that can be used by tests. A file is
+ * "parsed" into its name, and the model "built" is the list of the names.
+ * A file whose name starts with <code>fail</code> can't be parsed, and one
+ * whose name starts with <code>empty</code> declares nothing.
+ */
+public class DummyStagedImport implements StagedImportInterface<String> {
+
+    private final List<Thread> parseThreads =
+        Collections.synchronizedList(new ArrayList<Thread>());
+
+    private Thread buildThread;
+
+    private List<String> built;
+
+    public String parseFile(File file, ImportSettings settings)
+        throws ImportException {
+        parseThreads.add(Thread.currentThread());
+        String name = file.getName();
+        if (name.startsWith("fail")) {
+            throw new ImportException("Can't parse " + name);
+        }
+        if (name.startsWith("empty")) {
+            return null;
+        }
+        return name;
+    }
+
+    public Collection buildModel(Project p, List<String> symbols,
+            ImportSettings settings, ProgressMonitor monitor) {
+        buildThread = Thread.currentThread();
+        built = new ArrayList<String>(symbols);
+        return built;
+    }
+
+    /**
+     * @return the threads on which the files were parsed
+     */
+    public List<Thread> getParseThreads() {
+        return parseThreads;
+    }
+
+    /**
+     * @return the thread on which the model was built, or null
+     */
+    public Thread getBuildThread() {
+        return buildThread;
+    }
+
+    /**
+     * @return the symbols the model was built from, or null
+     */
+    public List<String> getBuilt() {
+        return built;
+    }
+
+    public Collection parseFiles(Project p, Collection<File> files,
+            ImportSettings settings, ProgressMonitor monitor) {
+        throw new UnsupportedOperationException();
+    }
+
+    public SuffixFilter[] getSuffixFilters() {
+        return new SuffixFilter[0];
+    }
+
+    public boolean isParseable(File file) {
+        return true;
+    }
+
+    public List<SettingsTypes.Setting> getImportSettings() {
+        return Collections.emptyList();
+    }
+
+    public boolean enable() {
+        return true;
+    }
+
+    public boolean disable() {
+        return true;
+    }
+
+    public String getName() {
+        return "Dummy staged import";
+    }
+
+    public String getInfo(int type) {
+        return null;
+    }
+}
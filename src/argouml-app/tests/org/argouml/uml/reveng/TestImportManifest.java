@@ -0,0 +1,178 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.reveng;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.argouml.model.InitializeModel;
+import org.argouml.model.Model;
+
+/**
+ * Tests for the {@link ImportManifest}.
+ */
+public class TestImportManifest extends TestCase {
+
+    private File dir;
+
+    private File store;
+
+    private Object model;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        InitializeModel.initializeDefault();
+        dir = File.createTempFile("manifest", "");
+        dir.delete();
+        dir.mkdirs();
+        store = new File(dir, "test.manifest");
+        model = Model.getModelManagementFactory().createModel();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Model.getUmlFactory().delete(model);
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+        super.tearDown();
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(dir, name);
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    /**
+     * Import a file which produces a classifier, and save the manifest.
+     */
+    private Object importFile(File file, String name) {
+        Object cls = Model.getCoreFactory().buildClass(name, model);
+        ImportManifest manifest = new ImportManifest(store, model);
+        manifest.update(Collections.singletonList(file),
+                Collections.singletonList(cls));
+        manifest.save();
+        return cls;
+    }
+
+    /**
+     * Test that the hash depends on the content only, and that a file
+     * which can't be read has none.
+     */
+    public void testHash() throws Exception {
+        File a = write("A.java", "class A {}");
+        File b = write("B.java", "class A {}");
+        File c = write("C.java", "class C {}");
+        assertNotNull(ImportManifest.hash(a));
+        assertEquals(ImportManifest.hash(a), ImportManifest.hash(b));
+        assertFalse(ImportManifest.hash(a).equals(ImportManifest.hash(c)));
+        assertNull(ImportManifest.hash(new File(dir, "Missing.java")));
+    }
+
+    /**
+     * Test that a file is skipped only while it and its classifier are
+     * unchanged.
+     */
+    public void testSkipUnchanged() throws Exception {
+        File file = write("Foo.java", "class Foo {}");
+        importFile(file, "Foo");
+        assertTrue(new ImportManifest(store, model).isUnchanged(file));
+
+        write("Foo.java", "class Foo { }");
+        assertFalse(new ImportManifest(store, model).isUnchanged(file));
+    }
+
+    /**
+     * Test that a file isn't skipped when the model no longer holds what
+     * the manifest recorded for it.
+     */
+    public void testStaleEntry() throws Exception {
+        File file = write("Foo.java", "class Foo {}");
+        Object cls = importFile(file, "Foo");
+        Model.getCoreHelper().setName(cls, "Bar");
+        assertFalse(new ImportManifest(store, model).isUnchanged(file));
+
+        Model.getCoreHelper().setName(cls, "Foo");
+        assertTrue(new ImportManifest(store, model).isUnchanged(file));
+        Model.getUmlFactory().delete(cls);
+        assertFalse(new ImportManifest(store, model).isUnchanged(file));
+    }
+
+    /**
+     * Test that a file which can't be read is imported again.
+     */
+    public void testUnreadable() throws Exception {
+        File file = write("Foo.java", "class Foo {}");
+        importFile(file, "Foo");
+        file.delete();
+        ImportManifest manifest = new ImportManifest(store, model);
+        manifest.update(Collections.singletonList(file),
+                Collections.emptyList());
+        manifest.save();
+        write("Foo.java", "class Foo {}");
+        assertFalse(new ImportManifest(store, model).isUnchanged(file));
+    }
+
+    /**
+     * Test that the classifier a changed file no longer produces is left
+     * over, unless it no longer has the name of the file.
+     */
+    public void testLeftOver() throws Exception {
+        File file = write("Foo.java", "class Foo {}");
+        Object old = importFile(file, "Foo");
+        write("Foo.java", "class Foo { }");
+        Object cls = Model.getCoreFactory().buildClass("Foo", model);
+        ImportManifest manifest = new ImportManifest(store, model);
+        Collection<Object> leftOver = manifest.update(
+                Collections.singletonList(file),
+                Collections.singletonList(cls));
+        assertEquals(Collections.singletonList(old), leftOver);
+
+        Model.getCoreHelper().setName(cls, "Renamed");
+        write("Foo.java", "class Foo {  }");
+        Object newer = Model.getCoreFactory().buildClass("Foo", model);
+        leftOver = manifest.update(Collections.singletonList(file),
+                Collections.singletonList(newer));
+        assertTrue(leftOver.isEmpty());
+    }
+
+    /**
+     * Test that the classifiers of a deleted file are left over.
+     */
+    public void testDeletedFile() throws Exception {
+        File file = write("Foo.java", "class Foo {}");
+        Object cls = importFile(file, "Foo");
+        file.delete();
+        ImportManifest manifest = new ImportManifest(store, model);
+        List<File> none = Collections.emptyList();
+        manifest.findDeletedFiles(dir.getAbsolutePath(), none);
+        assertTrue(manifest.hasDeletedFiles());
+        assertEquals(Collections.singletonList(cls),
+                manifest.update(none, Collections.emptyList()));
+    }
+}
@@ -0,0 +1,144 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.reveng;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.argouml.taskmgmt.ProgressEvent;
+import org.argouml.taskmgmt.ProgressMonitor;
+
+/**
+ * Tests for the {@link ImportPipeline} with a {@link DummyStagedImport}.
+ */
+public class TestImportPipeline extends TestCase {
+
+    private ImportPipeline pipeline;
+
+    private DummyStagedImport module;
+
+    private List<Exception> problems;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        pipeline = new ImportPipeline();
+        module = new DummyStagedImport();
+        problems = new ArrayList<Exception>();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        pipeline.shutdown();
+        super.tearDown();
+    }
+
+    private static List<File> makeFiles(String... names) {
+        List<File> files = new ArrayList<File>();
+        for (String name : names) {
+            files.add(new File(name));
+        }
+        return files;
+    }
+
+    /**
+     * Test that the files are parsed off this thread, and the model is
+     * built on it from the results in the order of the files.
+     */
+    public void testStages() {
+        List<File> files = makeFiles("a", "b", "c", "d", "e", "f");
+        Collection elements = pipeline.importFiles(module, null, files,
+                new DummyImportSettings(), new DummyMonitor(false),
+                problems);
+        assertTrue(problems.isEmpty());
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f"),
+                module.getBuilt());
+        assertSame(module.getBuilt(), elements);
+        assertEquals(files.size(), module.getParseThreads().size());
+        assertFalse(module.getParseThreads().contains(
+                Thread.currentThread()));
+        assertSame(Thread.currentThread(), module.getBuildThread());
+    }
+
+    /**
+     * Test that a file which can't be parsed is reported, and that the
+     * others are still built.
+     */
+    public void testProblems() {
+        pipeline.importFiles(module, null,
+                makeFiles("a", "fail1", "empty", "b"),
+                new DummyImportSettings(), new DummyMonitor(false),
+                problems);
+        assertEquals(1, problems.size());
+        assertTrue(problems.get(0)
+                instanceof ImportInterface.ImportException);
+        assertEquals(Arrays.asList("a", "b"), module.getBuilt());
+    }
+
+    /**
+     * Test that nothing is built once the import is canceled.
+     */
+    public void testCanceled() {
+        Collection elements = pipeline.importFiles(module, null,
+                makeFiles("a", "b"), new DummyImportSettings(),
+                new DummyMonitor(true), problems);
+        assertTrue(elements.isEmpty());
+        assertNull(module.getBuilt());
+    }
+
+    /**
+     * A monitor which is canceled from the start, or never.
+     */
+    private static class DummyMonitor implements ProgressMonitor {
+
+        private final boolean canceled;
+
+        DummyMonitor(boolean isCanceled) {
+            canceled = isCanceled;
+        }
+
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        public void updateProgress(int progress) {
+        }
+
+        public void updateSubTask(String name) {
+        }
+
+        public void updateMainTask(String name) {
+        }
+
+        public void setMaximumProgress(int max) {
+        }
+
+        public void notifyNullAction() {
+        }
+
+        public void notifyMessage(String title, String introduction,
+                String message) {
+        }
+
+        public void close() {
+        }
+
+        public void progress(ProgressEvent event) {
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the {@link BackgroundListBuilder}.
+ */
+public class TestBackgroundListBuilder extends TestCase {
+
+    /**
+     * A client which builds a list holding the number of its build, after
+     * waiting for the test to let it go on.
+     */
+    private static class RecordingClient
+        implements BackgroundListBuilder.Client {
+
+        private int builds;
+
+        private volatile CountDownLatch go = new CountDownLatch(0);
+
+        private final List<List<Object>> handed =
+            Collections.synchronizedList(new ArrayList<List<Object>>());
+
+        private volatile boolean handedOnEventThread = true;
+
+        public List<Object> build() {
+            int build;
+            synchronized (this) {
+                build = ++builds;
+            }
+            try {
+                go.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // A cancelled build: what it returns is dropped
+            }
+            List<Object> elements = new ArrayList<Object>();
+            elements.add(Integer.valueOf(build));
+            return elements;
+        }
+
+        public void built(List<Object> elements) {
+            if (!SwingUtilities.isEventDispatchThread()) {
+                handedOnEventThread = false;
+            }
+            handed.add(elements);
+        }
+    }
+
+    private RecordingClient client;
+
+    private BackgroundListBuilder builder;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        client = new RecordingClient();
+        builder = new BackgroundListBuilder(client);
+    }
+
+    /**
+     * Wait for the builds started so far and for the lists they hand over.
+     */
+    private void waitForBuilds() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        // The builds run one at a time, so this one runs after them
+        new BackgroundListBuilder(new BackgroundListBuilder.Client() {
+            public List<Object> build() {
+                return new ArrayList<Object>();
+            }
+
+            public void built(List<Object> elements) {
+                done.countDown();
+            }
+        }).start();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        // Let any event queued before ours run
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+            }
+        });
+    }
+
+    /**
+     * The list is handed over once, on the event thread.
+     */
+    public void testBuilt() throws Exception {
+        builder.start();
+        waitForBuilds();
+        assertEquals(1, client.handed.size());
+        assertEquals(Integer.valueOf(1), client.handed.get(0).get(0));
+        assertTrue(client.handedOnEventThread);
+        assertFalse(builder.isRunning());
+    }
+
+    /**
+     * A cancelled build is never handed over.
+     */
+    public void testCancel() throws Exception {
+        client.go = new CountDownLatch(1);
+        builder.start();
+        assertTrue(builder.isRunning());
+        builder.cancel();
+        assertFalse(builder.isRunning());
+        client.go.countDown();
+        waitForBuilds();
+        assertTrue(client.handed.isEmpty());
+    }
+
+    /**
+     * Starting again replaces the build in progress, whose list is dropped.
+     */
+    public void testRestart() throws Exception {
+        client.go = new CountDownLatch(1);
+        builder.start();
+        builder.start();
+        client.go.countDown();
+        waitForBuilds();
+        assertEquals(1, client.handed.size());
+        // The first build may never have run, but the last one did
+        assertEquals(Integer.valueOf(client.builds),
+                client.handed.get(0).get(0));
+        assertFalse(builder.isRunning());
+    }
+}
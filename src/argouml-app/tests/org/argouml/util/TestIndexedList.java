@@ -0,0 +1,58 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.util;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the IndexedList class.
+ */
+public class TestIndexedList extends TestCase {
+
+    /**
+     * Test that elements keep their order and duplicates are dropped.
+     */
+    public void testAdd() {
+        IndexedList<String> list = new IndexedList<String>();
+        assertTrue(list.add("a"));
+        assertTrue(list.add("b"));
+        assertFalse(list.add("a"));
+        assertTrue(list.add(null));
+        assertEquals(Arrays.asList("a", "b", null), list);
+        assertEquals(2, list.indexOf(null));
+        assertEquals(-1, list.indexOf("c"));
+    }
+
+    /**
+     * Test that the positions follow removals and insertions.
+     */
+    public void testRemove() {
+        IndexedList<String> list = new IndexedList<String>(
+                Arrays.asList("a", "b", "c", "d", "e"));
+        list.remove("b");
+        assertEquals(2, list.indexOf("d"));
+        list.add(0, "x");
+        assertEquals(0, list.indexOf("x"));
+        assertEquals(3, list.indexOf("d"));
+        assertTrue(list.removeAll(Arrays.asList("a", "d", "z")));
+        assertEquals(Arrays.asList("x", "c", "e"), list);
+        assertFalse(list.contains("a"));
+        assertEquals(2, list.indexOf("e"));
+        assertFalse(list.removeAll(Arrays.asList("z")));
+        list.retainAll(Arrays.asList("e"));
+        assertEquals(Arrays.asList("e"), list);
+        assertEquals(0, list.indexOf("e"));
+    }
+}
@@ -0,0 +1,82 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+/**
+ * An operation measured by the {@link BenchmarkRunner}.<p>
+ *
+ * Only {@link #run()} is timed. The runner calls {@link #setUp(SyntheticModel)}
+ * once, then {@link #prepare()}, {@link #run()} and {@link #cleanUp(Object)}
+ * for each operation, through the warmup and the measurement iterations, and
+ * {@link #tearDown()} at the end.
+ */
+public abstract class Benchmark {
+
+    private final String name;
+
+    /**
+     * @param theName the name of the benchmark, as given in the results
+     */
+    protected Benchmark(String theName) {
+        name = theName;
+    }
+
+    /**
+     * @return the name of the benchmark
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Make what the operation works on.
+     *
+     * @param model the model to work on
+     * @throws Exception if the benchmark can't be set up
+     */
+    public void setUp(SyntheticModel model) throws Exception {
+    }
+
+    /**
+     * Get ready for the next operation, without being timed.
+     *
+     * @throws Exception if something goes wrong
+     */
+    public void prepare() throws Exception {
+    }
+
+    /**
+     * The operation which is timed.
+     *
+     * @return what the operation made, so that it can't be optimized away
+     * @throws Exception if something goes wrong
+     */
+    public abstract Object run() throws Exception;
+
+    /**
+     * Undo what the operation did, without being timed.
+     *
+     * @param result what {@link #run()} returned
+     * @throws Exception if something goes wrong
+     */
+    public void cleanUp(Object result) throws Exception {
+    }
+
+    /**
+     * Remove what {@link #setUp(SyntheticModel)} made.
+     *
+     * @throws Exception if something goes wrong
+     */
+    public void tearDown() throws Exception {
+    }
+}
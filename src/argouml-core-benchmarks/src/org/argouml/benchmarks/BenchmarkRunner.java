@@ -0,0 +1,398 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.argouml.model.Model;
+import org.argouml.notation.InitNotation;
+import org.argouml.notation.providers.java.InitNotationJava;
+import org.argouml.notation.providers.uml.InitNotationUml;
+import org.argouml.persistence.XmiInputStreamBenchmark;
+import org.argouml.persistence.XmlInputStreamBenchmark;
+import org.argouml.profile.init.InitProfileSubsystem;
+import org.argouml.profile.internal.ocl.OclBenchmark;
+import org.argouml.uml.diagram.activity.ui.InitActivityDiagram;
+import org.argouml.uml.diagram.collaboration.ui.InitCollaborationDiagram;
+import org.argouml.uml.diagram.deployment.ui.InitDeploymentDiagram;
+import org.argouml.uml.diagram.state.ui.InitStateDiagram;
+import org.argouml.uml.diagram.static_structure.layout.LayeredLayoutBenchmark;
+import org.argouml.uml.diagram.static_structure.ui.InitClassDiagram;
+import org.argouml.uml.diagram.ui.InitDiagramAppearanceUI;
+import org.argouml.uml.diagram.use_case.ui.InitUseCaseDiagram;
+
+/**
+ * Runs the benchmarks of the model, persistence and critic hot paths over a
+ * synthetic model, headless, and writes the results as JSON.<p>
+ *
+ * Each benchmark has warmup iterations, whose results are thrown away, and
+ * measured iterations. An iteration runs the operation over and over for a
+ * given time and gives the average time of an operation. The JSON is an
+ * array with an object for each benchmark, laid out as the JSON results of
+ * JMH are, so that the tools which track those can track these.<p>
+ *
+ * The options are:
+ * <pre>
+ *   -size N          the number of classes of the model (500)
+ *   -warmup N        the number of warmup iterations (3)
+ *   -iterations N    the number of measured iterations (5)
+ *   -time MS         the time of each iteration (1000)
+ *   -include REGEX   only run the benchmarks whose names match
+ *   -json FILE       write the results to the file
+ *   -testmodels DIR  the test models of the MDR model implementation
+ *   -storage NAME    the storage of the MDR repository, memory or btree
+ *   -facadecache B   whether the answers of the Facade are cached (false)
+ *   -list            list the benchmarks and exit
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_MODEL_IMPLEMENTATION =
+        "org.argouml.model.mdr.MDRModelImplementation";
+
+    private static final String STORAGE_PROPERTY = "argouml.model.mdr.storage";
+
+    private static final String FACADE_CACHE_PROPERTY =
+        "argouml.model.mdr.facadeCache";
+
+    /**
+     * The z value of a confidence of 99.9 percent.
+     */
+    private static final double Z_999 = 3.291;
+
+    private int size = 500;
+
+    private int warmup = 3;
+
+    private int iterations = 5;
+
+    private long time = 1000;
+
+    private Pattern include;
+
+    private File json;
+
+    private File testModels =
+        new File("../argouml-core-model-mdr/tests/testmodels");
+
+    private String storage =
+        System.getProperty(STORAGE_PROPERTY, "memory");
+
+    private boolean facadeCache = Boolean.getBoolean(FACADE_CACHE_PROPERTY);
+
+    private boolean list;
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * @param args the options
+     * @throws Exception if a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        BenchmarkRunner runner = new BenchmarkRunner();
+        runner.parse(args);
+        List<Benchmark> benchmarks = runner.select();
+        if (runner.list) {
+            for (Benchmark b : benchmarks) {
+                System.out.println(b.getName());
+            }
+            return;
+        }
+        System.setProperty(STORAGE_PROPERTY, runner.storage);
+        System.setProperty(FACADE_CACHE_PROPERTY,
+                Boolean.toString(runner.facadeCache));
+        initialize();
+        List<Result> results = runner.run(benchmarks);
+        if (runner.json != null) {
+            runner.writeJson(results);
+        }
+        System.exit(0);
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("-list")) {
+                list = true;
+            } else if (i + 1 >= args.length) {
+                usage("Missing value for " + arg);
+            } else if (arg.equals("-size")) {
+                size = Integer.parseInt(args[++i]);
+            } else if (arg.equals("-warmup")) {
+                warmup = Integer.parseInt(args[++i]);
+            } else if (arg.equals("-iterations")) {
+                iterations = Integer.parseInt(args[++i]);
+            } else if (arg.equals("-time")) {
+                time = Long.parseLong(args[++i]);
+            } else if (arg.equals("-include")) {
+                include = Pattern.compile(args[++i]);
+            } else if (arg.equals("-json")) {
+                json = new File(args[++i]);
+            } else if (arg.equals("-testmodels")) {
+                testModels = new File(args[++i]);
+            } else if (arg.equals("-storage")) {
+                storage = args[++i];
+            } else if (arg.equals("-facadecache")) {
+                facadeCache = Boolean.parseBoolean(args[++i]);
+            } else {
+                usage("Unknown option " + arg);
+            }
+        }
+        if (iterations < 1) {
+            usage("At least one iteration is needed");
+        }
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: BenchmarkRunner [-size N] [-warmup N]"
+                + " [-iterations N] [-time MS] [-include REGEX]"
+                + " [-json FILE] [-testmodels DIR] [-storage NAME]"
+                + " [-facadecache B] [-list]");
+        System.exit(2);
+    }
+
+    private List<Benchmark> select() {
+        List<Benchmark> all = new ArrayList<Benchmark>();
+        all.add(new SaveBenchmark("zargo"));
+        all.add(new SaveBenchmark("uml"));
+        all.add(new LoadBenchmark("zargo"));
+        all.add(new LoadBenchmark("uml"));
+        all.add(new XmlInputStreamBenchmark());
+        all.add(new XmiInputStreamBenchmark());
+        all.add(new XmiReadBenchmark("test",
+                new File(testModels, "test.xmi"), null));
+        all.add(new XmiReadBenchmark("timetracker",
+                new File(testModels, "AndroMDA-3.3/timetracker2.xmi"),
+                new File(testModels, "AndroMDA-3.3/unzipped-uml14")));
+        all.add(new EventDispatchBenchmark());
+        all.add(new EditBenchmark());
+        all.add(new CritiqueBenchmark());
+        all.add(new LayeredLayoutBenchmark());
+        all.add(new OclBenchmark(false));
+        all.add(new OclBenchmark(true));
+        all.addAll(QueryBenchmark.getAll());
+
+        List<Benchmark> selected = new ArrayList<Benchmark>();
+        for (Benchmark b : all) {
+            if (include == null || include.matcher(b.getName()).find()) {
+                selected.add(b);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Start the subsystems a headless ArgoUML needs to build, save and load
+     * projects.
+     */
+    private static void initialize() {
+        Throwable failure = Model.initialise(System.getProperty(
+                "argouml.model.implementation",
+                DEFAULT_MODEL_IMPLEMENTATION));
+        if (failure != null) {
+            throw new IllegalStateException(
+                    "The Model subsystem can't be started", failure);
+        }
+        new InitProfileSubsystem().init();
+        new InitNotation().init();
+        new InitNotationUml().init();
+        new InitNotationJava().init();
+        new InitDiagramAppearanceUI().init();
+        new InitActivityDiagram().init();
+        new InitCollaborationDiagram().init();
+        new InitDeploymentDiagram().init();
+        new InitStateDiagram().init();
+        new InitClassDiagram().init();
+        new InitUseCaseDiagram().init();
+    }
+
+    private List<Result> run(List<Benchmark> benchmarks) throws Exception {
+        long start = System.nanoTime();
+        SyntheticModel model = new SyntheticModel(size);
+        System.out.println("Built a model of " + size + " classes in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+
+        List<Result> results = new ArrayList<Result>();
+        for (Benchmark b : benchmarks) {
+            b.setUp(model);
+            try {
+                for (int i = 0; i < warmup; i++) {
+                    iterate(b);
+                }
+                Result result = new Result(b.getName(), iterations);
+                for (int i = 0; i < iterations; i++) {
+                    result.scores[i] = iterate(b);
+                }
+                results.add(result);
+                System.out.println(result);
+            } finally {
+                b.tearDown();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Run the operation of a benchmark for the time of an iteration, and at
+     * least once.
+     *
+     * @return the average time of an operation, in microseconds
+     */
+    private double iterate(Benchmark b) throws Exception {
+        long timed = 0;
+        long operations = 0;
+        long end = System.nanoTime() + time * 1000000;
+        do {
+            b.prepare();
+            long start = System.nanoTime();
+            Object result = b.run();
+            timed += System.nanoTime() - start;
+            operations++;
+            b.cleanUp(result);
+        } while (System.nanoTime() < end);
+        return timed / 1000.0 / operations;
+    }
+
+    private void writeJson(List<Result> results) throws IOException {
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(json), "UTF-8"));
+        try {
+            out.println("[");
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                out.println("    {");
+                out.println("        \"benchmark\" : \""
+                        + BenchmarkRunner.class.getPackage().getName() + "."
+                        + r.name + "\",");
+                out.println("        \"mode\" : \"avgt\",");
+                out.println("        \"threads\" : 1,");
+                out.println("        \"forks\" : 1,");
+                out.println("        \"jvm\" : \""
+                        + escape(System.getProperty("java.home")) + "\",");
+                out.println("        \"vmVersion\" : \""
+                        + escape(System.getProperty("java.vm.version"))
+                        + "\",");
+                out.println("        \"warmupIterations\" : " + warmup + ",");
+                out.println("        \"warmupTime\" : \"" + time + " ms\",");
+                out.println("        \"measurementIterations\" : "
+                        + iterations + ",");
+                out.println("        \"measurementTime\" : \"" + time
+                        + " ms\",");
+                out.println("        \"params\" : {");
+                out.println("            \"size\" : \"" + size + "\",");
+                out.println("            \"storage\" : \"" + storage
+                        + "\",");
+                out.println("            \"facadeCache\" : \""
+                        + facadeCache + "\"");
+                out.println("        },");
+                out.println("        \"primaryMetric\" : {");
+                out.println("            \"score\" : "
+                        + format(r.getMean()) + ",");
+                out.println("            \"scoreError\" : "
+                        + format(r.getError()) + ",");
+                out.println("            \"scoreConfidence\" : [");
+                out.println("                "
+                        + format(r.getMean() - r.getError()) + ",");
+                out.println("                "
+                        + format(r.getMean() + r.getError()));
+                out.println("            ],");
+                out.println("            \"scoreUnit\" : \"us/op\",");
+                out.println("            \"rawData\" : [");
+                out.print("                [");
+                for (int j = 0; j < r.scores.length; j++) {
+                    out.print((j > 0 ? ", " : "") + format(r.scores[j]));
+                }
+                out.println("]");
+                out.println("            ]");
+                out.println("        },");
+                out.println("        \"secondaryMetrics\" : {");
+                out.println("        }");
+                out.println(i < results.size() - 1 ? "    }," : "    }");
+            }
+            out.println("]");
+        } finally {
+            out.close();
+        }
+        if (out.checkError()) {
+            throw new IOException("Can't write " + json);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.US, "%.3f", value);
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * The scores of the measured iterations of a benchmark.
+     */
+    private static class Result {
+
+        private final String name;
+
+        private final double[] scores;
+
+        Result(String theName, int n) {
+            name = theName;
+            scores = new double[n];
+        }
+
+        double getMean() {
+            double sum = 0;
+            for (double s : scores) {
+                sum += s;
+            }
+            return sum / scores.length;
+        }
+
+        /**
+         * @return the half width of the confidence interval of the mean,
+         *         or 0 for a single iteration
+         */
+        double getError() {
+            int n = scores.length;
+            if (n < 2) {
+                return 0;
+            }
+            double mean = getMean();
+            double squares = 0;
+            for (double s : scores) {
+                squares += (s - mean) * (s - mean);
+            }
+            return Z_999 * Math.sqrt(squares / (n - 1)) / Math.sqrt(n);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%-45s %12.3f +- %10.3f us/op",
+                    name, getMean(), getError());
+        }
+    }
+}
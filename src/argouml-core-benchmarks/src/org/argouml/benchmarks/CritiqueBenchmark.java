@@ -0,0 +1,52 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.util.Collection;
+
+import org.argouml.cognitive.Agency;
+import org.argouml.cognitive.Designer;
+import org.argouml.model.Model;
+
+/**
+ * Apply all the critics registered with the Agency to every element of the
+ * model, as a sweep of the Designer through its warm queue would.
+ */
+public class CritiqueBenchmark extends Benchmark {
+
+    private Collection<?> elements;
+
+    private Designer designer;
+
+    /**
+     * The constructor.
+     */
+    public CritiqueBenchmark() {
+        super("critique.sweep");
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) {
+        elements = Model.getModelManagementHelper().getAllModelElementsOfKind(
+                model.getModel(), Model.getMetaTypes().getModelElement());
+        designer = Designer.theDesigner();
+    }
+
+    @Override
+    public Object run() {
+        for (Object dm : elements) {
+            Agency.applyAllCritics(dm, designer);
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,67 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+
+import org.argouml.model.Model;
+
+/**
+ * Rename a class picked at random, as an edit in the GUI would. The names
+ * are put back when the benchmark is done. Run with
+ * <code>-storage btree</code> to compare the storages of the model.
+ */
+public class EditBenchmark extends Benchmark {
+
+    private final Random random = new Random(1);
+
+    private List<Object> classes;
+
+    private String[] names;
+
+    /**
+     * The constructor.
+     */
+    public EditBenchmark() {
+        super("model.edit");
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) {
+        classes = model.getClasses();
+        names = new String[classes.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = Model.getFacade().getName(classes.get(i));
+        }
+    }
+
+    @Override
+    public Object run() {
+        int i = random.nextInt(names.length);
+        Object cls = classes.get(i);
+        if (names[i].equals(Model.getFacade().getName(cls))) {
+            Model.getCoreHelper().setName(cls, names[i] + "x");
+        } else {
+            Model.getCoreHelper().setName(cls, names[i]);
+        }
+        return cls;
+    }
+
+    @Override
+    public void tearDown() {
+        for (int i = 0; i < names.length; i++) {
+            Model.getCoreHelper().setName(classes.get(i), names[i]);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.List;
+
+import org.argouml.model.Model;
+
+/**
+ * Rename a class, each time another one, and wait for the event pump to
+ * deliver the events. A listener is registered for the names of all the
+ * classes, so that the registrations are looked up among many.
+ */
+public class EventDispatchBenchmark extends Benchmark {
+
+    private List<Object> classes;
+
+    private int next;
+
+    private int events;
+
+    private final PropertyChangeListener listener =
+        new PropertyChangeListener() {
+            public void propertyChange(PropertyChangeEvent evt) {
+                events++;
+            }
+        };
+
+    /**
+     * The constructor.
+     */
+    public EventDispatchBenchmark() {
+        super("events.dispatch");
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) {
+        classes = model.getClasses();
+        for (Object cls : classes) {
+            Model.getPump().addModelEventListener(listener, cls, "name");
+        }
+    }
+
+    @Override
+    public Object run() {
+        int i = next++ % classes.size();
+        Model.getCoreHelper().setName(classes.get(i), "R" + next);
+        Model.getPump().flushModelEvents();
+        return events;
+    }
+
+    @Override
+    public void tearDown() {
+        for (int i = 0; i < classes.size(); i++) {
+            Object cls = classes.get(i);
+            Model.getPump().removeModelEventListener(listener, cls, "name");
+            Model.getCoreHelper().setName(cls, "C" + i);
+        }
+        Model.getPump().flushModelEvents();
+    }
+}
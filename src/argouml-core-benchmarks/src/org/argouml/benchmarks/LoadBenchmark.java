@@ -0,0 +1,68 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.io.File;
+
+import org.argouml.kernel.Project;
+import org.argouml.persistence.AbstractFilePersister;
+import org.argouml.persistence.PersistenceManager;
+
+/**
+ * Load the synthetic project from a file it was saved to, with the
+ * persister of a file extension. The loaded project is removed after each
+ * load, without being timed.
+ */
+public class LoadBenchmark extends Benchmark {
+
+    private final String extension;
+
+    private File file;
+
+    private AbstractFilePersister persister;
+
+    /**
+     * @param theExtension the file extension, such as "zargo" or "uml"
+     */
+    public LoadBenchmark(String theExtension) {
+        super("load." + theExtension);
+        extension = theExtension;
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) throws Exception {
+        file = File.createTempFile("benchmark", "." + extension);
+        persister =
+            PersistenceManager.getInstance().getPersisterFromFileName(
+                    file.getName());
+        persister.save(model.getProject(), file);
+    }
+
+    @Override
+    public Object run() throws Exception {
+        return persister.doLoad(file);
+    }
+
+    @Override
+    public void cleanUp(Object result) {
+        if (result != null) {
+            ((Project) result).remove();
+        }
+    }
+
+    @Override
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + "~").delete();
+    }
+}
@@ -0,0 +1,110 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.argouml.model.Model;
+
+/**
+ * One of the query helpers of the Model subsystem the GUI and the critics
+ * call the most, over the synthetic model.
+ */
+public abstract class QueryBenchmark extends Benchmark {
+
+    private SyntheticModel model;
+
+    /**
+     * @param name the name of the query
+     */
+    protected QueryBenchmark(String name) {
+        super("query." + name);
+    }
+
+    @Override
+    public void setUp(SyntheticModel theModel) {
+        model = theModel;
+    }
+
+    @Override
+    public Object run() {
+        return query(model);
+    }
+
+    /**
+     * @param m the model
+     * @return the answer of the query
+     */
+    protected abstract Object query(SyntheticModel m);
+
+    /**
+     * @return the benchmarks of all the queries
+     */
+    public static List<Benchmark> getAll() {
+        List<Benchmark> all = new ArrayList<Benchmark>();
+        all.add(new QueryBenchmark("allModelElementsOfKind.class") {
+            protected Object query(SyntheticModel m) {
+                return Model.getModelManagementHelper()
+                    .getAllModelElementsOfKind(m.getModel(),
+                            Model.getMetaTypes().getUMLClass());
+            }
+        });
+        all.add(new QueryBenchmark("allModelElementsOfKind.modelElement") {
+            protected Object query(SyntheticModel m) {
+                return Model.getModelManagementHelper()
+                    .getAllModelElementsOfKind(m.getModel(),
+                            Model.getMetaTypes().getModelElement());
+            }
+        });
+        all.add(new QueryBenchmark("allNamespaces") {
+            protected Object query(SyntheticModel m) {
+                return Model.getModelManagementHelper().getAllNamespaces(
+                        m.getModel());
+            }
+        });
+        all.add(new QueryBenchmark("allContents") {
+            protected Object query(SyntheticModel m) {
+                return Model.getModelManagementHelper().getAllContents(
+                        last(m.getPackages()));
+            }
+        });
+        all.add(new QueryBenchmark("allPossibleNamespaces") {
+            protected Object query(SyntheticModel m) {
+                return Model.getCoreHelper().getAllPossibleNamespaces(
+                        last(m.getClasses()), m.getModel());
+            }
+        });
+        all.add(new QueryBenchmark("allSupertypes") {
+            protected Object query(SyntheticModel m) {
+                return Model.getCoreHelper().getAllSupertypes(
+                        last(m.getClasses()));
+            }
+        });
+        all.add(new QueryBenchmark("facade.features") {
+            protected Object query(SyntheticModel m) {
+                int n = 0;
+                for (Object cls : m.getClasses()) {
+                    n += Model.getFacade().getFeatures(cls).size();
+                    n += Model.getFacade().getName(cls).length();
+                }
+                return n;
+            }
+        });
+        return all;
+    }
+
+    private static Object last(List<Object> list) {
+        return list.get(list.size() - 1);
+    }
+}
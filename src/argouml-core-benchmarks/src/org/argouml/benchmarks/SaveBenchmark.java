@@ -0,0 +1,63 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.io.File;
+
+import org.argouml.kernel.Project;
+import org.argouml.persistence.AbstractFilePersister;
+import org.argouml.persistence.PersistenceManager;
+
+/**
+ * Save the synthetic project to a file, with the persister of a file
+ * extension.
+ */
+public class SaveBenchmark extends Benchmark {
+
+    private final String extension;
+
+    private Project project;
+
+    private File file;
+
+    private AbstractFilePersister persister;
+
+    /**
+     * @param theExtension the file extension, such as "zargo" or "uml"
+     */
+    public SaveBenchmark(String theExtension) {
+        super("save." + theExtension);
+        extension = theExtension;
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) throws Exception {
+        project = model.getProject();
+        file = File.createTempFile("benchmark", "." + extension);
+        persister =
+            PersistenceManager.getInstance().getPersisterFromFileName(
+                    file.getName());
+    }
+
+    @Override
+    public Object run() throws Exception {
+        persister.save(project, file);
+        return file;
+    }
+
+    @Override
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + "~").delete();
+    }
+}
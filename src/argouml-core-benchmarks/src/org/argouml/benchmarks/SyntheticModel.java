@@ -0,0 +1,124 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.argouml.kernel.Project;
+import org.argouml.kernel.ProjectManager;
+import org.argouml.model.CoreFactory;
+import org.argouml.model.CoreHelper;
+import org.argouml.model.Model;
+
+/**
+ * A project with a model of a given size, built through the factories of
+ * the Model subsystem. Each package holds {@link #CLASSES_PER_PACKAGE}
+ * classes and an interface they realize. Each class has attributes typed
+ * with the classes before it, operations with parameters, an association
+ * to the class before it, and every fifth class is a specialization of the
+ * class five before it.
+ */
+public class SyntheticModel {
+
+    /**
+     * The number of classes in each package.
+     */
+    public static final int CLASSES_PER_PACKAGE = 50;
+
+    private static final int ATTRIBUTES = 5;
+
+    private static final int OPERATIONS = 3;
+
+    private final Project project;
+
+    private final Object model;
+
+    private final List<Object> packages = new ArrayList<Object>();
+
+    private final List<Object> classes = new ArrayList<Object>();
+
+    /**
+     * Make the project, which becomes the current project.
+     *
+     * @param size the number of classes
+     */
+    public SyntheticModel(int size) {
+        project = ProjectManager.getManager().makeEmptyProject();
+        model = project.getUserDefinedModelList().get(0);
+        CoreFactory factory = Model.getCoreFactory();
+        CoreHelper helper = Model.getCoreHelper();
+        Object pkg = null;
+        Object iface = null;
+        Object previous = null;
+        Object integer = project.findType("int");
+        for (int i = 0; i < size; i++) {
+            if (i % CLASSES_PER_PACKAGE == 0) {
+                pkg = Model.getModelManagementFactory().buildPackage(
+                        "p" + packages.size());
+                helper.setNamespace(pkg, model);
+                packages.add(pkg);
+                iface = factory.buildInterface("I" + packages.size(), pkg);
+                factory.buildOperation2(iface, integer, "call");
+            }
+            Object cls = factory.buildClass("C" + i, pkg);
+            for (int j = 0; j < ATTRIBUTES; j++) {
+                Object type = j < classes.size()
+                    ? classes.get(classes.size() - 1 - j) : integer;
+                helper.setName(factory.buildAttribute2(cls, type), "a" + j);
+            }
+            for (int j = 0; j < OPERATIONS; j++) {
+                Object op = factory.buildOperation2(cls, integer, "op" + j);
+                helper.setName(factory.buildParameter(op, integer), "x");
+            }
+            factory.buildRealization(cls, iface, pkg);
+            if (previous != null) {
+                factory.buildAssociation(cls, previous);
+            }
+            if (i >= 5 && i % 5 == 0) {
+                factory.buildGeneralization(cls, classes.get(i - 5));
+            }
+            classes.add(cls);
+            previous = cls;
+        }
+    }
+
+    /**
+     * @return the project holding the model
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * @return the user model
+     */
+    public Object getModel() {
+        return model;
+    }
+
+    /**
+     * @return the packages of the model
+     */
+    public List<Object> getPackages() {
+        return Collections.unmodifiableList(packages);
+    }
+
+    /**
+     * @return the classes of the model, in the order they were made
+     */
+    public List<Object> getClasses() {
+        return Collections.unmodifiableList(classes);
+    }
+}
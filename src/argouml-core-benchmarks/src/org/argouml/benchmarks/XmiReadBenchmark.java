@@ -0,0 +1,93 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.argouml.model.Model;
+import org.argouml.model.XmiReader;
+import org.xml.sax.InputSource;
+
+/**
+ * Read one of the test models of the MDR model implementation with the
+ * XmiReader. The elements read are deleted after each read, without being
+ * timed.
+ */
+public class XmiReadBenchmark extends Benchmark {
+
+    private final File file;
+
+    private final File profiles;
+
+    private final List<String> searchPath = new ArrayList<String>();
+
+    /**
+     * @param name the name of the model, as given in the results
+     * @param theFile the XMI file
+     * @param theProfiles the directory of the profiles the model refers to,
+     *            searched with its subdirectories, or null
+     */
+    public XmiReadBenchmark(String name, File theFile, File theProfiles) {
+        super("xmi.read." + name);
+        file = theFile;
+        profiles = theProfiles;
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) throws Exception {
+        if (!file.isFile()) {
+            throw new IllegalArgumentException("No test model " + file);
+        }
+        if (profiles != null) {
+            addSearchPath(profiles);
+        }
+    }
+
+    private void addSearchPath(File dir) throws Exception {
+        searchPath.add(dir.getAbsolutePath());
+        Model.getXmiReader().addSearchPath(dir.getAbsolutePath());
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (f.isDirectory() && !f.isHidden()) {
+                    addSearchPath(f);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object run() throws Exception {
+        XmiReader reader = Model.getXmiReader();
+        return reader.parse(new InputSource(file.toURI().toString()), false);
+    }
+
+    @Override
+    public void cleanUp(Object result) {
+        Collection<?> elements = (Collection<?>) result;
+        if (!elements.isEmpty()) {
+            Model.getUmlFactory().deleteExtent(elements.iterator().next());
+        }
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        for (String path : searchPath) {
+            Model.getXmiReader().removeSearchPath(path);
+        }
+        searchPath.clear();
+    }
+}
@@ -0,0 +1,86 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.persistence;
+
+import java.io.ByteArrayInputStream;
+
+import org.argouml.benchmarks.Benchmark;
+import org.argouml.benchmarks.SyntheticModel;
+
+/**
+ * Read a generated XMI document of a given number of elements, with an
+ * ArgoUML extension every few hundred elements, through an XmiInputStream.
+ * This is in the persistence package as the XmiInputStream is not public.
+ */
+public class XmiInputStreamBenchmark extends Benchmark {
+
+    private static final String ARGO_EXTENSION =
+        "<XMI.extension xmi.extender=\"ArgoUML\" xmi.label=\"pgml\">"
+        + "<pgml name=\"d\"><group/></pgml></XMI.extension>";
+
+    private byte[] document;
+
+    private int extensions;
+
+    private final byte[] buffer = new byte[8192];
+
+    private final XmiExtensionParser parser = new XmiExtensionParser() {
+        public void parse(String type, String xmlExtensionString) {
+            extensions++;
+        }
+    };
+
+    /**
+     * The constructor.
+     */
+    public XmiInputStreamBenchmark() {
+        super("xmiInputStream.scan");
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) throws Exception {
+        int elements = model.getClasses().size() * 200;
+        StringBuilder sb = new StringBuilder("<XMI><XMI.content>");
+        for (int i = 0; i < elements; i++) {
+            sb.append("<UML:Class xmi.id=\"id").append(i)
+                .append("\" name=\"Class").append(i)
+                .append("\" isAbstract=\"false\"/>\n");
+            if (i % 500 == 0) {
+                sb.append(ARGO_EXTENSION);
+            }
+        }
+        sb.append("</XMI.content></XMI>");
+        document = sb.toString().getBytes("ISO-8859-1");
+    }
+
+    @Override
+    public Object run() throws Exception {
+        XmiInputStream in = new XmiInputStream(
+                new ByteArrayInputStream(document), parser, 1000, null);
+        long bytes = 0;
+        try {
+            int n;
+            while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+                bytes += n;
+            }
+        } finally {
+            in.realClose();
+        }
+        return bytes + extensions;
+    }
+
+    @Override
+    public void tearDown() {
+        document = null;
+    }
+}
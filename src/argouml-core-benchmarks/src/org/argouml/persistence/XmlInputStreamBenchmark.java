@@ -0,0 +1,86 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.persistence;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.argouml.benchmarks.Benchmark;
+import org.argouml.benchmarks.SyntheticModel;
+import org.argouml.kernel.ProjectMember;
+
+/**
+ * Read the members of the synthetic project from a .uml file through an
+ * XmlInputStream, the way the UmlFilePersister hands them to the member
+ * persisters, without parsing them. This is in the persistence package as
+ * the XmlInputStream is not public.
+ */
+public class XmlInputStreamBenchmark extends Benchmark {
+
+    private File file;
+
+    /**
+     * The tag of the header followed by the main tags of the members.
+     */
+    private final List<String> tags = new ArrayList<String>();
+
+    private final byte[] buffer = new byte[8192];
+
+    /**
+     * The constructor.
+     */
+    public XmlInputStreamBenchmark() {
+        super("xmlInputStream.members");
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) throws Exception {
+        file = File.createTempFile("benchmark", ".uml");
+        UmlFilePersister persister = new UmlFilePersister();
+        persister.save(model.getProject(), file);
+        tags.add("argo");
+        for (ProjectMember member : model.getProject().getMembers()) {
+            tags.add(persister.getMemberFilePersister(member).getMainTag());
+        }
+    }
+
+    @Override
+    public Object run() throws Exception {
+        XmlInputStream in = new XmlInputStream(new FileInputStream(file),
+                tags.get(0), file.length(), 100000);
+        long bytes = 0;
+        try {
+            for (int i = 0; i < tags.size(); i++) {
+                if (i > 0) {
+                    in.reopen(tags.get(i));
+                }
+                int n;
+                while ((n = in.read(buffer, 0, buffer.length)) > 0) {
+                    bytes += n;
+                }
+            }
+        } finally {
+            in.realClose();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + "~").delete();
+        tags.clear();
+    }
+}
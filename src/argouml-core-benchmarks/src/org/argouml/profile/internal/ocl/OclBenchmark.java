@@ -0,0 +1,87 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.profile.internal.ocl;
+
+import java.io.PushbackReader;
+import java.io.StringReader;
+import java.util.List;
+
+import org.argouml.benchmarks.Benchmark;
+import org.argouml.benchmarks.SyntheticModel;
+import org.argouml.profile.internal.ocl.uml14.Uml14ModelInterpreter;
+
+import tudresden.ocl.parser.OclParser;
+import tudresden.ocl.parser.lexer.Lexer;
+import tudresden.ocl.parser.node.Start;
+
+/**
+ * Check an OCL invariant on every class of the model, either interpreted
+ * from the parse tree or compiled by the OclCompiler. This is in the OCL
+ * package as neither is public.
+ */
+public class OclBenchmark extends Benchmark {
+
+    private static final String INVARIANT = "context Class inv: "
+        + "self.name <> '' and "
+        + "self.feature->select(f|f.name = 'a')->size() <= 1 and "
+        + "self.feature->forAll(f|f.name <> '')";
+
+    private final boolean compile;
+
+    private final ModelInterpreter mi = new Uml14ModelInterpreter();
+
+    private List<Object> classes;
+
+    private Start tree;
+
+    private CompiledOcl compiled;
+
+    /**
+     * @param compiled true to check the compiled invariant, false to
+     *            interpret it
+     */
+    public OclBenchmark(boolean compiled) {
+        super(compiled ? "ocl.compiled" : "ocl.interpreted");
+        compile = compiled;
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) throws Exception {
+        classes = model.getClasses();
+        Lexer lexer = new Lexer(new PushbackReader(
+                new StringReader(INVARIANT), 2));
+        tree = new OclParser(lexer).parse();
+        if (compile) {
+            compiled = OclCompiler.compile(tree);
+        }
+    }
+
+    @Override
+    public Object run() {
+        int satisfied = 0;
+        for (Object cls : classes) {
+            boolean ok;
+            if (compile) {
+                ok = compiled.check(cls, mi);
+            } else {
+                EvaluateInvariant ei = new EvaluateInvariant(cls, mi);
+                tree.apply(ei);
+                ok = ei.isOK();
+            }
+            if (ok) {
+                satisfied++;
+            }
+        }
+        return satisfied;
+    }
+}
@@ -0,0 +1,89 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.uml.diagram.static_structure.layout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.argouml.benchmarks.Benchmark;
+import org.argouml.benchmarks.SyntheticModel;
+
+/**
+ * Lay out a random hierarchy of as many nodes as the model has classes,
+ * with some interfaces realized as well, some associations and some
+ * classes not linked at all. This is in the layout package as the
+ * LayeredGraphLayout is not public.
+ */
+public class LayeredLayoutBenchmark extends Benchmark {
+
+    private static final int WIDTH = 120;
+
+    private static final int HEIGHT = 60;
+
+    private int[] sizes;
+
+    private final List<int[]> edges = new ArrayList<int[]>();
+
+    private final List<int[]> links = new ArrayList<int[]>();
+
+    /**
+     * The constructor.
+     */
+    public LayeredLayoutBenchmark() {
+        super("layout.layered");
+    }
+
+    @Override
+    public void setUp(SyntheticModel model) throws Exception {
+        int n = model.getClasses().size();
+        sizes = new int[n];
+        Random random = new Random(42);
+        for (int i = 1; i < n; i++) {
+            if (i % 10 != 0) {
+                edges.add(new int[] {i, random.nextInt(i)});
+            }
+            if (i % 7 == 0) {
+                edges.add(new int[] {i, random.nextInt(i)});
+            }
+            if (i % 5 == 0) {
+                links.add(new int[] {i, random.nextInt(n)});
+            }
+        }
+    }
+
+    @Override
+    public Object run() throws Exception {
+        LayeredGraphLayout layout = new LayeredGraphLayout(60, 80, 1200);
+        int[] widths = sizes.clone();
+        int[] heights = sizes.clone();
+        Arrays.fill(widths, WIDTH);
+        Arrays.fill(heights, HEIGHT);
+        layout.setNodes(widths, heights);
+        for (int[] edge : edges) {
+            layout.addEdge(edge[0], edge[1]);
+        }
+        for (int[] link : links) {
+            layout.addLink(link[0], link[1]);
+        }
+        layout.layout();
+        return layout.countCrossings();
+    }
+
+    @Override
+    public void tearDown() {
+        edges.clear();
+        links.clear();
+    }
+}
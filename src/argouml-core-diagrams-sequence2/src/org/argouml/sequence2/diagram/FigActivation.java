@@ -155,6 +155,20 @@ class FigActivation extends ArgoFigGroup {
      * @return
      */
     public boolean isActivatorEnd(FigMessage messageFig) {
+        return isActivatorEnd(activatingMessage, messageFig);
+    }
+    
+    /**
+     * Return true if the given message should signal the end of an
+     * activation triggered by the given activating message.
+     * @param activatingMessage the message which triggered the activation,
+     *            or null
+     * @param messageFig
+     * @return true if the message is a return message pointing the other way
+     *         to the activator
+     */
+    static boolean isActivatorEnd(FigMessage activatingMessage,
+            FigMessage messageFig) {
         if (messageFig == null) {
             throw new IllegalArgumentException(
                     "An instance of FigMessage is required");
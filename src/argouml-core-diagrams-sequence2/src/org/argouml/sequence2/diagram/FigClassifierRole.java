@@ -368,8 +368,9 @@ public class FigClassifierRole extends FigNodeModelElement {
     }
     
     void createActivations() {
-        lifeLineFig.createActivations(getFigMessages());
-        forceRepaintShadow();
+        if (lifeLineFig.createActivations(getFigMessages())) {
+            forceRepaintShadow();
+        }
     }
     
     @Override
@@ -41,18 +41,31 @@
 package org.argouml.sequence2.diagram;
 
 import java.awt.Rectangle;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.argouml.uml.diagram.DiagramSettings;
 import org.argouml.uml.diagram.ui.ArgoFigGroup;
+import org.tigris.gef.presentation.Fig;
 import org.tigris.gef.presentation.FigLine;
 import org.tigris.gef.presentation.FigRect;
 
 
 /**
- * This fig is the LifeLine of a ClassifierRole.
+ * This fig is the LifeLine of a ClassifierRole.<p>
+ *
+ * The activations are laid out incrementally. The lifeline remembers the
+ * ordered messages and the positions it last laid out the activations for,
+ * and does nothing if none of them has changed. Otherwise the extent of
+ * each activation is worked out first, and only the activation figs whose
+ * extent has changed are moved, made or dropped. The figs of the lifeline
+ * are replaced in one go, so that its bounds are calculated, and the
+ * change is announced, once.
+ *
  * @author penyaskito
  */
 class FigLifeLine extends ArgoFigGroup {
@@ -65,6 +78,12 @@ class FigLifeLine extends ArgoFigGroup {
     private List<FigActivation> activations;
     private List<FigActivation> stackedActivations;
     
+    /**
+     * The messages, and their positions, the activations were last laid
+     * out for.
+     */
+    private List<Object> laidOut = Collections.emptyList();
+    
     static final int WIDTH = 150;
     static final int HEIGHT = 500;
 
@@ -89,52 +108,192 @@ class FigLifeLine extends ArgoFigGroup {
         addFig(lineFig);
     }
     
+    /**
+     * Lay out the activations for the given messages.
+     *
+     * @param messages the complete messages of the classifier role, ordered
+     *            from top to bottom
+     * @return true if any activation has changed
+     */
     // TODO: Does this still need to be synchronized? If so then explain why.
-    synchronized void createActivations(final List<FigMessage> messages) {
-        clearActivations();
-        Collections.sort(messages, new FigMessageComparator());
+    synchronized boolean createActivations(final List<FigMessage> messages) {
+        List<Object> layout = getLayoutInput(messages);
+        if (layout.equals(laidOut)) {
+            return false;
+        }
         
-        activations = createStandardActivations(messages);
-        stackedActivations = createStackedActivations(messages);
+        boolean changed = updateActivations(activations,
+                createStandardActivations(messages), false);
+        changed |= updateActivations(stackedActivations,
+                createStackedActivations(messages), true);
+        if (changed) {
+            List<Fig> figs = new ArrayList<Fig>(getFigs().size());
+            for (Fig fig : getFigs()) {
+                if (!(fig instanceof FigActivation)) {
+                    figs.add(fig);
+                }
+            }
+            figs.addAll(activations);
+            figs.addAll(stackedActivations);
+            if (figs.equals(getFigs())) {
+                calcBounds();
+            } else {
+                setFigs(figs);
+            }
+        }
         
-        addActivations(activations);
-        addActivations(stackedActivations);
-
-        // TODO: Do we need this?
-        calcBounds();
+        // The layout of a destroy message changes the lifeline
+        laidOut = getLayoutInput(messages);
+        return changed;
     }
     
     /**
-     * Add the given list of activation Figs to the lifeline. The fill colour
-     * is forced to the lifeline colour in the process.
-     * @param activationFigs
+     * Gather what the layout of the activations depends on: the kind and
+     * position of each message, and the position of the lifeline.
+     *
+     * @param messages the ordered messages
+     * @return a list which is equal to an earlier one if the layout would
+     *         be the same
      */
-    private void addActivations(
-            final List<FigActivation> activationFigs) {
-        for (final FigActivation figAct : activationFigs) {
-            figAct.setFillColor(getFillColor());
-            addFig(figAct);
+    private List<Object> getLayoutInput(final List<FigMessage> messages) {
+        final List<Object> layout =
+            new ArrayList<Object>(6 * messages.size() + 4);
+        layout.add(lineFig.getX());
+        layout.add(lineFig.getY());
+        layout.add(lineFig.getHeight());
+        layout.add(getHeight());
+        for (FigMessage figMessage : messages) {
+            int kind = 0;
+            if (figMessage.isSelfMessage()) {
+                kind |= 1;
+            }
+            if (figMessage.isSynchCallMessage()) {
+                kind |= 2;
+            }
+            if (figMessage.isCreateMessage()) {
+                kind |= 4;
+            }
+            if (figMessage.isDeleteMessage()) {
+                kind |= 8;
+            }
+            if (figMessage.isReplyMessage()) {
+                kind |= 16;
+            }
+            layout.add(figMessage);
+            layout.add(figMessage.getSourceFigNode());
+            layout.add(figMessage.getDestFigNode());
+            layout.add(figMessage.getStartY());
+            layout.add(figMessage.getFinalY());
+            layout.add(kind);
         }
+        return layout;
     }
     
-    private List<FigActivation> createStandardActivations(
-                final List<FigMessage> figMessages) {        
+    /**
+     * Bring the activation figs in line with the extents worked out for
+     * them. A fig is kept for the same activating message, and only moved
+     * if its extent has changed. The fill colour of new figs is forced to
+     * the lifeline colour. The figs are not added to the lifeline here.
+     *
+     * @param figs the activation figs, which are updated
+     * @param extents the extents of the activations
+     * @param stacked true for the activations of self messages
+     * @return true if any fig has changed
+     */
+    private boolean updateActivations(final List<FigActivation> figs,
+            final List<Extent> extents, final boolean stacked) {
+        final Map<FigMessage, FigActivation> figsByMessage =
+            new IdentityHashMap<FigMessage, FigActivation>();
+        for (FigActivation figAct : figs) {
+            figsByMessage.put(figAct.getActivatingMessage(), figAct);
+        }
         
-        final List<FigActivation> newActivations =
+        boolean changed = figs.size() != extents.size();
+        final List<FigActivation> newFigs =
             new LinkedList<FigActivation>();
+        for (Extent extent : extents) {
+            FigActivation figAct = figsByMessage.remove(extent.message);
+            final int x = extent.x - FigActivation.DEFAULT_WIDTH / 2;
+            if (figAct != null && !figAct.isDestroy() && !extent.destroy) {
+                if (figAct.getX() != x || figAct.getY() != extent.y
+                        || figAct.getHeight() != extent.height) {
+                    figAct.setBounds(x, extent.y, figAct.getWidth(),
+                            extent.height);
+                    changed = true;
+                }
+            } else if (figAct != null
+                    && figAct.isDestroy() && extent.destroy
+                    && figAct.getX() == x && figAct.getY() == extent.y
+                    && figAct.getHeight() == extent.height) {
+                // The same, destroy and all
+            } else {
+                if (figAct != null) {
+                    figAct.setGroup(null);
+                }
+                figAct = new FigActivation(
+                        stacked ? extent.message.getOwner() : getOwner(),
+                        new Rectangle(extent.x, extent.y, 0, 0),
+                        getSettings(),
+                        extent.message,
+                        false);
+                figAct.setHeight(extent.height);
+                figAct.setDestroy(extent.destroy);
+                figAct.setFillColor(getFillColor());
+                figAct.setGroup(this);
+                changed = true;
+            }
+            newFigs.add(figAct);
+        }
+        for (FigActivation dropped : figsByMessage.values()) {
+            dropped.setGroup(null);
+        }
+        if (!changed && !newFigs.equals(figs)) {
+            changed = true;
+        }
+        figs.clear();
+        figs.addAll(newFigs);
+        return changed;
+    }
+    
+    /**
+     * The extent of an activation on the lifeline.
+     */
+    private static class Extent {
+        
+        /**
+         * The message which triggered the activation, or null.
+         */
+        private final FigMessage message;
+        
+        /**
+         * The horizontal centre of the activation.
+         */
+        private final int x;
+        
+        private final int y;
+        
+        private int height;
+        
+        private boolean destroy;
+        
+        Extent(FigMessage activatingMessage, int centre, int top) {
+            message = activatingMessage;
+            x = centre;
+            y = top;
+        }
+    }
+    
+    private List<Extent> createStandardActivations(
+                final List<FigMessage> figMessages) {        
+        
+        final List<Extent> newActivations = new LinkedList<Extent>();
         
         // Check here if there are no incoming call actions
         // if not then create an activation at the top of the lifeline
-        FigActivation currentActivation = null;
+        Extent currentActivation = null;
         if (!hasIncomingCallActionFirst(figMessages)) {
-            currentActivation = createActivationFig(
-                    getOwner(),
-                    lineFig.getX(),
-                    lineFig.getY(), 
-                    lineFig.getWidth(), 
-                    lineFig.getHeight(),
-                    getSettings(),
-                    null);
+            currentActivation =
+                new Extent(null, lineFig.getX(), lineFig.getY());
         }
         
         // This counts the number of repeated call/returns that take place
@@ -154,41 +313,29 @@ class FigLifeLine extends ArgoFigGroup {
                             // if we are the dest and is a call action, create the 
                             // activation, but don't add it until the height is set.
                             ySender = figMessage.getFinalY();
-                            currentActivation = createActivationFig(
-                                    getOwner(), 
-                                    lineFig.getX(), 
-                                    ySender, 
-                                    0, 
-                                    0,
-                                    getSettings(),
-                                    figMessage);
+                            currentActivation = new Extent(figMessage,
+                                    lineFig.getX(), ySender);
                             activationsCount++;
                         } else if (figMessage.isCreateMessage()) {
                             // if we are the destination of a create action,
                             // create the entire activation
-                            currentActivation = createActivationFig(
-                                    getOwner(),
-                                    lineFig.getX(),
-                                    lineFig.getY(),
-                                    0,
-                                    0,
-                                    getSettings(),
-                                    figMessage);
+                            currentActivation = new Extent(figMessage,
+                                    lineFig.getX(), lineFig.getY());
                             activationsCount++;
                         }
                     } else {
                         if (figMessage.isSynchCallMessage()
                                 && isSameClassifierRoles(
-                                        currentActivation.getActivatingMessage(),
+                                        currentActivation.message,
                                         figMessage)) {
                             activationsCount++;
                         } else if (figMessage.isDeleteMessage()) {
                             // if we are the target of a destroy action
                             // the figlifeline ends here and we add the activation
                             ySender = figMessage.getFinalY();
-                            currentActivation.setHeight(
-                                    ySender - currentActivation.getY());
-                            currentActivation.setDestroy(true);
+                            currentActivation.height =
+                                ySender - currentActivation.y;
+                            currentActivation.destroy = true;
                             lineFig.setHeight(ySender - getY());
                             newActivations.add(currentActivation);
                             currentActivation = null;
@@ -197,13 +344,14 @@ class FigLifeLine extends ArgoFigGroup {
                 }
                 
                 if (isOutgoing(figMessage) && currentActivation != null
-                    && currentActivation.isActivatorEnd(figMessage)
+                    && FigActivation.isActivatorEnd(
+                            currentActivation.message, figMessage)
                             && --activationsCount == 0) {
                         // if we are the source of a return action
                         // the activation ends here.
                         ySender = figMessage.getStartY();
-                        currentActivation.setHeight(
-                                ySender - currentActivation.getY());
+                        currentActivation.height =
+                            ySender - currentActivation.y;
                         newActivations.add(currentActivation);
                         currentActivation = null;
                 }
@@ -215,8 +363,8 @@ class FigLifeLine extends ArgoFigGroup {
         // Add the activation to the list after setting its height to end
         // at the end of the lifeline.
         if (currentActivation != null) {
-            currentActivation.setHeight(
-                    getHeight() - (currentActivation.getY() - getY()));
+            currentActivation.height =
+                getHeight() - (currentActivation.y - getY());
             newActivations.add(currentActivation);
         }
         
@@ -249,28 +397,12 @@ class FigLifeLine extends ArgoFigGroup {
         return (messageFig.getSourceFigNode().getOwner() == getOwner());
     }
     
-    private FigActivation createActivationFig(
-            final Object owner, 
-            final int x, 
-            final int y, 
-            final int w, 
-            final int h,
-            final DiagramSettings settings,
-            final FigMessage messageFig) {
-        return new FigActivation(
-                owner,
-                new Rectangle(x, y, w, h),
-                settings,
-                messageFig);
-    }
-    
-    private List<FigActivation> createStackedActivations(
+    private List<Extent> createStackedActivations(
             final List<FigMessage> figMessages) {
         
-        final List<FigActivation> newActivations =
-            new LinkedList<FigActivation>();
+        final List<Extent> newActivations = new LinkedList<Extent>();
         
-        FigActivation currentAct = null;
+        Extent currentAct = null;
         
         for (FigMessage figMessage : figMessages) {
             int ySender = 0;
@@ -279,14 +411,12 @@ class FigLifeLine extends ArgoFigGroup {
             if (figMessage.isSelfMessage()) {
                 if (figMessage.isSynchCallMessage()) {
                     ySender = figMessage.getFinalY();
-                    currentAct = new FigActivation(figMessage.getOwner(),
-                            new Rectangle(lineFig.getX()
-                                    + FigActivation.DEFAULT_WIDTH / 2, ySender,
-                                    0, 0), getSettings(), figMessage, false);
+                    currentAct = new Extent(figMessage, lineFig.getX()
+                            + FigActivation.DEFAULT_WIDTH / 2, ySender);
                 } else if (currentAct != null
                         && figMessage.isReplyMessage()) {
                     ySender = figMessage.getStartY();
-                    currentAct.setHeight(ySender - currentAct.getY());
+                    currentAct.height = ySender - currentAct.y;
                     newActivations.add(currentAct);
                     currentAct = null;
                 }
@@ -312,17 +442,6 @@ class FigLifeLine extends ArgoFigGroup {
         return false;
     }
     
-    private void clearActivations() {
-        for (FigActivation oldActivation : activations) {
-            removeFig(oldActivation);    
-        }
-        for (FigActivation oldActivation : stackedActivations) {
-            removeFig(oldActivation);    
-        }
-        activations.clear();
-        stackedActivations.clear();
-    }
-    
     @Override
     public void setFilled(boolean filled) {
         // we do nothing. No call to the parent
@@ -343,8 +462,6 @@ class FigLifeLine extends ArgoFigGroup {
     
         // we don't recalculate activations, just move them
         for (FigActivation act : activations) {
-            // TODO: why do we need to remove then add the Fig?
-            removeFig(act);
             act.setLocation(
                     lineFig.getX() - FigActivation.DEFAULT_WIDTH / 2,
                     act.getY() - yDiff);
@@ -352,7 +469,6 @@ class FigLifeLine extends ArgoFigGroup {
                     && act.getHeight() == oldBounds.height) {
                 act.setHeight(getHeight());
             }
-            addFig(act);
         }
         damage();
         _x = x;
@@ -31,9 +31,11 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.argouml.model.AbstractReadSession;
 import org.argouml.model.DiagramInterchangeModel;
 import org.argouml.model.MessageSort;
 import org.argouml.model.ModelImplementation;
+import org.argouml.model.ReadSession;
 import org.argouml.model.UmlException;
 import org.eclipse.emf.common.command.BasicCommandStack;
 import org.eclipse.emf.common.notify.AdapterFactory;
@@ -383,6 +385,23 @@ public class EUMLModelImplementation implements ModelImplementation {
         return theCopyHelper;
     }
 
+    /**
+     * The editing domain has no read lock, so the session does nothing.
+     *
+     * @see org.argouml.model.ModelImplementation#createReadSession(long)
+     */
+    public ReadSession createReadSession(long maxHoldMillis) {
+        return new AbstractReadSession(maxHoldMillis) {
+            @Override
+            protected void acquire() {
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+
     public CoreFactoryEUMLImpl getCoreFactory() {
         if (theCoreFactory == null) {
             theCoreFactory = new CoreFactoryEUMLImpl(this);
@@ -461,6 +461,25 @@ class UmlFactoryEUMLImpl implements UmlFactory, AbstractModelFactory {
                         elem));
     }
 
+    public void deleteAll(final Collection elems) {
+        for (Object elem : elems) {
+            if (!(elem instanceof EObject)) {
+                throw new IllegalArgumentException(
+                        "elem must be instance of EObject"); //$NON-NLS-1$
+            }
+        }
+        RunnableClass run = new RunnableClass() {
+            public void run() {
+                for (Object elem : elems) {
+                    EcoreUtil.delete((EObject) elem);
+                }
+            }
+        };
+        modelImpl.getEditingDomain().getCommandStack().execute(
+                new ChangeCommand(
+                        modelImpl, run, "Remove from the model the elements")); //$NON-NLS-1$
+    }
+
     public boolean isRemoved(Object o) {
         // This triggers some warnings (in logs) because some elements are
         // created without an owner (and eResource is null)
@@ -0,0 +1,347 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A map from ids to objects which keeps each id as the bytes of its UTF-8
+ * form, in an open addressing table without an entry object per mapping.
+ * The ids read from XMI files are ASCII, so that they take one byte for each
+ * character and are looked up without being encoded.<p>
+ *
+ * Reads take no lock. Changes are made under the lock of the map, and only
+ * publish a key once its value is in place; a table which has to grow is
+ * filled before it replaces the old one. A slot is never given to another
+ * key: a removed mapping leaves a marker in its slot until the table is
+ * built again, so that a reader which found a key never reads the value of
+ * another one. A reader therefore sees a mapping either as it was before a
+ * change or as it is after it.
+ */
+class CompactIdMap {
+
+    /**
+     * Marks a slot whose mapping was removed, so that the probing goes on
+     * past it. The slot isn't used again before the table is built again.
+     */
+    private static final byte[] REMOVED = new byte[0];
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * The keys and values. A new table replaces the old one whole.
+     */
+    private volatile Table table = new Table(MIN_CAPACITY);
+
+    /**
+     * The number of mappings. Guarded by this.
+     */
+    private int size;
+
+    /**
+     * The number of removed slots. Guarded by this.
+     */
+    private int removed;
+
+    private static final class Table {
+        private final AtomicReferenceArray<byte[]> keys;
+
+        private final AtomicReferenceArray<Object> values;
+
+        private final int mask;
+
+        Table(int capacity) {
+            keys = new AtomicReferenceArray<byte[]>(capacity);
+            values = new AtomicReferenceArray<Object>(capacity);
+            mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+
+    /**
+     * @param id the id
+     * @return the object mapped to the id, or null
+     */
+    Object get(String id) {
+        Table t = table;
+        int i = hash(id) & t.mask;
+        while (true) {
+            byte[] k = t.keys.get(i);
+            if (k == null) {
+                return null;
+            }
+            if (k != REMOVED && matches(k, id)) {
+                return t.values.get(i);
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    /**
+     * @param id the id
+     * @return true if the id is mapped
+     */
+    boolean containsKey(String id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Map an id to an object.
+     *
+     * @param id the id
+     * @param value the object, which must not be null
+     * @return the object mapped to the id before, or null
+     */
+    synchronized Object put(String id, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("A value is required");
+        }
+        Table t = table;
+        int i = hash(id) & t.mask;
+        while (true) {
+            byte[] k = t.keys.get(i);
+            if (k == null) {
+                break;
+            }
+            if (k != REMOVED && matches(k, id)) {
+                Object old = t.values.get(i);
+                t.values.set(i, value);
+                return old;
+            }
+            i = (i + 1) & t.mask;
+        }
+        t.values.set(i, value);
+        t.keys.set(i, encode(id));
+        size++;
+        if ((size + removed) * 3 > t.capacity() * 2) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * @param id the id
+     * @return the object which was mapped to the id, or null
+     */
+    synchronized Object remove(String id) {
+        Table t = table;
+        int i = hash(id) & t.mask;
+        while (true) {
+            byte[] k = t.keys.get(i);
+            if (k == null) {
+                return null;
+            }
+            if (k != REMOVED && matches(k, id)) {
+                Object old = t.values.get(i);
+                t.keys.set(i, REMOVED);
+                t.values.set(i, null);
+                size--;
+                removed++;
+                return old;
+            }
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    /**
+     * Remove all the mappings.
+     */
+    synchronized void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+        removed = 0;
+    }
+
+    /**
+     * @return the number of mappings
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Visit each mapping. The mappings made or removed while visiting may or
+     * may not be visited.
+     *
+     * @param visitor the visitor
+     */
+    void visit(Visitor visitor) {
+        Table t = table;
+        for (int i = 0; i < t.capacity(); i++) {
+            byte[] k = t.keys.get(i);
+            if (k != null && k != REMOVED) {
+                Object v = t.values.get(i);
+                if (v != null) {
+                    visitor.visit(decode(k), v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits the mappings of a map.
+     */
+    interface Visitor {
+        /**
+         * @param id the id
+         * @param value the object mapped to it
+         */
+        void visit(String id, Object value);
+    }
+
+    /**
+     * Estimate the memory taken by the map, for the statistics. The
+     * estimate assumes compressed references and object headers of 12
+     * bytes.
+     *
+     * @return the estimated number of bytes
+     */
+    long getFootprint() {
+        Table t = table;
+        long bytes = 2 * (16 + 16 + 4L * t.capacity());
+        for (int i = 0; i < t.capacity(); i++) {
+            byte[] k = t.keys.get(i);
+            if (k != null && k != REMOVED) {
+                bytes += align(16 + k.length);
+                Object v = t.values.get(i);
+                if (v instanceof byte[]) {
+                    bytes += align(16 + ((byte[]) v).length);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private void resize() {
+        Table old = table;
+        int capacity = MIN_CAPACITY;
+        while (size * 2 > capacity) {
+            capacity *= 2;
+        }
+        Table t = new Table(capacity);
+        for (int j = 0; j < old.capacity(); j++) {
+            byte[] k = old.keys.get(j);
+            if (k != null && k != REMOVED) {
+                int i = hash(k) & t.mask;
+                while (t.keys.get(i) != null) {
+                    i = (i + 1) & t.mask;
+                }
+                t.values.set(i, old.values.get(j));
+                t.keys.set(i, k);
+            }
+        }
+        table = t;
+        removed = 0;
+    }
+
+    /*
+     * The hashes of an id and of its bytes are the same.
+     */
+    private static int hash(String id) {
+        int h = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c >= 0x80) {
+                return hash(encode(id));
+            }
+            h = 31 * h + c;
+        }
+        return spread(h);
+    }
+
+    private static int hash(byte[] key) {
+        int h = 0;
+        for (byte b : key) {
+            h = 31 * h + (b & 0xff);
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
+    private static boolean matches(byte[] key, String id) {
+        if (key.length < id.length()) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c >= 0x80) {
+                return Arrays.equals(key, encode(id));
+            }
+            if (key[i] != c) {
+                return false;
+            }
+        }
+        return key.length == id.length();
+    }
+
+    /**
+     * @param id an id
+     * @return the UTF-8 bytes of the id
+     */
+    static byte[] encode(String id) {
+        int n = id.length();
+        byte[] bytes = new byte[n];
+        for (int i = 0; i < n; i++) {
+            char c = id.charAt(i);
+            if (c >= 0x80) {
+                try {
+                    return id.getBytes("UTF-8");
+                } catch (UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            bytes[i] = (byte) c;
+        }
+        return bytes;
+    }
+
+    /**
+     * @param bytes the UTF-8 bytes of an id
+     * @param offset the offset of the id in the bytes
+     * @return the id
+     */
+    static String decode(byte[] bytes, int offset) {
+        int n = bytes.length - offset;
+        char[] chars = new char[n];
+        for (int i = 0; i < n; i++) {
+            byte b = bytes[offset + i];
+            if (b < 0) {
+                try {
+                    return new String(bytes, offset, n, "UTF-8");
+                } catch (UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            chars[i] = (char) b;
+        }
+        return new String(chars);
+    }
+
+    private static String decode(byte[] bytes) {
+        return decode(bytes, 0);
+    }
+}
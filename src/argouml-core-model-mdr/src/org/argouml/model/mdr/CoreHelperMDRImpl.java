@@ -58,10 +58,9 @@ import org.argouml.model.CoreFactory;
 import org.argouml.model.CoreHelper;
 import org.argouml.model.InvalidElementException;
 import org.argouml.model.Model;
-import org.argouml.model.ModelCommand;
 import org.argouml.model.ModelManagementHelper;
 import org.argouml.model.NotImplementedException;
-import org.argouml.model.mdr.UndoCoreHelperDecorator.StringSetter;
+import org.argouml.model.mdr.PropertyChangeCommand.Property;
 import org.omg.uml.behavioralelements.activitygraphs.ActivityGraph;
 import org.omg.uml.behavioralelements.activitygraphs.ClassifierInState;
 import org.omg.uml.behavioralelements.activitygraphs.ObjectFlowState;
@@ -3077,18 +3076,13 @@ class CoreHelperMDRImpl implements CoreHelper {
         setMultiplicityInternal(handle, arg);
     }
 
-    public void setName(final Object handle, final String name) {
+    public void setName(Object handle, String name) {
         if (handle instanceof ModelElement) {
-            createCommand(
-                new StringSetter() {
-                    public void set(String value) {
-                        ((ModelElement) handle).setName(value);
-                    }
-                },
-                name,
-                Model.getFacade().getName(handle),
-                "name = " + name);
-
+            String oldName = ((ModelElement) handle).getName();
+            if (name == null ? oldName != null : !name.equals(oldName)) {
+                Model.execute(new PropertyChangeCommand(modelImpl, this,
+                        handle, Property.NAME, name, oldName));
+            }
             return;
         }
         throw new IllegalArgumentException("handle: " + handle + " or name: "
@@ -3575,45 +3569,4 @@ class CoreHelperMDRImpl implements CoreHelper {
 
         return names;
     }
-
-
-    /**
-     * Create a command for a setter of a String value.
-     *
-     * @param accesser The accesser.
-     * @param newValue The new value.
-     * @param oldValue The old value.
-     */
-    private void createCommand(
-            final StringSetter accesser,
-            final String newValue,
-            final String oldValue,
-            final String descr) {
-        if (newValue == oldValue) {
-            return;
-        }
-        if (newValue != null
-                && newValue.equals(oldValue)) {
-            return;
-        }
-        ModelCommand command = new ModelCommand() {
-            public void undo() {
-                accesser.set(oldValue);
-            }
-            public Object execute() {
-                accesser.set(newValue);
-                return null;
-            }
-            public boolean isUndoable() {
-                return true;
-            }
-            public boolean isRedoable() {
-                return true;
-            }
-            public String toString() {
-                return descr;
-            }
-        };
-        Model.execute(command);
-    }
 }
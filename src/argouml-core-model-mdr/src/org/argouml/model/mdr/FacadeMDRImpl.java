@@ -4284,8 +4284,7 @@ class FacadeMDRImpl implements Facade {
             if (base instanceof RefBaseObject) {
                 String mofId = ((RefBaseObject) base).refMofId();
                 // Look for an existing reference matching our MofID
-                XmiReference ref = ((XmiReference) modelImpl
-                        .getObjectToId().get(mofId));
+                XmiReference ref = modelImpl.getXmiIds().getReference(mofId);
                 if (ref == null) {
                     return mofId;
                 }
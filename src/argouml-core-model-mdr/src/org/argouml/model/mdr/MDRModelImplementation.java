@@ -61,6 +61,7 @@ import javax.jmi.xmi.MalformedXMIException;
 import org.argouml.model.ActivityGraphsFactory;
 import org.argouml.model.ActivityGraphsHelper;
 import org.argouml.model.AggregationKind;
+import org.argouml.model.CachingFacade;
 import org.argouml.model.ChangeableKind;
 import org.argouml.model.CollaborationsFactory;
 import org.argouml.model.CollaborationsHelper;
@@ -84,10 +85,10 @@ import org.argouml.model.ModelManagementFactory;
 import org.argouml.model.ModelManagementHelper;
 import org.argouml.model.OrderingKind;
 import org.argouml.model.PseudostateKind;
+import org.argouml.model.ReadSession;
 import org.argouml.model.ScopeKind;
 import org.argouml.model.StateMachinesFactory;
 import org.argouml.model.StateMachinesHelper;
-import org.argouml.model.UUIDManager;
 import org.argouml.model.UmlException;
 import org.argouml.model.UmlFactory;
 import org.argouml.model.UmlHelper;
@@ -114,8 +115,16 @@ public class MDRModelImplementation implements ModelImplementation {
     private static final Logger LOG =
         Logger.getLogger(MDRModelImplementation.class.getName());
 
+    /**
+     * The system property turning on the cache of the Facade.
+     */
+    static final String FACADE_CACHE_PROPERTY =
+        "argouml.model.mdr.facadeCache";
+
     private Facade theFacade;
 
+    private CachingFacade facadeCache;
+
     private ModelEventPumpMDRImpl theModelEventPump;
 
     private CopyHelper theCopyHelper;
@@ -184,11 +193,10 @@ public class MDRModelImplementation implements ModelImplementation {
     private ModelPackage mofExtent;
 
     /**
-     * Map of model elements to xmi.ids used to keep xmi.ids stable
-     * across read/write cycles.
+     * The xmi.ids of the model elements read from files, used to keep
+     * xmi.ids stable across read/write cycles.
      */
-    private Map<String, XmiReference> objectToId =
-        Collections.synchronizedMap(new HashMap<String, XmiReference>());
+    private XmiIdRegistry xmiIds = new XmiIdRegistry();
 
     /**
      * Set of known public IDs of models that could be used to resolve URLs
@@ -197,12 +205,6 @@ public class MDRModelImplementation implements ModelImplementation {
     private Map<String, String> public2SystemIds =
         Collections.synchronizedMap(new HashMap<String, String>());
 
-    /**
-     * Index of objects keyed by system ID, then xmi.id within that file
-     */
-    private Map<String, Map<String, Object>> idToObject =
-        Collections.synchronizedMap(new HashMap<String, Map<String, Object>>());
-
     private List<String> searchDirs = new ArrayList<String>();
 
 
@@ -328,16 +330,13 @@ public class MDRModelImplementation implements ModelImplementation {
                                     + extent);
                         }
                     }
-                    if (idToObject.remove(name) == null) {
+                    if (!xmiIds.removeSystemId(name)) {
                         if (!"model extent".equals(name)) {
                             LOG.log(Level.WARNING, "No ID map found for extent "
                                     + (name == null ? "" : name) + " : "
                                     + extent);
                         }
                     }
-                    // TODO: Need to clean up objectToId
-                    // (can we do it based on modelelement delete
-                    // notifications?)
                     extent.refDelete();
                 }
             }
@@ -436,26 +435,7 @@ public class MDRModelImplementation implements ModelImplementation {
     private static MDRepository getDefaultRepository() {
         LOG.log(Level.FINE, "Starting MDR system initialization");
 
-        String storageImplementation =
-            System.getProperty(
-                "org.netbeans.mdr.storagemodel.StorageFactoryClassName",
-                "org.netbeans.mdr.persistence.memoryimpl.StorageFactoryImpl");
-        System.setProperty(
-                "org.netbeans.mdr.storagemodel.StorageFactoryClassName",
-                storageImplementation);
-
-        /*
-         * Set the storage id for our repository so that MofIds will be unique
-         * (they are composed as "storageId":"serialNumber"). NOTE: The storage
-         * manager only looks for a few property names such as the
-         * StorageFactoryClassName. Everything else needs to be prefixed with
-         * "MDRStorageProperty." which gets deleted from the property name
-         * before it and its associated value are copied to an *internal*
-         * property table separate from the system property table.
-         */
-        System.setProperty(
-                "MDRStorageProperty.org.netbeans.mdr.persistence.memoryimpl.id",
-                UUIDManager.getInstance().getNewUUID());
+        MDRStorage.configure();
 
         // Connect to the repository
         MDRepository defaultRepository =
@@ -539,7 +519,7 @@ public class MDRModelImplementation implements ModelImplementation {
         theCopyHelper = new CopyHelper(this);
         theActivityGraphsHelper = new ActivityGraphsHelperMDRImpl();
         theCoreHelper =
-            new UndoCoreHelperDecorator(new CoreHelperMDRImpl(this));
+            new UndoCoreHelperDecorator(new CoreHelperMDRImpl(this), this);
         LOG.log(Level.FINE, "MDR Init - initialized package Core helper");
         theModelManagementHelper = new ModelManagementHelperMDRImpl(this);
         theStateMachinesHelper = new StateMachinesHelperMDRImpl(this);
@@ -565,8 +545,8 @@ public class MDRModelImplementation implements ModelImplementation {
         synchronized (extents) {
             umlPackage = (UmlPackage) repository.getExtent(MODEL_EXTENT_NAME);
             if (umlPackage != null) {
-                // NOTE: If we switch to a persistent repository like the b-tree
-                // repository we'll want to keep the old extent(s) around
+                // NOTE: The b-tree storage is not kept across sessions
+                // (see MDRStorage), so there is nothing to keep here either
                 try {
                     UmlPackage oldPackage = umlPackage;
                     umlPackage = null;
@@ -589,9 +569,15 @@ public class MDRModelImplementation implements ModelImplementation {
      * (currently unused).
      */
     public void shutdown() {
+        if (facadeCache != null) {
+            LOG.log(Level.INFO, "Facade cache: {0}",
+                    facadeCache.getStatistics());
+        }
+        LOG.log(Level.INFO, "XMI ids: {0}", xmiIds.getStatistics());
         theModelEventPump.flushModelEvents();
         theModelEventPump.stopPumpingEvents();
         MDRManager.getDefault().shutdownAll();
+        MDRStorage.dispose();
     }
 
     /*
@@ -606,11 +592,24 @@ public class MDRModelImplementation implements ModelImplementation {
      */
     public Facade getFacade() {
         if (theFacade == null) {
-            theFacade = new FacadeMDRImpl(this);
+            if (Boolean.getBoolean(FACADE_CACHE_PROPERTY)) {
+                facadeCache = new CachingFacade(new FacadeMDRImpl(this));
+                theFacade = facadeCache;
+            } else {
+                theFacade = new FacadeMDRImpl(this);
+            }
         }
         return theFacade;
     }
 
+    /**
+     * @return the cache of the Facade, which the event pump keeps up to
+     *         date, or null if it is not used
+     */
+    CachingFacade getFacadeCache() {
+        return facadeCache;
+    }
+
     /*
      * @see org.argouml.model.ModelImplementation#getModelEventPump()
      */
@@ -675,6 +674,13 @@ public class MDRModelImplementation implements ModelImplementation {
         return theCopyHelper;
     }
 
+    /*
+     * @see org.argouml.model.ModelImplementation#createReadSession(long)
+     */
+    public ReadSession createReadSession(long maxHoldMillis) {
+        return new ReadSessionMDRImpl(this, maxHoldMillis);
+    }
+
     /*
      * @see org.argouml.model.ModelImplementation#getCoreFactory()
      */
@@ -864,22 +870,13 @@ public class MDRModelImplementation implements ModelImplementation {
     }
 
     /**
-     * Return map of MOF ID to XmiReference (system id + xmi.id).
-     *
-     * @return the map
-     */
-    Map<String, XmiReference> getObjectToId() {
-        return objectToId;
-    }
-
-    /**
-     * Return map of maps keyed first by system id, then xmi.id with object as
-     * value.
+     * Return the registry of the xmi.ids of the elements read from files,
+     * both from MOF ID to system id and xmi.id and back.
      *
-     * @return the map
+     * @return the registry
      */
-    Map<String, Map<String, Object>> getIdToObject() {
-        return idToObject;
+    XmiIdRegistry getXmiIds() {
+        return xmiIds;
     }
 
     /**
@@ -889,19 +886,13 @@ public class MDRModelImplementation implements ModelImplementation {
      * @return false if no index entries were removed
      */
     boolean removeElement(String mofId) {
-        XmiReference xref = objectToId.remove(mofId);
-        if (xref != null) {
-            Map<String,Object> m = idToObject.get(xref.getSystemId());
-            if (m != null) {
-                Object o = m.remove(xref.getXmiId());
-                if (o != null) {
-                    if (!mofId.equals(((RefObject) o).refMofId())) {
-                        LOG.log(Level.SEVERE, "Internal index inconsistency for mof ID "
-                                + mofId + " (got " + ((RefObject) o).refMofId());
-                    }
-                    return true;
-                }
+        Object o = xmiIds.removeElement(mofId);
+        if (o != null) {
+            if (!mofId.equals(((RefObject) o).refMofId())) {
+                LOG.log(Level.SEVERE, "Internal index inconsistency for mof ID "
+                        + mofId + " (got " + ((RefObject) o).refMofId());
             }
+            return true;
         }
         // Elements created after file load won't have index entries
         LOG.log(Level.FINE, "Failed to remove index entries for mof ID {0}", mofId);
@@ -0,0 +1,311 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.argouml.model.UUIDManager;
+import org.netbeans.api.mdr.MDRManager;
+
+/**
+ * Sets up the storage of the MDR repository before it is first used.<p>
+ *
+ * By default the repository is kept in memory. Setting the system property
+ * <code>argouml.model.mdr.storage</code> to <code>btree</code> keeps it in
+ * the b-tree files of MDR instead, with only a cache of the model elements
+ * on the heap, for models larger than the heap.<p>
+ *
+ * The MDR repository is shared by all the projects of a JVM, so the files
+ * are kept in a directory of their own for each session, under
+ * <code>.argouml/mdr</code> in the home directory of the user. The
+ * directory is removed when the JVM exits. A directory left behind by a
+ * session which crashed is removed by the next session, which can tell it
+ * is not in use because it can lock it. The directories are created, locked
+ * and removed while holding a lock on the file <code>lock</code> of the
+ * parent directory, so that a session never sees the directory of another
+ * one before it is locked.<p>
+ *
+ * The sizes of the b-tree cache are set with the system properties
+ * <code>argouml.model.mdr.btree.cacheSize</code>, the number of objects
+ * kept, and <code>argouml.model.mdr.btree.cacheThreshold</code>, the number
+ * of changed objects which makes the cache write them to disk.
+ */
+final class MDRStorage {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG =
+        Logger.getLogger(MDRStorage.class.getName());
+
+    /**
+     * The system property choosing the storage.
+     */
+    static final String STORAGE_PROPERTY = "argouml.model.mdr.storage";
+
+    /**
+     * The value of {@link #STORAGE_PROPERTY} for the b-tree storage.
+     */
+    static final String BTREE = "btree";
+
+    private static final String FACTORY_PROPERTY =
+        "org.netbeans.mdr.storagemodel.StorageFactoryClassName";
+
+    /**
+     * Prefix of the properties MDR passes on to the storage factory.
+     */
+    private static final String STORAGE_PREFIX = "MDRStorageProperty.";
+
+    private static final String MEMORY_FACTORY =
+        "org.netbeans.mdr.persistence.memoryimpl.StorageFactoryImpl";
+
+    private static final String BTREE_FACTORY =
+        "org.netbeans.mdr.persistence.btreeimpl.btreestorage.BtreeFactory";
+
+    private static final String BTREE_PREFIX =
+        "org.netbeans.mdr.persistence.btreeimpl.";
+
+    /**
+     * MDR keeps 1024 objects by default, too few for the many small
+     * objects of a UML model.
+     */
+    private static final int CACHE_SIZE = 32768;
+
+    private static final int CACHE_THRESHOLD = 16384;
+
+    private static final String LOCK_FILE = "lock";
+
+    private static File directory;
+
+    private static FileLock lock;
+
+    private MDRStorage() {
+    }
+
+    /**
+     * Set the system properties MDR reads when it creates the default
+     * repository. A storage factory set on the command line is left alone.
+     */
+    static synchronized void configure() {
+        String factory = System.getProperty(FACTORY_PROPERTY);
+        if (factory == null) {
+            if (BTREE.equals(System.getProperty(STORAGE_PROPERTY))) {
+                factory = configureBtree() ? BTREE_FACTORY : MEMORY_FACTORY;
+            } else {
+                factory = MEMORY_FACTORY;
+            }
+            System.setProperty(FACTORY_PROPERTY, factory);
+        }
+
+        /*
+         * Set the storage id for our repository so that MofIds will be unique
+         * (they are composed as "storageId":"serialNumber"). NOTE: The storage
+         * manager only looks for a few property names such as the
+         * StorageFactoryClassName. Everything else needs to be prefixed with
+         * "MDRStorageProperty." which gets deleted from the property name
+         * before it and its associated value are copied to an *internal*
+         * property table separate from the system property table.
+         */
+        String uuid = UUIDManager.getInstance().getNewUUID();
+        System.setProperty(STORAGE_PREFIX
+                + "org.netbeans.mdr.persistence.memoryimpl.id", uuid);
+        System.setProperty(STORAGE_PREFIX + BTREE_PREFIX + "uuid", uuid);
+        LOG.log(Level.INFO, "MDR storage {0}", factory);
+    }
+
+    /**
+     * @return true if the repository is kept on disk
+     */
+    static boolean isPersistent() {
+        return BTREE_FACTORY.equals(System.getProperty(FACTORY_PROPERTY));
+    }
+
+    /**
+     * @return the directory of the b-tree files of this session, or null
+     *         if the repository is kept in memory
+     */
+    static synchronized File getDirectory() {
+        return directory;
+    }
+
+    private static boolean configureBtree() {
+        File root = new File(new File(System.getProperty("user.home"),
+                ".argouml"), "mdr");
+        if (!createDirectory(root)) {
+            return false;
+        }
+        File dir = directory;
+
+        System.setProperty(STORAGE_PREFIX + BTREE_PREFIX + "filename",
+                new File(dir, "argouml").getAbsolutePath());
+        System.setProperty(STORAGE_PREFIX + BTREE_PREFIX + "cacheSize",
+                Integer.toString(Integer.getInteger(
+                        "argouml.model.mdr.btree.cacheSize", CACHE_SIZE)));
+        System.setProperty(STORAGE_PREFIX + BTREE_PREFIX + "cacheThreshHold",
+                Integer.toString(Integer.getInteger(
+                        "argouml.model.mdr.btree.cacheThreshold",
+                        CACHE_THRESHOLD)));
+
+        Runtime.getRuntime().addShutdownHook(new Thread("MDR cleanup") {
+            @Override
+            public void run() {
+                MDRManager.getDefault().shutdownAll();
+                dispose();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Create and lock the directory of this session, after removing those
+     * of the sessions which are gone.
+     *
+     * @param root the directory holding those of all the sessions
+     * @return false if the directory can't be created and locked
+     */
+    static synchronized boolean createDirectory(File root) {
+        root.mkdirs();
+        RandomAccessFile rootFile = null;
+        try {
+            rootFile = new RandomAccessFile(new File(root, LOCK_FILE), "rw");
+            FileLock rootLock = rootFile.getChannel().lock();
+            try {
+                removeStale(root);
+                File dir = new File(root, UUIDManager.getInstance()
+                        .getNewUUID().replaceAll("[^A-Za-z0-9_.-]", "_"));
+                if (!dir.mkdirs()) {
+                    LOG.log(Level.SEVERE, "Can't create the MDR directory "
+                            + dir + ", keeping the repository in memory");
+                    return false;
+                }
+                RandomAccessFile file = null;
+                try {
+                    file = new RandomAccessFile(new File(dir, LOCK_FILE),
+                            "rw");
+                    lock = file.getChannel().lock();
+                } catch (IOException e) {
+                    LOG.log(Level.SEVERE, "Can't lock the MDR directory "
+                            + dir + ", keeping the repository in memory", e);
+                    if (file != null) {
+                        close(file);
+                    }
+                    delete(dir);
+                    return false;
+                }
+                directory = dir;
+                return true;
+            } finally {
+                rootLock.release();
+            }
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, "Can't lock the MDR directory " + root
+                    + ", keeping the repository in memory", e);
+            return false;
+        } finally {
+            if (rootFile != null) {
+                close(rootFile);
+            }
+        }
+    }
+
+    private static void close(RandomAccessFile file) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Can't close the MDR lock", e);
+        }
+    }
+
+    /**
+     * Remove the directory of this session.
+     */
+    static synchronized void dispose() {
+        if (directory == null) {
+            return;
+        }
+        if (lock != null) {
+            try {
+                lock.release();
+                lock.channel().close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Can't release the MDR lock", e);
+            }
+            lock = null;
+        }
+        delete(directory);
+        directory = null;
+    }
+
+    /**
+     * Remove the directories of sessions which are no longer running. The
+     * lock of the root directory must be held.
+     *
+     * @param root the directory holding those of all the sessions
+     */
+    static void removeStale(File root) {
+        File[] dirs = root.listFiles();
+        if (dirs == null) {
+            return;
+        }
+        for (File dir : dirs) {
+            if (dir.isDirectory() && !isLocked(dir)) {
+                LOG.log(Level.INFO, "Removing stale MDR directory {0}", dir);
+                delete(dir);
+            }
+        }
+    }
+
+    private static boolean isLocked(File dir) {
+        File file = new File(dir, LOCK_FILE);
+        if (!file.exists()) {
+            return false;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            FileLock l = raf.getChannel().tryLock();
+            if (l == null) {
+                return true;
+            }
+            l.release();
+            return false;
+        } catch (OverlappingFileLockException e) {
+            // Locked by this JVM
+            return true;
+        } catch (IOException e) {
+            return true;
+        } finally {
+            if (raf != null) {
+                close(raf);
+            }
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        if (!file.delete()) {
+            LOG.log(Level.FINE, "Can't delete {0}", file);
+        }
+    }
+}
@@ -48,6 +48,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,8 +70,10 @@ import javax.jmi.reflect.RefObject;
 import org.argouml.model.AbstractModelEventPump;
 import org.argouml.model.AddAssociationEvent;
 import org.argouml.model.AttributeChangeEvent;
+import org.argouml.model.CachingFacade;
 import org.argouml.model.DeleteInstanceEvent;
 import org.argouml.model.InvalidElementException;
+import org.argouml.model.Metrics;
 import org.argouml.model.Model;
 import org.argouml.model.NotImplementedException;
 import org.argouml.model.RemoveAssociationEvent;
@@ -109,6 +113,16 @@ class ModelEventPumpMDRImpl extends AbstractModelEventPump implements
 
     private static final boolean VETO_READONLY_CHANGES = true;
 
+    private static final Metrics.Counter EVENTS_FIRED =
+        Metrics.counter("model.events.fired");
+
+    /**
+     * The timers of the listeners, by their class, looked up only while the
+     * metrics are on.
+     */
+    private static final ConcurrentMap<Class<?>, Metrics.Timer>
+    LISTENER_TIMERS = new ConcurrentHashMap<Class<?>, Metrics.Timer>();
+
     private MDRModelImplementation modelImpl;
 
     private Object registrationMutex = new Byte[0];
@@ -434,6 +448,8 @@ class ModelEventPumpMDRImpl extends AbstractModelEventPump implements
             }
         }
 
+        invalidateCache(e);
+
         synchronized (eventCountMutex) {
             pendingEvents++;
         }
@@ -458,9 +474,47 @@ class ModelEventPumpMDRImpl extends AbstractModelEventPump implements
      * @see org.netbeans.api.mdr.events.MDRPreChangeListener#changeCancelled
      */
     public void changeCancelled(MDRChangeEvent e) {
+        // The values read since the planned change are gone too
+        invalidateCache(e);
         decrementEvents();
     }
 
+    /**
+     * Keep the cache of the Facade from giving the values of before a
+     * change. This is done when the change is planned, by the thread about
+     * to make it, as the events are only delivered later by the MDR event
+     * thread. The properties are named as in the events of {@link #change}.
+     *
+     * @param e the MDR event of the change
+     */
+    private void invalidateCache(MDRChangeEvent e) {
+        CachingFacade cache = modelImpl.getFacadeCache();
+        if (cache == null) {
+            return;
+        }
+        if (e instanceof AttributeEvent) {
+            AttributeEvent ae = (AttributeEvent) e;
+            cache.invalidate(ae.getSource(), ae.getAttributeName());
+        } else if (e instanceof AssociationEvent) {
+            AssociationEvent ae = (AssociationEvent) e;
+            String endName = mapPropertyName(ae.getEndName());
+            if (ae.getNewElement() != null) {
+                cache.invalidate(ae.getNewElement(), endName);
+            }
+            if (ae.getOldElement() != null) {
+                cache.invalidate(ae.getOldElement(), endName);
+            }
+            cache.invalidate(ae.getFixedElement(), otherAssocEnd(ae));
+        } else if (e instanceof InstanceEvent) {
+            if (e.isOfType(InstanceEvent.EVENT_INSTANCE_DELETE)) {
+                cache.invalidate(((InstanceEvent) e).getInstance(), null);
+            }
+        } else if (!(e instanceof TransactionEvent)) {
+            // Extents created or deleted
+            cache.invalidateAll();
+        }
+    }
+
     /**
      * Decrement count of outstanding events and wake
      * any waiters when it becomes zero.
@@ -507,13 +561,22 @@ class ModelEventPumpMDRImpl extends AbstractModelEventPump implements
                     + "->" + formatElement(event.getNewValue()));
         }
 
+        EVENTS_FIRED.increment();
         if (!listeners.isEmpty()) {
+            boolean measure = Metrics.isEnabled();
             for (PropertyChangeListener pcl : listeners) {
                 if (false /*(LOG.isDebugEnabled()*/) {
                     LOG.log(Level.FINE, "Firing event on " + pcl.getClass().getName()
                             + "[" + pcl + "]");
                 }
-                pcl.propertyChange(event);
+                if (measure) {
+                    Metrics.Timer timer = getListenerTimer(pcl.getClass());
+                    long start = timer.start();
+                    pcl.propertyChange(event);
+                    timer.stop(start);
+                } else {
+                    pcl.propertyChange(event);
+                }
             }
         } else {
             // For debugging you probably want either this
@@ -657,6 +720,16 @@ class ModelEventPumpMDRImpl extends AbstractModelEventPump implements
                         + modelClass);
     }
 
+    private static Metrics.Timer getListenerTimer(Class<?> listenerClass) {
+        Metrics.Timer timer = LISTENER_TIMERS.get(listenerClass);
+        if (timer == null) {
+            timer = Metrics.timer("model.events.listener."
+                    + listenerClass.getName());
+            LISTENER_TIMERS.put(listenerClass, timer);
+        }
+        return timer;
+    }
+
     private String getClassName(Object elementOrClass) {
         return modelImpl.getMetaTypes().getName(elementOrClass);
     }
@@ -667,6 +740,10 @@ class ModelEventPumpMDRImpl extends AbstractModelEventPump implements
     public void startPumpingEvents() {
         LOG.log(Level.FINE, "Start pumping events");
         repository.addListener(this);
+        CachingFacade cache = modelImpl.getFacadeCache();
+        if (cache != null) {
+            cache.setSuspended(false);
+        }
     }
 
     /*
@@ -675,6 +752,11 @@ class ModelEventPumpMDRImpl extends AbstractModelEventPump implements
     public void stopPumpingEvents() {
         LOG.log(Level.FINE, "Stop pumping events");
         repository.removeListener(this);
+        // Changes go unnoticed until the events are pumped again
+        CachingFacade cache = modelImpl.getFacadeCache();
+        if (cache != null) {
+            cache.setSuspended(true);
+        }
     }
 
     /*
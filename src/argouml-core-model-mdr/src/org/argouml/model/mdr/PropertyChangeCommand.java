@@ -0,0 +1,297 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import javax.jmi.reflect.RefBaseObject;
+
+import org.argouml.model.CoreHelper;
+import org.argouml.model.InvalidElementException;
+import org.argouml.model.ModelCommand;
+import org.omg.uml.foundation.core.ModelElement;
+
+/**
+ * The command of a single property change, kept as a small memento: the
+ * MOF id of the element, the property and the old and new values.  The
+ * element, and a value which is an element, are looked up by their MOF ids
+ * when the change is undone or redone, so that the undo history doesn't
+ * keep them alive.
+ */
+@SuppressWarnings("deprecation")
+final class PropertyChangeCommand extends ModelCommand {
+
+    /**
+     * The properties, each of which knows how to set itself through the
+     * core helper which isn't decorated for undo.
+     */
+    enum Property {
+        ABSTRACT {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setAbstract(element, ((Boolean) value).booleanValue());
+            }
+        },
+        ACTIVE {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setActive(element, ((Boolean) value).booleanValue());
+            }
+        },
+        AGGREGATION {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setAggregation(element, value);
+            }
+        },
+        AGGREGATION1 {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setAggregation1(element, value);
+            }
+        },
+        AGGREGATION2 {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setAggregation2(element, value);
+            }
+        },
+        BODY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setBody(element, (String) value);
+            }
+        },
+        CHANGEABILITY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setChangeability(element, value);
+            }
+        },
+        CONCURRENCY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setConcurrency(element, value);
+            }
+        },
+        KIND {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setKind(element, value);
+            }
+        },
+        LEAF {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setLeaf(element, ((Boolean) value).booleanValue());
+            }
+        },
+        MULTIPLICITY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setMultiplicity(element, (String) value);
+            }
+        },
+        MULTIPLICITY_ELEMENT {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setMultiplicity(element, value);
+            }
+        },
+        NAME {
+            void set(CoreHelper helper, Object element, Object value) {
+                ((ModelElement) element).setName((String) value);
+            }
+        },
+        NAVIGABLE {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setNavigable(element,
+                        ((Boolean) value).booleanValue());
+            }
+        },
+        ORDERING {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setOrdering(element, value);
+            }
+        },
+        POWERTYPE {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setPowertype(element, value);
+            }
+        },
+        QUERY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setQuery(element, ((Boolean) value).booleanValue());
+            }
+        },
+        READ_ONLY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setReadOnly(element, ((Boolean) value).booleanValue());
+            }
+        },
+        ROOT {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setRoot(element, ((Boolean) value).booleanValue());
+            }
+        },
+        SPECIFICATION {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setSpecification(element,
+                        ((Boolean) value).booleanValue());
+            }
+        },
+        SPECIFICATION_BODY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setSpecification(element, (String) value);
+            }
+        },
+        SPECIFICATION_ELEMENT {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setSpecification(element, value);
+            }
+        },
+        TARGET_SCOPE {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setTargetScope(element, value);
+            }
+        },
+        VISIBILITY {
+            void set(CoreHelper helper, Object element, Object value) {
+                helper.setVisibility(element, value);
+            }
+        };
+
+        /**
+         * Set the property of an element.
+         *
+         * @param helper the core helper which isn't decorated for undo
+         * @param element the element
+         * @param value the value
+         */
+        abstract void set(CoreHelper helper, Object element, Object value);
+    }
+
+    /**
+     * The size of this command without its strings: the object and its
+     * six references.
+     */
+    private static final int SIZE = 16 + 6 * 8;
+
+    /**
+     * The size of a String without its characters: the String object and
+     * its array.
+     */
+    private static final int STRING_SIZE = 40;
+
+    /**
+     * The size of an element id without its MOF id.
+     */
+    private static final int ELEMENT_ID_SIZE = 16 + 8;
+
+    private final MDRModelImplementation modelImpl;
+
+    private final CoreHelper helper;
+
+    private final String mofId;
+
+    private final Property property;
+
+    private final Object newValue;
+
+    private final Object oldValue;
+
+    /**
+     * @param theModelImpl the model implementation, to look up elements
+     * @param theHelper the core helper which isn't decorated for undo
+     * @param element the element which is changed
+     * @param theProperty the property which is changed
+     * @param theNewValue the new value
+     * @param theOldValue the old value
+     */
+    PropertyChangeCommand(MDRModelImplementation theModelImpl,
+            CoreHelper theHelper, Object element, Property theProperty,
+            Object theNewValue, Object theOldValue) {
+        modelImpl = theModelImpl;
+        helper = theHelper;
+        mofId = ((RefBaseObject) element).refMofId();
+        property = theProperty;
+        newValue = toMemento(theNewValue);
+        oldValue = toMemento(theOldValue);
+    }
+
+    public Object execute() {
+        set(newValue);
+        return null;
+    }
+
+    public void undo() {
+        set(oldValue);
+    }
+
+    public boolean isUndoable() {
+        return true;
+    }
+
+    public boolean isRedoable() {
+        return true;
+    }
+
+    @Override
+    public int getMemorySize() {
+        return SIZE + sizeOf(mofId) + sizeOf(newValue) + sizeOf(oldValue);
+    }
+
+    @Override
+    public String toString() {
+        return property + " = " + newValue;
+    }
+
+    private void set(Object value) {
+        property.set(helper, lookup(mofId), fromMemento(value));
+    }
+
+    private Object lookup(String id) {
+        Object element = modelImpl.getRepository().getByMofId(id);
+        if (element == null) {
+            throw new InvalidElementException("No element with MOF id " + id);
+        }
+        return element;
+    }
+
+    private static Object toMemento(Object value) {
+        if (value instanceof RefBaseObject) {
+            return new ElementId(((RefBaseObject) value).refMofId());
+        }
+        return value;
+    }
+
+    private Object fromMemento(Object value) {
+        if (value instanceof ElementId) {
+            return lookup(((ElementId) value).mofId);
+        }
+        return value;
+    }
+
+    private static int sizeOf(Object value) {
+        if (value instanceof String) {
+            return STRING_SIZE + 2 * ((String) value).length();
+        }
+        if (value instanceof ElementId) {
+            return ELEMENT_ID_SIZE + sizeOf(((ElementId) value).mofId);
+        }
+        // The Booleans and the enumeration literals are shared
+        return 0;
+    }
+
+    /**
+     * A value which is an element, held by its MOF id.
+     */
+    private static final class ElementId {
+        private final String mofId;
+
+        ElementId(String theMofId) {
+            mofId = theMofId;
+        }
+
+        @Override
+        public String toString() {
+            return mofId;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import org.argouml.model.AbstractReadSession;
+import org.netbeans.api.mdr.MDRepository;
+
+/**
+ * A read session held as a read-only MDR transaction. Other readers go on
+ * reading while it is held, changes wait for it to be given up.<p>
+ *
+ * MDR does not let a thread change the model inside a read-only
+ * transaction, it throws an exception instead.
+ */
+class ReadSessionMDRImpl extends AbstractReadSession {
+
+    private final MDRepository repository;
+
+    /**
+     * @param implementation the MDR model implementation
+     * @param maxHoldMillis the time the transaction is held for
+     */
+    ReadSessionMDRImpl(MDRModelImplementation implementation,
+            long maxHoldMillis) {
+        super(maxHoldMillis);
+        repository = implementation.getRepository();
+    }
+
+    @Override
+    protected void acquire() {
+        repository.beginTrans(false);
+    }
+
+    @Override
+    protected void release() {
+        repository.endTrans();
+    }
+}
@@ -60,6 +60,7 @@ import org.argouml.model.InvalidElementException;
 import org.argouml.model.MetaTypes;
 import org.argouml.model.Model;
 import org.argouml.model.UmlFactory;
+import org.netbeans.api.mdr.MDRepository;
 import org.omg.uml.behavioralelements.activitygraphs.ActionState;
 import org.omg.uml.behavioralelements.activitygraphs.ActivityGraph;
 import org.omg.uml.behavioralelements.activitygraphs.CallState;
@@ -230,6 +231,13 @@ class UmlFactoryMDRImpl extends AbstractUmlModelFactoryMDR implements
      */
     private Object lock = new Byte[0];
 
+    /**
+     * The top of the cascade while {@link #deleteAll(Collection)} works out
+     * the elements to be deleted.  No element is ever equal to it, so the
+     * calls to {@link #delete(Object)} only collect elements.
+     */
+    private static final Object BULK_DELETE = new Object();
+
     /**
      * An array of valid connections, the combination of connecting class and
      * node classes must exist as a row in this list to be considered valid.
@@ -1397,50 +1405,114 @@ class UmlFactoryMDRImpl extends AbstractUmlModelFactoryMDR implements
             }
 
             if (elem == top) {
-                for (RefObject o : elementsInDeletionOrder) {
-                    // TODO: This doesn't belong here, but it's not a good time
-                    // to move it.  Find someplace less obtrusive than this
-                    // inner loop. - tfm
-                    if (o instanceof CompositeState) {
-                        // This enforces the following well-formedness rule.
-                        // <p>Well formedness rule 4.12.3.1 CompositeState
-                        // [4] There have to be at least two composite
-                        // substates in a concurrent composite state.<p>
-                        // If this is broken by deletion of substate then we
-                        // change the parent composite substate to be not
-                        // concurrent.
-                        CompositeState deletedCompositeState =
-                            (CompositeState) o;
-                        try {
-                            CompositeState containingCompositeState =
-                                deletedCompositeState.getContainer();
-                            if (containingCompositeState != null
-                                    && containingCompositeState.
-                                    isConcurrent()
-                                    && containingCompositeState.getSubvertex().
-                                        size() == 1) {
-                                containingCompositeState.setConcurrent(false);
-                            }
-                        } catch (InvalidObjectException e) {
-                            LOG.log(Level.FINE, "Object already deleted {0}", o);
-                        }
+                deleteCollected();
+            }
+        }
+
+        if (elem == top) {
+            Model.execute(new DummyModelCommand());
+        }
+    }
+
+    /**
+     * Delete the elements collected by the cascade and end it.  Must be
+     * called holding the lock.
+     */
+    private void deleteCollected() {
+        for (RefObject o : elementsInDeletionOrder) {
+            // TODO: This doesn't belong here, but it's not a good time
+            // to move it.  Find someplace less obtrusive than this
+            // inner loop. - tfm
+            if (o instanceof CompositeState) {
+                // This enforces the following well-formedness rule.
+                // <p>Well formedness rule 4.12.3.1 CompositeState
+                // [4] There have to be at least two composite
+                // substates in a concurrent composite state.<p>
+                // If this is broken by deletion of substate then we
+                // change the parent composite substate to be not
+                // concurrent.
+                CompositeState deletedCompositeState =
+                    (CompositeState) o;
+                try {
+                    CompositeState containingCompositeState =
+                        deletedCompositeState.getContainer();
+                    if (containingCompositeState != null
+                            && containingCompositeState.
+                            isConcurrent()
+                            && containingCompositeState.getSubvertex().
+                                size() == 1) {
+                        containingCompositeState.setConcurrent(false);
                     }
-                    try {
-                        o.refDelete();
-                    } catch (InvalidObjectException e) {
-                        LOG.log(Level.FINE, "Object already deleted {0}", o);
+                } catch (InvalidObjectException e) {
+                    LOG.log(Level.FINE, "Object already deleted {0}", o);
+                }
+            }
+            try {
+                o.refDelete();
+            } catch (InvalidObjectException e) {
+                LOG.log(Level.FINE, "Object already deleted {0}", o);
+            }
+            elementsToBeDeleted.remove(o);
+        }
+        top = null;
+        elementsInDeletionOrder.clear();
+        if (!elementsToBeDeleted.isEmpty()) {
+            LOG.log(Level.FINE, "**Skipped deleting {0} elements (probably in a deleted container", elementsToBeDeleted.size());
+            elementsToBeDeleted.clear();
+        }
+    }
+
+    public void deleteAll(Collection elems) {
+        synchronized (lock) {
+            if (top != null) {
+                // Part of a cascade already under way, which will delete
+                // them along with everything else
+                for (Object elem : elems) {
+                    delete(elem);
+                }
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            MDRepository repository = modelImpl.getRepository();
+            top = BULK_DELETE;
+            int count;
+            long collectedTime;
+            try {
+                // Work out the whole cascade in a single read transaction
+                repository.beginTrans(false);
+                try {
+                    for (Object elem : elems) {
+                        delete(elem);
                     }
-                    elementsToBeDeleted.remove(o);
+                } finally {
+                    repository.endTrans();
                 }
+                count = elementsInDeletionOrder.size();
+                collectedTime = System.currentTimeMillis();
+
+                // and delete it all in a single write transaction, so that
+                // MDR sends the events for all of it together
+                boolean rollback = true;
+                repository.beginTrans(true);
+                try {
+                    deleteCollected();
+                    rollback = false;
+                } finally {
+                    repository.endTrans(rollback);
+                }
+            } finally {
                 top = null;
                 elementsInDeletionOrder.clear();
-                if (!elementsToBeDeleted.isEmpty()) {
-                    LOG.log(Level.FINE, "**Skipped deleting {0} elements (probably in a deleted container", elementsToBeDeleted.size());
-                    elementsToBeDeleted.clear();
-                }
+                elementsToBeDeleted.clear();
             }
+            long endTime = System.currentTimeMillis();
+            LOG.log(Level.INFO, "Deleted {0} elements, {1} with the "
+                    + "cascade, in {2} msec. ({3} msec. to find the cascade)",
+                    new Object[] {
+                        elems.size(), count, endTime - startTime,
+                        collectedTime - startTime,
+                    });
         }
-
         Model.execute(new DummyModelCommand());
     }
 
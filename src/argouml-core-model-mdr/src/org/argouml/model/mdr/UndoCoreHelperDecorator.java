@@ -46,8 +46,8 @@ import org.argouml.model.AbstractCoreHelperDecorator;
 import org.argouml.model.CoreHelper;
 import org.argouml.model.DummyModelCommand;
 import org.argouml.model.Model;
-import org.argouml.model.ModelCommand;
 import org.argouml.model.NotImplementedException;
+import org.argouml.model.mdr.PropertyChangeCommand.Property;
 
 
 /**
@@ -60,129 +60,32 @@ import org.argouml.model.NotImplementedException;
 @SuppressWarnings("deprecation")
 class UndoCoreHelperDecorator extends AbstractCoreHelperDecorator {
 
+    private final MDRModelImplementation modelImpl;
+
     /**
      * Constructor.
      *
      * @param component The component we are decorating.
+     * @param theModelImpl The model implementation, in which the elements
+     *            changed are looked up when a change is undone or redone.
      */
-    UndoCoreHelperDecorator(CoreHelper component) {
+    UndoCoreHelperDecorator(CoreHelper component,
+            MDRModelImplementation theModelImpl) {
         super(component);
-    }
-
-    // Helper interfaces and methods.
-    /**
-     * Interface to set a boolean value.
-     */
-    protected interface BooleanSetter {
-        /**
-         * Do the actual setting.
-         *
-         * @param value The new value.
-         */
-        void set(boolean value);
-    }
-
-    /**
-     * Interface to set a Object value.
-     */
-    protected interface ObjectSetter {
-        /**
-         * Do the actual setting.
-         *
-         * @param value The new value.
-         */
-        void set(Object value);
-    }
-
-    /**
-     * Interface to set a String value.
-     */
-    protected interface StringSetter {
-        /**
-         * Do the actual setting.
-         *
-         * @param value The new value.
-         */
-        void set(String value);
-    }
-
-
-    /**
-     * Create a command for a setter of a boolean value.
-     *
-     * @param accesser The accesser.
-     * @param newValue The new value.
-     * @param oldValue The old value.
-     */
-    private void createCommand(
-            final BooleanSetter accesser,
-            final boolean newValue, final boolean oldValue) {
-        if (newValue == oldValue) {
-            return;
-        }
-        ModelCommand command = new ModelCommand() {
-            public void undo() {
-                accesser.set(oldValue);
-            }
-            public Object execute() {
-                accesser.set(newValue);
-                return null;
-            }
-            public boolean isUndoable() {
-                return true;
-            }
-            public boolean isRedoable() {
-                return true;
-            }
-        };
-        Model.execute(command);
-    }
-
-    /**
-     * Create a command for a setter of a Object value.
-     *
-     * @param accesser The accesser.
-     * @param newValue The new value.
-     * @param oldValue The old value.
-     */
-    private void createCommand(
-            final ObjectSetter accesser,
-            final Object newValue, final Object oldValue) {
-        if (newValue == oldValue) {
-            return;
-        }
-        if (newValue != null
-                && newValue.equals(oldValue)) {
-            return;
-        }
-        ModelCommand command = new ModelCommand() {
-            public void undo() {
-                accesser.set(oldValue);
-            }
-            public Object execute() {
-                accesser.set(newValue);
-                return null;
-            }
-            public boolean isUndoable() {
-                return true;
-            }
-            public boolean isRedoable() {
-                return true;
-            }
-        };
-        Model.execute(command);
+        modelImpl = theModelImpl;
     }
 
     /**
-     * Create a command for a setter of a String value.
+     * Make a change of a property of an element, through a command which
+     * can undo it.
      *
-     * @param accesser The accesser.
+     * @param handle The element.
+     * @param property The property.
      * @param newValue The new value.
      * @param oldValue The old value.
      */
-    private void createCommand(
-            final StringSetter accesser,
-            final String newValue, final String oldValue) {
+    private void createCommand(Object handle, Property property,
+            Object newValue, Object oldValue) {
         if (newValue == oldValue) {
             return;
         }
@@ -190,128 +93,78 @@ class UndoCoreHelperDecorator extends AbstractCoreHelperDecorator {
                 && newValue.equals(oldValue)) {
             return;
         }
-        ModelCommand command = new ModelCommand() {
-            public void undo() {
-                accesser.set(oldValue);
-            }
-            public Object execute() {
-                accesser.set(newValue);
-                return null;
-            }
-            public boolean isUndoable() {
-                return true;
-            }
-            public boolean isRedoable() {
-                return true;
-            }
-        };
-        Model.execute(command);
+        Model.execute(new PropertyChangeCommand(modelImpl, getComponent(),
+                handle, property, newValue, oldValue));
     }
 
 
-    public void setAbstract(final Object handle, boolean flag) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setAbstract(handle, value);
-            }
-        }, flag, Model.getFacade().isAbstract(handle));
+    public void setAbstract(Object handle, boolean flag) {
+        createCommand(handle, Property.ABSTRACT, flag,
+                Model.getFacade().isAbstract(handle));
     }
 
 
-    public void setActive(final Object handle, boolean active) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setActive(handle, value);
-            }
-        }, active, Model.getFacade().isActive(handle));
+    public void setActive(Object handle, boolean active) {
+        createCommand(handle, Property.ACTIVE, active,
+                Model.getFacade().isActive(handle));
     }
 
 
-    public void setAggregation(final Object handle, Object aggregationKind) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setAggregation(handle, value);
-            }
-        }, aggregationKind, Model.getFacade().getAggregation(handle));
+    public void setAggregation(Object handle, Object aggregationKind) {
+        createCommand(handle, Property.AGGREGATION, aggregationKind,
+                Model.getFacade().getAggregation(handle));
     }
 
-    public void setAggregation1(final Object handle, Object aggregationKind) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setAggregation1(handle, value);
-            }
-        }, aggregationKind, Model.getFacade().getAggregation1(handle));
+    public void setAggregation1(Object handle, Object aggregationKind) {
+        createCommand(handle, Property.AGGREGATION1, aggregationKind,
+                Model.getFacade().getAggregation1(handle));
     }
 
     
-    public void setAggregation2(final Object handle, Object aggregationKind) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setAggregation2(handle, value);
-            }
-        }, aggregationKind, Model.getFacade().getAggregation2(handle));
+    public void setAggregation2(Object handle, Object aggregationKind) {
+        createCommand(handle, Property.AGGREGATION2, aggregationKind,
+                Model.getFacade().getAggregation2(handle));
     }
 
-    public void setLeaf(final Object handle, boolean flag) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setLeaf(handle, value);
-            }
-        }, flag, Model.getFacade().isLeaf(handle));
+    public void setLeaf(Object handle, boolean flag) {
+        createCommand(handle, Property.LEAF, flag,
+                Model.getFacade().isLeaf(handle));
     }
 
     @Override
-    public void setChangeability(final Object handle, Object ck) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setChangeability(handle, value);
-            }
-        }, ck, Model.getFacade().getChangeability(handle));
+    public void setChangeability(Object handle, Object ck) {
+        createCommand(handle, Property.CHANGEABILITY, ck,
+                Model.getFacade().getChangeability(handle));
     }
 
     @Override
-    public void setReadOnly(final Object handle, boolean flag) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setReadOnly(handle, value);
-            }
-        }, flag, Model.getFacade().isReadOnly(handle));
+    public void setReadOnly(Object handle, boolean flag) {
+        createCommand(handle, Property.READ_ONLY, flag,
+                Model.getFacade().isReadOnly(handle));
     }
 
-    public void setConcurrency(final Object handle, Object concurrencyKind) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setConcurrency(handle, value);
-            }
-        }, concurrencyKind, Model.getFacade().getConcurrency(handle));
+    public void setConcurrency(Object handle, Object concurrencyKind) {
+        createCommand(handle, Property.CONCURRENCY, concurrencyKind,
+                Model.getFacade().getConcurrency(handle));
     }
 
 
-    public void setKind(final Object handle, Object kind) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setKind(handle, value);
-            }
-        }, kind, Model.getFacade().getKind(handle));
+    public void setKind(Object handle, Object kind) {
+        createCommand(handle, Property.KIND, kind,
+                Model.getFacade().getKind(handle));
     }
 
 
     @Deprecated
-    public void setMultiplicity(final Object handle, Object arg) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setMultiplicity(handle, value);
-            }
-        }, arg, Model.getFacade().getMultiplicity(handle));
-    }
-
-    public void setMultiplicity(final Object handle, String arg) {
-        createCommand(new StringSetter() {
-            public void set(String value) {
-                getComponent().setMultiplicity(handle, value);
-            }
-        }, arg, Model.getFacade().toString(
-                Model.getFacade().getMultiplicity(handle)));
+    public void setMultiplicity(Object handle, Object arg) {
+        createCommand(handle, Property.MULTIPLICITY_ELEMENT, arg,
+                Model.getFacade().getMultiplicity(handle));
+    }
+
+    public void setMultiplicity(Object handle, String arg) {
+        createCommand(handle, Property.MULTIPLICITY, arg,
+                Model.getFacade(
+                        ).toString( Model.getFacade().getMultiplicity(handle)));
     }
     
     public void setMultiplicity(final Object handle, int lower, int upper) {
@@ -330,104 +183,71 @@ class UndoCoreHelperDecorator extends AbstractCoreHelperDecorator {
         setMultiplicity(handle, lowerStr + ".." + upperStr);
     }
 
-    public void setBody(final Object handle, String body) {
-        createCommand(new StringSetter() {
-            public void set(String value) {
-                getComponent().setBody(handle, value);
-            }
-        }, body, Model.getCoreHelper().getBody(handle));
+    public void setBody(Object handle, String body) {
+        createCommand(handle, Property.BODY, body,
+                Model.getCoreHelper().getBody(handle));
     }
 
 
-    public void setNavigable(final Object handle, boolean flag) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setNavigable(handle, value);
-            }
-        }, flag, Model.getFacade().isNavigable(handle));
+    public void setNavigable(Object handle, boolean flag) {
+        createCommand(handle, Property.NAVIGABLE, flag,
+                Model.getFacade().isNavigable(handle));
     }
 
 
-    public void setOrdering(final Object handle, Object ok) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setOrdering(handle, value);
-            }
-        }, ok, Model.getFacade().getOrdering(handle));
+    public void setOrdering(Object handle, Object ok) {
+        createCommand(handle, Property.ORDERING, ok,
+                Model.getFacade().getOrdering(handle));
     }
 
 
-    public void setPowertype(final Object handle, Object pt) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setPowertype(handle, value);
-            }
-        }, pt, Model.getFacade().getPowertype(handle));
+    public void setPowertype(Object handle, Object pt) {
+        createCommand(handle, Property.POWERTYPE, pt,
+                Model.getFacade().getPowertype(handle));
     }
 
 
-    public void setQuery(final Object handle, boolean flag) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setQuery(handle, value);
-            }
-        }, flag, Model.getFacade().isQuery(handle));
+    public void setQuery(Object handle, boolean flag) {
+        createCommand(handle, Property.QUERY, flag,
+                Model.getFacade().isQuery(handle));
     }
 
 
-    public void setRoot(final Object handle, boolean flag) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setRoot(handle, value);
-            }
-        }, flag, Model.getFacade().isRoot(handle));
+    public void setRoot(Object handle, boolean flag) {
+        createCommand(handle, Property.ROOT, flag,
+                Model.getFacade().isRoot(handle));
     }
 
 
-    public void setSpecification(final Object handle, boolean specification) {
-        createCommand(new BooleanSetter() {
-            public void set(boolean value) {
-                getComponent().setSpecification(handle, value);
-            }
-        }, specification, Model.getFacade().isSpecification(handle));
+    public void setSpecification(Object handle, boolean specification) {
+        createCommand(handle, Property.SPECIFICATION, specification,
+                Model.getFacade().isSpecification(handle));
     }
 
     
-    public void setSpecification(final Object handle, String specification) {
-        createCommand(new StringSetter() {
-            public void set(String value) {
-                getComponent().setSpecification(handle, value);
-            }
-        }, specification, Model.getFacade().getSpecification(handle));
+    public void setSpecification(Object handle, String specification) {
+        createCommand(handle, Property.SPECIFICATION_BODY, specification,
+                Model.getFacade().getSpecification(handle));
     }
 
     
-    public void setSpecification(final Object handle, Object specification) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setSpecification(handle, value);
-            }
-        }, specification, Model.getCoreHelper().getSpecification(handle));
+    public void setSpecification(Object handle, Object specification) {
+        createCommand(handle, Property.SPECIFICATION_ELEMENT, specification,
+                Model.getCoreHelper().getSpecification(handle));
     }
 
     
     @Override
-    public void setTargetScope(final Object handle, Object scopeKind) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setTargetScope(handle, value);
-            }
-        }, scopeKind, Model.getFacade().getTargetScope(handle));
+    public void setTargetScope(Object handle, Object scopeKind) {
+        createCommand(handle, Property.TARGET_SCOPE, scopeKind,
+                Model.getFacade().getTargetScope(handle));
     }
 
     
     @Override
-    public void setVisibility(final Object handle, Object visibility) {
-        createCommand(new ObjectSetter() {
-            public void set(Object value) {
-                getComponent().setVisibility(handle, value);
-            }
-        }, visibility, Model.getFacade().getVisibility(handle));
+    public void setVisibility(Object handle, Object visibility) {
+        createCommand(handle, Property.VISIBILITY, visibility,
+                Model.getFacade().getVisibility(handle));
     }
 
     public void addAllStereotypes(Object modelElement, Collection stereotypes) {
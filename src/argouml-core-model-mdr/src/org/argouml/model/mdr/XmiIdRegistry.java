@@ -0,0 +1,313 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The xmi.ids of the model elements read from XMI files, both ways: from the
+ * system id of a file and an xmi.id within it to the element, and from the
+ * MOF ID of an element to its system id and xmi.id. They keep the xmi.ids
+ * stable across read/write cycles.<p>
+ *
+ * The few files are kept once each, by their system id and by a number
+ * which the references point to. The xmi.ids and MOF IDs are kept as bytes
+ * in {@link CompactIdMap}s, and each reference from a MOF ID as a single
+ * byte array holding the number of the file followed by the xmi.id. There
+ * is no object per element besides these arrays. A file which is removed is
+ * forgotten, and its number is never given to another file, so that a
+ * reference read while the file is removed can't point to another one.<p>
+ *
+ * Lookups take no lock; changes are made under the lock of the registry.
+ */
+class XmiIdRegistry {
+
+    /**
+     * Stands for the null system id in the map of the files.
+     */
+    private static final Object NO_SYSTEM_ID = new Object();
+
+    /**
+     * The number of bytes of the number of a file in a reference.
+     */
+    private static final int INDEX_LENGTH = 4;
+
+    /**
+     * A file with registered elements.
+     */
+    private static final class SystemFile {
+        private final String systemId;
+
+        private final int index;
+
+        /**
+         * From the xmi.id of each element of the file to the element.
+         */
+        private final CompactIdMap objects = new CompactIdMap();
+
+        SystemFile(String theSystemId, int theIndex) {
+            systemId = theSystemId;
+            index = theIndex;
+        }
+    }
+
+    /**
+     * The files, by their system id.
+     */
+    private final ConcurrentMap<Object, SystemFile> files =
+        new ConcurrentHashMap<Object, SystemFile>();
+
+    /**
+     * The files, by their number, in the order they were registered.
+     */
+    private final ConcurrentSkipListMap<Integer, SystemFile> filesByIndex =
+        new ConcurrentSkipListMap<Integer, SystemFile>();
+
+    /**
+     * The number of the next file. Guarded by this.
+     */
+    private int nextIndex;
+
+    /**
+     * From the MOF ID of each element to its reference.
+     */
+    private final CompactIdMap references = new CompactIdMap();
+
+    /**
+     * Register an element read from a file.
+     *
+     * @param systemId the system id of the file
+     * @param xmiId the xmi.id of the element in the file
+     * @param mofId the MOF ID of the element
+     * @param object the element
+     */
+    synchronized void register(String systemId, String xmiId, String mofId,
+            Object object) {
+        SystemFile file = getFile(systemId);
+        file.objects.put(xmiId, object);
+        byte[] id = CompactIdMap.encode(xmiId);
+        byte[] reference = new byte[INDEX_LENGTH + id.length];
+        for (int i = 0; i < INDEX_LENGTH; i++) {
+            reference[i] = (byte) (file.index >> (8 * (INDEX_LENGTH - 1 - i)));
+        }
+        System.arraycopy(id, 0, reference, INDEX_LENGTH, id.length);
+        references.put(mofId, reference);
+    }
+
+    /**
+     * @param systemId the system id of a file
+     * @param xmiId an xmi.id in the file
+     * @return the element registered with the xmi.id, or null
+     */
+    Object getObject(String systemId, String xmiId) {
+        SystemFile file = files.get(key(systemId));
+        return file == null ? null : file.objects.get(xmiId);
+    }
+
+    /**
+     * @param systemId the system id of a file
+     * @return true if elements of the file are, or were, registered and
+     *         not removed with {@link #removeSystemId(String)}
+     */
+    boolean containsSystemId(String systemId) {
+        return files.containsKey(key(systemId));
+    }
+
+    /**
+     * @param mofId the MOF ID of an element
+     * @return true if the element was registered
+     */
+    boolean containsReference(String mofId) {
+        return references.containsKey(mofId);
+    }
+
+    /**
+     * @param mofId the MOF ID of an element
+     * @return the system id and xmi.id the element was read with, or null
+     */
+    XmiReference getReference(String mofId) {
+        byte[] reference = (byte[]) references.get(mofId);
+        if (reference == null) {
+            return null;
+        }
+        SystemFile file = filesByIndex.get(getIndex(reference));
+        if (file == null) {
+            // The file was removed since the reference was read
+            return null;
+        }
+        return new XmiReference(file.systemId,
+                CompactIdMap.decode(reference, INDEX_LENGTH));
+    }
+
+    /**
+     * Remove an element from both ways.
+     *
+     * @param mofId the MOF ID of the element
+     * @return the element which was registered with the xmi.id of the
+     *         element, or null if there was none
+     */
+    synchronized Object removeElement(String mofId) {
+        byte[] reference = (byte[]) references.remove(mofId);
+        if (reference == null) {
+            return null;
+        }
+        SystemFile file = filesByIndex.get(getIndex(reference));
+        if (file == null) {
+            return null;
+        }
+        return file.objects.remove(
+                CompactIdMap.decode(reference, INDEX_LENGTH));
+    }
+
+    /**
+     * Remove all the elements of a file, both ways, and forget the file.
+     *
+     * @param systemId the system id of the file
+     * @return false if no elements of the file were registered
+     */
+    synchronized boolean removeSystemId(String systemId) {
+        SystemFile file = files.remove(key(systemId));
+        if (file == null) {
+            return false;
+        }
+        filesByIndex.remove(file.index);
+        removeReferences(file.index);
+        return true;
+    }
+
+    /**
+     * Forget the elements of a file, and all the references, before the file
+     * is read again. The file stays registered.
+     *
+     * @param systemId the system id of the file
+     */
+    synchronized void clear(String systemId) {
+        SystemFile file = files.get(key(systemId));
+        if (file != null) {
+            file.objects.clear();
+        }
+        references.clear();
+    }
+
+    private void removeReferences(final int index) {
+        final List<String> mofIds = new ArrayList<String>();
+        references.visit(new CompactIdMap.Visitor() {
+            public void visit(String mofId, Object reference) {
+                if (getIndex((byte[]) reference) == index) {
+                    mofIds.add(mofId);
+                }
+            }
+        });
+        for (String mofId : mofIds) {
+            references.remove(mofId);
+        }
+    }
+
+    /**
+     * @return the system ids of the files with registered elements, in the
+     *         order they were registered
+     */
+    List<String> getSystemIds() {
+        List<String> result = new ArrayList<String>(filesByIndex.size());
+        for (SystemFile file : filesByIndex.values()) {
+            result.add(file.systemId);
+        }
+        return result;
+    }
+
+    /**
+     * Copy the elements of a file into a map.
+     *
+     * @param systemId the system id of the file
+     * @param map the map to put the elements in
+     * @param prefix the prefix for the xmi.ids in the map
+     * @param replace false to leave the xmi.ids already in the map alone
+     */
+    void copyObjects(String systemId, final Map<String, Object> map,
+            final String prefix, final boolean replace) {
+        SystemFile file = files.get(key(systemId));
+        if (file == null) {
+            return;
+        }
+        file.objects.visit(new CompactIdMap.Visitor() {
+            public void visit(String xmiId, Object object) {
+                String id = prefix + xmiId;
+                if (replace || !map.containsKey(id)) {
+                    map.put(id, object);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of registered elements
+     */
+    int size() {
+        return references.size();
+    }
+
+    /**
+     * Estimate the memory taken by the registry.
+     *
+     * @return the estimated number of bytes
+     */
+    long getFootprint() {
+        long bytes = references.getFootprint();
+        for (SystemFile file : filesByIndex.values()) {
+            bytes += file.objects.getFootprint();
+            if (file.systemId != null) {
+                bytes += 40 + 2 * file.systemId.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the size and footprint of the registry, for the logs
+     */
+    String getStatistics() {
+        return size() + " elements in " + filesByIndex.size()
+            + " files, about " + (getFootprint() + 1023) / 1024 + " KB";
+    }
+
+    private SystemFile getFile(String systemId) {
+        Object key = key(systemId);
+        SystemFile file = files.get(key);
+        if (file == null) {
+            if (nextIndex < 0) {
+                throw new IllegalStateException("Too many system ids");
+            }
+            file = new SystemFile(systemId, nextIndex++);
+            filesByIndex.put(file.index, file);
+            files.put(key, file);
+        }
+        return file;
+    }
+
+    private static Object key(String systemId) {
+        return systemId == null ? NO_SYSTEM_ID : systemId;
+    }
+
+    private static int getIndex(byte[] reference) {
+        int index = 0;
+        for (int i = 0; i < INDEX_LENGTH; i++) {
+            index = (index << 8) | (reference[i] & 0xff);
+        }
+        return index;
+    }
+}
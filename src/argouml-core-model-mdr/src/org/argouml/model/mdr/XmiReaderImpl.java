@@ -50,12 +50,8 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -209,8 +205,8 @@ class XmiReaderImpl implements XmiReader, UnknownElementsListener,
                 }
             }
             resolver = new XmiReferenceResolverImpl(new RefPackage[] {extent},
-                    config, modelImpl.getObjectToId(),
-                    modelImpl.getPublic2SystemIds(), modelImpl.getIdToObject(),
+                    config, modelImpl.getXmiIds(),
+                    modelImpl.getPublic2SystemIds(),
                     modelImpl.getSearchPath(),
                     readOnly,
                     inputSource.getPublicId(), inputSource.getSystemId(),
@@ -435,45 +431,10 @@ class XmiReaderImpl implements XmiReader, UnknownElementsListener,
      */
     public Map<String, Object> getXMIUUIDToObjectMap() {
         if (resolver != null) {
-            // Give the resolver.getIdToObjectMap() entries
-            // priority over entries with the same UUID from
-            // resolver.getIdToObjectMaps() because entries
-            // in resolver.getIdToObjectMaps() are historic.
-            HashMap<String, Object> globalXmiIdToObjectMap =
-                new HashMap<String, Object>(resolver.getIdToObjectMap());
-
-            Map<String, Map<String, Object>> idToObjectMaps =
-                resolver.getIdToObjectMaps();
-            Set<Entry<String,Map<String,Object>>> entrySet = null;
-            // I think that the synchronized access to idToObjectMaps is
-            // required in order to respect the thread safe nature of the
-            // object.
-            // FIXME: maybe this should be moved into XmiReferenceResolverImpl,
-            // because it depends on internal implementation details of it.
-            synchronized (idToObjectMaps) {
-                entrySet =
-                    new HashSet<Entry<String,Map<String,Object>>>(
-                            idToObjectMaps.entrySet());
-                for (Entry<String, Map<String, Object>> entry : entrySet) {
-                    entry.setValue(new HashMap<String,Object>(entry.getValue()));
-                }
-            }
-            for (Entry<String, Map<String, Object>> entry : entrySet) {
-                String xmiIdPrefix =
-                    entry.getKey().startsWith(getTempXMIFileURIPrefix()) ? "" :
-                        entry.getKey() + "#";
-                for (Entry<String, Object> innerMapEntry :
-                        entry.getValue().entrySet()) {
-
-                    String id = xmiIdPrefix + innerMapEntry.getKey();
-                    if (!globalXmiIdToObjectMap.containsKey(id)) {
-                        globalXmiIdToObjectMap.put(
-                                id,
-                                innerMapEntry.getValue());
-                    }
-                }
-            }
-            return globalXmiIdToObjectMap;
+            // The entries of the top level document have priority over
+            // entries with the same UUID from other documents because
+            // those are historic.
+            return resolver.getIdToObjectMap(getTempXMIFileURIPrefix());
         }
         return null;
     }
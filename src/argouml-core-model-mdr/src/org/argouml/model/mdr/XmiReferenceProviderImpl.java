@@ -38,8 +38,6 @@
 
 package org.argouml.model.mdr;
 
-import java.util.Map;
-
 import javax.jmi.reflect.RefObject;
 
 import org.netbeans.api.xmi.XMIReferenceProvider;
@@ -53,18 +51,19 @@ import org.netbeans.api.xmi.XMIReferenceProvider;
  */
 class XmiReferenceProviderImpl implements XMIReferenceProvider {
     
-    private Map<String, XmiReference> mofIdToXmiId;
+    private XmiIdRegistry mofIdToXmiId;
 
     private boolean topSystemIdSaved = false;
     private String topSystemId = null;
     
     /**
-     * Create a new reference provider which uses the given map for lookups.
+     * Create a new reference provider which uses the given registry for
+     * lookups.
      * 
-     * @param idMap
+     * @param registry
      */
-    XmiReferenceProviderImpl(Map<String, XmiReference> idMap) {
-        mofIdToXmiId = idMap;
+    XmiReferenceProviderImpl(XmiIdRegistry registry) {
+        mofIdToXmiId = registry;
     }
 
     /*
@@ -74,7 +73,7 @@ class XmiReferenceProviderImpl implements XMIReferenceProvider {
         String mofId = object.refMofId();
         
         // Look for an existing reference matching our MofID
-        XmiReference ref = mofIdToXmiId.get(mofId);
+        XmiReference ref = mofIdToXmiId.getReference(mofId);
 
         // Remember the system id of our root document so that we can write
         // out profiles and linked models to a different file if requested
@@ -47,7 +47,6 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -101,16 +100,9 @@ class XmiReferenceResolverImpl extends XmiContext {
         Logger.getLogger(XmiReferenceResolverImpl.class.getName());
 
     /**
-     * Map of href/id to object.  IDs for top level document will have no
-     * leading URL piece while others will be in <url>#<id> form
+     * The objects by system id and xmi.id, and the references by MOF ID.
      */
-    private Map<String, Map<String, Object>> idToObject =
-        Collections.synchronizedMap(new HashMap<String, Map<String, Object>>());
-
-    /**
-     * Map indexed by MOF ID containing XmiReference objects.
-     */
-    private Map<String, XmiReference> mofidToXmiref;
+    private XmiIdRegistry xmiIds;
 
     /**
      * System ID of top level document
@@ -172,20 +164,18 @@ class XmiReferenceResolverImpl extends XmiContext {
      */
     // CHECKSTYLE:OFF - ignore too many parameters since API is fixed by MDR
     XmiReferenceResolverImpl(RefPackage[] extents, XMIInputConfig config,
-            Map<String, XmiReference> objectToXmiref,
+            XmiIdRegistry registry,
             Map<String, String> publicIds,
-            Map<String, Map<String, Object>> idToObject,
             List<String> searchDirs,
             boolean isProfile, String publicId, String systemId,
             MDRModelImplementation modelImplementation) {
     // CHECKSTYLE:ON
         super(extents, config);
         modelImpl = modelImplementation;
-        mofidToXmiref = objectToXmiref;
+        xmiIds = registry;
         modulesPath = searchDirs;
         profile = isProfile;
         public2SystemIds = publicIds;
-        this.idToObject = idToObject;
         modelPublicId = publicId;
         if (isProfile) {
             if (publicId == null) {
@@ -252,8 +242,8 @@ class XmiReferenceResolverImpl extends XmiContext {
 
         RefObject o = getReferenceInt(resolvedSystemId, xmiId);
         if (o == null) {
-            if (mofidToXmiref.containsKey(object.refMofId())) {
-                XmiReference ref = mofidToXmiref.get(object.refMofId());
+            if (xmiIds.containsReference(object.refMofId())) {
+                XmiReference ref = xmiIds.getReference(object.refMofId());
                 // For now just skip registering this and ignore the request,
                 // but the real issue is that MagicDraw serializes the same
                 // object in two different composition associations, first in
@@ -282,9 +272,8 @@ class XmiReferenceResolverImpl extends XmiContext {
     }
 
     private RefObject getReferenceInt(String docId, String xmiId)  {
-        Map<String, Object> map = idToObject.get(docId);
-        if (map != null) {
-            RefObject result = (RefObject) map.get(xmiId);
+        if (xmiIds.containsSystemId(docId)) {
+            RefObject result = (RefObject) xmiIds.getObject(docId, xmiId);
             if (result == null ) {
                 LOG.log(Level.FINE, "No internal reference for - {0}#{1}", new Object[]{docId, xmiId});
             }
@@ -294,13 +283,7 @@ class XmiReferenceResolverImpl extends XmiContext {
     }
 
     private void registerInt(String docId, String xmiId, RefObject object) {
-        Map<String, Object> map = idToObject.get(docId);
-        if (map == null) {
-            map = new HashMap<String, Object>();
-            idToObject.put(docId,map);
-        }
-        map.put(xmiId, object);
-        mofidToXmiref.put(object.refMofId(), new XmiReference(docId, xmiId));
+        xmiIds.register(docId, xmiId, object.refMofId(), object);
     }
 
     /*
@@ -308,7 +291,7 @@ class XmiReferenceResolverImpl extends XmiContext {
      */
     public RefObject getReference (String docId, String xmiId) {
         RefObject ro = getReferenceInt(docId, xmiId);
-        if (ro == null && !idToObject.containsKey(docId)) {
+        if (ro == null && !xmiIds.containsSystemId(docId)) {
             ro = super.getReference(docId, xmiId);
         }
         if (ro == null) {
@@ -321,27 +304,31 @@ class XmiReferenceResolverImpl extends XmiContext {
     }
 
     /**
-     * Return map of all registered objects for top level document.
+     * Return map of all registered objects, by xmi.id. The objects of the
+     * top level document come first and have the bare xmi.id, while others
+     * are in <url>#<id> form, unless they were read from a temporary
+     * file.
      *
+     * @param tempPrefix the URI prefix of temporary files
      * @return map of xmi.id to RefObject correspondences
      */
-    Map<String, Object> getIdToObjectMap() {
-        return getIdToObjectMaps().get(topSystemId);
-    }
-
-    /**
-     * @return map of maps from xmi ID to object
-     */
-    Map<String, Map<String, Object>> getIdToObjectMaps() {
-        return idToObject;
+    Map<String, Object> getIdToObjectMap(String tempPrefix) {
+        Map<String, Object> map = new HashMap<String, Object>();
+        xmiIds.copyObjects(topSystemId, map, "", true);
+        for (String systemId : xmiIds.getSystemIds()) {
+            xmiIds.copyObjects(systemId, map,
+                    systemId != null && systemId.startsWith(tempPrefix)
+                        ? "" : systemId + "#",
+                    false);
+        }
+        return map;
     }
 
     /**
      * Reinitialize the object id maps to the empty state.
      */
     void clearIdMaps() {
-        getIdToObjectMap().clear();
-        mofidToXmiref.clear();
+        xmiIds.clear(topSystemId);
         topSystemId = null;
     }
 
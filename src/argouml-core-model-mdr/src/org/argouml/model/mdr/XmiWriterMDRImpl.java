@@ -107,7 +107,7 @@ class XmiWriterMDRImpl implements XmiWriter {
         config = new OutputConfig();
         config.setEncoding(ENCODING);
         config.setReferenceProvider(new XmiReferenceProviderImpl(modelImpl
-                .getObjectToId()));
+                .getXmiIds()));
         config.setHeaderProvider(new XmiHeaderProviderImpl(version));
     }
 
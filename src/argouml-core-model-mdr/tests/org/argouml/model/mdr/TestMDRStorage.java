@@ -0,0 +1,80 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the MDRStorage class.
+ */
+public class TestMDRStorage extends TestCase {
+
+    /**
+     * Test that the directories of sessions which are gone are removed.
+     *
+     * @throws Exception if something goes wrong
+     */
+    public void testRemoveStale() throws Exception {
+        File root = new File(System.getProperty("java.io.tmpdir"),
+                "argouml-mdr-test-" + System.nanoTime());
+        File stale = new File(root, "stale");
+        File live = new File(root, "live");
+        assertTrue(stale.mkdirs());
+        assertTrue(live.mkdirs());
+        new FileOutputStream(new File(stale, "argouml.btd")).close();
+        RandomAccessFile raf =
+            new RandomAccessFile(new File(live, "lock"), "rw");
+        FileLock lock = raf.getChannel().lock();
+        try {
+            MDRStorage.removeStale(root);
+            assertFalse(stale.exists());
+            assertTrue(live.exists());
+        } finally {
+            lock.release();
+            raf.close();
+        }
+        MDRStorage.removeStale(root);
+        assertFalse(live.exists());
+        assertTrue(root.delete());
+    }
+
+    /**
+     * Test that the directory of a session is created locked, so that it
+     * is kept by other sessions, and that it is removed when disposed.
+     *
+     * @throws Exception if something goes wrong
+     */
+    public void testCreateDirectory() throws Exception {
+        File root = new File(System.getProperty("java.io.tmpdir"),
+                "argouml-mdr-test-" + System.nanoTime());
+        assertTrue(MDRStorage.createDirectory(root));
+        File dir = MDRStorage.getDirectory();
+        try {
+            assertEquals(root, dir.getParentFile());
+            assertTrue(new File(dir, "lock").exists());
+            MDRStorage.removeStale(root);
+            assertTrue(dir.exists());
+        } finally {
+            MDRStorage.dispose();
+        }
+        assertFalse(dir.exists());
+        assertNull(MDRStorage.getDirectory());
+        assertTrue(new File(root, "lock").delete());
+        assertTrue(root.delete());
+    }
+}
@@ -0,0 +1,106 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import org.argouml.model.CoreHelper;
+import org.argouml.model.InvalidElementException;
+import org.argouml.model.mdr.PropertyChangeCommand.Property;
+import org.omg.uml.foundation.core.UmlClass;
+import org.omg.uml.foundation.datatypes.VisibilityKindEnum;
+import org.omg.uml.modelmanagement.Model;
+
+/**
+ * Tests for the PropertyChangeCommand class.
+ */
+public class TestPropertyChangeCommand
+    extends AbstractMDRModelImplementationTestCase {
+
+    private CoreHelper helper;
+
+    private UmlClass cls;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        helper = new CoreHelperMDRImpl(modelImplementation);
+        Model model = (Model) modelImplementation
+                .getModelManagementFactory().createModel();
+        cls = (UmlClass) modelImplementation.getCoreFactory()
+                .buildClass(model);
+    }
+
+    private PropertyChangeCommand makeCommand(Property property,
+            Object newValue, Object oldValue) {
+        return new PropertyChangeCommand(modelImplementation, helper, cls,
+                property, newValue, oldValue);
+    }
+
+    /**
+     * Test that a change is done, undone and redone on the element found by
+     * its MOF id.
+     */
+    public void testUndoRedo() {
+        cls.setName("a");
+        PropertyChangeCommand name = makeCommand(Property.NAME, "b", "a");
+        name.execute();
+        assertEquals("b", cls.getName());
+        name.undo();
+        assertEquals("a", cls.getName());
+        name.execute();
+        assertEquals("b", cls.getName());
+
+        PropertyChangeCommand isAbstract =
+            makeCommand(Property.ABSTRACT, Boolean.TRUE, Boolean.FALSE);
+        isAbstract.execute();
+        assertTrue(cls.isAbstract());
+        isAbstract.undo();
+        assertFalse(cls.isAbstract());
+
+        cls.setVisibility(VisibilityKindEnum.VK_PUBLIC);
+        PropertyChangeCommand visibility = makeCommand(Property.VISIBILITY,
+                VisibilityKindEnum.VK_PRIVATE, VisibilityKindEnum.VK_PUBLIC);
+        visibility.execute();
+        assertEquals(VisibilityKindEnum.VK_PRIVATE, cls.getVisibility());
+        visibility.undo();
+        assertEquals(VisibilityKindEnum.VK_PUBLIC, cls.getVisibility());
+    }
+
+    /**
+     * Test that the size of a change grows with its strings, and that the
+     * shared values cost nothing.
+     */
+    public void testMemorySize() {
+        int flag = makeCommand(Property.ABSTRACT, Boolean.TRUE, Boolean.FALSE)
+                .getMemorySize();
+        int shortName = makeCommand(Property.NAME, "b", "a").getMemorySize();
+        int longName =
+            makeCommand(Property.NAME, "bbbbbbbbbb", "a").getMemorySize();
+        assertTrue(flag > 0);
+        assertTrue(shortName > flag);
+        assertEquals(2 * 9, longName - shortName);
+    }
+
+    /**
+     * Test that the change of a deleted element fails.
+     */
+    public void testDeleted() {
+        PropertyChangeCommand name = makeCommand(Property.NAME, "b", "a");
+        cls.refDelete();
+        try {
+            name.undo();
+            fail("The change of a deleted element was undone");
+        } catch (InvalidElementException e) {
+            // The element is gone
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model.mdr;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the XmiIdRegistry and CompactIdMap classes.
+ */
+public class TestXmiIdRegistry extends TestCase {
+
+    private static final String FILE1 = "file:/tmp/a.xmi";
+
+    private static final String FILE2 = "file:/tmp/b.xmi";
+
+    /**
+     * Test the lookups both ways.
+     */
+    public void testRegister() {
+        XmiIdRegistry registry = new XmiIdRegistry();
+        Object element = new Object();
+        registry.register(FILE1, "-64--88-1-100-4a7f3d:12a:-8000", "mof1",
+                element);
+        assertSame(element,
+                registry.getObject(FILE1, "-64--88-1-100-4a7f3d:12a:-8000"));
+        assertNull(registry.getObject(FILE2, "-64--88-1-100-4a7f3d:12a:-8000"));
+        assertTrue(registry.containsSystemId(FILE1));
+        assertFalse(registry.containsSystemId(FILE2));
+        assertTrue(registry.containsReference("mof1"));
+
+        XmiReference ref = registry.getReference("mof1");
+        assertEquals(FILE1, ref.getSystemId());
+        assertEquals("-64--88-1-100-4a7f3d:12a:-8000", ref.getXmiId());
+        assertNull(registry.getReference("mof2"));
+
+        assertSame(element, registry.removeElement("mof1"));
+        assertNull(registry.getReference("mof1"));
+        assertNull(registry.getObject(FILE1, "-64--88-1-100-4a7f3d:12a:-8000"));
+        assertTrue(registry.containsSystemId(FILE1));
+    }
+
+    /**
+     * Test ids which are not ASCII.
+     */
+    public void testNonAscii() {
+        XmiIdRegistry registry = new XmiIdRegistry();
+        Object element = new Object();
+        registry.register(FILE1, "\u00e9l\u00e9ment-\u4e00", "mof\u00e9",
+                element);
+        assertSame(element,
+                registry.getObject(FILE1, "\u00e9l\u00e9ment-\u4e00"));
+        assertNull(registry.getObject(FILE1, "element-"));
+        assertEquals("\u00e9l\u00e9ment-\u4e00",
+                registry.getReference("mof\u00e9").getXmiId());
+    }
+
+    /**
+     * Test that the elements of a file are removed both ways, and that the
+     * map of all the elements keeps those of the top level file.
+     */
+    public void testRemoveSystemId() {
+        XmiIdRegistry registry = new XmiIdRegistry();
+        Object a = new Object();
+        Object b = new Object();
+        registry.register(FILE1, "x", "mofA", a);
+        registry.register(FILE2, "x", "mofB", b);
+
+        Map<String, Object> map = new HashMap<String, Object>();
+        registry.copyObjects(FILE1, map, "", true);
+        for (String systemId : registry.getSystemIds()) {
+            registry.copyObjects(systemId, map, systemId + "#", false);
+        }
+        assertEquals(3, map.size());
+        assertSame(a, map.get("x"));
+        assertSame(b, map.get(FILE2 + "#x"));
+
+        assertTrue(registry.removeSystemId(FILE2));
+        assertFalse(registry.removeSystemId(FILE2));
+        assertFalse(registry.containsSystemId(FILE2));
+        assertNull(registry.getReference("mofB"));
+        assertNotNull(registry.getReference("mofA"));
+        assertEquals(1, registry.size());
+    }
+
+    /**
+     * Test that removed files are forgotten, so that there is no limit on
+     * the number of files read over time.
+     */
+    public void testManySystemIds() {
+        XmiIdRegistry registry = new XmiIdRegistry();
+        Object element = new Object();
+        registry.register(FILE1, "x", "mofA", element);
+        for (int i = 0; i < 70000; i++) {
+            String systemId = "file:/tmp/f" + i + ".xmi";
+            registry.register(systemId, "x", "mof" + i, new Object());
+            assertTrue(registry.removeSystemId(systemId));
+        }
+        assertEquals(1, registry.getSystemIds().size());
+        assertEquals(1, registry.size());
+        assertEquals(FILE1, registry.getReference("mofA").getSystemId());
+        assertSame(element, registry.getObject(FILE1, "x"));
+        assertNull(registry.getReference("mof1"));
+    }
+
+    /**
+     * Test that a file without a system id is kept apart from the others.
+     */
+    public void testNullSystemId() {
+        XmiIdRegistry registry = new XmiIdRegistry();
+        Object a = new Object();
+        registry.register(null, "x", "mofA", a);
+        assertTrue(registry.containsSystemId(null));
+        assertFalse(registry.containsSystemId(FILE1));
+        assertSame(a, registry.getObject(null, "x"));
+        assertNull(registry.getReference("mofA").getSystemId());
+        assertTrue(registry.removeSystemId(null));
+        assertFalse(registry.containsSystemId(null));
+    }
+
+    /**
+     * Test that mapping and removing ids over and over keeps the map small,
+     * and that its mappings stay right.
+     */
+    public void testCompactIdMapChurn() {
+        CompactIdMap map = new CompactIdMap();
+        map.put("kept", "k");
+        long footprint = map.getFootprint();
+        for (int i = 0; i < 10000; i++) {
+            assertNull(map.put("id" + i, Integer.valueOf(i)));
+            assertEquals(Integer.valueOf(i), map.get("id" + i));
+            assertEquals(Integer.valueOf(i), map.remove("id" + i));
+        }
+        assertEquals(1, map.size());
+        assertEquals("k", map.get("kept"));
+        assertEquals(footprint, map.getFootprint());
+    }
+
+    /**
+     * Test the map through its growth and the removal of most mappings.
+     */
+    public void testCompactIdMap() {
+        CompactIdMap map = new CompactIdMap();
+        int n = 10000;
+        for (int i = 0; i < n; i++) {
+            assertNull(map.put("id" + i, Integer.valueOf(i)));
+        }
+        assertEquals(Integer.valueOf(7), map.put("id7", Integer.valueOf(-7)));
+        assertEquals(n, map.size());
+        for (int i = 0; i < n; i += 2) {
+            assertEquals(Integer.valueOf(i), map.remove("id" + i));
+        }
+        assertEquals(n / 2, map.size());
+        for (int i = 0; i < n; i++) {
+            Object expected = i % 2 == 0 ? null
+                    : Integer.valueOf(i == 7 ? -7 : i);
+            assertEquals(expected, map.get("id" + i));
+        }
+        final int[] visited = new int[1];
+        map.visit(new CompactIdMap.Visitor() {
+            public void visit(String id, Object value) {
+                visited[0]++;
+            }
+        });
+        assertEquals(n / 2, visited[0]);
+        assertTrue(map.getFootprint() > 0);
+    }
+}
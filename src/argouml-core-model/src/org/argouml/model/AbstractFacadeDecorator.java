@@ -0,0 +1,1625 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An abstract Decorator for the {@link Facade}.
+ */
+@SuppressWarnings("deprecation")
+public abstract class AbstractFacadeDecorator implements Facade {
+
+    /**
+     * The delegate.
+     */
+    private Facade impl;
+
+    /**
+     * Construct a new AbstractFacadeDecorator.
+     *
+     * @param component The component to decorate.
+     */
+    protected AbstractFacadeDecorator(Facade component) {
+        impl = component;
+    }
+
+    /**
+     * The component we are decorating.
+     *
+     * @return Returns the component.
+     */
+    protected Facade getComponent() {
+        return impl;
+    }
+
+    /*
+     * All methods below override methods in Facade.
+     */
+    public String getUmlVersion() {
+        return impl.getUmlVersion();
+    }
+
+    public boolean isAAbstraction(Object handle) {
+        return impl.isAAbstraction(handle);
+    }
+
+    public boolean isAAction(Object handle) {
+        return impl.isAAction(handle);
+    }
+
+    public boolean isAAcceptEventAction(Object handle) {
+        return impl.isAAcceptEventAction(handle);
+    }
+
+    public boolean isAActionSequence(Object handle) {
+        return impl.isAActionSequence(handle);
+    }
+
+    public boolean isAActionState(Object handle) {
+        return impl.isAActionState(handle);
+    }
+
+    public boolean isACallState(Object handle) {
+        return impl.isACallState(handle);
+    }
+
+    public boolean isAObjectFlowState(Object handle) {
+        return impl.isAObjectFlowState(handle);
+    }
+
+    public boolean isAObjectNode(Object handle) {
+        return impl.isAObjectNode(handle);
+    }
+
+    public boolean isASubactivityState(Object handle) {
+        return impl.isASubactivityState(handle);
+    }
+
+    public boolean isAActor(Object handle) {
+        return impl.isAActor(handle);
+    }
+
+    public boolean isAAggregationKind(Object handle) {
+        return impl.isAAggregationKind(handle);
+    }
+
+    public boolean isAAppliedProfileElement(Object handle) {
+        return impl.isAAppliedProfileElement(handle);
+    }
+
+    public boolean isAArtifact(Object handle) {
+        return impl.isAArtifact(handle);
+    }
+
+    public boolean isAAssociation(Object handle) {
+        return impl.isAAssociation(handle);
+    }
+
+    public boolean isAAssociationEnd(Object handle) {
+        return impl.isAAssociationEnd(handle);
+    }
+
+    public boolean isAAssociationRole(Object handle) {
+        return impl.isAAssociationRole(handle);
+    }
+
+    public boolean isAAssociationEndRole(Object handle) {
+        return impl.isAAssociationEndRole(handle);
+    }
+
+    public boolean isAAttribute(Object handle) {
+        return impl.isAAttribute(handle);
+    }
+
+    public boolean isAAttributeLink(Object handle) {
+        return impl.isAAttributeLink(handle);
+    }
+
+    public boolean isAsynchronous(Object handle) {
+        return impl.isAsynchronous(handle);
+    }
+
+    public boolean isAbstract(Object handle) {
+        return impl.isAbstract(handle);
+    }
+
+    public boolean isAActivityEdge(Object handle) {
+        return impl.isAActivityEdge(handle);
+    }
+
+    public boolean isAActivityGraph(Object handle) {
+        return impl.isAActivityGraph(handle);
+    }
+
+    public boolean isAActivityNode(Object handle) {
+        return impl.isAActivityNode(handle);
+    }
+
+    public boolean isABehavioralFeature(Object handle) {
+        return impl.isABehavioralFeature(handle);
+    }
+
+    public boolean isABinding(Object handle) {
+        return impl.isABinding(handle);
+    }
+
+    public boolean isACallAction(Object handle) {
+        return impl.isACallAction(handle);
+    }
+
+    public boolean isAASynchCallMessage(Object handle) {
+        return impl.isAASynchCallMessage(handle);
+    }
+
+    public boolean isAASynchSignalMessage(Object handle) {
+        return impl.isAASynchSignalMessage(handle);
+    }
+
+    public boolean isADeleteMessage(Object handle) {
+        return impl.isADeleteMessage(handle);
+    }
+
+    public boolean isACreateMessage(Object handle) {
+        return impl.isACreateMessage(handle);
+    }
+
+    public boolean isASynchCallMessage(Object handle) {
+        return impl.isASynchCallMessage(handle);
+    }
+
+    public boolean isAReplyMessage(Object handle) {
+        return impl.isAReplyMessage(handle);
+    }
+
+    public boolean isACallEvent(Object handle) {
+        return impl.isACallEvent(handle);
+    }
+
+    public boolean isAChangeEvent(Object handle) {
+        return impl.isAChangeEvent(handle);
+    }
+
+    public boolean isAClass(Object handle) {
+        return impl.isAClass(handle);
+    }
+
+    public boolean isAAssociationClass(Object handle) {
+        return impl.isAAssociationClass(handle);
+    }
+
+    public boolean isAClassifier(Object handle) {
+        return impl.isAClassifier(handle);
+    }
+
+    public boolean isAClassifierInState(Object handle) {
+        return impl.isAClassifierInState(handle);
+    }
+
+    public boolean isAClassifierRole(Object handle) {
+        return impl.isAClassifierRole(handle);
+    }
+
+    public boolean isAComment(Object handle) {
+        return impl.isAComment(handle);
+    }
+
+    public boolean isACollaboration(Object handle) {
+        return impl.isACollaboration(handle);
+    }
+
+    public boolean isACollaborationInstanceSet(Object handle) {
+        return impl.isACollaborationInstanceSet(handle);
+    }
+
+    public boolean isAComponent(Object handle) {
+        return impl.isAComponent(handle);
+    }
+
+    public boolean isAComponentInstance(Object handle) {
+        return impl.isAComponentInstance(handle);
+    }
+
+    public boolean isAComponentRealization(Object handle) {
+        return impl.isAComponentRealization(handle);
+    }
+
+    public boolean isAConnector(Object handle) {
+        return impl.isAConnector(handle);
+    }
+
+    public boolean isAConnectorEnd(Object handle) {
+        return impl.isAConnectorEnd(handle);
+    }
+
+    public boolean isAConstraint(Object handle) {
+        return impl.isAConstraint(handle);
+    }
+
+    public boolean isACreateAction(Object handle) {
+        return impl.isACreateAction(handle);
+    }
+
+    public boolean isADataType(Object handle) {
+        return impl.isADataType(handle);
+    }
+
+    public boolean isADataValue(Object handle) {
+        return impl.isADataValue(handle);
+    }
+
+    public boolean isADependency(Object handle) {
+        return impl.isADependency(handle);
+    }
+
+    public boolean isADirectedRelationship(Object handle) {
+        return impl.isADirectedRelationship(handle);
+    }
+
+    public boolean isADestroyAction(Object handle) {
+        return impl.isADestroyAction(handle);
+    }
+
+    public boolean isACompositeState(Object handle) {
+        return impl.isACompositeState(handle);
+    }
+
+    public boolean isAElement(Object handle) {
+        return impl.isAElement(handle);
+    }
+
+    public boolean isAElementImport(Object handle) {
+        return impl.isAElementImport(handle);
+    }
+
+    public boolean isAElementResidence(Object handle) {
+        return impl.isAElementResidence(handle);
+    }
+
+    public boolean isAEnumeration(Object handle) {
+        return impl.isAEnumeration(handle);
+    }
+
+    public boolean isAEnumerationLiteral(Object handle) {
+        return impl.isAEnumerationLiteral(handle);
+    }
+
+    public boolean isAEvent(Object handle) {
+        return impl.isAEvent(handle);
+    }
+
+    public boolean isAException(Object handle) {
+        return impl.isAException(handle);
+    }
+
+    public boolean isAExpression(Object handle) {
+        return impl.isAExpression(handle);
+    }
+
+    public boolean isAExtend(Object handle) {
+        return impl.isAExtend(handle);
+    }
+
+    public boolean isAExtension(Object handle) {
+        return impl.isAExtension(handle);
+    }
+
+    public boolean isAExtensionPoint(Object handle) {
+        return impl.isAExtensionPoint(handle);
+    }
+
+    public boolean isAFeature(Object handle) {
+        return impl.isAFeature(handle);
+    }
+
+    public boolean isAFinalState(Object handle) {
+        return impl.isAFinalState(handle);
+    }
+
+    public boolean isAFlow(Object handle) {
+        return impl.isAFlow(handle);
+    }
+
+    public boolean isAGuard(Object handle) {
+        return impl.isAGuard(handle);
+    }
+
+    public boolean isAGeneralizableElement(Object handle) {
+        return impl.isAGeneralizableElement(handle);
+    }
+
+    public boolean isAGeneralization(Object handle) {
+        return impl.isAGeneralization(handle);
+    }
+
+    public boolean isAInclude(Object handle) {
+        return impl.isAInclude(handle);
+    }
+
+    public boolean isAInstance(Object handle) {
+        return impl.isAInstance(handle);
+    }
+
+    public boolean isAInstanceSpecification(Object handle) {
+        return impl.isAInstanceSpecification(handle);
+    }
+
+    public boolean isAInteraction(Object handle) {
+        return impl.isAInteraction(handle);
+    }
+
+    public boolean isAInteractionInstanceSet(Object handle) {
+        return impl.isAInteractionInstanceSet(handle);
+    }
+
+    public boolean isAInterface(Object handle) {
+        return impl.isAInterface(handle);
+    }
+
+    public boolean isALifeline(Object handle) {
+        return impl.isALifeline(handle);
+    }
+
+    public boolean isALink(Object handle) {
+        return impl.isALink(handle);
+    }
+
+    public boolean isALinkEnd(Object handle) {
+        return impl.isALinkEnd(handle);
+    }
+
+    public boolean isALinkObject(Object handle) {
+        return impl.isALinkObject(handle);
+    }
+
+    public boolean isALiteralBoolean(Object handle) {
+        return impl.isALiteralBoolean(handle);
+    }
+
+    public boolean isALiteralInteger(Object handle) {
+        return impl.isALiteralInteger(handle);
+    }
+
+    public boolean isALiteralString(Object handle) {
+        return impl.isALiteralString(handle);
+    }
+
+    public boolean isAMessage(Object handle) {
+        return impl.isAMessage(handle);
+    }
+
+    public boolean isAMethod(Object handle) {
+        return impl.isAMethod(handle);
+    }
+
+    public boolean isAModel(Object handle) {
+        return impl.isAModel(handle);
+    }
+
+    public boolean isAModelElement(Object handle) {
+        return impl.isAModelElement(handle);
+    }
+
+    public boolean isANamedElement(Object handle) {
+        return impl.isANamedElement(handle);
+    }
+
+    public boolean isAMultiplicity(Object handle) {
+        return impl.isAMultiplicity(handle);
+    }
+
+    public boolean isAMultiplicityRange(Object handle) {
+        return impl.isAMultiplicityRange(handle);
+    }
+
+    public boolean isANamespace(Object handle) {
+        return impl.isANamespace(handle);
+    }
+
+    public boolean isANaryAssociation(Object handle) {
+        return impl.isANaryAssociation(handle);
+    }
+
+    public boolean isANode(Object handle) {
+        return impl.isANode(handle);
+    }
+
+    public boolean isANodeInstance(Object handle) {
+        return impl.isANodeInstance(handle);
+    }
+
+    public boolean isAOpaqueExpression(Object handle) {
+        return impl.isAOpaqueExpression(handle);
+    }
+
+    public boolean isAOperation(Object handle) {
+        return impl.isAOperation(handle);
+    }
+
+    public boolean isAObject(Object handle) {
+        return impl.isAObject(handle);
+    }
+
+    public boolean isAParameter(Object handle) {
+        return impl.isAParameter(handle);
+    }
+
+    public boolean isAPartition(Object handle) {
+        return impl.isAPartition(handle);
+    }
+
+    public boolean isAPackageImport(Object handle) {
+        return impl.isAPackageImport(handle);
+    }
+
+    public boolean isAPackage(Object handle) {
+        return impl.isAPackage(handle);
+    }
+
+    public boolean isAPort(Object handle) {
+        return impl.isAPort(handle);
+    }
+
+    public boolean isAPrimitiveType(Object handle) {
+        return impl.isAPrimitiveType(handle);
+    }
+
+    public boolean isAProfile(Object handle) {
+        return impl.isAProfile(handle);
+    }
+
+    public boolean isAProfileApplication(Object handle) {
+        return impl.isAProfileApplication(handle);
+    }
+
+    public boolean isAProperty(Object handle) {
+        return impl.isAProperty(handle);
+    }
+
+    public boolean isAPseudostate(Object handle) {
+        return impl.isAPseudostate(handle);
+    }
+
+    public boolean isAPseudostateKind(Object handle) {
+        return impl.isAPseudostateKind(handle);
+    }
+
+    public Object getKind(Object handle) {
+        return impl.getKind(handle);
+    }
+
+    public Object getReceiver(Object handle) {
+        return impl.getReceiver(handle);
+    }
+
+    public Object getLifeline(Object handle) {
+        return impl.getLifeline(handle);
+    }
+
+    public Object getLink(Object handle) {
+        return impl.getLink(handle);
+    }
+
+    public boolean equalsPseudostateKind(Object ps1, Object ps2) {
+        return impl.equalsPseudostateKind(ps1, ps2);
+    }
+
+    public boolean isAReception(Object handle) {
+        return impl.isAReception(handle);
+    }
+
+    public boolean isARegion(Object handle) {
+        return impl.isARegion(handle);
+    }
+
+    public boolean isAReturnAction(Object handle) {
+        return impl.isAReturnAction(handle);
+    }
+
+    public boolean isARelationship(Object handle) {
+        return impl.isARelationship(handle);
+    }
+
+    public boolean isASendAction(Object handle) {
+        return impl.isASendAction(handle);
+    }
+
+    public boolean isASendObjectAction(Object handle) {
+        return impl.isASendObjectAction(handle);
+    }
+
+    public boolean isASendSignalAction(Object handle) {
+        return impl.isASendSignalAction(handle);
+    }
+
+    public boolean isASignal(Object handle) {
+        return impl.isASignal(handle);
+    }
+
+    public boolean isASignalEvent(Object handle) {
+        return impl.isASignalEvent(handle);
+    }
+
+    public boolean isASimpleState(Object handle) {
+        return impl.isASimpleState(handle);
+    }
+
+    public boolean isAStateMachine(Object handle) {
+        return impl.isAStateMachine(handle);
+    }
+
+    public boolean isAStimulus(Object handle) {
+        return impl.isAStimulus(handle);
+    }
+
+    public boolean isAStateVertex(Object handle) {
+        return impl.isAStateVertex(handle);
+    }
+
+    public boolean isAVertex(Object handle) {
+        return impl.isAVertex(handle);
+    }
+
+    public boolean isAStereotype(Object handle) {
+        return impl.isAStereotype(handle);
+    }
+
+    public boolean isAStructuralFeature(Object handle) {
+        return impl.isAStructuralFeature(handle);
+    }
+
+    public boolean isAState(Object handle) {
+        return impl.isAState(handle);
+    }
+
+    public boolean isAStubState(Object handle) {
+        return impl.isAStubState(handle);
+    }
+
+    public boolean isASubmachineState(Object handle) {
+        return impl.isASubmachineState(handle);
+    }
+
+    public boolean isASubsystem(Object handle) {
+        return impl.isASubsystem(handle);
+    }
+
+    public boolean isASubsystemInstance(Object handle) {
+        return impl.isASubsystemInstance(handle);
+    }
+
+    public boolean isASynchState(Object handle) {
+        return impl.isASynchState(handle);
+    }
+
+    public boolean isATaggedValue(Object handle) {
+        return impl.isATaggedValue(handle);
+    }
+
+    public boolean isATemplateArgument(Object handle) {
+        return impl.isATemplateArgument(handle);
+    }
+
+    public boolean isATemplateParameter(Object handle) {
+        return impl.isATemplateParameter(handle);
+    }
+
+    public boolean isATerminateAction(Object handle) {
+        return impl.isATerminateAction(handle);
+    }
+
+    public boolean isATransition(Object handle) {
+        return impl.isATransition(handle);
+    }
+
+    public boolean isATrigger(Object handle) {
+        return impl.isATrigger(handle);
+    }
+
+    public boolean isATimeEvent(Object handle) {
+        return impl.isATimeEvent(handle);
+    }
+
+    public boolean isAUMLElement(Object handle) {
+        return impl.isAUMLElement(handle);
+    }
+
+    public boolean isAUninterpretedAction(Object handle) {
+        return impl.isAUninterpretedAction(handle);
+    }
+
+    public boolean isAUsage(Object handle) {
+        return impl.isAUsage(handle);
+    }
+
+    public boolean isAUseCase(Object handle) {
+        return impl.isAUseCase(handle);
+    }
+
+    public boolean isAVisibilityKind(Object handle) {
+        return impl.isAVisibilityKind(handle);
+    }
+
+    public boolean isActive(Object handle) {
+        return impl.isActive(handle);
+    }
+
+    public boolean isConcurrent(Object handle) {
+        return impl.isConcurrent(handle);
+    }
+
+    public boolean isAConcurrentRegion(Object handle) {
+        return impl.isAConcurrentRegion(handle);
+    }
+
+    public boolean isConstructor(Object handle) {
+        return impl.isConstructor(handle);
+    }
+
+    public boolean isFrozen(Object handle) {
+        return impl.isFrozen(handle);
+    }
+
+    public boolean isComposite(Object handle) {
+        return impl.isComposite(handle);
+    }
+
+    public boolean isAggregate(Object handle) {
+        return impl.isAggregate(handle);
+    }
+
+    public boolean isInitialized(Object handle) {
+        return impl.isInitialized(handle);
+    }
+
+    public boolean isInternal(Object handle) {
+        return impl.isInternal(handle);
+    }
+
+    public boolean isLeaf(Object handle) {
+        return impl.isLeaf(handle);
+    }
+
+    public boolean isRoot(Object handle) {
+        return impl.isRoot(handle);
+    }
+
+    public boolean isSpecification(Object handle) {
+        return impl.isSpecification(handle);
+    }
+
+    public boolean isNavigable(Object handle) {
+        return impl.isNavigable(handle);
+    }
+
+    public boolean isOrthogonal(Object handle) {
+        return impl.isOrthogonal(handle);
+    }
+
+    public boolean isPrimaryObject(Object handle) {
+        return impl.isPrimaryObject(handle);
+    }
+
+    public boolean isPackage(Object handle) {
+        return impl.isPackage(handle);
+    }
+
+    public boolean isPrivate(Object handle) {
+        return impl.isPrivate(handle);
+    }
+
+    public boolean isPublic(Object handle) {
+        return impl.isPublic(handle);
+    }
+
+    public boolean isQuery(Object handle) {
+        return impl.isQuery(handle);
+    }
+
+    public boolean isProtected(Object handle) {
+        return impl.isProtected(handle);
+    }
+
+    public boolean isRealize(Object handle) {
+        return impl.isRealize(handle);
+    }
+
+    public boolean isReturn(Object handle) {
+        return impl.isReturn(handle);
+    }
+
+    public boolean isSingleton(Object handle) {
+        return impl.isSingleton(handle);
+    }
+
+    public boolean isStereotype(Object handle, String stereotypename) {
+        return impl.isStereotype(handle, stereotypename);
+    }
+
+    public boolean isTop(Object handle) {
+        return impl.isTop(handle);
+    }
+
+    public boolean isType(Object handle) {
+        return impl.isType(handle);
+    }
+
+    public boolean isUtility(Object handle) {
+        return impl.isUtility(handle);
+    }
+
+    public Object getAssociation(Object handle) {
+        return impl.getAssociation(handle);
+    }
+
+    public Collection getAssociations(Object handle) {
+        return impl.getAssociations(handle);
+    }
+
+    public Object getAssociationEnd(Object classifier, Object association) {
+        return impl.getAssociationEnd(classifier, association);
+    }
+
+    public Collection getAssociationEnds(Object handle) {
+        return impl.getAssociationEnds(handle);
+    }
+
+    public Collection getAssociationRoles(Object handle) {
+        return impl.getAssociationRoles(handle);
+    }
+
+    public List getAttributes(Object handle) {
+        return impl.getAttributes(handle);
+    }
+
+    public Collection<String> getBaseClasses(Object handle) {
+        return impl.getBaseClasses(handle);
+    }
+
+    public Object getBase(Object handle) {
+        return impl.getBase(handle);
+    }
+
+    public Collection getBases(Object handle) {
+        return impl.getBases(handle);
+    }
+
+    public Collection getBehaviors(Object handle) {
+        return impl.getBehaviors(handle);
+    }
+
+    public Object getBehavioralFeature(Object handle) {
+        return impl.getBehavioralFeature(handle);
+    }
+
+    public Object getBody(Object handle) {
+        return impl.getBody(handle);
+    }
+
+    public int getBound(Object handle) {
+        return impl.getBound(handle);
+    }
+
+    @Deprecated
+    public Object getChangeability(Object handle) {
+        return impl.getChangeability(handle);
+    }
+
+    public Object getSpecific(Object handle) {
+        return impl.getSpecific(handle);
+    }
+
+    public Collection getChildren(Object handle) {
+        return impl.getChildren(handle);
+    }
+
+    public Collection getClassifierRoles(Object handle) {
+        return impl.getClassifierRoles(handle);
+    }
+
+    public Object getClassifier(Object handle) {
+        return impl.getClassifier(handle);
+    }
+
+    public Collection getClassifiers(Object handle) {
+        return impl.getClassifiers(handle);
+    }
+
+    public Collection getClassifiersInState(Object handle) {
+        return impl.getClassifiersInState(handle);
+    }
+
+    public Collection getClients(Object handle) {
+        return impl.getClients(handle);
+    }
+
+    public Collection getClientDependencies(Object handle) {
+        return impl.getClientDependencies(handle);
+    }
+
+    public Object getCondition(Object handle) {
+        return impl.getCondition(handle);
+    }
+
+    public Object getConcurrency(Object handle) {
+        return impl.getConcurrency(handle);
+    }
+
+    public Collection getConnections(Object handle) {
+        return impl.getConnections(handle);
+    }
+
+    public Object getEffect(Object handle) {
+        return impl.getEffect(handle);
+    }
+
+    public Collection getElementResidences(Object handle) {
+        return impl.getElementResidences(handle);
+    }
+
+    public Collection getElementImports2(Object handle) {
+        return impl.getElementImports2(handle);
+    }
+
+    public Collection getElementImports(Object handle) {
+        return impl.getElementImports(handle);
+    }
+
+    public Object getEntry(Object handle) {
+        return impl.getEntry(handle);
+    }
+
+    public Object getEnumeration(Object handle) {
+        return impl.getEnumeration(handle);
+    }
+
+    public List getEnumerationLiterals(Object handle) {
+        return impl.getEnumerationLiterals(handle);
+    }
+
+    public Object getExit(Object handle) {
+        return impl.getExit(handle);
+    }
+
+    public Object getExpression(Object handle) {
+        return impl.getExpression(handle);
+    }
+
+    public Collection getExtendedElements(Object handle) {
+        return impl.getExtendedElements(handle);
+    }
+
+    public Collection getExtends(Object handle) {
+        return impl.getExtends(handle);
+    }
+
+    public Collection getExtenders(Object handle) {
+        return impl.getExtenders(handle);
+    }
+
+    public Object getExtension(Object handle) {
+        return impl.getExtension(handle);
+    }
+
+    public Object getExtensionPoint(Object handle, int index) {
+        return impl.getExtensionPoint(handle, index);
+    }
+
+    public Collection getExtensionPoints(Object handle) {
+        return impl.getExtensionPoints(handle);
+    }
+
+    public List getFeatures(Object handle) {
+        return impl.getFeatures(handle);
+    }
+
+    public Object getGeneralization(Object handle, Object parent) {
+        return impl.getGeneralization(handle, parent);
+    }
+
+    public Collection getGeneralizations(Object handle) {
+        return impl.getGeneralizations(handle);
+    }
+
+    public Object getGuard(Object handle) {
+        return impl.getGuard(handle);
+    }
+
+    public Object getIcon(Object handle) {
+        return impl.getIcon(handle);
+    }
+
+    public Collection getIncludes(Object handle) {
+        return impl.getIncludes(handle);
+    }
+
+    public Collection getIncluders(Object handle) {
+        return impl.getIncluders(handle);
+    }
+
+    public Collection getIncomings(Object handle) {
+        return impl.getIncomings(handle);
+    }
+
+    public Object getInitialValue(Object handle) {
+        return impl.getInitialValue(handle);
+    }
+
+    public Object getInstance(Object handle) {
+        return impl.getInstance(handle);
+    }
+
+    public Collection getInstances(Object handle) {
+        return impl.getInstances(handle);
+    }
+
+    public Collection getInStates(Object handle) {
+        return impl.getInStates(handle);
+    }
+
+    public Object getInteraction(Object handle) {
+        return impl.getInteraction(handle);
+    }
+
+    public Collection getInteractions(Object handle) {
+        return impl.getInteractions(handle);
+    }
+
+    public Collection getInternalTransitions(Object handle) {
+        return impl.getInternalTransitions(handle);
+    }
+
+    public Collection getMessages(Object handle) {
+        return impl.getMessages(handle);
+    }
+
+    public Object getMessageSort(Object handle) {
+        return impl.getMessageSort(handle);
+    }
+
+    public Collection getSuccessors(Object handle) {
+        return impl.getSuccessors(handle);
+    }
+
+    public Collection getActivatedMessages(Object handle) {
+        return impl.getActivatedMessages(handle);
+    }
+
+    public Collection getReceivedMessages(Object handle) {
+        return impl.getReceivedMessages(handle);
+    }
+
+    public Collection getSentMessages(Object handle) {
+        return impl.getSentMessages(handle);
+    }
+
+    public Object getInnerContainingModel(Object handle) {
+        return impl.getInnerContainingModel(handle);
+    }
+
+    public Object getRoot(Object handle) {
+        return impl.getRoot(handle);
+    }
+
+    public Collection getRootElements() {
+        return impl.getRootElements();
+    }
+
+    public Object getModelElement(Object handle) {
+        return impl.getModelElement(handle);
+    }
+
+    public Object getMultiplicity(Object handle) {
+        return impl.getMultiplicity(handle);
+    }
+
+    public Collection getComments(Object handle) {
+        return impl.getComments(handle);
+    }
+
+    public Collection getAnnotatedElements(Object handle) {
+        return impl.getAnnotatedElements(handle);
+    }
+
+    public Object getCommunicationConnection(Object handle) {
+        return impl.getCommunicationConnection(handle);
+    }
+
+    public Object getCommunicationLink(Object handle) {
+        return impl.getCommunicationLink(handle);
+    }
+
+    public Collection getCollaborations(Object handle) {
+        return impl.getCollaborations(handle);
+    }
+
+    public Object getComponentInstance(Object handle) {
+        return impl.getComponentInstance(handle);
+    }
+
+    public Collection getConstrainingElements(Object handle) {
+        return impl.getConstrainingElements(handle);
+    }
+
+    public List getConstrainedElements(Object handle) {
+        return impl.getConstrainedElements(handle);
+    }
+
+    public Collection getConstraints(Object handle) {
+        return impl.getConstraints(handle);
+    }
+
+    public Object getModelElementContainer(Object handle) {
+        return impl.getModelElementContainer(handle);
+    }
+
+    public List getModelElementContents(Object handle) {
+        return impl.getModelElementContents(handle);
+    }
+
+    public List getModelElementAssociated(Object handle) {
+        return impl.getModelElementAssociated(handle);
+    }
+
+    public Object getContainer(Object handle) {
+        return impl.getContainer(handle);
+    }
+
+    public Collection getContents(Object handle) {
+        return impl.getContents(handle);
+    }
+
+    public Object getContext(Object handle) {
+        return impl.getContext(handle);
+    }
+
+    public Collection getContexts(Object handle) {
+        return impl.getContexts(handle);
+    }
+
+    public Collection getCreateActions(Object handle) {
+        return impl.getCreateActions(handle);
+    }
+
+    public Object getDefaultValue(Object handle) {
+        return impl.getDefaultValue(handle);
+    }
+
+    public Collection getDeferrableEvents(Object handle) {
+        return impl.getDeferrableEvents(handle);
+    }
+
+    public Collection getDeployedComponents(Object handle) {
+        return impl.getDeployedComponents(handle);
+    }
+
+    public Collection getDeploymentLocations(Object handle) {
+        return impl.getDeploymentLocations(handle);
+    }
+
+    @Deprecated
+    public Object getDiscriminator(Object handle) {
+        return impl.getDiscriminator(handle);
+    }
+
+    public Object getDispatchAction(Object handle) {
+        return impl.getDispatchAction(handle);
+    }
+
+    public Object getDoActivity(Object handle) {
+        return impl.getDoActivity(handle);
+    }
+
+    public Collection getImportedElements(Object pack) {
+        return impl.getImportedElements(pack);
+    }
+
+    public Object getImportedElement(Object elementImport) {
+        return impl.getImportedElement(elementImport);
+    }
+
+    public Collection getLinks(Object handle) {
+        return impl.getLinks(handle);
+    }
+
+    public Collection getLinkEnds(Object handle) {
+        return impl.getLinkEnds(handle);
+    }
+
+    public String getLocation(Object handle) {
+        return impl.getLocation(handle);
+    }
+
+    public Collection getMethods(Object handle) {
+        return impl.getMethods(handle);
+    }
+
+    public Object getNamespace(Object handle) {
+        return impl.getNamespace(handle);
+    }
+
+    public Object getNodeInstance(Object handle) {
+        return impl.getNodeInstance(handle);
+    }
+
+    public Collection getObjectFlowStates(Object handle) {
+        return impl.getObjectFlowStates(handle);
+    }
+
+    public Object getOperation(Object handle) {
+        return impl.getOperation(handle);
+    }
+
+    public Collection getOccurrences(Object handle) {
+        return impl.getOccurrences(handle);
+    }
+
+    public List getOperations(Object handle) {
+        return impl.getOperations(handle);
+    }
+
+    public List getOperationsAndReceptions(Object handle) {
+        return impl.getOperationsAndReceptions(handle);
+    }
+
+    public Object getNextEnd(Object handle) {
+        return impl.getNextEnd(handle);
+    }
+
+    public Object getOrdering(Object handle) {
+        return impl.getOrdering(handle);
+    }
+
+    public Collection getOutgoings(Object handle) {
+        return impl.getOutgoings(handle);
+    }
+
+    public Collection getOtherAssociationEnds(Object handle) {
+        return impl.getOtherAssociationEnds(handle);
+    }
+
+    public Collection getOtherLinkEnds(Object handle) {
+        return impl.getOtherLinkEnds(handle);
+    }
+
+    public Collection getOwnedElements(Object handle) {
+        return impl.getOwnedElements(handle);
+    }
+
+    public Object getPowertype(Object handle) {
+        return impl.getPowertype(handle);
+    }
+
+    public Collection getPowertypeRanges(Object handle) {
+        return impl.getPowertypeRanges(handle);
+    }
+
+    public Collection getPredecessors(Object handle) {
+        return impl.getPredecessors(handle);
+    }
+
+    public List getQualifiers(Object handle) {
+        return impl.getQualifiers(handle);
+    }
+
+    public boolean hasReturnParameterDirectionKind(Object handle) {
+        return impl.hasReturnParameterDirectionKind(handle);
+    }
+
+    public Object getPackage(Object handle) {
+        return impl.getPackage(handle);
+    }
+
+    public Object getParameter(Object handle) {
+        return impl.getParameter(handle);
+    }
+
+    public Object getParameter(Object handle, int n) {
+        return impl.getParameter(handle, n);
+    }
+
+    public Collection getParameters(Object handle) {
+        return impl.getParameters(handle);
+    }
+
+    public List getParametersList(Object handle) {
+        return impl.getParametersList(handle);
+    }
+
+    public Object getGeneral(Object handle) {
+        return impl.getGeneral(handle);
+    }
+
+    public Collection getRaisedSignals(Object handle) {
+        return impl.getRaisedSignals(handle);
+    }
+
+    public Collection getRaisedExceptions(Object handle) {
+        return impl.getRaisedExceptions(handle);
+    }
+
+    public Collection getReceptions(Object handle) {
+        return impl.getReceptions(handle);
+    }
+
+    public Object getRecurrence(Object handle) {
+        return impl.getRecurrence(handle);
+    }
+
+    public Object getRepresentedClassifier(Object handle) {
+        return impl.getRepresentedClassifier(handle);
+    }
+
+    public Object getRepresentedOperation(Object handle) {
+        return impl.getRepresentedOperation(handle);
+    }
+
+    public Object getScript(Object handle) {
+        return impl.getScript(handle);
+    }
+
+    public Object getSender(Object handle) {
+        return impl.getSender(handle);
+    }
+
+    public Object getSignal(Object handle) {
+        return impl.getSignal(handle);
+    }
+
+    public Object getResident(Object handle) {
+        return impl.getResident(handle);
+    }
+
+    public Collection getResidentElements(Object handle) {
+        return impl.getResidentElements(handle);
+    }
+
+    public Collection getResidents(Object handle) {
+        return impl.getResidents(handle);
+    }
+
+    public Object getSource(Object handle) {
+        return impl.getSource(handle);
+    }
+
+    public Collection getSources(Object handle) {
+        return impl.getSources(handle);
+    }
+
+    public Collection getSourceFlows(Object handle) {
+        return impl.getSourceFlows(handle);
+    }
+
+    public Collection getSpecializations(Object handle) {
+        return impl.getSpecializations(handle);
+    }
+
+    public Object getStateMachine(Object handle) {
+        return impl.getStateMachine(handle);
+    }
+
+    public Object getState(Object handle) {
+        return impl.getState(handle);
+    }
+
+    public Collection getStates(Object handle) {
+        return impl.getStates(handle);
+    }
+
+    public Collection getStereotypes(Object handle) {
+        return impl.getStereotypes(handle);
+    }
+
+    public Collection getStimuli(Object handle) {
+        return impl.getStimuli(handle);
+    }
+
+    public Collection getReceivedStimuli(Object handle) {
+        return impl.getReceivedStimuli(handle);
+    }
+
+    public Collection getSentStimuli(Object handle) {
+        return impl.getSentStimuli(handle);
+    }
+
+    public Collection getSubvertices(Object handle) {
+        return impl.getSubvertices(handle);
+    }
+
+    public Object getSubmachine(Object handle) {
+        return impl.getSubmachine(handle);
+    }
+
+    public Collection getSubmachineStates(Object handle) {
+        return impl.getSubmachineStates(handle);
+    }
+
+    public Collection getSupplierDependencies(Object handle) {
+        return impl.getSupplierDependencies(handle);
+    }
+
+    public Object getTop(Object handle) {
+        return impl.getTop(handle);
+    }
+
+    public Object getTransition(Object handle) {
+        return impl.getTransition(handle);
+    }
+
+    public Object getTrigger(Object handle) {
+        return impl.getTrigger(handle);
+    }
+
+    public List getTriggers(Object handle) {
+        return impl.getTriggers(handle);
+    }
+
+    public Object getType(Object handle) {
+        return impl.getType(handle);
+    }
+
+    public Collection getTypedValues(Object handle) {
+        return impl.getTypedValues(handle);
+    }
+
+    public Object getTarget(Object handle) {
+        return impl.getTarget(handle);
+    }
+
+    public Collection getTargets(Object handle) {
+        return impl.getTargets(handle);
+    }
+
+    @Deprecated
+    public Object getTargetScope(Object handle) {
+        return impl.getTargetScope(handle);
+    }
+
+    public Collection getTargetFlows(Object handle) {
+        return impl.getTargetFlows(handle);
+    }
+
+    public List getTemplateParameters(Object handle) {
+        return impl.getTemplateParameters(handle);
+    }
+
+    public Object getDefaultElement(Object handle) {
+        return impl.getDefaultElement(handle);
+    }
+
+    public Object getTemplate(Object handle) {
+        return impl.getTemplate(handle);
+    }
+
+    public Object getBinding(Object handle) {
+        return impl.getBinding(handle);
+    }
+
+    public List getArguments(Object handle) {
+        return impl.getArguments(handle);
+    }
+
+    public int getUpper(Object handle) {
+        return impl.getUpper(handle);
+    }
+
+    public Object getUseCase(Object handle) {
+        return impl.getUseCase(handle);
+    }
+
+    public int getLower(Object handle) {
+        return impl.getLower(handle);
+    }
+
+    public Collection getTransitions(Object handle) {
+        return impl.getTransitions(handle);
+    }
+
+    public List getStructuralFeatures(Object handle) {
+        return impl.getStructuralFeatures(handle);
+    }
+
+    public String getSpecification(Object handle) {
+        return impl.getSpecification(handle);
+    }
+
+    public Collection getSpecifications(Object handle) {
+        return impl.getSpecifications(handle);
+    }
+
+    public Collection getSuppliers(Object handle) {
+        return impl.getSuppliers(handle);
+    }
+
+    public Object getAction(Object handle) {
+        return impl.getAction(handle);
+    }
+
+    public List getActions(Object handle) {
+        return impl.getActions(handle);
+    }
+
+    public Object getActionSequence(Object handle) {
+        return impl.getActionSequence(handle);
+    }
+
+    public Object getActivator(Object handle) {
+        return impl.getActivator(handle);
+    }
+
+    public Object getActivityGraph(Object handle) {
+        return impl.getActivityGraph(handle);
+    }
+
+    public Object getActivity(Object handle) {
+        return impl.getActivity(handle);
+    }
+
+    public List getActualArguments(Object handle) {
+        return impl.getActualArguments(handle);
+    }
+
+    public Object getAddition(Object handle) {
+        return impl.getAddition(handle);
+    }
+
+    public Object getAggregation(Object handle) {
+        return impl.getAggregation(handle);
+    }
+
+    public Object getAggregation1(Object handle) {
+        return impl.getAggregation1(handle);
+    }
+
+    public Object getAggregation2(Object handle) {
+        return impl.getAggregation2(handle);
+    }
+
+    public String getAlias(Object handle) {
+        return impl.getAlias(handle);
+    }
+
+    public Collection getAssociatedClasses(Object handle) {
+        return impl.getAssociatedClasses(handle);
+    }
+
+    public String getName(Object handle) {
+        return impl.getName(handle);
+    }
+
+    public Object getOwner(Object handle) {
+        return impl.getOwner(handle);
+    }
+
+    public String getTag(Object handle) {
+        return impl.getTag(handle);
+    }
+
+    public Iterator getTaggedValues(Object handle) {
+        return impl.getTaggedValues(handle);
+    }
+
+    public Collection getTaggedValuesCollection(Object handle) {
+        return impl.getTaggedValuesCollection(handle);
+    }
+
+    public Object getTaggedValue(Object handle, String name) {
+        return impl.getTaggedValue(handle, name);
+    }
+
+    public String getTaggedValueValue(Object handle, String name) {
+        return impl.getTaggedValueValue(handle, name);
+    }
+
+    public String getTagOfTag(Object handle) {
+        return impl.getTagOfTag(handle);
+    }
+
+    public Object getValue(Object handle) {
+        return impl.getValue(handle);
+    }
+
+    public String getValueOfTag(Object handle) {
+        return impl.getValueOfTag(handle);
+    }
+
+    public Object getValueOfTag(Object handle, Object property) {
+        return impl.getValueOfTag(handle, property);
+    }
+
+    public Collection getReferenceValue(Object taggedValue) {
+        return impl.getReferenceValue(taggedValue);
+    }
+
+    public Collection getDataValue(Object taggedValue) {
+        return impl.getDataValue(taggedValue);
+    }
+
+    public String getUUID(Object element) {
+        return impl.getUUID(element);
+    }
+
+    public Object getVisibility(Object handle) {
+        return impl.getVisibility(handle);
+    }
+
+    public Collection getPartitions(Object container) {
+        return impl.getPartitions(container);
+    }
+
+    public String getReferenceState(Object o) {
+        return impl.getReferenceState(o);
+    }
+
+    public Object lookupIn(Object handle, String name) {
+        return impl.lookupIn(handle, name);
+    }
+
+    public String getUMLClassName(Object handle) {
+        return impl.getUMLClassName(handle);
+    }
+
+    public boolean isAArgument(Object modelElement) {
+        return impl.isAArgument(modelElement);
+    }
+
+    public String getTipString(Object modelElement) {
+        return impl.getTipString(modelElement);
+    }
+
+    public String toString(Object modelElement) {
+        return impl.toString(modelElement);
+    }
+
+    public Object getWhen(Object target) {
+        return impl.getWhen(target);
+    }
+
+    public Object getChangeExpression(Object target) {
+        return impl.getChangeExpression(target);
+    }
+
+    public boolean isATagDefinition(Object handle) {
+        return impl.isATagDefinition(handle);
+    }
+
+    public Collection getTagDefinitions(Object handle) {
+        return impl.getTagDefinitions(handle);
+    }
+
+    public Object getTagDefinition(Object handle) {
+        return impl.getTagDefinition(handle);
+    }
+
+    public boolean isSynch(Object handle) {
+        return impl.isSynch(handle);
+    }
+
+    public boolean isStatic(Object handle) {
+        return impl.isStatic(handle);
+    }
+
+    public boolean isReadOnly(Object handle) {
+        return impl.isReadOnly(handle);
+    }
+
+    public String[] getMetatypeNames() {
+        return impl.getMetatypeNames();
+    }
+
+    public boolean isA(String metatypeName, Object element) {
+        return impl.isA(metatypeName, element);
+    }
+}
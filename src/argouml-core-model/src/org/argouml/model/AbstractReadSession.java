@@ -0,0 +1,100 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The timing of a {@link ReadSession}, for the model implementations. The
+ * implementation takes and gives up its read lock in {@link #acquire()} and
+ * {@link #release()}.<p>
+ *
+ * A checkpoint past the bound gives up the lock and parks the reader for a
+ * moment before taking it again. The lock of a model implementation wakes
+ * all the threads waiting for it when it is given up, so a writer which was
+ * waiting gets it first, whether or not the lock favours writers.
+ */
+public abstract class AbstractReadSession implements ReadSession {
+
+    /**
+     * How long a reader stands aside at a checkpoint, in nanoseconds.
+     */
+    private static final long HANDOFF = 200000;
+
+    private final long maxHold;
+
+    private long acquired;
+
+    private boolean active;
+
+    private int handoffs;
+
+    /**
+     * @param maxHoldMillis the time the session is held for before a
+     *            checkpoint gives it up, in milliseconds
+     */
+    protected AbstractReadSession(long maxHoldMillis) {
+        maxHold = maxHoldMillis * 1000000;
+    }
+
+    /**
+     * Take the read lock of the model.
+     */
+    protected abstract void acquire();
+
+    /**
+     * Give up the read lock of the model.
+     */
+    protected abstract void release();
+
+    public void begin() {
+        if (active) {
+            throw new IllegalStateException("The session is already active");
+        }
+        acquire();
+        active = true;
+        acquired = System.nanoTime();
+    }
+
+    public boolean checkpoint() {
+        if (!active || System.nanoTime() - acquired < maxHold) {
+            return false;
+        }
+        active = false;
+        release();
+        LockSupport.parkNanos(HANDOFF);
+        acquire();
+        active = true;
+        acquired = System.nanoTime();
+        handoffs++;
+        return true;
+    }
+
+    public void end() {
+        if (active) {
+            active = false;
+            release();
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return the number of times the session was given up at a checkpoint
+     */
+    public int getHandoffs() {
+        return handoffs;
+    }
+}
@@ -0,0 +1,401 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A Decorator for the {@link Facade} which remembers the answers of the
+ * accessors the critics, the notations and the figures call the most:
+ * {@link #getName(Object)}, {@link #getNamespace(Object)},
+ * {@link #getStereotypes(Object)}, {@link #getOwnedElements(Object)} and
+ * {@link #getTaggedValue(Object, String)}.<p>
+ *
+ * Each model element has a slot for each of these. The model
+ * implementation must call {@link #invalidate(Object, String)} before it
+ * changes a property, from the thread making the change, so that no stale
+ * answer is ever given. A read which started before a change is not
+ * remembered. While the model implementation can't tell about changes,
+ * such as while loading a file without events, it calls
+ * {@link #setSuspended(boolean)} and the cache is bypassed.<p>
+ *
+ * The collections are given as unmodifiable copies rather than the live
+ * collections of the model implementation.<p>
+ *
+ * The reads take no lock, so that the threads reading the model don't wait
+ * for each other. An element is forgotten when it is deleted, and all of
+ * them when an extent is created or deleted.
+ */
+public class CachingFacade extends AbstractFacadeDecorator {
+
+    private static final int NAME = 0;
+
+    private static final int NAMESPACE = 1;
+
+    private static final int STEREOTYPES = 2;
+
+    private static final int OWNED_ELEMENTS = 3;
+
+    private static final int TAGGED_VALUES = 4;
+
+    private static final String[] SLOT_NAMES = {
+        "name", "namespace", "stereotype", "ownedElement", "taggedValue",
+    };
+
+    /**
+     * Marks an empty slot.
+     */
+    private static final Object UNSET = new Object();
+
+    /**
+     * Stands for a null answer in a slot.
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The slots of each element.
+     */
+    private final ConcurrentMap<Object, Slots> slots =
+        new ConcurrentHashMap<Object, Slots>();
+
+    /**
+     * Counts the changes, so that an answer read before a change is not
+     * remembered after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean suspended;
+
+    private final AtomicLongArray hits =
+        new AtomicLongArray(SLOT_NAMES.length);
+
+    private final AtomicLongArray misses =
+        new AtomicLongArray(SLOT_NAMES.length);
+
+    /**
+     * @param component the Facade of the model implementation
+     */
+    public CachingFacade(Facade component) {
+        super(component);
+    }
+
+    /**
+     * Forget what is known about a property of an element. Changes to the
+     * name of a tag definition, or to the tag definition of a tagged value,
+     * forget the tagged values of all the elements.
+     *
+     * @param element the element which is about to change
+     * @param propertyName the name of the property, as in the events of the
+     *            {@link ModelEventPump}, or null for all of them
+     */
+    public void invalidate(Object element, String propertyName) {
+        boolean allTags = false;
+        if ("name".equals(propertyName)) {
+            allTags = getComponent().isATagDefinition(element);
+        } else if ("type".equals(propertyName)) {
+            allTags = getComponent().isATaggedValue(element);
+        }
+        generation.incrementAndGet();
+        if (allTags) {
+            for (Slots s : slots.values()) {
+                s.taggedValues.set(null);
+            }
+        }
+        if (propertyName == null) {
+            slots.remove(element);
+            return;
+        }
+        Slots s = slots.get(element);
+        if (s == null) {
+            return;
+        }
+        for (int i = 0; i < SLOT_NAMES.length; i++) {
+            if (SLOT_NAMES[i].equals(propertyName)) {
+                s.clear(i);
+            }
+        }
+    }
+
+    /**
+     * Forget everything.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        slots.clear();
+    }
+
+    /**
+     * Bypass the cache while the model implementation can't tell about
+     * changes. The cache is emptied either way.
+     *
+     * @param value true to bypass the cache
+     */
+    public void setSuspended(boolean value) {
+        suspended = value;
+        generation.incrementAndGet();
+        slots.clear();
+    }
+
+    /**
+     * @return the share of the reads answered from the cache
+     */
+    public double getHitRate() {
+        long h = 0;
+        long m = 0;
+        for (int i = 0; i < SLOT_NAMES.length; i++) {
+            h += hits.get(i);
+            m += misses.get(i);
+        }
+        return h + m == 0 ? 0 : (double) h / (h + m);
+    }
+
+    /**
+     * @return the hits and misses of each slot, for the logs
+     */
+    public String getStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < SLOT_NAMES.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            long h = hits.get(i);
+            sb.append(SLOT_NAMES[i]).append(' ').append(h)
+                .append('/').append(h + misses.get(i));
+        }
+        sb.append(", ").append(slots.size()).append(" elements");
+        return sb.toString();
+    }
+
+    /**
+     * Start counting hits and misses again.
+     */
+    public void resetStatistics() {
+        for (int i = 0; i < SLOT_NAMES.length; i++) {
+            hits.set(i, 0);
+            misses.set(i, 0);
+        }
+    }
+
+    @Override
+    public String getName(Object handle) {
+        if (!getComponent().isAModelElement(handle)) {
+            return getComponent().getName(handle);
+        }
+        Object value = lookup(handle, NAME);
+        if (value != UNSET) {
+            return (String) value;
+        }
+        long gen = getGeneration();
+        String name = getComponent().getName(handle);
+        store(handle, NAME, name, gen);
+        return name;
+    }
+
+    @Override
+    public Object getNamespace(Object handle) {
+        if (!getComponent().isAModelElement(handle)) {
+            return getComponent().getNamespace(handle);
+        }
+        Object value = lookup(handle, NAMESPACE);
+        if (value != UNSET) {
+            return value;
+        }
+        long gen = getGeneration();
+        Object ns = getComponent().getNamespace(handle);
+        store(handle, NAMESPACE, ns, gen);
+        return ns;
+    }
+
+    @Override
+    public Collection getStereotypes(Object handle) {
+        if (!getComponent().isAModelElement(handle)) {
+            return getComponent().getStereotypes(handle);
+        }
+        Object value = lookup(handle, STEREOTYPES);
+        if (value != UNSET) {
+            return (Collection) value;
+        }
+        long gen = getGeneration();
+        Collection<Object> stereotypes =
+            copy(getComponent().getStereotypes(handle));
+        store(handle, STEREOTYPES, stereotypes, gen);
+        return stereotypes;
+    }
+
+    @Override
+    public Collection getOwnedElements(Object handle) {
+        if (!getComponent().isANamespace(handle)) {
+            return getComponent().getOwnedElements(handle);
+        }
+        Object value = lookup(handle, OWNED_ELEMENTS);
+        if (value != UNSET) {
+            return (Collection) value;
+        }
+        long gen = getGeneration();
+        Collection<Object> owned =
+            copy(getComponent().getOwnedElements(handle));
+        store(handle, OWNED_ELEMENTS, owned, gen);
+        return owned;
+    }
+
+    /*
+     * The tagged values of an element are kept in a map by the name of
+     * their tag definition.
+     */
+    @Override
+    public Object getTaggedValue(Object handle, String name) {
+        if (!getComponent().isAModelElement(handle) || name == null) {
+            return getComponent().getTaggedValue(handle, name);
+        }
+        Slots s = suspended ? null : slots.get(handle);
+        ConcurrentMap<String, Object> tags =
+            s == null ? null : s.taggedValues.get();
+        Object cached = tags == null ? null : tags.get(name);
+        if (cached != null) {
+            hits.incrementAndGet(TAGGED_VALUES);
+            return cached == NULL ? null : cached;
+        }
+        misses.incrementAndGet(TAGGED_VALUES);
+
+        long gen = getGeneration();
+        Object tv = getComponent().getTaggedValue(handle, name);
+        if (gen >= 0 && gen == generation.get()) {
+            s = getSlots(handle);
+            tags = s.taggedValues.get();
+            if (tags == null) {
+                s.taggedValues.compareAndSet(null,
+                        new ConcurrentHashMap<String, Object>());
+                tags = s.taggedValues.get();
+            }
+            if (tags != null) {
+                Object value = tv == null ? NULL : tv;
+                tags.put(name, value);
+                if (gen != generation.get()) {
+                    // Changed meanwhile, the answer may be stale
+                    tags.remove(name, value);
+                }
+            }
+        }
+        return tv;
+    }
+
+    @Override
+    public String getTaggedValueValue(Object handle, String name) {
+        if (!getComponent().isAModelElement(handle)) {
+            return getComponent().getTaggedValueValue(handle, name);
+        }
+        Object tv = getTaggedValue(handle, name);
+        if (tv == null) {
+            return "";
+        }
+        return getComponent().getValueOfTag(tv);
+    }
+
+    /**
+     * Count a read of a slot.
+     *
+     * @param handle the element
+     * @param slot the slot
+     * @return the answer in the slot, or UNSET
+     */
+    private Object lookup(Object handle, int slot) {
+        Slots s = suspended ? null : slots.get(handle);
+        Object value = s == null ? UNSET : s.values.get(slot);
+        if (value != UNSET) {
+            hits.incrementAndGet(slot);
+            return value == NULL ? null : value;
+        }
+        misses.incrementAndGet(slot);
+        return UNSET;
+    }
+
+    /**
+     * Read before asking the component, so that an answer given before a
+     * change is not stored after it.
+     *
+     * @return the generation to store an answer with, or -1 if it must not
+     *         be stored
+     */
+    private long getGeneration() {
+        return suspended ? -1 : generation.get();
+    }
+
+    /**
+     * Store an answer, unless there was a change since it was read. A
+     * change made while storing it is seen by the check after, which takes
+     * the answer back out, or clears the slot itself.
+     */
+    private void store(Object handle, int slot, Object value, long gen) {
+        if (gen < 0 || gen != generation.get()) {
+            return;
+        }
+        Object stored = value == null ? NULL : value;
+        Slots s = getSlots(handle);
+        s.values.set(slot, stored);
+        if (gen != generation.get()) {
+            s.values.compareAndSet(slot, stored, UNSET);
+        }
+    }
+
+    private Slots getSlots(Object handle) {
+        Slots s = slots.get(handle);
+        if (s == null) {
+            Slots created = new Slots();
+            s = slots.putIfAbsent(handle, created);
+            if (s == null) {
+                s = created;
+            }
+        }
+        return s;
+    }
+
+    private static Collection<Object> copy(Collection<?> c) {
+        return Collections.unmodifiableList(new ArrayList<Object>(c));
+    }
+
+    /**
+     * The slots of an element. The tagged values are kept apart, in a map
+     * by the name of their tag definition, or null while unset.
+     */
+    private static final class Slots {
+
+        private final AtomicReferenceArray<Object> values =
+            new AtomicReferenceArray<Object>(TAGGED_VALUES);
+
+        private final AtomicReference<ConcurrentMap<String, Object>>
+            taggedValues =
+                new AtomicReference<ConcurrentMap<String, Object>>();
+
+        Slots() {
+            for (int i = 0; i < TAGGED_VALUES; i++) {
+                values.set(i, UNSET);
+            }
+        }
+
+        void clear(int slot) {
+            if (slot == TAGGED_VALUES) {
+                taggedValues.set(null);
+            } else {
+                values.set(slot, UNSET);
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * The registry of the counters, timers and histograms the subsystems keep
+ * about their hot paths: the events of the event pump, the critics, the
+ * queues of the Designer and the loading and saving of projects.<p>
+ *
+ * The metrics are off unless the system property
+ * <code>argouml.metrics</code> is true, or they are turned on with
+ * {@link #setEnabled(boolean)}. While off, recording a value is a check of
+ * a volatile field and nothing else, so that the subsystems can keep their
+ * metrics in static fields and record them unconditionally. A metric which
+ * needs its name to be made, such as one for each class, should only be
+ * looked up once {@link #isEnabled()} is true.<p>
+ *
+ * The metrics are shown through JMX, once {@link #registerMBean()} was
+ * called, and by {@link #dump()}, which needs no GUI.
+ */
+public final class Metrics {
+
+    private static final Logger LOG =
+        Logger.getLogger(Metrics.class.getName());
+
+    /**
+     * The name of the system property which turns the metrics on.
+     */
+    public static final String ENABLED_PROPERTY = "argouml.metrics";
+
+    /**
+     * The name the metrics are registered with in the MBean server.
+     */
+    public static final String OBJECT_NAME = "org.argouml:type=Metrics";
+
+    private static volatile boolean enabled =
+        Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final ConcurrentMap<String, Metric> METRICS =
+        new ConcurrentHashMap<String, Metric>();
+
+    private Metrics() {
+    }
+
+    /**
+     * @return true if the metrics are recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn the recording of the metrics on or off. The values recorded so
+     * far are kept.
+     *
+     * @param on true to record the metrics
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * @param name the name of the counter
+     * @return the counter with the name, made if needed
+     * @throws IllegalArgumentException if the name is taken by a metric of
+     *             another kind
+     */
+    public static Counter counter(String name) {
+        return get(name, Counter.class);
+    }
+
+    /**
+     * @param name the name of the histogram
+     * @return the histogram with the name, made if needed
+     * @throws IllegalArgumentException if the name is taken by a metric of
+     *             another kind
+     */
+    public static Histogram histogram(String name) {
+        return get(name, Histogram.class);
+    }
+
+    /**
+     * @param name the name of the timer
+     * @return the timer with the name, made if needed
+     * @throws IllegalArgumentException if the name is taken by a metric of
+     *             another kind
+     */
+    public static Timer timer(String name) {
+        return get(name, Timer.class);
+    }
+
+    private static <T extends Metric> T get(String name, Class<T> kind) {
+        Metric metric = METRICS.get(name);
+        if (metric == null) {
+            Metric created;
+            if (kind == Counter.class) {
+                created = new Counter();
+            } else if (kind == Timer.class) {
+                created = new Timer();
+            } else {
+                created = new Histogram();
+            }
+            metric = METRICS.putIfAbsent(name, created);
+            if (metric == null) {
+                metric = created;
+            }
+        }
+        if (metric.getClass() != kind) {
+            throw new IllegalArgumentException("The metric " + name
+                    + " is a " + metric.getClass().getSimpleName());
+        }
+        return kind.cast(metric);
+    }
+
+    /**
+     * @return the names of the metrics, sorted
+     */
+    public static Set<String> getNames() {
+        return new TreeMap<String, Metric>(METRICS).keySet();
+    }
+
+    /**
+     * Set all the metrics back to zero. The metrics stay registered.
+     */
+    public static void reset() {
+        for (Metric metric : METRICS.values()) {
+            metric.reset();
+        }
+    }
+
+    /**
+     * Describe the metrics which recorded anything, one on each line, sorted
+     * by name.
+     *
+     * @return the description
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Metric> entry
+                : new TreeMap<String, Metric>(METRICS).entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                sb.append(entry.getKey()).append(' ');
+                entry.getValue().describe(sb);
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Register the metrics with the platform MBean server, under
+     * {@link #OBJECT_NAME}. Registering them again does nothing.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new StandardMBean(new MetricsMBean() {
+                    public boolean isEnabled() {
+                        return Metrics.isEnabled();
+                    }
+
+                    public void setEnabled(boolean on) {
+                        Metrics.setEnabled(on);
+                    }
+
+                    public String[] getNames() {
+                        return Metrics.getNames().toArray(new String[0]);
+                    }
+
+                    public String dump() {
+                        return Metrics.dump();
+                    }
+
+                    public void reset() {
+                        Metrics.reset();
+                    }
+                }, MetricsMBean.class), name);
+            }
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Can't register the metrics with JMX", e);
+        }
+    }
+
+    /**
+     * A metric of the registry.
+     */
+    public abstract static class Metric {
+
+        Metric() {
+        }
+
+        abstract void reset();
+
+        abstract boolean isEmpty();
+
+        abstract void describe(StringBuilder sb);
+    }
+
+    /**
+     * A count of events.
+     */
+    public static final class Counter extends Metric {
+
+        private final AtomicLong count = new AtomicLong();
+
+        Counter() {
+        }
+
+        /**
+         * Count an event.
+         */
+        public void increment() {
+            if (enabled) {
+                count.incrementAndGet();
+            }
+        }
+
+        /**
+         * @param n the number of events to count
+         */
+        public void add(long n) {
+            if (enabled) {
+                count.addAndGet(n);
+            }
+        }
+
+        /**
+         * @return the number of events counted
+         */
+        public long getCount() {
+            return count.get();
+        }
+
+        @Override
+        void reset() {
+            count.set(0);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return count.get() == 0;
+        }
+
+        @Override
+        void describe(StringBuilder sb) {
+            sb.append("count=").append(count.get());
+        }
+    }
+
+    /**
+     * The distribution of values which are not negative, such as the
+     * lengths of queues. The values are counted in buckets by their power of
+     * two, so that the percentiles are known within a factor of two.
+     */
+    public static class Histogram extends Metric {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong sum = new AtomicLong();
+
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram() {
+        }
+
+        /**
+         * @param value the value to record; a negative one counts as zero
+         */
+        public void record(long value) {
+            if (enabled) {
+                add(value);
+            }
+        }
+
+        void add(long value) {
+            long v = Math.max(value, 0);
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(v));
+            count.incrementAndGet();
+            sum.addAndGet(v);
+            long m = max.get();
+            while (v > m && !max.compareAndSet(m, v)) {
+                m = max.get();
+            }
+        }
+
+        /**
+         * @return the number of values recorded
+         */
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * @return the sum of the values recorded
+         */
+        public long getSum() {
+            return sum.get();
+        }
+
+        /**
+         * @return the largest value recorded
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * @param fraction the fraction of the values, from 0 to 1
+         * @return a bound which at least the fraction of the values recorded
+         *         are not above, at most twice the value of the percentile
+         */
+        public long getPercentile(double fraction) {
+            long n = count.get();
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen > 0 && seen >= fraction * n) {
+                    return Math.min((1L << i) - 1, max.get());
+                }
+            }
+            return max.get();
+        }
+
+        @Override
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            sum.set(0);
+            max.set(0);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return count.get() == 0;
+        }
+
+        @Override
+        void describe(StringBuilder sb) {
+            long n = count.get();
+            sb.append("count=").append(n);
+            sb.append(" mean=").append(format(n == 0 ? 0 : sum.get() / n));
+            sb.append(" p50<=").append(format(getPercentile(0.5)));
+            sb.append(" p99<=").append(format(getPercentile(0.99)));
+            sb.append(" max=").append(format(max.get()));
+        }
+
+        String format(long value) {
+            return Long.toString(value);
+        }
+    }
+
+    /**
+     * The distribution of the durations of an operation, in nanoseconds.
+     * The total time is shown as well.
+     */
+    public static final class Timer extends Histogram {
+
+        Timer() {
+        }
+
+        /**
+         * Start timing the operation.
+         *
+         * @return the start time, to give to {@link #stop(long)}, or 0 if
+         *         the metrics are off
+         */
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Record the duration of the operation.
+         *
+         * @param start what {@link #start()} returned
+         */
+        public void stop(long start) {
+            if (start != 0) {
+                add(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        void describe(StringBuilder sb) {
+            super.describe(sb);
+            sb.append(" total=").append(format(getSum()));
+        }
+
+        @Override
+        String format(long nanos) {
+            if (nanos >= 10000000L) {
+                return nanos / 1000000 + "ms";
+            }
+            return nanos / 1000 + "us";
+        }
+    }
+}
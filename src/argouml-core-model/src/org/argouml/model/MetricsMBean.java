@@ -0,0 +1,44 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+/**
+ * The management interface of the {@link Metrics}, as shown through JMX.
+ */
+public interface MetricsMBean {
+
+    /**
+     * @return true if the metrics are recorded
+     */
+    boolean isEnabled();
+
+    /**
+     * @param on true to record the metrics
+     */
+    void setEnabled(boolean on);
+
+    /**
+     * @return the names of the metrics, sorted
+     */
+    String[] getNames();
+
+    /**
+     * @return the metrics which recorded anything, one on each line
+     */
+    String dump();
+
+    /**
+     * Set all the metrics back to zero.
+     */
+    void reset();
+}
@@ -578,5 +578,26 @@ public final class Model {
     public static CopyHelper getCopyHelper() {
 	return impl.getCopyHelper();
     }
+
+    /**
+     * Create a read session held for {@link ReadSession#DEFAULT_MAX_HOLD}
+     * milliseconds at a time.
+     *
+     * @return a new session, not yet begun
+     */
+    public static ReadSession createReadSession() {
+        return impl.createReadSession(ReadSession.DEFAULT_MAX_HOLD);
+    }
+
+    /**
+     * Create a read session.
+     *
+     * @param maxHoldMillis the time the session may keep changes waiting,
+     *            in milliseconds
+     * @return a new session, not yet begun
+     */
+    public static ReadSession createReadSession(long maxHoldMillis) {
+        return impl.createReadSession(maxHoldMillis);
+    }
     
 }
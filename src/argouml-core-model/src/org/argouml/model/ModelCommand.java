@@ -72,4 +72,15 @@ public abstract class ModelCommand {
      * Undo this command.
      */
     public abstract void undo();
+
+    /**
+     * Estimate the memory this command keeps alive while it is held for
+     * undo.  The default is for a command which holds a few references to
+     * objects which are kept alive anyway.
+     *
+     * @return the estimated size in bytes
+     */
+    public int getMemorySize() {
+        return 32;
+    }
 }
@@ -318,6 +318,17 @@ public interface ModelImplementation {
      * @return the CopyHelper
      */
     CopyHelper getCopyHelper();
+
+    /**
+     * Create a session giving the calling thread a consistent view of the
+     * model for a run of reads.
+     *
+     * @param maxHoldMillis the time the session may keep changes waiting,
+     *            in milliseconds
+     * @return a new session, not yet begun
+     * @see ReadSession
+     */
+    ReadSession createReadSession(long maxHoldMillis);
     
 
 }
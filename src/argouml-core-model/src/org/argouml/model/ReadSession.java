@@ -0,0 +1,79 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+/**
+ * A read session gives a thread doing a long run of reads, such as the
+ * critics, a consistent view of the model: no other thread can change the
+ * model while the session is held.<p>
+ *
+ * So that the user interface is never kept waiting for long, a session is
+ * only held for a bounded time. The reader calls {@link #checkpoint()} at
+ * the points where it can put up with the model changing, typically between
+ * two model elements. Once the session has been held longer than its bound,
+ * the checkpoint lets any waiting changes go through before taking the
+ * session again. Model elements may have been deleted by then, which
+ * {@link UmlFactory#isRemoved(Object)} tells. The bound is only looked at
+ * in the checkpoints, so the session is held past it for the reads up to
+ * the next checkpoint, such as all the critics of one element.<p>
+ *
+ * A session is used by the thread which created it, as:
+ * <pre>
+ * ReadSession session = Model.createReadSession();
+ * session.begin();
+ * try {
+ *     for (...) {
+ *         session.checkpoint();
+ *         ...
+ *     }
+ * } finally {
+ *     session.end();
+ * }
+ * </pre>
+ * The session must not be held while changing the model. It must not be
+ * begun while holding a monitor which a thread changing the model may take,
+ * such as one taken by the listeners of model events, or the two threads
+ * wait for each other.
+ */
+public interface ReadSession {
+
+    /**
+     * The time a session is held for by default, in milliseconds.
+     */
+    long DEFAULT_MAX_HOLD = 50;
+
+    /**
+     * Start the session. This waits for any change being made by another
+     * thread to finish.
+     */
+    void begin();
+
+    /**
+     * Let waiting changes through if the session has been held longer than
+     * its bound.
+     *
+     * @return true if the session was given up for a while, in which case
+     *         the model may have changed
+     */
+    boolean checkpoint();
+
+    /**
+     * End the session.
+     */
+    void end();
+
+    /**
+     * @return true between {@link #begin()} and {@link #end()}
+     */
+    boolean isActive();
+}
@@ -41,9 +41,19 @@ package org.argouml.model;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.rmi.server.UID;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Hands out the IDs of new model elements and other persistent objects.
+ * <p>
+ * The IDs have the format of {@link java.rmi.server.UID}, "unique:time:count"
+ * in hexadecimal, prefixed for model elements with the bytes of the host
+ * address. The unique and time parts are chosen once for the VM and the
+ * count is taken from blocks which each thread reserves for itself, so
+ * that new IDs are made without a lock and without waiting for the clock
+ * as <code>UID</code> does when its count runs out.
+ *
  * @stereotype singleton
  */
 public final class UUIDManager {
@@ -54,11 +64,40 @@ public final class UUIDManager {
      */
     private static final UUIDManager INSTANCE = new UUIDManager();
 
+    /**
+     * The number of counts a thread reserves at a time.
+     */
+    private static final int BLOCK_SIZE = 1024;
+
     /**
      * The inet address, used in generating UUIDs.
      */
     private InetAddress address;
 
+    /**
+     * The bytes of the address followed by the unique and time parts.
+     */
+    private final String uuidPrefix;
+
+    /**
+     * The unique and time parts.
+     */
+    private final String uidPrefix;
+
+    /**
+     * The start of the next block to reserve.
+     */
+    private final AtomicLong nextBlock = new AtomicLong();
+
+    /**
+     * The next count and the end of the block of each thread.
+     */
+    private final ThreadLocal<long[]> block = new ThreadLocal<long[]>() {
+        protected long[] initialValue() {
+            return new long[2];
+        }
+    };
+
     ////////////////////////////////////////////////////////////////
     // constructors
 
@@ -78,6 +117,14 @@ public final class UUIDManager {
             throw new IllegalStateException(
                     "UnknownHostException caught - set up your /etc/hosts");
         }
+        uidPrefix = Integer.toString(new SecureRandom().nextInt(), 16) + ":"
+            + Long.toString(System.currentTimeMillis(), 16) + ":";
+        StringBuilder s = new StringBuilder();
+        byte[] b = address.getAddress();
+        for (int i = 0; i < b.length; i++) {
+            s.append((long) b[i]).append("-");
+        }
+        uuidPrefix = s.append(uidPrefix).toString();
     }
 
     /**
@@ -95,16 +142,26 @@ public final class UUIDManager {
     /**
      * @return the new uuid
      */
-    public synchronized String getNewUUID() {
-	UID uid = new UID();
-	StringBuffer s = new StringBuffer();
-	if (address != null) {
-	    byte[] b = address.getAddress();
-	    for (int i = 0; i < b.length; i++) {
-		s.append((long) b[i]).append("-");
-	    }
-	}
-	s.append(uid.toString());
-	return s.toString();
+    public String getNewUUID() {
+        return uuidPrefix + Long.toString(nextCount(), 16);
+    }
+
+    /**
+     * Make a new ID without the address, in the format of
+     * {@link java.rmi.server.UID#toString()}.
+     *
+     * @return the new uid
+     */
+    public String getNewUID() {
+        return uidPrefix + Long.toString(nextCount(), 16);
+    }
+
+    private long nextCount() {
+        long[] counts = block.get();
+        if (counts[0] == counts[1]) {
+            counts[0] = nextBlock.getAndAdd(BLOCK_SIZE);
+            counts[1] = counts[0] + BLOCK_SIZE;
+        }
+        return counts[0]++;
     }
 } /* end class UUIDManager */
@@ -0,0 +1,93 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the AbstractReadSession class, over a read-write lock standing
+ * for the one of a model implementation.
+ */
+public class TestAbstractReadSession extends TestCase {
+
+    private ReadWriteLock lock;
+
+    private AbstractReadSession session;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        lock = new ReentrantReadWriteLock();
+        session = new AbstractReadSession(10) {
+            @Override
+            protected void acquire() {
+                lock.readLock().lock();
+            }
+
+            @Override
+            protected void release() {
+                lock.readLock().unlock();
+            }
+        };
+    }
+
+    /**
+     * Test that a checkpoint only gives up the session past its bound.
+     *
+     * @throws InterruptedException if interrupted while sleeping
+     */
+    public void testCheckpoint() throws InterruptedException {
+        assertFalse(session.checkpoint());
+        session.begin();
+        assertTrue(session.isActive());
+        assertFalse(session.checkpoint());
+        Thread.sleep(20);
+        assertTrue(session.checkpoint());
+        assertFalse(session.checkpoint());
+        assertEquals(1, session.getHandoffs());
+        session.end();
+        assertFalse(session.isActive());
+        assertTrue(lock.writeLock().tryLock());
+    }
+
+    /**
+     * Test that a change waiting for the session goes through at a
+     * checkpoint while the reader keeps its session.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void testWriterHandoff() throws InterruptedException {
+        final long[] written = new long[1];
+        session.begin();
+        Thread writer = new Thread() {
+            public void run() {
+                lock.writeLock().lock();
+                written[0] = System.nanoTime();
+                lock.writeLock().unlock();
+            }
+        };
+        writer.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (written[0] == 0 && System.currentTimeMillis() < deadline) {
+            session.checkpoint();
+        }
+        assertTrue(session.isActive());
+        session.end();
+        writer.join();
+        assertTrue("The writer waited for the end of the session",
+                written[0] != 0 && session.getHandoffs() > 0);
+    }
+}
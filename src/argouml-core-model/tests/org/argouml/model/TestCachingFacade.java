@@ -0,0 +1,153 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the CachingFacade class, over a Facade standing for a model
+ * implementation. The properties of the element are kept in a map.
+ */
+public class TestCachingFacade extends TestCase {
+
+    private Object element;
+
+    private Map<String, Object> props;
+
+    private List<Object> stereotypes;
+
+    private int calls;
+
+    private CachingFacade facade;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        element = new Object();
+        props = new HashMap<String, Object>();
+        props.put("name", "A");
+        stereotypes = new ArrayList<Object>();
+        props.put("stereotype", stereotypes);
+        calls = 0;
+        Facade component = (Facade) Proxy.newProxyInstance(
+                Facade.class.getClassLoader(), new Class<?>[] {Facade.class},
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method,
+                            Object[] args) {
+                        String name = method.getName();
+                        if (name.startsWith("isA")) {
+                            return name.equals("isAModelElement")
+                                && args[0] == element;
+                        }
+                        calls++;
+                        if (name.equals("getName")) {
+                            return props.get("name");
+                        } else if (name.equals("getNamespace")) {
+                            return props.get("namespace");
+                        } else if (name.equals("getStereotypes")) {
+                            return props.get("stereotype");
+                        } else if (name.equals("getTaggedValue")) {
+                            return props.get("tag:" + args[1]);
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+        facade = new CachingFacade(component);
+    }
+
+    /**
+     * Test that the answers are remembered until the property changes.
+     */
+    public void testInvalidate() {
+        assertEquals("A", facade.getName(element));
+        assertEquals("A", facade.getName(element));
+        assertNull(facade.getNamespace(element));
+        assertNull(facade.getNamespace(element));
+        assertEquals(2, calls);
+
+        facade.invalidate(element, "name");
+        props.put("name", "B");
+        assertEquals("B", facade.getName(element));
+        assertNull(facade.getNamespace(element));
+        assertEquals(3, calls);
+
+        facade.invalidate(element, "namespace");
+        props.put("namespace", "ns");
+        assertEquals("ns", facade.getNamespace(element));
+        assertEquals(4, calls);
+        assertEquals(3.0 / 7, facade.getHitRate(), 0.001);
+    }
+
+    /**
+     * Test that the collections are copies which can't be changed.
+     */
+    public void testCollections() {
+        stereotypes.add("s1");
+        assertEquals(Collections.singletonList("s1"),
+                facade.getStereotypes(element));
+        try {
+            facade.getStereotypes(element).clear();
+            fail("The collection can be changed");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(1, calls);
+        }
+        facade.invalidate(element, "stereotype");
+        stereotypes.add("s2");
+        assertEquals(2, facade.getStereotypes(element).size());
+    }
+
+    /**
+     * Test the tagged values, by name, and the absent ones.
+     */
+    public void testTaggedValues() {
+        props.put("tag:documentation", "tv");
+        assertEquals("tv", facade.getTaggedValue(element, "documentation"));
+        assertNull(facade.getTaggedValue(element, "other"));
+        assertEquals("tv", facade.getTaggedValue(element, "documentation"));
+        assertNull(facade.getTaggedValue(element, "other"));
+        assertEquals(2, calls);
+        facade.invalidate(element, "taggedValue");
+        props.remove("tag:documentation");
+        assertNull(facade.getTaggedValue(element, "documentation"));
+        assertEquals(3, calls);
+    }
+
+    /**
+     * Test that deleted elements are forgotten, and that the cache is
+     * bypassed while suspended.
+     */
+    public void testDeleteAndSuspend() {
+        facade.getName(element);
+        facade.invalidate(element, null);
+        facade.getName(element);
+        assertEquals(2, calls);
+
+        facade.setSuspended(true);
+        facade.getName(element);
+        facade.getName(element);
+        assertEquals(4, calls);
+        facade.setSuspended(false);
+        facade.getName(element);
+        facade.getName(element);
+        assertEquals(5, calls);
+    }
+}
@@ -0,0 +1,110 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the Metrics class.
+ */
+public class TestMetrics extends TestCase {
+
+    private boolean wasEnabled;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        wasEnabled = Metrics.isEnabled();
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Metrics.setEnabled(wasEnabled);
+        super.tearDown();
+    }
+
+    /**
+     * Test that nothing is recorded while the metrics are off.
+     */
+    public void testDisabled() {
+        Metrics.Counter counter = Metrics.counter("test.disabled.counter");
+        Metrics.Timer timer = Metrics.timer("test.disabled.timer");
+        Metrics.setEnabled(false);
+        counter.increment();
+        long start = timer.start();
+        assertEquals(0, start);
+        timer.stop(start);
+        assertEquals(0, counter.getCount());
+        assertEquals(0, timer.getCount());
+        Metrics.setEnabled(true);
+        counter.increment();
+        assertEquals(1, counter.getCount());
+        assertSame(counter, Metrics.counter("test.disabled.counter"));
+    }
+
+    /**
+     * Test the values of a histogram and its percentiles.
+     */
+    public void testHistogram() {
+        Metrics.Histogram histogram = Metrics.histogram("test.histogram");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(100, histogram.getMax());
+        long median = histogram.getPercentile(0.5);
+        assertTrue(median >= 50 && median < 100);
+        assertEquals(100, histogram.getPercentile(1));
+        assertTrue(Metrics.dump().contains("test.histogram count=100 "));
+        Metrics.reset();
+        assertEquals(0, histogram.getCount());
+        assertFalse(Metrics.dump().contains("test.histogram"));
+    }
+
+    /**
+     * Test that a name can't be taken by metrics of two kinds.
+     */
+    public void testKinds() {
+        Metrics.timer("test.kind");
+        try {
+            Metrics.counter("test.kind");
+            fail("A timer was given as a counter");
+        } catch (IllegalArgumentException e) {
+            assertTrue(Metrics.getNames().contains("test.kind"));
+        }
+    }
+
+    /**
+     * Test the dump through JMX.
+     *
+     * @throws Exception if the MBean can't be reached
+     */
+    public void testMBean() throws Exception {
+        Metrics.counter("test.mbean").add(3);
+        Metrics.registerMBean();
+        Metrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+        String dump = (String) server.invoke(name, "dump", null, null);
+        assertTrue(dump.contains("test.mbean count=3"));
+    }
+}
@@ -0,0 +1,61 @@
+/* $Id$
+ *****************************************************************************
+ * Copyright (c) 2026 Contributors - see below
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    ArgoUML contributors
+ *****************************************************************************/
+
+package org.argouml.model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for the UUIDManager class.
+ */
+public class TestUUIDManager extends TestCase {
+
+    /**
+     * Test that IDs keep the format of a UID prefixed with the address.
+     */
+    public void testFormat() {
+        String uid = UUIDManager.getInstance().getNewUID();
+        assertTrue(uid, uid.matches("-?[0-9a-f]+:[0-9a-f]+:[0-9a-f]+"));
+        String uuid = UUIDManager.getInstance().getNewUUID();
+        assertTrue(uuid, uuid.matches(
+                "(-?[0-9]+-)+-?[0-9a-f]+:[0-9a-f]+:[0-9a-f]+"));
+    }
+
+    /**
+     * Test that IDs made by several threads at once are all different.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void testUniqueAcrossThreads() throws InterruptedException {
+        final Set<String> ids =
+            Collections.synchronizedSet(new HashSet<String>());
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    for (int j = 0; j < 5000; j++) {
+                        ids.add(UUIDManager.getInstance().getNewUUID());
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threads.length * 5000, ids.size());
+    }
+}
@@ -75,9 +75,21 @@ class UMLComboBox extends JComboBox {
             addActionListener(this.action);
         }
         setRenderer(new UMLListCellRenderer2(showIcon));
+        UMLListCellRenderer2.useFixedCellSize(this);
         addPopupMenuListener(model);
     }
 
+    /*
+     * @see javax.swing.JComboBox#updateUI()
+     */
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        if (getRenderer() instanceof UMLListCellRenderer2) {
+            UMLListCellRenderer2.useFixedCellSize(this);
+        }
+    }
+
     /**
      * The constructor.
      *
@@ -43,8 +43,9 @@ import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,6 +64,8 @@ import org.argouml.model.InvalidElementException;
 import org.argouml.model.Model;
 import org.argouml.model.RemoveAssociationEvent;
 import org.argouml.model.UmlChangeEvent;
+import org.argouml.uml.ui.BackgroundListBuilder;
+import org.argouml.util.IndexedList;
 
 /**
  * ComboBox Model for UML modelelements. <p>
@@ -88,10 +91,10 @@ abstract class UMLComboBoxModel extends AbstractListModel
 
     /**
      * The list with objects that should be shown in the combobox.
-     * TODO: Using a list here forces a linear search when we're trying to add
-     * a new element to the model which can be very slow for large models.
+     * It is hashed, so that finding an element doesn't need a linear search
+     * through the thousands of elements of a large model.
      */
-    private List objects = new LinkedList();
+    private IndexedList<Object> objects = new IndexedList<Object>();
 
     /**
      * The selected object.
@@ -133,6 +136,40 @@ abstract class UMLComboBoxModel extends AbstractListModel
 
     private String filter;
 
+    /**
+     * Builds the list in the background for a lazy model.
+     */
+    private final BackgroundListBuilder builder =
+        new BackgroundListBuilder(new BackgroundListBuilder.Client() {
+            public List<Object> build() {
+                List<Object> elements = new ArrayList<Object>();
+                backgroundElements.set(elements);
+                try {
+                    buildModelList();
+                } finally {
+                    backgroundElements.remove();
+                }
+                return elements;
+            }
+
+            public void built(List<Object> elements) {
+                backgroundBuildFinished(elements);
+            }
+        });
+
+    /**
+     * The combo whose popup is waiting for the list to be built.
+     */
+    private JComboBox combo;
+
+    /**
+     * On the thread building the list in the background, the elements
+     * that buildModelList has put in the list so far. Null on any other
+     * thread.
+     */
+    private final ThreadLocal<List<Object>> backgroundElements =
+        new ThreadLocal<List<Object>>();
+
 
     /**
      * Constructs a model for a combobox. The container given is used to
@@ -220,6 +257,10 @@ abstract class UMLComboBoxModel extends AbstractListModel
      * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
      */
     public void modelChanged(UmlChangeEvent evt) {
+        if (builder.isRunning()) {
+            // The list being built may miss this change, so start again
+            builder.start();
+        }
         buildingModel = true;
         if (evt instanceof DeleteInstanceEvent) {
             if (contains(getChangedElement(evt))) {
@@ -302,10 +343,19 @@ abstract class UMLComboBoxModel extends AbstractListModel
      * @param elements the given elements
      */
     protected void setElements(Collection elements) {
+        List<Object> pending = backgroundElements.get();
+        if (pending != null && elements != null) {
+            pending.clear();
+            pending.addAll(elements);
+            return;
+        }
         if (elements != null) {
+            // The elements may be a sorted set or a list, neither of which
+            // we want to search for each of our objects
+            Set<Object> elementSet = new HashSet<Object>(elements);
             ArrayList toBeRemoved = new ArrayList();
             for (Object o : objects) {
-                if (!elements.contains(o)
+                if (!elementSet.contains(o)
                         && !(isClearable
                                 // Check against "" is needed for backward
                                 // compatibility.  Don't remove without
@@ -318,7 +368,7 @@ abstract class UMLComboBoxModel extends AbstractListModel
             removeAll(toBeRemoved);
             addAll(elements);
 
-            if (isClearable && !elements.contains(null)) {
+            if (isClearable && !elementSet.contains(null)) {
                 addElement(null);
             }
             if (!objects.contains(selectedObject)) {
@@ -345,28 +395,55 @@ abstract class UMLComboBoxModel extends AbstractListModel
      * @param col the elements to be removed
      */
     protected void removeAll(Collection col) {
+        Set<Object> toBeRemoved = new HashSet<Object>(col);
+        if (toBeRemoved.contains(selectedObject) && !isClearable) {
+            setSelectedItem(findSurvivor(toBeRemoved));
+        }
+        // Note the removed intervals before removing anything, so that
+        // they can be reported last to first with valid indices
+        List<int[]> intervals = new ArrayList<int[]>();
         int first = -1;
-        int last = -1;
-        fireListEvents = false;
-        for (Object o : col) {
-            int index = getIndexOf(o);
-            removeElement(o);
-            if (first == -1) { // start of interval
-                first = index;
-                last = index;
-            } else {
-                if (index  != last + 1) { // end of interval
-                    fireListEvents = true;
-                    fireIntervalRemoved(this, first, last);
-                    fireListEvents = false;
-                    first = index;
-                    last = index;
-                } else { // in middle of interval
-                    last++;
+        for (int i = 0; i < objects.size(); i++) {
+            if (toBeRemoved.contains(objects.get(i))) {
+                if (first == -1) {
+                    first = i;
                 }
+            } else if (first != -1) {
+                intervals.add(new int[] {first, i - 1});
+                first = -1;
             }
         }
-        fireListEvents = true;
+        if (first != -1) {
+            intervals.add(new int[] {first, objects.size() - 1});
+        }
+        objects.removeAll(toBeRemoved);
+        for (int i = intervals.size() - 1; i >= 0; i--) {
+            int[] interval = intervals.get(i);
+            fireIntervalRemoved(this, interval[0], interval[1]);
+        }
+    }
+
+    /**
+     * Find the element to select instead of the selected one, when that
+     * is removed along with others.  This is the nearest element before
+     * it that stays, or failing that the nearest after it.
+     *
+     * @param toBeRemoved the elements about to be removed
+     * @return the element to select, or null if none stays
+     */
+    private Object findSurvivor(Set<Object> toBeRemoved) {
+        int index = objects.indexOf(selectedObject);
+        for (int i = index - 1; i >= 0; i--) {
+            if (!toBeRemoved.contains(objects.get(i))) {
+                return objects.get(i);
+            }
+        }
+        for (int i = index + 1; i < objects.size(); i++) {
+            if (!toBeRemoved.contains(objects.get(i))) {
+                return objects.get(i);
+            }
+        }
+        return null;
     }
 
     /**
@@ -375,6 +452,11 @@ abstract class UMLComboBoxModel extends AbstractListModel
      * @param col the elements to be addd
      */
     protected void addAll(Collection col) {
+        List<Object> pending = backgroundElements.get();
+        if (pending != null) {
+            pending.addAll(col);
+            return;
+        }
         Object selected = getSelectedItem();
         fireListEvents = false;
         int oldSize = objects.size();
@@ -453,6 +535,7 @@ abstract class UMLComboBoxModel extends AbstractListModel
     }
 
     public void removeModelEventListener() {
+        builder.cancel();
         Model.getPump().removeModelEventListener(this, target,
                 propertySetName);
         removeOtherModelEventListeners(target);
@@ -548,7 +631,11 @@ abstract class UMLComboBoxModel extends AbstractListModel
      * @param o the element to be added
      */
     public void addElement(Object o) {
-        // TODO: For large lists, this is doing a linear search of literally thousands of elements
+        List<Object> pending = backgroundElements.get();
+        if (pending != null) {
+            pending.add(o);
+            return;
+        }
         if (!objects.contains(o)) {
             objects.add(o);
             fireIntervalAdded(this, objects.size() - 1, objects.size() - 1);
@@ -592,6 +679,11 @@ abstract class UMLComboBoxModel extends AbstractListModel
      * Remove all elements.
      */
     public void removeAllElements() {
+        List<Object> pending = backgroundElements.get();
+        if (pending != null) {
+            pending.clear();
+            return;
+        }
         int startIndex = 0;
         int endIndex = Math.max(0, objects.size() - 1);
         objects.clear();
@@ -748,6 +840,7 @@ abstract class UMLComboBoxModel extends AbstractListModel
     protected void setModelInvalid() {
         assert isLazy(); // catch callers attempting to use one without other
         modelValid = false;
+        builder.cancel();
     }
 
     public void popupMenuCanceled(PopupMenuEvent e) {
@@ -758,24 +851,36 @@ abstract class UMLComboBoxModel extends AbstractListModel
 
     public void popupMenuWillBecomeVisible(PopupMenuEvent ev) {
         if (isLazy() && !modelValid && !processingWillBecomeVisible) {
-            Object selectedElement = getSelectedModelElement();
+            combo = (JComboBox) ev.getSource();
+            if (!builder.isRunning()) {
+                builder.start();
+            }
+        }
+    }
 
-            buildModelListTimed();
+    private void backgroundBuildFinished(List<Object> elements) {
+        try {
+            Object selectedElement = getSelectedModelElement();
+            setElements(elements);
             modelValid = true;
-            // We should be able to just do the above, but Swing has already
-            // computed the size of the popup menu.  The rest of this is
-            // a workaround for Swing bug
-            // http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4743225
-            JComboBox list = (JComboBox) ev.getSource();
+            if (selectedElement != null) {
+                setSelectedItem(selectedElement);
+            }
+        } catch (InvalidElementException e) {
+            LOG.log(Level.WARNING, "buildModelList attempted to operate on "
+                    + "deleted element");
+            return;
+        }
+        if (combo != null && combo.isPopupVisible()) {
+            // Swing has already computed the size of the popup menu,
+            // so show it again to fit the new list
             processingWillBecomeVisible = true;
             try {
-                list.getUI().setPopupVisible( list, true );
+                combo.hidePopup();
+                combo.showPopup();
             } finally {
                 processingWillBecomeVisible = false;
             }
-            if (selectedElement != null) {
-                setSelectedItem(selectedElement);
-            }
         }
     }
 